@@ -0,0 +1,27 @@
+package br.com.gestorfinanceiro.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Banco em uso, lido uma vez dos metadados da conexão na subida. Decide as consultas que só existem no PostgreSQL
+ * (estimativas do catálogo, tamanho das tabelas); o H2 dos testes se apresenta como H2 mesmo no modo PostgreSQL.
+ */
+@Component
+public class BancoDeDados {
+
+    private final boolean postgres;
+
+    public BancoDeDados(DataSource dataSource) throws MetaDataAccessException {
+        this.postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                DatabaseMetaData::getDatabaseProductName));
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+}
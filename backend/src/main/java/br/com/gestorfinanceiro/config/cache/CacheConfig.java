@@ -0,0 +1,47 @@
+package br.com.gestorfinanceiro.config.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Habilita os caches de leitura de dashboard e gráficos e da contagem de usuários do admin. O CacheManager (Caffeine, com tamanho máximo, TTL e
+ * estatísticas) é configurado pelas propriedades spring.cache.*; as estatísticas viram as métricas cache.gets,
+ * cache.puts e cache.evictions no Actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DASHBOARD = "dashboard";
+    public static final String GRAFICOS = "graficos";
+    public static final String CONTAGEM_USUARIOS = "contagemUsuarios";
+    public static final String CHAVE_POR_PERIODO = "chavePorPeriodo";
+
+    // Os métodos cacheados recebem (userId, inicio[, fim]) com YearMonth ou LocalDate; um YearMonth sozinho vale
+    // pelo mês inteiro. A classe entra na operação para separar despesas e receitas. Cada chave entra no índice por
+    // usuário do DashboardCache, que é o que a invalidação percorre
+    @Bean(CHAVE_POR_PERIODO)
+    public KeyGenerator chavePorPeriodo(DashboardCache dashboardCache) {
+        return (target, method, params) -> {
+            LocalDate inicio = params.length > 1 ? inicioDe(params[1]) : null;
+            LocalDate fim = params.length > 2 ? fimDe(params[2]) : params.length > 1 ? fimDe(params[1]) : null;
+
+            ChavePeriodo chave = new ChavePeriodo((String) params[0], target.getClass().getSimpleName() + "." + method.getName(), inicio, fim);
+            dashboardCache.registrar(chave);
+            return chave;
+        };
+    }
+
+    private static LocalDate inicioDe(Object param) {
+        return param instanceof YearMonth mes ? mes.atDay(1) : (LocalDate) param;
+    }
+
+    private static LocalDate fimDe(Object param) {
+        return param instanceof YearMonth mes ? mes.atEndOfMonth() : (LocalDate) param;
+    }
+}
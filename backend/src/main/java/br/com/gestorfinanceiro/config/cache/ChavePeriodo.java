@@ -0,0 +1,22 @@
+package br.com.gestorfinanceiro.config.cache;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Chave das entradas dos caches de dashboard e gráficos: o usuário, o método que gerou o valor e o intervalo de
+ * datas coberto (inclusivo). Guardar o intervalo permite invalidar só as entradas que incluem o mês alterado.
+ */
+public record ChavePeriodo(String userId, String operacao, LocalDate inicio, LocalDate fim) {
+
+    public boolean pertenceAo(String userId) {
+        return this.userId != null && this.userId.equals(userId);
+    }
+
+    public boolean cobre(String userId, YearMonth mes) {
+        // Sem início ou fim o intervalo é tratado como aberto daquele lado
+        return pertenceAo(userId)
+                && (fim == null || !fim.isBefore(mes.atDay(1)))
+                && (inicio == null || !inicio.isAfter(mes.atEndOfMonth()));
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.gestorfinanceiro.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Invalida as entradas dos caches de dashboard e gráficos afetadas por uma escrita. Despesas e receitas invalidam
+ * só os intervalos que cobrem o mês alterado; mudanças de categoria (renomear, excluir) invalidam o usuário inteiro,
+ * porque o nome da categoria aparece em qualquer mês.
+ * <p>
+ * Cada chave gerada por {@link CacheConfig#CHAVE_POR_PERIODO} é registrada num índice por usuário, então uma escrita
+ * só percorre as chaves do próprio usuário, e não os caches inteiros. As chaves não saem do índice ao serem
+ * invalidadas (uma leitura em andamento ainda pode gravá-las de novo); o conjunto do usuário expira depois de
+ * {@code dashboard.cache.indice.expiracao} sem acessos, que precisa ser maior que o expireAfterWrite dos caches.
+ */
+@Component
+public class DashboardCache {
+
+    private final CacheManager cacheManager;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Set<ChavePeriodo>> chavesPorUsuario;
+
+    public DashboardCache(CacheManager cacheManager,
+                          @Value("${dashboard.cache.indice.expiracao:20m}") Duration expiracaoIndice) {
+        this.cacheManager = cacheManager;
+        this.chavesPorUsuario = Caffeine.newBuilder()
+                .expireAfterAccess(expiracaoIndice)
+                .build();
+    }
+
+    // Chamado pelo gerador de chaves a cada leitura cacheada, antes de o valor ser gravado
+    public void registrar(ChavePeriodo chave) {
+        if (chave.userId() != null) {
+            chavesPorUsuario.get(chave.userId(), userId -> ConcurrentHashMap.newKeySet())
+                    .add(chave);
+        }
+    }
+
+    public void invalidarMes(String userId, YearMonth mes) {
+        invalidar(userId, chave -> chave.cobre(userId, mes));
+    }
+
+    public void invalidarUsuario(String userId) {
+        invalidar(userId, chave -> true);
+    }
+
+    // Usado só pela reconstrução do resumo mensal, que muda todos os usuários de uma vez
+    public void invalidarTudo() {
+        for (String nome : List.of(CacheConfig.DASHBOARD, CacheConfig.GRAFICOS)) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // Remove na hora, para que a própria transação já leia o valor novo, e de novo ao terminar: uma leitura
+    // concorrente feita antes do commit pode ter recolocado no cache o valor antigo
+    private void invalidar(String userId, Predicate<ChavePeriodo> afetada) {
+        remover(userId, afetada);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(userId, afetada);
+                }
+            });
+        }
+    }
+
+    private void remover(String userId, Predicate<ChavePeriodo> afetada) {
+        Set<ChavePeriodo> chaves = userId != null ? chavesPorUsuario.getIfPresent(userId) : null;
+        if (chaves == null) {
+            return;
+        }
+
+        for (String nome : List.of(CacheConfig.DASHBOARD, CacheConfig.GRAFICOS)) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache == null) {
+                continue;
+            }
+            for (ChavePeriodo chave : chaves) {
+                if (afetada.test(chave)) {
+                    cache.evict(chave);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.gestorfinanceiro.config.idempotencia;
+
+import br.com.gestorfinanceiro.exceptions.common.IdempotencyKeyInProgressException;
+import br.com.gestorfinanceiro.exceptions.common.IdempotencyKeyReuseException;
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Respostas já dadas a criações com o cabeçalho Idempotency-Key, por usuário, operação e chave. Uma retentativa com a
+ * mesma chave e o mesmo corpo recebe a resposta gravada (com {@code Idempotency-Replayed: true}) sem um segundo
+ * INSERT; com outro corpo, é rejeitada. A reserva da chave é um {@code putIfAbsent} no mapa do Caffeine, sem lock no
+ * banco. As entradas expiram pelo TTL e ficam na memória de cada instância.
+ */
+@Component
+public class RegistroIdempotencia {
+
+    public static final String CABECALHO_CHAVE = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotency-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Registro> registros;
+
+    public RegistroIdempotencia(ObjectMapper objectMapper,
+                                @Value("${idempotencia.tamanho-maximo:100000}") long tamanhoMaximo,
+                                @Value("${idempotencia.ttl:24h}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Sem chave, só executa a criação; com chave, executa uma única vez e repete a resposta nas retentativas
+    public <T> ResponseEntity<T> executar(String userId, String operacao, String chave, Object corpo,
+                                          Supplier<ResponseEntity<T>> criacao) {
+        if (chave == null) {
+            return criacao.get();
+        }
+
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new InvalidDataException("A Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+
+        String id = userId + ":" + operacao + ":" + chave;
+        Registro novo = new Registro(impressaoDigital(corpo));
+        ConcurrentMap<String, Registro> mapa = registros.asMap();
+        Registro existente = mapa.putIfAbsent(id, novo);
+
+        if (existente != null) {
+            return repetir(existente, novo.impressaoDigital, chave);
+        }
+
+        try {
+            ResponseEntity<T> resposta = criacao.get();
+            // Só respostas de sucesso são gravadas; com erro a chave é liberada para uma nova tentativa
+            if (resposta.getStatusCode().is2xxSuccessful()) {
+                novo.resposta = resposta;
+            } else {
+                mapa.remove(id, novo);
+            }
+            return resposta;
+        } catch (RuntimeException e) {
+            mapa.remove(id, novo);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> repetir(Registro existente, String impressaoDigital, String chave) {
+        if (!existente.impressaoDigital.equals(impressaoDigital)) {
+            throw new IdempotencyKeyReuseException(chave);
+        }
+
+        ResponseEntity<?> gravada = existente.resposta;
+        if (gravada == null) {
+            throw new IdempotencyKeyInProgressException(chave);
+        }
+
+        return (ResponseEntity<T>) ResponseEntity.status(gravada.getStatusCode())
+                .headers(gravada.getHeaders())
+                .header(CABECALHO_REPETIDA, "true")
+                .body(gravada.getBody());
+    }
+
+    private String impressaoDigital(Object corpo) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(objectMapper.writeValueAsBytes(corpo)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular a impressão digital do corpo da requisição", e);
+        }
+    }
+
+    private static final class Registro {
+        private final String impressaoDigital;
+        // Preenchida quando a criação termina; enquanto for null a requisição original ainda está em andamento
+        private volatile ResponseEntity<?> resposta;
+
+        private Registro(String impressaoDigital) {
+            this.impressaoDigital = impressaoDigital;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.gestorfinanceiro.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cronometra todo método público dos *ServiceImpl e dos repositórios customizados. Os timers publicam histogramas
+ * de percentis, então p95/p99 podem ser calculados no Prometheus por classe e método. Métodos que devolvem um Stream
+ * medem só a abertura da consulta, não a leitura das linhas.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    static final String TIMER_SERVICE = "gestorfinanceiro.service";
+    static final String TIMER_REPOSITORIO = "gestorfinanceiro.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * br.com.gestorfinanceiro.services.impl.*ServiceImpl.*(..))")
+    public Object cronometrarService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return cronometrar(TIMER_SERVICE, joinPoint);
+    }
+
+    @Around("execution(public * br.com.gestorfinanceiro.repositories.custom.impl.*.*(..))")
+    public Object cronometrarRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return cronometrar(TIMER_REPOSITORIO, joinPoint);
+    }
+
+    private Object cronometrar(String nome, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String excecao = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(nome)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", excecao)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.gestorfinanceiro.config.security;
+
+import br.com.gestorfinanceiro.exceptions.user.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool dedicado e limitado para o BCrypt do login e do cadastro. O hash é CPU pura: rodando nas threads do Tomcat,
+ * uma rajada de logins ocupava todos os núcleos e atrasava as leituras baratas do dashboard. Aqui no máximo
+ * {@code senha.hash.threads} hashes rodam ao mesmo tempo e outros {@code senha.hash.fila} esperam; além disso a
+ * requisição falha na hora com 503 em vez de acumular. A thread da requisição só fica bloqueada esperando o
+ * resultado, sem consumir CPU.
+ */
+@Component
+public class HashSenhaExecutor {
+
+    private static final long SEGUNDOS_PARA_NOVA_TENTATIVA = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer tempoCodificar;
+    private final Timer tempoVerificar;
+    private final Counter rejeitadas;
+
+    // threads <= 0 usa metade dos núcleos (no mínimo um), deixando o resto para as demais requisições
+    public HashSenhaExecutor(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                             @Value("${senha.hash.threads:0}") int threads,
+                             @Value("${senha.hash.fila:32}") int tamanhoFila,
+                             @Value("${senha.hash.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanhoPool, tamanhoPool, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("gestorfinanceiro.senha.fila", executor, pool -> pool.getQueue().size())
+                .description("Hashes de senha esperando uma thread livre")
+                .register(meterRegistry);
+        Gauge.builder("gestorfinanceiro.senha.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de senha em execução")
+                .register(meterRegistry);
+        this.tempoCodificar = tempoDoHash(meterRegistry, "codificar");
+        this.tempoVerificar = tempoDoHash(meterRegistry, "verificar");
+        this.rejeitadas = Counter.builder("gestorfinanceiro.senha.rejeitadas")
+                .description("Hashes recusados porque o pool e a fila estavam cheios ou o tempo limite estourou")
+                .register(meterRegistry);
+    }
+
+    public String codificar(CharSequence senha) {
+        return executar(tempoCodificar, () -> passwordEncoder.encode(senha));
+    }
+
+    public boolean verificar(CharSequence senha, String hash) {
+        return executar(tempoVerificar, () -> passwordEncoder.matches(senha, hash));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // O timer mede só o hash, dentro da thread do pool; a espera na fila aparece no gauge
+    private <T> T executar(Timer timer, Callable<T> hash) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> timer.recordCallable(hash));
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new PasswordHashingUnavailableException(SEGUNDOS_PARA_NOVA_TENTATIVA);
+        }
+
+        try {
+            return futuro.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rejeitadas.increment();
+            throw new PasswordHashingUnavailableException(SEGUNDOS_PARA_NOVA_TENTATIVA);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(SEGUNDOS_PARA_NOVA_TENTATIVA);
+        } catch (ExecutionException e) {
+            // Erros do próprio encoder (senha nula, hash malformado) sobem como se o hash tivesse rodado aqui
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer tempoDoHash(MeterRegistry meterRegistry, String operacao) {
+        return Timer.builder("gestorfinanceiro.senha.hash")
+                .description("Tempo do BCrypt, sem a espera na fila")
+                .tag("operacao", operacao)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -1,7 +1,8 @@
 package br.com.gestorfinanceiro.config.security;
 
-import br.com.gestorfinanceiro.models.UserEntity;
-import br.com.gestorfinanceiro.repositories.UserRepository;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,11 +23,14 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
-    private final UserRepository userRepository;
+    private final VersoesToken versoesToken;
 
-    public JwtFilter(UserRepository userRepository, JwtUtil jwtUtil) {
-        this.userRepository = userRepository;
+    private final MeterRegistry meterRegistry;
+
+    public JwtFilter(VersoesToken versoesToken, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.versoesToken = versoesToken;
         this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -36,25 +40,53 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         String token = recoverToken(request);
 
-        if (token != null) {
-            String role = jwtUtil.extractUserRole(token);
-            String email = jwtUtil.extractUserEmail(token);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // O token é decodificado e tem a assinatura verificada uma única vez por requisição
+            JwtPrincipal principal = parsePrincipal(token);
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserEntity userEntity = userRepository.findByEmail(email).orElse(null);
-                if (jwtUtil.validateToken(token, email)) {
-                    List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+            if (principal != null) {
+                // A role vem do token: uma mudança de role ou status revoga os tokens antigos do usuário
+                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()));
 
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userEntity, null, authorities);
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+                SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    // Cronometra a verificação da assinatura e a leitura das claims, separando tokens válidos dos rejeitados.
+    // Tokens de usuários desativados ou com versão diferente da atual são recusados com uma consulta ao mapa
+    // em memória, sem ir ao banco
+    private JwtPrincipal parsePrincipal(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String resultado = "valido";
+        try {
+            TokenAcesso acesso = jwtUtil.extractTokenAcesso(token);
+            JwtPrincipal principal = acesso.principal();
+            if (principal.userId() == null || principal.role() == null) {
+                resultado = "invalido";
+                return null;
+            }
+            if (!acesso.estaAtivo() || !versoesToken.estaValida(principal.userId(), acesso.versao())) {
+                resultado = "revogado";
+                return null;
+            }
+            return principal;
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token inválido ou expirado: a requisição segue sem autenticação
+            resultado = "invalido";
+            return null;
+        } finally {
+            sample.stop(Timer.builder("gestorfinanceiro.jwt.verificacao")
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
     private String recoverToken(HttpServletRequest request) {
         String token = request.getHeader("Authorization");
         if (token == null || !token.startsWith("Bearer ")) {
@@ -62,4 +94,4 @@ public class JwtFilter extends OncePerRequestFilter {
         }
         return token.replace("Bearer ", "");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package br.com.gestorfinanceiro.config.security;
+
+/**
+ * Principal guardado no SecurityContext depois que o {@link JwtFilter} valida o token.
+ * Os controllers leem o id do usuário daqui (via {@link UserId}) em vez de decodificar o token de novo.
+ */
+public record JwtPrincipal(String userId, String username, String email, String role) {
+}
@@ -1,31 +1,59 @@
 package br.com.gestorfinanceiro.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
+    private static final String TIPO_ACESSO = "acesso";
+    private static final String TIPO_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    public String generateToken(String userID, String username, String email, String role, String estaAtivo) {
+    // O token de acesso é aceito sem consulta ao banco, então a validade limita quanto um token vazado, ou uma
+    // revogação que ainda não chegou a esta instância, continua valendo; o teto impede que o ambiente estenda essa janela
+    @Value("${jwt.expiration-maxima:3600000}")
+    private Long expirationMaxima;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private Long refreshExpiration;
+
+    // Acima do teto, usa o teto em vez de recusar a subida: deploys antigos ainda configuram tokens de 24h
+    @PostConstruct
+    public void limitarExpiracao() {
+        if (expiration > expirationMaxima) {
+            log.warn("jwt.expiration ({} ms) passa do teto jwt.expiration-maxima ({} ms); usando o teto. "
+                    + "Use o refresh token para sessões longas", expiration, expirationMaxima);
+            expiration = expirationMaxima;
+        }
+    }
+
+    public String generateToken(String userID, String username, String email, String role, String estaAtivo, long versao) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("estaAtivo", estaAtivo);
         claims.put("role", role);
         claims.put("id", userID);
         claims.put("email", email);
+        claims.put("versao", versao);
+        claims.put("tipo", TIPO_ACESSO);
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(username)
@@ -35,38 +63,57 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public String extractUserRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
-    }
-
-    public String extractUserEmail(String token) {
-        return extractClaim(token, claims -> claims.get("email", String.class));
+    // O refresh token só serve para obter um novo token de acesso em /auth/refresh
+    public String generateRefreshToken(String userID, long versao) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", userID);
+        claims.put("versao", versao);
+        claims.put("tipo", TIPO_REFRESH);
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + refreshExpiration))
+                .signWith(SignatureAlgorithm.HS512, secret)
+                .compact();
     }
 
-    public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("id", String.class));
+    /**
+     * Valida o token de acesso e devolve o principal com o status e a versão da emissão.
+     * Tokens sem a claim {@code tipo} ou {@code versao} (emitidos antes delas) contam como acesso na versão 0.
+     * Lança {@link io.jsonwebtoken.JwtException} se o token for inválido, estiver expirado ou for um refresh token.
+     */
+    public TokenAcesso extractTokenAcesso(String token) {
+        Claims claims = parseClaims(token);
+        String tipo = claims.get("tipo", String.class);
+        if (tipo != null && !TIPO_ACESSO.equals(tipo)) {
+            throw new JwtException("O token não é um token de acesso");
+        }
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.get("id", String.class),
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("role", String.class));
+        return new TokenAcesso(principal, Boolean.parseBoolean(claims.get("estaAtivo", String.class)), versao(claims));
     }
 
-    public boolean validateToken(String token, String email) {
-        String extractUserEmail = extractUserEmail(token);
-        boolean isExpired = isTokenExpired(token);
-
-        return (extractUserEmail.equals(email) && !isExpired);
+    // Lança JwtException se o token for inválido, estiver expirado ou não for um refresh token
+    public TokenRefresh extractTokenRefresh(String token) {
+        Claims claims = parseClaims(token);
+        if (!TIPO_REFRESH.equals(claims.get("tipo", String.class))) {
+            throw new JwtException("O token não é um refresh token");
+        }
+        return new TokenRefresh(claims.get("id", String.class), versao(claims));
     }
 
-    public boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private static long versao(Claims claims) {
+        Number versao = claims.get("versao", Number.class);
+        return versao != null ? versao.longValue() : 0L;
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parser()
+    private Claims parseClaims(String token) {
+        return Jwts.parser()
                 .setSigningKey(secret)
                 .parseClaimsJws(token)
                 .getBody();
-        return claimsResolver.apply(claims);
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package br.com.gestorfinanceiro.config.security;
+
+import br.com.gestorfinanceiro.exceptions.user.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limita as tentativas de login por IP e por par (e-mail, IP) com baldes de tokens em memória, antes de qualquer
+ * BCrypt. O balde do e-mail é por IP para que ninguém consiga bloquear o login de uma conta alheia só errando a
+ * senha dela de outro endereço.
+ * Cada balde começa cheio com {@code capacidade} tentativas e repõe uma a cada {@code intervalo}; sem token,
+ * a tentativa é recusada com 429. Baldes parados expiram assim que estariam cheios de novo, então o cache só guarda
+ * quem tentou recentemente. O estado é por instância da aplicação.
+ */
+@Component
+public class LimiteTentativasLogin {
+
+    private final Limite porEmail;
+    private final Limite porIp;
+
+    @Autowired
+    public LimiteTentativasLogin(MeterRegistry meterRegistry,
+                                 @Value("${login.limite.email.capacidade:5}") int capacidadeEmail,
+                                 @Value("${login.limite.email.intervalo:1m}") Duration intervaloEmail,
+                                 @Value("${login.limite.ip.capacidade:20}") int capacidadeIp,
+                                 @Value("${login.limite.ip.intervalo:3s}") Duration intervaloIp,
+                                 @Value("${login.limite.tamanho-maximo:100000}") long tamanhoMaximo) {
+        this(meterRegistry, capacidadeEmail, intervaloEmail, capacidadeIp, intervaloIp, tamanhoMaximo, Ticker.systemTicker());
+    }
+
+    public LimiteTentativasLogin(MeterRegistry meterRegistry, int capacidadeEmail, Duration intervaloEmail,
+                                 int capacidadeIp, Duration intervaloIp, long tamanhoMaximo, Ticker ticker) {
+        this.porEmail = new Limite(meterRegistry, "email", capacidadeEmail, intervaloEmail, tamanhoMaximo, ticker);
+        this.porIp = new Limite(meterRegistry, "ip", capacidadeIp, intervaloIp, tamanhoMaximo, ticker);
+    }
+
+    // Consome uma tentativa do IP e uma do e-mail naquele IP; o IP vem primeiro para que um atacante variando
+    // e-mails esgote o próprio balde sem gastar os das contas alheias
+    public void registrarTentativa(String email, String ip) {
+        if (ip != null) {
+            porIp.consumir(ip);
+        }
+        if (email != null) {
+            porEmail.consumir(email.trim().toLowerCase(Locale.ROOT) + " " + ip);
+        }
+    }
+
+    private static final class Limite {
+
+        private final Cache<String, Balde> baldes;
+        private final int capacidade;
+        private final long intervaloNanos;
+        private final Ticker ticker;
+        private final Counter bloqueios;
+
+        Limite(MeterRegistry meterRegistry, String chave, int capacidade, Duration intervalo, long tamanhoMaximo,
+               Ticker ticker) {
+            this.capacidade = capacidade;
+            this.intervaloNanos = intervalo.toNanos();
+            this.ticker = ticker;
+            this.baldes = Caffeine.newBuilder()
+                    .maximumSize(tamanhoMaximo)
+                    .expireAfterAccess(intervalo.multipliedBy(capacidade))
+                    .ticker(ticker)
+                    .build();
+            this.bloqueios = Counter.builder("gestorfinanceiro.login.bloqueios")
+                    .description("Tentativas de login recusadas pelo limite de tentativas")
+                    .tag("chave", chave)
+                    .register(meterRegistry);
+        }
+
+        void consumir(String chave) {
+            long agora = ticker.read();
+            long esperaNanos = baldes.get(chave, ignorada -> new Balde(capacidade, agora))
+                    .consumir(agora, capacidade, intervaloNanos);
+            if (esperaNanos > 0) {
+                bloqueios.increment();
+                throw new TooManyLoginAttemptsException(Math.max(1, (esperaNanos + 999_999_999) / 1_000_000_000));
+            }
+        }
+    }
+
+    private static final class Balde {
+
+        private long tokens;
+        private long ultimaReposicao;
+
+        Balde(int capacidade, long agora) {
+            this.tokens = capacidade;
+            this.ultimaReposicao = agora;
+        }
+
+        // Devolve 0 se consumiu um token, ou quanto falta para o próximo
+        synchronized long consumir(long agora, int capacidade, long intervaloNanos) {
+            long repostos = (agora - ultimaReposicao) / intervaloNanos;
+            if (repostos > 0) {
+                tokens = Math.min(capacidade, tokens + repostos);
+                ultimaReposicao = tokens == capacidade ? agora : ultimaReposicao + repostos * intervaloNanos;
+            }
+            if (tokens > 0) {
+                tokens--;
+                return 0;
+            }
+            return ultimaReposicao + intervaloNanos - agora;
+        }
+    }
+}
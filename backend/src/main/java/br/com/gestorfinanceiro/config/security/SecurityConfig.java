@@ -1,5 +1,8 @@
 package br.com.gestorfinanceiro.config.security;
 
+import br.com.gestorfinanceiro.exceptions.user.InvalidTokenException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,6 +13,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 
 @Configuration
@@ -17,11 +21,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final HandlerExceptionResolver handlerExceptionResolver;
     private static final String ADMIN_ROLE = "ADMIN";
     private static final String USER_ROLE = "USER";
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter,
+                          @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
         this.jwtFilter = jwtFilter;
+        this.handlerExceptionResolver = handlerExceptionResolver;
     }
 
     @Bean
@@ -29,8 +36,8 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/**")
-                        .permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(ADMIN_ROLE)
                         .requestMatchers("/auth/**").permitAll() // Rotas públicas
                         .requestMatchers("/users/admin/**").hasRole(ADMIN_ROLE)
                         .requestMatchers("/admin/**").hasRole(ADMIN_ROLE)
@@ -39,16 +46,22 @@ public class SecurityConfig {
                         .requestMatchers("/despesas/**").hasAnyRole(ADMIN_ROLE, USER_ROLE)
                         .requestMatchers("/categorias/**").hasAnyRole(ADMIN_ROLE, USER_ROLE)
                         .requestMatchers("/orcamento-mensal/**").hasAnyRole(ADMIN_ROLE, USER_ROLE)
+                        .requestMatchers("/transacoes/**").hasAnyRole(ADMIN_ROLE, USER_ROLE)
                         .anyRequest().authenticated()
                 )
+                // Sem token (ou com token recusado pelo JwtFilter) a resposta é o mesmo 401 do GlobalExceptionHandler;
+                // role insuficiente continua 403
+                .exceptionHandling(ex -> ex.authenticationEntryPoint((request, response, authException) ->
+                        handlerExceptionResolver.resolveException(request, response, null, new InvalidTokenException())))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // O custo fica em cada hash gravado, então mudar a força só afeta senhas novas; as antigas continuam válidas
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${senha.bcrypt.forca:10}") int forca) {
+        return new BCryptPasswordEncoder(forca);
     }
 }
@@ -0,0 +1,8 @@
+package br.com.gestorfinanceiro.config.security;
+
+/**
+ * Conteúdo de um token de acesso já validado: o principal, o status do usuário na emissão e a versão dos tokens,
+ * que o {@link JwtFilter} compara com {@link VersoesToken} para recusar tokens revogados.
+ */
+public record TokenAcesso(JwtPrincipal principal, boolean estaAtivo, long versao) {
+}
@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.config.security;
+
+/**
+ * Conteúdo de um refresh token já validado. Ele não carrega role nem status: ao renovar, o usuário é lido do banco.
+ */
+public record TokenRefresh(String userId, long versao) {
+}
@@ -0,0 +1,14 @@
+package br.com.gestorfinanceiro.config.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injeta no parâmetro do controller o id do usuário autenticado pelo {@link JwtFilter}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UserId {
+}
@@ -0,0 +1,79 @@
+package br.com.gestorfinanceiro.config.security;
+
+import br.com.gestorfinanceiro.models.VersaoTokenEntity;
+import br.com.gestorfinanceiro.repositories.VersaoTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versão atual dos tokens de cada usuário, mantida em memória para que o JwtFilter rejeite tokens revogados sem ir
+ * ao banco. Revogar incrementa a versão na tabela versao_token; tokens com versão diferente da atual deixam de valer.
+ * A instância que revoga atualiza o mapa na hora; as demais leem as linhas alteradas a cada
+ * {@code jwt.versoes.atualizacao}, com uma margem de igual tamanho para tolerar diferenças de relógio. Só usuários
+ * que já foram revogados ocupam espaço no mapa.
+ */
+@Component
+public class VersoesToken {
+
+    private final VersaoTokenRepository versaoTokenRepository;
+    private final Duration margem;
+    private final Map<String, Long> versoes = new ConcurrentHashMap<>();
+    private volatile Instant ultimaLeitura = Instant.EPOCH;
+
+    public VersoesToken(VersaoTokenRepository versaoTokenRepository,
+                        @Value("${jwt.versoes.atualizacao:30s}") Duration intervaloAtualizacao) {
+        this.versaoTokenRepository = versaoTokenRepository;
+        this.margem = intervaloAtualizacao;
+    }
+
+    // Usuários sem linha na tabela estão na versão 0
+    public long versaoAtual(String userId) {
+        return versoes.getOrDefault(userId, 0L);
+    }
+
+    public boolean estaValida(String userId, long versao) {
+        return versao == versaoAtual(userId);
+    }
+
+    // Transação própria: a revogação fica gravada mesmo que a alteração que a motivou falhe depois,
+    // o que só obriga o usuário a renovar o token
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long revogar(String userId) {
+        Instant agora = Instant.now();
+        VersaoTokenEntity versaoToken = versaoTokenRepository.findWithLockByUserId(userId)
+                .orElseGet(() -> new VersaoTokenEntity(userId, 0, agora));
+        versaoToken.incrementar(agora);
+        versaoTokenRepository.save(versaoToken);
+
+        versoes.merge(userId, versaoToken.getVersao(), Math::max);
+        return versaoToken.getVersao();
+    }
+
+    @PostConstruct
+    public void carregar() {
+        Instant inicio = Instant.now();
+        versaoTokenRepository.findAll().forEach(this::aplicar);
+        ultimaLeitura = inicio;
+    }
+
+    // Lê só as linhas alteradas desde a última leitura (menos a margem); versões nunca diminuem
+    @Scheduled(fixedDelayString = "${jwt.versoes.atualizacao:30s}", initialDelayString = "${jwt.versoes.atualizacao:30s}")
+    public void atualizar() {
+        Instant inicio = Instant.now();
+        versaoTokenRepository.findAllByAtualizadoEmAfter(ultimaLeitura.minus(margem)).forEach(this::aplicar);
+        ultimaLeitura = inicio;
+    }
+
+    private void aplicar(VersaoTokenEntity versaoToken) {
+        versoes.merge(versaoToken.getUserId(), versaoToken.getVersao(), Math::max);
+    }
+}
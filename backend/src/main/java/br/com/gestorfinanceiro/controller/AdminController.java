@@ -1,39 +1,67 @@
 package br.com.gestorfinanceiro.controller;
 
+import br.com.gestorfinanceiro.dto.common.Pagina;
+import br.com.gestorfinanceiro.dto.estatisticas.EstatisticasDTO;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
 import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
 import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.services.AdminService;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
 public class AdminController {
     private final AdminService adminService;
+    private final ResumoMensalService resumoMensalService;
+    private final EstatisticasService estatisticasService;
 
     private final Mapper<UserEntity, UserForAdminDTO> userForAdminDTOMapper;
 
-    public AdminController(AdminService adminService, Mapper<UserEntity, UserForAdminDTO> userWithStatusMapper) {
+    public AdminController(AdminService adminService, ResumoMensalService resumoMensalService, EstatisticasService estatisticasService,
+                           Mapper<UserEntity, UserForAdminDTO> userWithStatusMapper) {
         this.adminService = adminService;
+        this.resumoMensalService = resumoMensalService;
+        this.estatisticasService = estatisticasService;
         this.userForAdminDTOMapper = userWithStatusMapper;
     }
 
+    // Filtros por role, status e prefixo de username/e-mail (busca), ordenados por sort. A resposta é sempre paginada:
+    // sem limit vêm LIMITE_PADRAO usuários, o cursor da próxima página vai no header X-Next-Cursor e, quando não há
+    // busca, o total aproximado do filtro em X-Approximate-Total-Count
     @GetMapping("/users")
-    public ResponseEntity<List<UserForAdminDTO>> findAllUsers() {
-        List<UserEntity> users = adminService.listUsers();
+    public ResponseEntity<List<UserForAdminDTO>> findAllUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean estaAtivo,
+            @RequestParam(required = false) String busca,
+            @RequestParam(defaultValue = "username") String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        FiltroUsuarios filtro = FiltroUsuarios.de(role, estaAtivo, busca);
+        OrdenacaoUsuarios ordenacao = OrdenacaoUsuarios.de(sort);
 
-        // converte a lista de UserEntity para UserForAdminDTO
-        List<UserForAdminDTO> usersWithStatus = users.stream()
-                .map(userForAdminDTOMapper::mapTo)
-                .toList();
+        Pagina<UserForAdminDTO> pagina = adminService.listarUsuarios(filtro, ordenacao, cursor,
+                limit != null ? limit : Pagina.LIMITE_PADRAO);
 
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        // Cada prefixo digitado seria um COUNT novo; com busca, quem pagina se guia só pelo cursor
+        if (filtro.busca() == null) {
+            resposta.header(Pagina.HEADER_TOTAL_APROXIMADO, String.valueOf(adminService.contarUsuarios(filtro)));
+        }
+        if (pagina.proximoCursor() != null) {
+            resposta.header(Pagina.HEADER_PROXIMO_CURSOR, pagina.proximoCursor());
+        }
 
-        return ResponseEntity.ok(usersWithStatus);
+        return resposta.body(pagina.itens());
     }
 
     @PatchMapping("/users/{userID}")
@@ -41,4 +69,16 @@ public class AdminController {
         UserEntity user = adminService.atualizarUser(userID, userAdminUpdateDTO);
         return ResponseEntity.ok(userForAdminDTOMapper.mapTo(user));
     }
+
+    // Refaz a tabela resumo_mensal a partir das transações, para corrigir divergências ou após cargas fora da API
+    @PostMapping("/resumo-mensal/reconstruir")
+    public ResponseEntity<Map<String, Integer>> reconstruirResumoMensal() {
+        return ResponseEntity.ok(Map.of("linhas", resumoMensalService.reconstruir()));
+    }
+
+    // Servido de uma cópia em memória recalculada periodicamente; atualizadoEm diz de quando são os números
+    @GetMapping("/estatisticas")
+    public ResponseEntity<EstatisticasDTO> estatisticas() {
+        return ResponseEntity.ok(estatisticasService.obterEstatisticas());
+    }
 }
@@ -1,15 +1,18 @@
 package br.com.gestorfinanceiro.controller;
 
 import br.com.gestorfinanceiro.config.security.JwtUtil;
-import br.com.gestorfinanceiro.dto.categoria.CategoriaCreateDTO;
+import br.com.gestorfinanceiro.config.security.LimiteTentativasLogin;
+import br.com.gestorfinanceiro.config.security.TokenRefresh;
+import br.com.gestorfinanceiro.config.security.VersoesToken;
 import br.com.gestorfinanceiro.dto.user.LoginDTO;
+import br.com.gestorfinanceiro.dto.user.RefreshTokenDTO;
 import br.com.gestorfinanceiro.dto.user.UserDTO;
+import br.com.gestorfinanceiro.exceptions.user.InvalidTokenException;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.UserEntity;
-import br.com.gestorfinanceiro.models.enums.DespesasCategorias;
-import br.com.gestorfinanceiro.models.enums.ReceitasCategorias;
 import br.com.gestorfinanceiro.services.AuthService;
-import br.com.gestorfinanceiro.services.CategoriaService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,60 +26,71 @@ public class AuthController {
 
     private final AuthService authService;
 
-    private final CategoriaService categoriaService;
-
     private final Mapper<UserEntity, UserDTO> userMapper;
 
     private final JwtUtil jwtUtil;
 
-    public AuthController(AuthService authService, CategoriaService categoriaService, Mapper<UserEntity, UserDTO> userMapper, JwtUtil jwtUtil) {
+    private final LimiteTentativasLogin limiteTentativasLogin;
+
+    private final VersoesToken versoesToken;
+
+    public AuthController(AuthService authService, Mapper<UserEntity, UserDTO> userMapper, JwtUtil jwtUtil,
+                          LimiteTentativasLogin limiteTentativasLogin, VersoesToken versoesToken) {
         this.authService = authService;
-        this.categoriaService = categoriaService;
         this.userMapper = userMapper;
         this.jwtUtil = jwtUtil;
+        this.limiteTentativasLogin = limiteTentativasLogin;
+        this.versoesToken = versoesToken;
     }
 
     @PostMapping("/register")
     public ResponseEntity<UserEntity> register(@Valid @RequestBody UserDTO userDTO) {
         UserEntity userEntity = userMapper.mapFrom(userDTO);
+        // O service já cria as categorias padrão na mesma transação
         UserEntity registeredUser = this.authService.register(userEntity);
 
-        // Cria as categorias padrão para o usuário
-        // Despesas
-        for (DespesasCategorias categoria : DespesasCategorias.values()) {
-            CategoriaCreateDTO categoriaDespesa = new CategoriaCreateDTO(
-                    categoria.toNormalCase(), "DESPESAS");
-            categoriaService.criarCategoria(categoriaDespesa, registeredUser.getUuid());
-        }
-
-        // Receitas
-        for (ReceitasCategorias categoria : ReceitasCategorias.values()) {
-            CategoriaCreateDTO categoriaReceita = new CategoriaCreateDTO(
-                    categoria.toNormalCase(), "RECEITAS");
-            categoriaService.criarCategoria(categoriaReceita, registeredUser.getUuid());
-        }
-
-        // Sem categoria
-        categoriaService.criarSemCategoria(registeredUser.getUuid(), "DESPESAS");
-        categoriaService.criarSemCategoria(registeredUser.getUuid(), "RECEITAS");
-
-
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(registeredUser);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginDTO loginDTO) {
+    public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginDTO loginDTO, HttpServletRequest request) {
+        // Recusa com 429 antes do BCrypt quando o e-mail ou o IP passou do limite de tentativas
+        limiteTentativasLogin.registrarTentativa(loginDTO.email(), request.getRemoteAddr());
+
         UserEntity userEntity = authService.login(loginDTO.email(), loginDTO.password());
 
+        return ResponseEntity.ok(emitirTokens(userEntity));
+    }
+
+    // Troca um refresh token válido por um novo par de tokens, sem senha nem BCrypt
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@RequestBody RefreshTokenDTO refreshTokenDTO) {
+        TokenRefresh tokenRefresh;
+        try {
+            tokenRefresh = jwtUtil.extractTokenRefresh(refreshTokenDTO.refreshToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException();
+        }
+
+        UserEntity userEntity = authService.renovarSessao(tokenRefresh.userId(), tokenRefresh.versao());
+
+        return ResponseEntity.ok(emitirTokens(userEntity));
+    }
+
+    // Os dois tokens saem com a versão atual do usuário; revogar invalida ambos
+    private Map<String, String> emitirTokens(UserEntity userEntity) {
         // Obtém a role do usuário autenticado
         String role = userEntity.getRole().name();
         String estaAtivo = userEntity.getEstaAtivo().toString();
+        long versao = versoesToken.versaoAtual(userEntity.getUuid());
 
         // Gera o token JWT com username e role
-        String token = jwtUtil.generateToken(userEntity.getUuid(), userEntity.getUsername(),userEntity.getEmail(), role, estaAtivo);
+        String token = jwtUtil.generateToken(userEntity.getUuid(), userEntity.getUsername(), userEntity.getEmail(), role,
+                estaAtivo, versao);
+        String refreshToken = jwtUtil.generateRefreshToken(userEntity.getUuid(), versao);
 
-        return ResponseEntity.ok(Map.of("token", token));
+        return Map.of("token", token, "refreshToken", refreshToken);
     }
 
     @GetMapping("/{email}")
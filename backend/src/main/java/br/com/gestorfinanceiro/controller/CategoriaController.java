@@ -1,13 +1,12 @@
 package br.com.gestorfinanceiro.controller;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.security.UserId;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaCreateDTO;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaDTO;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaUpdateDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.services.CategoriaService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,22 +20,15 @@ import java.util.List;
 public class CategoriaController {
     private final CategoriaService categoriaService;
     private final Mapper<CategoriaEntity, CategoriaDTO> categoriaMapper;
-    private final JwtUtil jwtUtil;
-    private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String BEARER_PREFIX = "Bearer ";
 
 
-    public CategoriaController(CategoriaService categoriaService, Mapper<CategoriaEntity, CategoriaDTO> categoriaMapper, JwtUtil jwtUtil) {
+    public CategoriaController(CategoriaService categoriaService, Mapper<CategoriaEntity, CategoriaDTO> categoriaMapper) {
         this.categoriaService = categoriaService;
         this.categoriaMapper = categoriaMapper;
-        this.jwtUtil = jwtUtil;
     }
 
     @PostMapping
-    public ResponseEntity<CategoriaDTO> criarCategoria(@Valid @RequestBody CategoriaCreateDTO categoriaCreateDTO, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<CategoriaDTO> criarCategoria(@Valid @RequestBody CategoriaCreateDTO categoriaCreateDTO, @UserId String userId) {
 
         CategoriaEntity novaCategoria = categoriaService.criarCategoria(categoriaCreateDTO, userId);
 
@@ -50,10 +42,7 @@ public class CategoriaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoriaDTO>> listarCategorias(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<List<CategoriaDTO>> listarCategorias(@UserId String userId) {
 
         List<CategoriaEntity> categorias = categoriaService.listarCategorias(userId);
         List<CategoriaDTO> response = categorias.stream()
@@ -63,10 +52,7 @@ public class CategoriaController {
     }
 
     @GetMapping("/despesas")
-    public ResponseEntity<List<CategoriaDTO>> listarCategoriasDespesas(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<List<CategoriaDTO>> listarCategoriasDespesas(@UserId String userId) {
 
         List<CategoriaEntity> categorias = categoriaService.listarCategoriasDespesas(userId);
         List<CategoriaDTO> response = categorias.stream()
@@ -76,10 +62,7 @@ public class CategoriaController {
     }
 
     @GetMapping("/receitas")
-    public ResponseEntity<List<CategoriaDTO>> listarCategoriasReceitas(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<List<CategoriaDTO>> listarCategoriasReceitas(@UserId String userId) {
 
         List<CategoriaEntity> categorias = categoriaService.listarCategoriasReceitas(userId);
         List<CategoriaDTO> response = categorias.stream()
@@ -89,10 +72,7 @@ public class CategoriaController {
     }
 
     @PatchMapping("/{categoriaId}")
-    public ResponseEntity<CategoriaDTO> atualizarCategoria(@PathVariable String categoriaId, @Valid @RequestBody CategoriaUpdateDTO categoriaUpdateDTO, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<CategoriaDTO> atualizarCategoria(@PathVariable String categoriaId, @Valid @RequestBody CategoriaUpdateDTO categoriaUpdateDTO, @UserId String userId) {
 
         CategoriaEntity categoriaAtualizada = categoriaService.atualizarCategoria(categoriaId, categoriaUpdateDTO,
                 userId);
@@ -101,10 +81,7 @@ public class CategoriaController {
     }
 
     @DeleteMapping("/{categoriaId}")
-    public ResponseEntity<Void> deletarCategoria(@PathVariable String categoriaId, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<Void> deletarCategoria(@PathVariable String categoriaId, @UserId String userId) {
 
         categoriaService.excluirCategoria(categoriaId, userId);
 
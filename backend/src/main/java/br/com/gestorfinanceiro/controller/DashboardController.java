@@ -1,6 +1,7 @@
 package br.com.gestorfinanceiro.controller;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.security.UserId;
+import br.com.gestorfinanceiro.dto.dashboard.DashboardResumoDTO;
 import br.com.gestorfinanceiro.dto.dashboard.SaldoTotalDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
 import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
@@ -8,7 +9,6 @@ import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import br.com.gestorfinanceiro.services.DashboardService;
-import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.ResponseEntity;
@@ -28,29 +28,18 @@ public class DashboardController {
     private final DashboardService dashboardService;
     private final Mapper<DespesaEntity, DespesaDTO> despesaMapper;
     private final Mapper<ReceitaEntity, ReceitaDTO> receitaMapper;
-    private final JwtUtil jwtUtil;
-    private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String BEARER_PREFIX = "Bearer ";
 
     public DashboardController(DashboardService dashboardService,
                                Mapper<DespesaEntity, DespesaDTO> despesaMapper,
-                               Mapper<ReceitaEntity, ReceitaDTO> receitaMapper,
-                               JwtUtil jwtUtil) {
+                               Mapper<ReceitaEntity, ReceitaDTO> receitaMapper) {
         this.dashboardService = dashboardService;
         this.despesaMapper = despesaMapper;
         this.receitaMapper = receitaMapper;
-        this.jwtUtil = jwtUtil;
-    }
-
-    private String getUserIdFromToken(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        return jwtUtil.extractUserId(token);
     }
 
     @GetMapping("/saldo-total")
     public ResponseEntity<SaldoTotalDTO> getSaldoTotal(@RequestParam YearMonth periodo,
-                                                       HttpServletRequest request) {
-        String userId = getUserIdFromToken(request);
+                                                       @UserId String userId) {
         BigDecimal saldo = dashboardService.getSaldoTotal(userId, periodo);
 
         SaldoTotalDTO response = new SaldoTotalDTO(periodo, saldo);
@@ -59,9 +48,8 @@ public class DashboardController {
 
     @GetMapping("/maior-despesa")
     public ResponseEntity<DespesaDTO> getMaiorDespesa(@RequestParam YearMonth periodo,
-                                                    HttpServletRequest request) {
+                                                    @UserId String userId) {
         try {
-            String userId = getUserIdFromToken(request);
             DespesaEntity despesa = dashboardService.getMaiorDespesa(userId, periodo);
             
             if (despesa == null) {
@@ -76,9 +64,8 @@ public class DashboardController {
 
     @GetMapping("/maior-receita")
     public ResponseEntity<ReceitaDTO> getMaiorReceita(@RequestParam YearMonth periodo,
-                                                      HttpServletRequest request) {
+                                                      @UserId String userId) {
         try {
-            String userId = getUserIdFromToken(request);
             ReceitaEntity receita = dashboardService.getMaiorReceita(userId, periodo);
             
             if (receita == null) {
@@ -94,23 +81,20 @@ public class DashboardController {
     @GetMapping("/categoria-maior-despesa")
     public ResponseEntity<Map<String, BigDecimal>> getCategoriaComMaiorDespesa(
             @RequestParam YearMonth periodo,
-            HttpServletRequest request) {
-        String userId = getUserIdFromToken(request);
+            @UserId String userId) {
         return ResponseEntity.ok(dashboardService.getCategoriaComMaiorDespesa(userId, periodo));
     }
 
     @GetMapping("/categoria-maior-receita")
     public ResponseEntity<Map<String, BigDecimal>> getCategoriaComMaiorReceita(
             @RequestParam YearMonth periodo,
-            HttpServletRequest request) {
-        String userId = getUserIdFromToken(request);
+            @UserId String userId) {
         return ResponseEntity.ok(dashboardService.getCategoriaComMaiorReceita(userId, periodo));
     }
 
     @GetMapping("/despesa-total")
     public ResponseEntity<SaldoTotalDTO> getTotalDespesasNoMes(@RequestParam YearMonth periodo,
-                                                      HttpServletRequest request) {
-        String userId = getUserIdFromToken(request);
+                                                      @UserId String userId) {
         BigDecimal despesaTotal = dashboardService.calcularTotalDespesasNoMes(userId, periodo);
         SaldoTotalDTO response = new SaldoTotalDTO(periodo, despesaTotal);
 
@@ -119,11 +103,17 @@ public class DashboardController {
 
     @GetMapping("/receita-total")
     public ResponseEntity<SaldoTotalDTO> getTotalReceitasNoMes(@RequestParam YearMonth periodo,
-                                                      HttpServletRequest request) {
-        String userId = getUserIdFromToken(request);
+                                                      @UserId String userId) {
         BigDecimal receitaTotal = dashboardService.calcularTotalReceitasNoMes(userId, periodo);
         SaldoTotalDTO response = new SaldoTotalDTO(periodo, receitaTotal);
 
         return ResponseEntity.ok(response);
     }
+
+    // Todos os números do dashboard em uma única requisição
+    @GetMapping("/resumo")
+    public ResponseEntity<DashboardResumoDTO> getResumo(@RequestParam YearMonth periodo,
+                                                        @UserId String userId) {
+        return ResponseEntity.ok(dashboardService.getResumo(userId, periodo));
+    }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package br.com.gestorfinanceiro.controller;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.idempotencia.RegistroIdempotencia;
+import br.com.gestorfinanceiro.config.security.UserId;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaUpdateDTO;
@@ -9,9 +12,10 @@ import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.services.DespesaService;
-import jakarta.servlet.http.HttpServletRequest;
+import br.com.gestorfinanceiro.utils.ETagUtils;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,46 +34,52 @@ import java.util.Objects;
 public class DespesaController {
     private final DespesaService despesaService;
     private final Mapper<DespesaEntity, DespesaDTO> despesaMapper;
-    private final JwtUtil jwtUtil;
-    private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String BEARER_PREFIX = "Bearer ";
+    private final RegistroIdempotencia registroIdempotencia;
 
-    public DespesaController(DespesaService despesaService, Mapper<DespesaEntity, DespesaDTO> despesaMapper, JwtUtil jwtUtil) {
+    public DespesaController(DespesaService despesaService, Mapper<DespesaEntity, DespesaDTO> despesaMapper,
+                             RegistroIdempotencia registroIdempotencia) {
         this.despesaService = despesaService;
         this.despesaMapper = despesaMapper;
-        this.jwtUtil = jwtUtil;
+        this.registroIdempotencia = registroIdempotencia;
     }
 
+    // Com Idempotency-Key, uma retentativa devolve a resposta da primeira criação em vez de inserir outra despesa
     @PostMapping
-    public ResponseEntity<DespesaDTO> criarDespesa(@Valid @RequestBody DespesaCreateDTO despesaCreateDTO, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<DespesaDTO> criarDespesa(@Valid @RequestBody DespesaCreateDTO despesaCreateDTO, @UserId String userId,
+                                                   @RequestHeader(value = RegistroIdempotencia.CABECALHO_CHAVE, required = false) String idempotencyKey) {
 
-        DespesaEntity novaDespesa = despesaService.criarDespesa(despesaCreateDTO, userId);
+        return registroIdempotencia.executar(userId, "POST /despesas", idempotencyKey, despesaCreateDTO, () -> {
+            DespesaEntity novaDespesa = despesaService.criarDespesa(despesaCreateDTO, userId);
 
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
-                .buildAndExpand(novaDespesa.getUuid()).toUri();
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+                    .buildAndExpand(novaDespesa.getUuid()).toUri();
 
-        return ResponseEntity.created(location).body(despesaMapper.mapTo(novaDespesa));
+            return ResponseEntity.created(location)
+                    .eTag(ETagUtils.formatar(novaDespesa.getVersao()))
+                    .body(despesaMapper.mapTo(novaDespesa));
+        });
     }
 
-    @GetMapping
-    public ResponseEntity<List<DespesaDTO>> listarDespesas(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    // Importa o lote inteiro ou nada: com qualquer linha inválida nenhuma despesa é criada e os erros vêm por linha
+    @PostMapping("/lote")
+    public ResponseEntity<ImportacaoLoteDTO> importarDespesas(@RequestBody List<DespesaCreateDTO> despesas, @UserId String userId) {
+        ImportacaoLoteDTO resultado = despesaService.importarDespesas(despesas, userId);
+
+        HttpStatus status = resultado.erros().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(resultado);
+    }
 
-        List<DespesaDTO> despesas = despesaService.listarDespesasUsuario(userId)
-                .stream()
-                .map(despesaMapper::mapTo)
-                .toList();
+    @GetMapping
+    public ResponseEntity<List<DespesaDTO>> listarDespesas(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @UserId String userId) {
 
-        return ResponseEntity.ok(despesas);
+        return respostaPaginada(despesaService.listarDespesasUsuario(userId, cursor, limiteOuPadrao(limit)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<DespesaDTO> buscarDespesaPorId(@PathVariable String id, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<DespesaDTO> buscarDespesaPorId(@PathVariable String id, @UserId String userId) {
         DespesaEntity despesa = despesaService.buscarDespesaPorId(id);
 
         // Checa se o usuário logado é o dono da despesa
@@ -77,33 +87,25 @@ public class DespesaController {
             return ResponseEntity.status(403).build();
         }
 
-        return ResponseEntity.ok(despesaMapper.mapTo(despesa));
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.formatar(despesa.getVersao()))
+                .body(despesaMapper.mapTo(despesa));
     }
 
+    // If-Match com o ETag do GET faz a atualização falhar com 412 se a despesa mudou desde a leitura
     @PutMapping("/{id}")
-    public ResponseEntity<DespesaDTO> atualizarDespesa(@PathVariable String id, @Valid @RequestBody DespesaUpdateDTO despesaUpdateDTO, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
-        DespesaEntity despesa = despesaService.buscarDespesaPorId(id);
-    
-        if (!Objects.equals(userId, despesa.getUser().getUuid())) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-        DespesaEntity despesaAtualizada = despesaService.atualizarDespesa(id, despesaUpdateDTO);
-        return ResponseEntity.ok(despesaMapper.mapTo(despesaAtualizada));
+    public ResponseEntity<DespesaDTO> atualizarDespesa(@PathVariable String id, @Valid @RequestBody DespesaUpdateDTO despesaUpdateDTO, @UserId String userId,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DespesaEntity despesaAtualizada = despesaService.atualizarDespesa(id, userId, despesaUpdateDTO, ETagUtils.versaoDoIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.formatar(despesaAtualizada.getVersao()))
+                .body(despesaMapper.mapTo(despesaAtualizada));
     }
 
+    // A checagem de dono fica no service, na mesma consulta que carrega a despesa
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirDespesa(@PathVariable String id, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
-        DespesaEntity despesa = despesaService.buscarDespesaPorId(id);
-
-        if (!Objects.equals(userId, despesa.getUser().getUuid())) {
-            return ResponseEntity.status(403).build();
-        }
-    
-        despesaService.excluirDespesa(id);
+    public ResponseEntity<Void> excluirDespesa(@PathVariable String id, @UserId String userId) {
+        despesaService.excluirDespesa(id, userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -111,14 +113,7 @@ public class DespesaController {
     public ResponseEntity<GraficoBarraDTO> gerarGraficoBarrasDespesa(
             @RequestParam YearMonth inicio, 
             @RequestParam YearMonth fim, 
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        
-        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        String token = authHeader.substring(BEARER_PREFIX.length());
-        String userId = jwtUtil.extractUserId(token);
+            @UserId String userId) {
 
         if (inicio.isAfter(fim)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
@@ -132,10 +127,7 @@ public class DespesaController {
     public ResponseEntity<GraficoPizzaDTO> gerarGraficoPizza(
             @RequestParam LocalDate inicio,
             @RequestParam LocalDate fim,
-            HttpServletRequest request) {
-
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+            @UserId String userId) {
 
         GraficoPizzaDTO graficoPizza = despesaService.gerarGraficoPizza(userId, inicio, fim);
 
@@ -146,38 +138,38 @@ public class DespesaController {
     public ResponseEntity<List<DespesaDTO>> buscarDespesasPorIntervaloDeDatas(
             @RequestParam LocalDate inicio,
             @RequestParam LocalDate fim,
-            HttpServletRequest request) {
-
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
-
-        List<DespesaEntity> despesas = despesaService.buscarDespesasPorIntervaloDeDatas(userId, inicio, fim);
-
-        // Converte a lista de receitas para DTOs
-        List<DespesaDTO> despesaDTO = despesas.stream()
-                .map(despesaMapper::mapTo)
-                .toList();
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @UserId String userId) {
 
-        return ResponseEntity.ok(despesaDTO);
+        return respostaPaginada(despesaService.buscarDespesasPorIntervaloDeDatas(userId, inicio, fim, cursor, limiteOuPadrao(limit)));
     }
 
     @GetMapping("/por-intervalo-de-valores")
     public ResponseEntity<List<DespesaDTO>> buscarReceitasPorIntervaloDeValores(
             @RequestParam BigDecimal min,
             @RequestParam BigDecimal max,
-            HttpServletRequest request) {
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @UserId String userId) {
 
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+        return respostaPaginada(despesaService.buscarDespesasPorIntervaloDeValores(userId, min, max, cursor, limiteOuPadrao(limit)));
+    }
 
-        List<DespesaEntity> despesas = despesaService.buscarDespesasPorIntervaloDeValores(userId, min, max);
+    // A listagem é sempre paginada por (data, uuid): sem limit vêm LIMITE_PADRAO itens, e o cursor da próxima
+    // página vai no header X-Next-Cursor
+    private static int limiteOuPadrao(Integer limit) {
+        return limit != null ? limit : Pagina.LIMITE_PADRAO;
+    }
 
-        // Converte a lista de receitas para DTOs
-        List<DespesaDTO> despesaDTO = despesas.stream()
-                .map(despesaMapper::mapTo)
-                .toList();
+    private ResponseEntity<List<DespesaDTO>> respostaPaginada(Pagina<DespesaEntity> pagina) {
+        Pagina<DespesaDTO> despesas = pagina.map(despesaMapper::mapTo);
 
-        return ResponseEntity.ok(despesaDTO);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (despesas.proximoCursor() != null) {
+            resposta.header(Pagina.HEADER_PROXIMO_CURSOR, despesas.proximoCursor());
+        }
+
+        return resposta.body(despesas.itens());
     }
 }
-
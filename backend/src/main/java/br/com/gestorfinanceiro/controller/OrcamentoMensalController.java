@@ -1,15 +1,17 @@
 package br.com.gestorfinanceiro.controller;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.security.UserId;
+import br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO;
 import br.com.gestorfinanceiro.dto.orcamentomensal.OrcamentoMensalDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
 import br.com.gestorfinanceiro.services.OrcamentoMensalService;
-import jakarta.servlet.http.HttpServletRequest;
+import br.com.gestorfinanceiro.utils.ETagUtils;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -25,44 +27,44 @@ public class OrcamentoMensalController {
 
     private final OrcamentoMensalService orcamentoMensalService;
     private final Mapper<OrcamentoMensalEntity, OrcamentoMensalDTO> orcamentoMensalMapper;
-    private final JwtUtil jwtUtil;
-
-    private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String BEARER_PREFIX = "Bearer ";
 
     public OrcamentoMensalController(OrcamentoMensalService orcamentoMensalService,
-                                     Mapper<OrcamentoMensalEntity, OrcamentoMensalDTO> orcamentoMensalMapper,
-                                     JwtUtil jwtUtil) {
+                                     Mapper<OrcamentoMensalEntity, OrcamentoMensalDTO> orcamentoMensalMapper) {
         this.orcamentoMensalService = orcamentoMensalService;
         this.orcamentoMensalMapper = orcamentoMensalMapper;
-        this.jwtUtil = jwtUtil;
     }
 
     @GetMapping
-    public ResponseEntity<List<OrcamentoMensalDTO>> findAll(HttpServletRequest request) {
+    public ResponseEntity<List<OrcamentoMensalDTO>> findAll(@UserId String userId) {
         return ResponseEntity.ok(mapToDTOs(
-                orcamentoMensalService.listarTodosPorUsuario(getUserId(request))
+                orcamentoMensalService.listarTodosPorUsuario(userId)
         ));
     }
 
     @GetMapping("/{uuid}")
-    public ResponseEntity<OrcamentoMensalDTO> findById(HttpServletRequest request, @PathVariable String uuid) {
-        return ResponseEntity.ok(mapToDTO(
-                orcamentoMensalService.buscarPorId(getUserId(request), uuid)
-        ));
+    public ResponseEntity<OrcamentoMensalDTO> findById(@UserId String userId, @PathVariable String uuid) {
+        OrcamentoMensalEntity orcamento = orcamentoMensalService.buscarPorId(userId, uuid);
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.formatar(orcamento.getVersao()))
+                .body(mapToDTO(orcamento));
     }
 
     @GetMapping("/periodo/{periodo}")
-    public ResponseEntity<List<OrcamentoMensalDTO>> findByPeriodo(HttpServletRequest request, @PathVariable YearMonth periodo) {
+    public ResponseEntity<List<OrcamentoMensalDTO>> findByPeriodo(@UserId String userId, @PathVariable YearMonth periodo) {
         return ResponseEntity.ok(mapToDTOs(
-                orcamentoMensalService.listarPorPeriodo(getUserId(request), periodo)
+                orcamentoMensalService.listarPorPeriodo(userId, periodo)
         ));
     }
 
+    @GetMapping("/consumo/{periodo}")
+    public ResponseEntity<List<ConsumoOrcamentoDTO>> findConsumoByPeriodo(@UserId String userId, @PathVariable YearMonth periodo) {
+        return ResponseEntity.ok(orcamentoMensalService.calcularConsumoPorPeriodo(userId, periodo));
+    }
+
     @PostMapping
-    public ResponseEntity<OrcamentoMensalDTO> create(HttpServletRequest request, @RequestBody @Valid OrcamentoMensalDTO dto) {
+    public ResponseEntity<OrcamentoMensalDTO> create(@UserId String userId, @RequestBody @Valid OrcamentoMensalDTO dto) {
         OrcamentoMensalEntity orcamento = orcamentoMensalService.criarOrcamentoMensal(
-                getUserId(request), dto.getCategoria(), dto.getValorLimite(), dto.getPeriodo()
+                userId, dto.getCategoria(), dto.getValorLimite(), dto.getPeriodo()
         );
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -70,33 +72,31 @@ public class OrcamentoMensalController {
                 .buildAndExpand(orcamento.getUuid())
                 .toUri();
 
-        return ResponseEntity.created(location).body(mapToDTO(orcamento));
+        return ResponseEntity.created(location)
+                .eTag(ETagUtils.formatar(orcamento.getVersao()))
+                .body(mapToDTO(orcamento));
     }
 
+    // If-Match com o ETag do GET faz a atualização falhar com 412 se o orçamento mudou desde a leitura
     @PutMapping("/{uuid}")
-    public ResponseEntity<OrcamentoMensalDTO> update(HttpServletRequest request, @PathVariable String uuid,
-                                                     @RequestBody @Valid OrcamentoMensalRequest requestBody) {
-        return ResponseEntity.ok(mapToDTO(
-                orcamentoMensalService.atualizarOrcamentoMensal(
-                        getUserId(request), uuid, requestBody.categoria(), requestBody.valorLimite(), requestBody.periodo()
-                )
-        ));
+    public ResponseEntity<OrcamentoMensalDTO> update(@UserId String userId, @PathVariable String uuid,
+                                                     @RequestBody @Valid OrcamentoMensalRequest requestBody,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        OrcamentoMensalEntity orcamento = orcamentoMensalService.atualizarOrcamentoMensal(
+                userId, uuid, requestBody.categoria(), requestBody.valorLimite(), requestBody.periodo(),
+                ETagUtils.versaoDoIfMatch(ifMatch)
+        );
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.formatar(orcamento.getVersao()))
+                .body(mapToDTO(orcamento));
     }
 
     @DeleteMapping("/{uuid}")
-    public ResponseEntity<Void> delete(HttpServletRequest request, @PathVariable String uuid) {
-        orcamentoMensalService.excluirOrcamentoMensal(getUserId(request), uuid);
+    public ResponseEntity<Void> delete(@UserId String userId, @PathVariable String uuid) {
+        orcamentoMensalService.excluirOrcamentoMensal(userId, uuid);
         return ResponseEntity.noContent().build();
     }
 
-    private String getUserId(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER);
-        if (token == null || !token.startsWith(BEARER_PREFIX)) {
-            throw new IllegalArgumentException("Token JWT inválido ou ausente");
-        }
-        return jwtUtil.extractUserId(token.replace(BEARER_PREFIX, ""));
-    }
-
     private List<OrcamentoMensalDTO> mapToDTOs(List<OrcamentoMensalEntity> orcamentos) {
         return orcamentos.stream().map(orcamentoMensalMapper::mapTo).toList();
     }
@@ -1,6 +1,9 @@
 package br.com.gestorfinanceiro.controller;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.idempotencia.RegistroIdempotencia;
+import br.com.gestorfinanceiro.config.security.UserId;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.dto.receita.ReceitaCreateDTO;
@@ -9,9 +12,10 @@ import br.com.gestorfinanceiro.dto.receita.ReceitaUpdateDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import br.com.gestorfinanceiro.services.ReceitaService;
-import jakarta.servlet.http.HttpServletRequest;
+import br.com.gestorfinanceiro.utils.ETagUtils;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,52 +34,54 @@ import java.util.Objects;
 public class ReceitaController {
     private final ReceitaService receitaService;
     private final Mapper<ReceitaEntity, ReceitaDTO> receitaMapper;
-    private final JwtUtil jwtUtil;
-    private static final String AUTHORIZATION_HEADER = "Authorization";
-    private static final String BEARER_PREFIX = "Bearer ";
+    private final RegistroIdempotencia registroIdempotencia;
 
-    public ReceitaController(ReceitaService receitaService, Mapper<ReceitaEntity, ReceitaDTO> receitaMapper, JwtUtil jwtUtil) {
+    public ReceitaController(ReceitaService receitaService, Mapper<ReceitaEntity, ReceitaDTO> receitaMapper,
+                             RegistroIdempotencia registroIdempotencia) {
         this.receitaService = receitaService;
         this.receitaMapper = receitaMapper;
-        this.jwtUtil = jwtUtil;
+        this.registroIdempotencia = registroIdempotencia;
     }
 
+    // Com Idempotency-Key, uma retentativa devolve a resposta da primeira criação em vez de inserir outra receita
     @PostMapping
-    public ResponseEntity<ReceitaDTO> criarReceita(@Valid @RequestBody ReceitaCreateDTO receitaCreateDTO, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<ReceitaDTO> criarReceita(@Valid @RequestBody ReceitaCreateDTO receitaCreateDTO, @UserId String userId,
+                                                   @RequestHeader(value = RegistroIdempotencia.CABECALHO_CHAVE, required = false) String idempotencyKey) {
 
-        ReceitaEntity novaReceita = receitaService.criarReceita(receitaCreateDTO, userId);
+        return registroIdempotencia.executar(userId, "POST /receitas", idempotencyKey, receitaCreateDTO, () -> {
+            ReceitaEntity novaReceita = receitaService.criarReceita(receitaCreateDTO, userId);
 
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{id}")
-                .buildAndExpand(novaReceita.getUuid())
-                .toUri();
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(novaReceita.getUuid())
+                    .toUri();
 
-        return ResponseEntity.created(location)
-                .body(receitaMapper.mapTo(novaReceita));
+            return ResponseEntity.created(location)
+                    .eTag(ETagUtils.formatar(novaReceita.getVersao()))
+                    .body(receitaMapper.mapTo(novaReceita));
+        });
     }
 
-    @GetMapping
-    public ResponseEntity<List<ReceitaDTO>> listarReceitas(HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    // Importa o lote inteiro ou nada: com qualquer linha inválida nenhuma receita é criada e os erros vêm por linha
+    @PostMapping("/lote")
+    public ResponseEntity<ImportacaoLoteDTO> importarReceitas(@RequestBody List<ReceitaCreateDTO> receitas, @UserId String userId) {
+        ImportacaoLoteDTO resultado = receitaService.importarReceitas(receitas, userId);
+
+        HttpStatus status = resultado.erros().isEmpty() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(resultado);
+    }
 
-        List<ReceitaDTO> receitas = receitaService.listarReceitasUsuario(userId)
-                .stream()
-                .map(receitaMapper::mapTo)
-                .toList();
+    @GetMapping
+    public ResponseEntity<List<ReceitaDTO>> listarReceitas(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @UserId String userId) {
 
-        return ResponseEntity.ok(receitas);
+        return respostaPaginada(receitaService.listarReceitasUsuario(userId, cursor, limiteOuPadrao(limit)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ReceitaDTO> buscarReceitaPorId(@PathVariable String id, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<ReceitaDTO> buscarReceitaPorId(@PathVariable String id, @UserId String userId) {
         ReceitaEntity receita = receitaService.buscarReceitaPorId(id);
 
         // Checa se o usuário logado é o dono da receita
@@ -85,33 +91,25 @@ public class ReceitaController {
                     .build();
         }
 
-        return ResponseEntity.ok(receitaMapper.mapTo(receita));
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.formatar(receita.getVersao()))
+                .body(receitaMapper.mapTo(receita));
     }
 
+    // If-Match com o ETag do GET faz a atualização falhar com 412 se a receita mudou desde a leitura
     @PutMapping("/{id}")
-    public ResponseEntity<ReceitaDTO> atualizarReceita(@PathVariable String id, @Valid @RequestBody ReceitaUpdateDTO receitaUpdateDTO, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
-        ReceitaEntity receita = receitaService.buscarReceitaPorId(id);
-
-        if (!Objects.equals(userId, receita.getUser().getUuid())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-        ReceitaEntity receitaAtualizada = receitaService.atualizarReceita(id, receitaUpdateDTO);
-        return ResponseEntity.ok(receitaMapper.mapTo(receitaAtualizada));
+    public ResponseEntity<ReceitaDTO> atualizarReceita(@PathVariable String id, @Valid @RequestBody ReceitaUpdateDTO receitaUpdateDTO, @UserId String userId,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ReceitaEntity receitaAtualizada = receitaService.atualizarReceita(id, userId, receitaUpdateDTO, ETagUtils.versaoDoIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETagUtils.formatar(receitaAtualizada.getVersao()))
+                .body(receitaMapper.mapTo(receitaAtualizada));
     }
 
+    // A checagem de dono fica no service, na mesma consulta que carrega a receita
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluirReceita(@PathVariable String id, HttpServletRequest request) {
-        String token = request.getHeader(AUTHORIZATION_HEADER).replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
-
-        ReceitaEntity receita = receitaService.buscarReceitaPorId(id);
-
-        if (!Objects.equals(userId, receita.getUser().getUuid())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-        }
-        receitaService.excluirReceita(id);
+    public ResponseEntity<Void> excluirReceita(@PathVariable String id, @UserId String userId) {
+        receitaService.excluirReceita(id, userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -119,11 +117,7 @@ public class ReceitaController {
     public ResponseEntity<GraficoPizzaDTO> gerarGraficoPizza(
             @RequestParam LocalDate inicio,
             @RequestParam LocalDate fim,
-            HttpServletRequest request) {
-
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+            @UserId String userId) {
 
         GraficoPizzaDTO graficoPizza = receitaService.gerarGraficoPizza(userId, inicio, fim);
 
@@ -131,14 +125,7 @@ public class ReceitaController {
     }
 
     @GetMapping("/grafico-barras")
-    public ResponseEntity<GraficoBarraDTO> gerarGraficoBarrasReceita(@RequestParam YearMonth inicio, @RequestParam YearMonth fim, @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        
-        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-    
-        String token = authHeader.substring(BEARER_PREFIX.length());
-        String userId = jwtUtil.extractUserId(token);
+    public ResponseEntity<GraficoBarraDTO> gerarGraficoBarrasReceita(@RequestParam YearMonth inicio, @RequestParam YearMonth fim, @UserId String userId) {
     
         if (inicio.isAfter(fim)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
@@ -152,41 +139,38 @@ public class ReceitaController {
     public ResponseEntity<List<ReceitaDTO>> buscarReceitasPorIntervaloDeDatas(
             @RequestParam LocalDate inicio,
             @RequestParam LocalDate fim,
-            HttpServletRequest request) {
-
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @UserId String userId) {
 
-        List<ReceitaEntity> receitas = receitaService.buscarReceitasPorIntervaloDeDatas(userId, inicio, fim);
-
-        // Converte a lista de receitas para DTOs
-        List<ReceitaDTO> receitasDTO = receitas.stream()
-                .map(receitaMapper::mapTo)
-                .toList();
-
-        return ResponseEntity.ok(receitasDTO);
+        return respostaPaginada(receitaService.buscarReceitasPorIntervaloDeDatas(userId, inicio, fim, cursor, limiteOuPadrao(limit)));
     }
 
     @GetMapping("/por-intervalo-de-valores")
     public ResponseEntity<List<ReceitaDTO>> buscarReceitasPorIntervaloDeValores(
             @RequestParam BigDecimal min,
             @RequestParam BigDecimal max,
-            HttpServletRequest request) {
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @UserId String userId) {
 
-        String token = request.getHeader(AUTHORIZATION_HEADER)
-                .replace(BEARER_PREFIX, "");
-        String userId = jwtUtil.extractUserId(token);
+        return respostaPaginada(receitaService.buscarReceitasPorIntervaloDeValores(userId, min, max, cursor, limiteOuPadrao(limit)));
+    }
 
-        List<ReceitaEntity> receitas = receitaService.buscarReceitasPorIntervaloDeValores(userId, min, max);
+    // A listagem é sempre paginada por (data, uuid): sem limit vêm LIMITE_PADRAO itens, e o cursor da próxima
+    // página vai no header X-Next-Cursor
+    private static int limiteOuPadrao(Integer limit) {
+        return limit != null ? limit : Pagina.LIMITE_PADRAO;
+    }
 
-        // Converte a lista de receitas para DTOs
-        List<ReceitaDTO> receitasDTO = receitas.stream()
-                .map(receitaMapper::mapTo)
-                .toList();
+    private ResponseEntity<List<ReceitaDTO>> respostaPaginada(Pagina<ReceitaEntity> pagina) {
+        Pagina<ReceitaDTO> receitas = pagina.map(receitaMapper::mapTo);
 
-        return ResponseEntity.ok(receitasDTO);
-    }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (receitas.proximoCursor() != null) {
+            resposta.header(Pagina.HEADER_PROXIMO_CURSOR, receitas.proximoCursor());
+        }
 
+        return resposta.body(receitas.itens());
+    }
 }
-
@@ -0,0 +1,49 @@
+package br.com.gestorfinanceiro.controller;
+
+import br.com.gestorfinanceiro.config.security.UserId;
+import br.com.gestorfinanceiro.dto.transacao.FormatoExportacao;
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+import br.com.gestorfinanceiro.services.TransacaoService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/transacoes")
+public class TransacaoController {
+
+    private final TransacaoService transacaoService;
+
+    public TransacaoController(TransacaoService transacaoService) {
+        this.transacaoService = transacaoService;
+    }
+
+    // Escreve direto no corpo da resposta em vez de montar uma lista: o histórico pode ter milhões de linhas
+    @GetMapping("/export")
+    public void exportarTransacoes(@RequestParam String formato,
+                                   @RequestParam(required = false) LocalDate inicio,
+                                   @RequestParam(required = false) LocalDate fim,
+                                   @UserId String userId,
+                                   HttpServletResponse response) throws IOException {
+
+        // Validado antes de qualquer header: depois que o content-type é definido o erro não vira JSON
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new InvalidDataException("A data de início não pode ser após a data de fim.");
+        }
+
+        response.setContentType(formatoExportacao.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transacoes." + formatoExportacao.getExtensao() + "\"");
+
+        transacaoService.exportarTransacoes(userId, formatoExportacao, inicio, fim, response.getOutputStream());
+    }
+}
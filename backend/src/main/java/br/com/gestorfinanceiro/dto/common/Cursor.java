@@ -0,0 +1,35 @@
+package br.com.gestorfinanceiro.dto.common;
+
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição (data, uuid) da última transação entregue; trafega como string opaca em Base64
+public record Cursor(LocalDate data, String uuid) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String valor = data + SEPARADOR + uuid;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder()
+                    .decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador <= 0 || separador == valor.length() - 1) {
+                throw new InvalidDataException("Cursor inválido.");
+            }
+            return new Cursor(LocalDate.parse(valor.substring(0, separador)), valor.substring(separador + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidDataException("Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.dto.common;
+
+import java.util.List;
+
+// linha começa em 1 e segue a ordem em que as transações foram enviadas no lote
+public record ErroImportacaoDTO(int linha, List<String> mensagens) {
+}
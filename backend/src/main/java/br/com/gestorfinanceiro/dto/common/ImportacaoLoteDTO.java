@@ -0,0 +1,17 @@
+package br.com.gestorfinanceiro.dto.common;
+
+import java.util.List;
+
+// Resultado de uma importação em lote: ou todas as linhas são importadas, ou nenhuma e os erros são listados
+public record ImportacaoLoteDTO(int recebidas, int importadas, List<ErroImportacaoDTO> erros) {
+
+    public static final int LIMITE_LINHAS = 5000;
+
+    public static ImportacaoLoteDTO importado(int linhas) {
+        return new ImportacaoLoteDTO(linhas, linhas, List.of());
+    }
+
+    public static ImportacaoLoteDTO rejeitado(int recebidas, List<ErroImportacaoDTO> erros) {
+        return new ImportacaoLoteDTO(recebidas, 0, erros);
+    }
+}
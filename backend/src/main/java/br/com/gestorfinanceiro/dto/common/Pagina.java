@@ -0,0 +1,30 @@
+package br.com.gestorfinanceiro.dto.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Página de uma listagem por cursor; proximoCursor é null quando não há mais itens
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+    public static final String HEADER_PROXIMO_CURSOR = "X-Next-Cursor";
+    public static final String HEADER_TOTAL_APROXIMADO = "X-Approximate-Total-Count";
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    // As consultas buscam limite + 1 linhas: a linha extra só indica que existe uma próxima página.
+    // cursorDe codifica a posição do último item entregue
+    public static <T> Pagina<T> deLinhas(List<T> linhas, int limite, Function<T, String> cursorDe) {
+        if (linhas.size() <= limite) {
+            return new Pagina<>(linhas, null);
+        }
+
+        List<T> itens = linhas.subList(0, limite);
+        return new Pagina<>(itens, cursorDe.apply(itens.get(limite - 1)));
+    }
+
+    public <R> Pagina<R> map(Function<T, R> mapper) {
+        return new Pagina<>(itens.stream()
+                .map(mapper)
+                .toList(), proximoCursor);
+    }
+}
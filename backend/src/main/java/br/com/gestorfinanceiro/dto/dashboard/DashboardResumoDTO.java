@@ -0,0 +1,17 @@
+package br.com.gestorfinanceiro.dto.dashboard;
+
+import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
+import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+
+public record DashboardResumoDTO(YearMonth periodo,
+                                 BigDecimal saldoTotal,
+                                 BigDecimal despesaTotal,
+                                 BigDecimal receitaTotal,
+                                 DespesaDTO maiorDespesa,
+                                 ReceitaDTO maiorReceita,
+                                 Map<String, BigDecimal> categoriaMaiorDespesa,
+                                 Map<String, BigDecimal> categoriaMaiorReceita) {}
@@ -0,0 +1,8 @@
+package br.com.gestorfinanceiro.dto.dashboard;
+
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+
+import java.math.BigDecimal;
+
+// Uma linha de resumo_mensal: total de um tipo de transação em uma categoria (null quando sem categoria)
+public record TotalCategoriaDTO(CategoriaType tipo, String categoria, BigDecimal total) {}
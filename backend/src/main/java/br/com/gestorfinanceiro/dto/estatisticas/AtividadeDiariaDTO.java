@@ -0,0 +1,6 @@
+package br.com.gestorfinanceiro.dto.estatisticas;
+
+import java.time.LocalDate;
+
+// Despesas e receitas criadas em um dia
+public record AtividadeDiariaDTO(LocalDate dia, long despesas, long receitas) {}
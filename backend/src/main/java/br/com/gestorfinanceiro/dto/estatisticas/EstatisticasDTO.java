@@ -0,0 +1,8 @@
+package br.com.gestorfinanceiro.dto.estatisticas;
+
+import java.time.Instant;
+import java.util.List;
+
+// Visão geral da plataforma para o admin; os números são de atualizadoEm, não do instante da requisição
+public record EstatisticasDTO(long totalUsuarios, long usuariosAtivos, List<AtividadeDiariaDTO> transacoesPorDia,
+                              List<VolumeUsuarioDTO> maioresUsuarios, Instant atualizadoEm) {}
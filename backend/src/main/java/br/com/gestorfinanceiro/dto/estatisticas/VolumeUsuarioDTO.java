@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.dto.estatisticas;
+
+// Transações guardadas de um usuário (todas), as dos meses do período das estatísticas e, quando o banco informa o
+// tamanho das tabelas, o espaço estimado que todas ocupam (tamanho de despesas + receitas dividido pelo total de
+// linhas, vezes as linhas do usuário); null nos demais bancos
+public record VolumeUsuarioDTO(String userId, String username, long transacoes, long transacoesRecentes,
+                               Long armazenamentoEstimadoBytes) {}
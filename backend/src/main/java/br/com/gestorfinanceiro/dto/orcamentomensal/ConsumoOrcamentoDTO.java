@@ -0,0 +1,23 @@
+package br.com.gestorfinanceiro.dto.orcamentomensal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+
+public record ConsumoOrcamentoDTO(String uuid,
+                                  String categoria,
+                                  YearMonth periodo,
+                                  BigDecimal valorLimite,
+                                  BigDecimal gasto,
+                                  BigDecimal restante,
+                                  BigDecimal percentualUsado) {
+
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    // Usado pela consulta agregada; o restante fica negativo quando o orçamento estoura
+    public ConsumoOrcamentoDTO(String uuid, String categoria, YearMonth periodo, BigDecimal valorLimite, BigDecimal gasto) {
+        this(uuid, categoria, periodo, valorLimite, gasto, valorLimite.subtract(gasto),
+                gasto.multiply(CEM)
+                        .divide(valorLimite, 2, RoundingMode.HALF_UP));
+    }
+}
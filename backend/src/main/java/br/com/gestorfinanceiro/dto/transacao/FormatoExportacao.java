@@ -0,0 +1,35 @@
+package br.com.gestorfinanceiro.dto.transacao;
+
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+
+import java.util.Locale;
+
+public enum FormatoExportacao {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public static FormatoExportacao de(String formato) {
+        try {
+            return valueOf(formato.trim()
+                    .toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidDataException("Formato de exportação inválido. Use csv ou ndjson.");
+        }
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
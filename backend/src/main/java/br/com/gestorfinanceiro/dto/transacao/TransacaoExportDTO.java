@@ -0,0 +1,14 @@
+package br.com.gestorfinanceiro.dto.transacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Linha da exportação; origemOuDestino é o destinoPagamento da despesa ou a origemDoPagamento da receita
+public record TransacaoExportDTO(String tipo,
+                                 String uuid,
+                                 LocalDate data,
+                                 BigDecimal valor,
+                                 String categoria,
+                                 String origemOuDestino,
+                                 String observacoes) {
+}
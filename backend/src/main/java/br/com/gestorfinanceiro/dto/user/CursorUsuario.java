@@ -0,0 +1,37 @@
+package br.com.gestorfinanceiro.dto.user;
+
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Valor do campo de ordenação do último usuário entregue; a ordenação vai junto para recusar um cursor
+// reaproveitado com outro sort. Trafega como string opaca em Base64, como o Cursor das transações
+public record CursorUsuario(OrdenacaoUsuarios ordenacao, String valor) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String conteudo = ordenacao.getParametro() + SEPARADOR + valor;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorUsuario decodificar(String cursor, OrdenacaoUsuarios ordenacaoEsperada) {
+        String conteudo;
+        try {
+            conteudo = new String(Base64.getUrlDecoder()
+                    .decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Cursor inválido.");
+        }
+
+        int separador = conteudo.indexOf(SEPARADOR);
+        if (separador <= 0 || separador == conteudo.length() - 1
+                || !conteudo.substring(0, separador).equals(ordenacaoEsperada.getParametro())) {
+            throw new InvalidDataException("Cursor inválido.");
+        }
+        return new CursorUsuario(ordenacaoEsperada, conteudo.substring(separador + 1));
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.gestorfinanceiro.dto.user;
+
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+import br.com.gestorfinanceiro.models.enums.Roles;
+
+import java.util.Locale;
+
+// Filtros da listagem de usuários do admin; campos nulos não filtram. busca é um prefixo do username ou do e-mail.
+// Também é a chave do cache da contagem, por isso é um record
+public record FiltroUsuarios(Roles role, Boolean estaAtivo, String busca) {
+
+    public static FiltroUsuarios de(String role, Boolean estaAtivo, String busca) {
+        return new FiltroUsuarios(roleDe(role), estaAtivo, busca == null || busca.isBlank() ? null : busca.trim());
+    }
+
+    private static Roles roleDe(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return Roles.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Role inválida: " + role);
+        }
+    }
+}
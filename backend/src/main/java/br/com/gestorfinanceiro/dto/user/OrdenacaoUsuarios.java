@@ -0,0 +1,45 @@
+package br.com.gestorfinanceiro.dto.user;
+
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+
+// Ordenações aceitas pela listagem de usuários do admin. username e email são únicos, então cada um sozinho
+// já serve de chave para a paginação por cursor
+public enum OrdenacaoUsuarios {
+
+    USERNAME("username", "username", false),
+    USERNAME_DESC("-username", "username", true),
+    EMAIL("email", "email", false),
+    EMAIL_DESC("-email", "email", true);
+
+    private final String parametro;
+    private final String atributo;
+    private final boolean decrescente;
+
+    OrdenacaoUsuarios(String parametro, String atributo, boolean decrescente) {
+        this.parametro = parametro;
+        this.atributo = atributo;
+        this.decrescente = decrescente;
+    }
+
+    // Valor do parâmetro sort: o nome do campo, com "-" na frente para ordem decrescente
+    public static OrdenacaoUsuarios de(String sort) {
+        for (OrdenacaoUsuarios ordenacao : values()) {
+            if (ordenacao.parametro.equals(sort)) {
+                return ordenacao;
+            }
+        }
+        throw new InvalidDataException("Ordenação inválida: " + sort + ". Use username, -username, email ou -email.");
+    }
+
+    public String getParametro() {
+        return parametro;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    public boolean isDecrescente() {
+        return decrescente;
+    }
+}
@@ -0,0 +1,3 @@
+package br.com.gestorfinanceiro.dto.user;
+
+public record RefreshTokenDTO(String refreshToken) {}
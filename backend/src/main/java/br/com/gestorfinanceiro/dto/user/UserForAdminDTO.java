@@ -1,5 +1,7 @@
 package br.com.gestorfinanceiro.dto.user;
 
+import br.com.gestorfinanceiro.models.enums.Roles;
+
 public class UserForAdminDTO {
     private String uuid;
     private String username;
@@ -7,6 +9,18 @@ public class UserForAdminDTO {
     private String role;
     private Boolean estaAtivo;
 
+    public UserForAdminDTO() {
+    }
+
+    // Usado como projeção na listagem do admin: só as colunas exibidas, sem carregar o hash da senha
+    public UserForAdminDTO(String uuid, String username, String email, Roles role, Boolean estaAtivo) {
+        this.uuid = uuid;
+        this.username = username;
+        this.email = email;
+        this.role = role != null ? role.name() : null;
+        this.estaAtivo = estaAtivo;
+    }
+
     // getters e setters
 
     public String getUuid() {
@@ -5,14 +5,22 @@ import br.com.gestorfinanceiro.exceptions.dashboard.DashboardOperationException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalAlreadyExistsException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalNotFoundException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalOperationException;
+import br.com.gestorfinanceiro.exceptions.common.IdempotencyKeyInProgressException;
+import br.com.gestorfinanceiro.exceptions.common.IdempotencyKeyReuseException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidUuidException;
+import br.com.gestorfinanceiro.exceptions.common.VersionMismatchException;
+import br.com.gestorfinanceiro.exceptions.despesa.DespesaAccessDeniedException;
 import br.com.gestorfinanceiro.exceptions.despesa.DespesaNotFoundException;
 import br.com.gestorfinanceiro.exceptions.despesa.DespesaOperationException;
+import br.com.gestorfinanceiro.exceptions.receita.ReceitaAccessDeniedException;
 import br.com.gestorfinanceiro.exceptions.receita.ReceitaNotFoundException;
 import br.com.gestorfinanceiro.exceptions.receita.ReceitaOperationException;
 import br.com.gestorfinanceiro.exceptions.user.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -30,6 +38,13 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @RestControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    // ObjectProvider porque os testes de fatia web (@WebMvcTest) não sobem a configuração de métricas
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     // ----------------------------------------
     // EXCEÇÕES GENÉRICAS DO SISTEMA
     // ----------------------------------------
@@ -60,6 +75,39 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
     }
 
+    // Handler para requisições sem token JWT válido
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Object> handleInvalidTokenException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.UNAUTHORIZED;
+        ProblemaType problemaType = ProblemaType.ERRO_DE_AUTENTICACAO;
+        Problema problema = createProblemaBuilder(status, problemaType, ex.getMessage()).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
+    // Handler para tentativas de login acima do limite por e-mail ou por IP
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<Object> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        ProblemaType problemaType = ProblemaType.MUITAS_TENTATIVAS;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()));
+        return this.handleExceptionInternal(ex, problema, headers, status, webRequest);
+    }
+
+    // Handler para o pool de hash de senhas cheio: recusa na hora em vez de enfileirar sem limite
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<Object> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ProblemaType problemaType = ProblemaType.SERVICO_INDISPONIVEL;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()));
+        return this.handleExceptionInternal(ex, problema, headers, status, webRequest);
+    }
+
     // Handler para EmailAlreadyExistsException
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<Object> handleEmailDuplicadoException(RuntimeException ex, WebRequest webRequest) {
@@ -124,6 +172,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
     }
 
+    // Handler para ReceitaAccessDeniedException
+    @ExceptionHandler(ReceitaAccessDeniedException.class)
+    public ResponseEntity<Object> handleReceitaAccessDeniedException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.FORBIDDEN;
+        ProblemaType problemaType = ProblemaType.ACESSO_NEGADO;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
     // Handler para ReceitaOperationException
     @ExceptionHandler(ReceitaOperationException.class)
     public ResponseEntity<Object> handleReceitaOperationException(RuntimeException ex, WebRequest webRequest) {
@@ -148,6 +206,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
     }
 
+    // Handler para DespesaAccessDeniedException
+    @ExceptionHandler(DespesaAccessDeniedException.class)
+    public ResponseEntity<Object> handleDespesaAccessDeniedException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.FORBIDDEN;
+        ProblemaType problemaType = ProblemaType.ACESSO_NEGADO;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
     // Handler para DespesaOperationException
     @ExceptionHandler(DespesaOperationException.class)
     public ResponseEntity<Object> handleDespesaOperationException(RuntimeException ex, WebRequest webRequest) {
@@ -294,6 +362,46 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
     }
 
+    // Handler para If-Match com uma versão que não é mais a atual
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<Object> handleVersionMismatchException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        ProblemaType problemaType = ProblemaType.VERSAO_DESATUALIZADA;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
+    // Handler para duas escritas concorrentes no mesmo registro (@Version): a segunda a fazer commit perde
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ProblemaType problemaType = ProblemaType.VERSAO_DESATUALIZADA;
+        String detail = "O registro foi alterado por outra requisição. Busque-o novamente e repita a operação.";
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
+    // Handler para Idempotency-Key reaproveitada com outro corpo
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReuseException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        ProblemaType problemaType = ProblemaType.CONFLITO_DE_DADOS;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
+    // Handler para retentativa que chega enquanto a requisição original ainda está sendo processada
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyInProgressException(RuntimeException ex, WebRequest webRequest) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        ProblemaType problemaType = ProblemaType.CONFLITO_DE_DADOS;
+        String detail = ex.getMessage();
+        Problema problema = createProblemaBuilder(status, problemaType, detail).build();
+        return this.handleExceptionInternal(ex, problema, new HttpHeaders(), status, webRequest);
+    }
+
     // ----------------------------------------
     // EXCEÇÕES DE VALIDAÇÃO DE OVERRIDES
     // ----------------------------------------
@@ -379,10 +487,16 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return super.handleExceptionInternal(ex, body, headers, status, request);
     }
 
-    // Metodo auxiliar para construir uma resposta de erro
+    // Metodo auxiliar para construir uma resposta de erro; todo handler passa por aqui, então é aqui que
+    // cada resposta de erro é contada por tipo de problema e status
     private Problema.ProblemaBuilder createProblemaBuilder(HttpStatusCode status,
                                                            ProblemaType problemaType,
                                                            String detail) {
+        meterRegistry.ifAvailable(registry -> registry.counter("gestorfinanceiro.problemas",
+                        "type", problemaType.name(),
+                        "status", String.valueOf(status.value()))
+                .increment());
+
         return Problema.builder()
                 .status(status.value())
                 .type(problemaType.getUri())
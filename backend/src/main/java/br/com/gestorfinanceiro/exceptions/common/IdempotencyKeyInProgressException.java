@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.exceptions.common;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException(String chave) {
+        super(String.format("Uma requisição com a Idempotency-Key '%s' ainda está em andamento. Tente novamente em instantes.", chave));
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.exceptions.common;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String chave) {
+        super(String.format("A Idempotency-Key '%s' já foi usada com outro corpo de requisição.", chave));
+    }
+}
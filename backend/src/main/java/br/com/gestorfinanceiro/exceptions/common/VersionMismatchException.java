@@ -0,0 +1,8 @@
+package br.com.gestorfinanceiro.exceptions.common;
+
+public class VersionMismatchException extends RuntimeException {
+    public VersionMismatchException(Long versaoEsperada, Long versaoAtual) {
+        super(String.format("O registro está na versão %d, mas o If-Match informou a versão %d. Busque-o novamente e repita a operação.",
+                versaoAtual, versaoEsperada));
+    }
+}
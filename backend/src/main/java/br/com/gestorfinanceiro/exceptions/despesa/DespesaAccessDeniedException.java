@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.exceptions.despesa;
+
+public class DespesaAccessDeniedException extends RuntimeException {
+    public DespesaAccessDeniedException(String uuid) {
+        super("Acesso à despesa " + uuid + " negado: esta despesa não pertence a você");
+    }
+}
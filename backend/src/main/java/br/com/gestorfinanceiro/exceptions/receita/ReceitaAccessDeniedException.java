@@ -0,0 +1,7 @@
+package br.com.gestorfinanceiro.exceptions.receita;
+
+public class ReceitaAccessDeniedException extends RuntimeException {
+    public ReceitaAccessDeniedException(String uuid) {
+        super("Acesso à receita " + uuid + " negado: esta receita não pertence a você");
+    }
+}
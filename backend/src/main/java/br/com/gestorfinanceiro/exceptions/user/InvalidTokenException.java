@@ -0,0 +1,11 @@
+package br.com.gestorfinanceiro.exceptions.user;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException() {
+        super("Token JWT inválido ou ausente");
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.gestorfinanceiro.exceptions.user;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public PasswordHashingUnavailableException(long segundosParaNovaTentativa) {
+        super("O serviço de autenticação está sobrecarregado. Tente novamente em instantes.");
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.gestorfinanceiro.exceptions.user;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public TooManyLoginAttemptsException(long segundosParaNovaTentativa) {
+        super(String.format("Muitas tentativas de login. Tente novamente em %d segundo(s).", segundosParaNovaTentativa));
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
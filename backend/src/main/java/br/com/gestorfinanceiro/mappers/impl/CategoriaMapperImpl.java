@@ -3,32 +3,34 @@ package br.com.gestorfinanceiro.mappers.impl;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.CategoriaType;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CategoriaMapperImpl implements Mapper<CategoriaEntity, CategoriaDTO> {
 
-    private final ModelMapper modelMapper;
-
-    public CategoriaMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
     @Override
     public CategoriaDTO mapTo(CategoriaEntity categoriaEntity) {
-        CategoriaDTO dto = modelMapper.map(categoriaEntity, CategoriaDTO.class);
-        dto.setTipo(categoriaEntity.getTipo().name());
+        UserEntity user = categoriaEntity.getUser();
 
-        return dto;
+        return new CategoriaDTO(categoriaEntity.getUuid(), categoriaEntity.getNome(), categoriaEntity.getTipo()
+                .name(), user != null ? user.getUuid() : null);
     }
 
     @Override
     public CategoriaEntity mapFrom(CategoriaDTO categoriaDTO) {
-        CategoriaEntity entity =  modelMapper.map(categoriaDTO, CategoriaEntity.class);
+        CategoriaEntity entity = new CategoriaEntity();
+        entity.setUuid(categoriaDTO.getUuid());
+        entity.setNome(categoriaDTO.getNome());
         entity.setTipo(CategoriaType.valueOf(categoriaDTO.getTipo()));
 
+        if (categoriaDTO.getUserUuid() != null) {
+            UserEntity user = new UserEntity();
+            user.setUuid(categoriaDTO.getUserUuid());
+            entity.setUser(user);
+        }
+
         return entity;
     }
 }
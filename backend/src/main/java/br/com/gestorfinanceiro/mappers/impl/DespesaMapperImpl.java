@@ -3,27 +3,34 @@ package br.com.gestorfinanceiro.mappers.impl;
 import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.DespesaEntity;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class DespesaMapperImpl implements Mapper<DespesaEntity, DespesaDTO> {
-    private final ModelMapper modelMapper;
-
-    public DespesaMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     @Override
     public DespesaDTO mapTo(DespesaEntity despesaEntity) {
-        DespesaDTO dto = modelMapper.map(despesaEntity, DespesaDTO.class);
-        dto.setCategoria(despesaEntity.getCategoria()
-                .getNome());
+        DespesaDTO dto = new DespesaDTO();
+        dto.setUuid(despesaEntity.getUuid());
+        dto.setData(despesaEntity.getData());
+        dto.setValor(despesaEntity.getValor());
+        // Linhas antigas podem não ter categoria
+        dto.setCategoria(despesaEntity.getCategoria() != null ? despesaEntity.getCategoria()
+                .getNome() : null);
+        dto.setDestinoPagamento(despesaEntity.getDestinoPagamento());
+        dto.setObservacoes(despesaEntity.getObservacoes());
         return dto;
     }
 
+    // A categoria chega só pelo nome; quem chama resolve a entidade
     @Override
     public DespesaEntity mapFrom(DespesaDTO despesaDTO) {
-        return modelMapper.map(despesaDTO, DespesaEntity.class);
+        DespesaEntity entity = new DespesaEntity();
+        entity.setUuid(despesaDTO.getUuid());
+        entity.setData(despesaDTO.getData());
+        entity.setValor(despesaDTO.getValor());
+        entity.setDestinoPagamento(despesaDTO.getDestinoPagamento());
+        entity.setObservacoes(despesaDTO.getObservacoes());
+        return entity;
     }
-}
\ No newline at end of file
+}
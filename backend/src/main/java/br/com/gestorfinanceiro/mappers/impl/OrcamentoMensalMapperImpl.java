@@ -5,30 +5,33 @@ import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class OrcamentoMensalMapperImpl implements Mapper<OrcamentoMensalEntity, OrcamentoMensalDTO> {
 
-    private final ModelMapper modelMapper;
     private final CategoriaRepository categoriaRepository; // Adicionando o repositório
 
-    public OrcamentoMensalMapperImpl(ModelMapper modelMapper, CategoriaRepository categoriaRepository) {
-        this.modelMapper = modelMapper;
+    public OrcamentoMensalMapperImpl(CategoriaRepository categoriaRepository) {
         this.categoriaRepository = categoriaRepository;
     }
 
     @Override
     public OrcamentoMensalDTO mapTo(OrcamentoMensalEntity orcamentoMensalEntity) {
-        OrcamentoMensalDTO dto = modelMapper.map(orcamentoMensalEntity, OrcamentoMensalDTO.class);
+        OrcamentoMensalDTO dto = new OrcamentoMensalDTO();
+        dto.setUuid(orcamentoMensalEntity.getUuid());
         dto.setCategoria(orcamentoMensalEntity.getCategoria().getNome());
+        dto.setValorLimite(orcamentoMensalEntity.getValorLimite());
+        dto.setPeriodo(orcamentoMensalEntity.getPeriodo());
         return dto;
     }
 
     @Override
     public OrcamentoMensalEntity mapFrom(OrcamentoMensalDTO orcamentoMensalDTO) {
-        OrcamentoMensalEntity entity = modelMapper.map(orcamentoMensalDTO, OrcamentoMensalEntity.class);
+        OrcamentoMensalEntity entity = new OrcamentoMensalEntity();
+        entity.setUuid(orcamentoMensalDTO.getUuid());
+        entity.setValorLimite(orcamentoMensalDTO.getValorLimite());
+        entity.setPeriodo(orcamentoMensalDTO.getPeriodo());
 
         CategoriaEntity categoria = categoriaRepository.findByNome(orcamentoMensalDTO.getCategoria())
                 .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada: " + orcamentoMensalDTO.getCategoria()));
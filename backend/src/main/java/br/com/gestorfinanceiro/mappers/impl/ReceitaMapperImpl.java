@@ -3,30 +3,34 @@ package br.com.gestorfinanceiro.mappers.impl;
 import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ReceitaMapperImpl implements Mapper<ReceitaEntity, ReceitaDTO> {
-    private final ModelMapper modelMapper;
-
-    public ReceitaMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-        this.modelMapper.typeMap(ReceitaDTO.class, ReceitaEntity.class)
-                .addMappings(mapper -> mapper.skip(ReceitaEntity::setCategoria));
-    }
 
     @Override
     public ReceitaDTO mapTo(ReceitaEntity receitaEntity) {
-        ReceitaDTO dto = modelMapper.map(receitaEntity, ReceitaDTO.class);
-        dto.setCategoria(receitaEntity.getCategoria()
-                .getNome());
+        ReceitaDTO dto = new ReceitaDTO();
+        dto.setUuid(receitaEntity.getUuid());
+        dto.setData(receitaEntity.getData());
+        dto.setValor(receitaEntity.getValor());
+        // Linhas antigas podem não ter categoria
+        dto.setCategoria(receitaEntity.getCategoria() != null ? receitaEntity.getCategoria()
+                .getNome() : null);
+        dto.setOrigemDoPagamento(receitaEntity.getOrigemDoPagamento());
+        dto.setObservacoes(receitaEntity.getObservacoes());
         return dto;
-
     }
 
+    // A categoria chega só pelo nome; quem chama resolve a entidade
     @Override
     public ReceitaEntity mapFrom(ReceitaDTO receitaDTO) {
-        return modelMapper.map(receitaDTO, ReceitaEntity.class);
+        ReceitaEntity entity = new ReceitaEntity();
+        entity.setUuid(receitaDTO.getUuid());
+        entity.setData(receitaDTO.getData());
+        entity.setValor(receitaDTO.getValor());
+        entity.setOrigemDoPagamento(receitaDTO.getOrigemDoPagamento());
+        entity.setObservacoes(receitaDTO.getObservacoes());
+        return entity;
     }
 }
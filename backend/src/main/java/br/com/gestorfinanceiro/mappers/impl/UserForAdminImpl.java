@@ -3,24 +3,31 @@ package br.com.gestorfinanceiro.mappers.impl;
 import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.UserEntity;
-import org.modelmapper.ModelMapper;
+import br.com.gestorfinanceiro.models.enums.Roles;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserForAdminImpl implements Mapper<UserEntity, UserForAdminDTO> {
-    private final ModelMapper modelMapper;
-
-    public UserForAdminImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     @Override
     public UserForAdminDTO mapTo(UserEntity userEntity) {
-        return modelMapper.map(userEntity, UserForAdminDTO.class);
+        UserForAdminDTO dto = new UserForAdminDTO();
+        dto.setUuid(userEntity.getUuid());
+        dto.setUsername(userEntity.getUsername());
+        dto.setEmail(userEntity.getEmail());
+        dto.setRole(userEntity.getRole() != null ? userEntity.getRole().name() : null);
+        dto.setEstaAtivo(userEntity.getEstaAtivo());
+        return dto;
     }
 
     @Override
     public UserEntity mapFrom(UserForAdminDTO userWithStatusDTO) {
-        return modelMapper.map(userWithStatusDTO, UserEntity.class);
+        UserEntity entity = new UserEntity();
+        entity.setUuid(userWithStatusDTO.getUuid());
+        entity.setUsername(userWithStatusDTO.getUsername());
+        entity.setEmail(userWithStatusDTO.getEmail());
+        entity.setRole(userWithStatusDTO.getRole() != null ? Roles.valueOf(userWithStatusDTO.getRole()) : null);
+        entity.setEstaAtivo(userWithStatusDTO.getEstaAtivo());
+        return entity;
     }
 }
@@ -3,24 +3,25 @@ package br.com.gestorfinanceiro.mappers.impl;
 import br.com.gestorfinanceiro.dto.user.UserDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.UserEntity;
-import org.modelmapper.ModelMapper;
+import br.com.gestorfinanceiro.models.enums.Roles;
 import org.springframework.stereotype.Component;
 
 @Component
 public class UserMapperImpl implements Mapper<UserEntity, UserDTO> {
-    private final ModelMapper modelMapper;
-
-    public UserMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     @Override
     public UserDTO mapTo(UserEntity userEntity) {
-        return modelMapper.map(userEntity, UserDTO.class);
+        return new UserDTO(userEntity.getUsername(), userEntity.getEmail(), userEntity.getPassword(),
+                userEntity.getRole() != null ? userEntity.getRole().name() : null);
     }
 
     @Override
     public UserEntity mapFrom(UserDTO userDTO) {
-        return modelMapper.map(userDTO, UserEntity.class);
+        UserEntity entity = new UserEntity();
+        entity.setUsername(userDTO.getUsername());
+        entity.setEmail(userDTO.getEmail());
+        entity.setPassword(userDTO.getPassword());
+        entity.setRole(userDTO.getRole() != null ? Roles.valueOf(userDTO.getRole()) : null);
+        return entity;
     }
 }
@@ -0,0 +1,74 @@
+package br.com.gestorfinanceiro.models;
+
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Quantas despesas ou receitas foram criadas em cada dia (data da criação, não a data da transação).
+// Os contadores são acumulados em memória e somados aqui periodicamente, para não disputar a mesma linha a cada escrita
+@Entity
+@Table(name = "atividade_diaria", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_atividade_diaria_chave", columnNames = {"dia", "tipo"})
+})
+public class AtividadeDiariaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String uuid;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CategoriaType tipo;
+
+    @Column(nullable = false)
+    private long criadas;
+
+    // Construtores
+
+    public AtividadeDiariaEntity(LocalDate dia, CategoriaType tipo, long criadas) {
+        this.dia = dia;
+        this.tipo = tipo;
+        this.criadas = criadas;
+    }
+
+    public AtividadeDiariaEntity() {
+    }
+
+    // Getters and Setters
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public CategoriaType getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(CategoriaType tipo) {
+        this.tipo = tipo;
+    }
+
+    public long getCriadas() {
+        return criadas;
+    }
+
+    public void setCriadas(long criadas) {
+        this.criadas = criadas;
+    }
+}
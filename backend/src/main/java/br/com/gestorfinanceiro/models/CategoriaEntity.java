@@ -17,7 +17,7 @@ public class CategoriaEntity {
     @Enumerated(EnumType.STRING)
     private CategoriaType tipo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
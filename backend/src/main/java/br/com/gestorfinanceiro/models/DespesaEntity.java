@@ -6,7 +6,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "despesas")
+@Table(name = "despesas", indexes = {
+        @Index(name = "idx_despesas_user_data_uuid", columnList = "user_id, data, uuid"),
+        @Index(name = "idx_despesas_user_data_valor", columnList = "user_id, data, valor"),
+        @Index(name = "idx_despesas_categoria", columnList = "categoria_id")
+})
 public class DespesaEntity {
 
     @Id
@@ -16,7 +20,8 @@ public class DespesaEntity {
     @Column(nullable = false)
     private LocalDate data;
 
-    @ManyToOne
+    // LAZY: as consultas de listagem trazem a categoria com JOIN FETCH; o usuário só é lido pelo id
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private CategoriaEntity categoria;
 
@@ -29,10 +34,15 @@ public class DespesaEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String observacoes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
+    // Controle de concorrência otimista; também é o ETag devolvido pela API. O DEFAULT cobre linhas já existentes
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long versao;
+
     // Construtores
     public DespesaEntity() {
     }
@@ -103,4 +113,12 @@ public class DespesaEntity {
     public void setUser(UserEntity user) {
         this.user = user;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
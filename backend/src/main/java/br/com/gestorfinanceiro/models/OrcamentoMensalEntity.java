@@ -5,19 +5,24 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.YearMonth;
 
+// A chave única começa por user_id e periodo, então também serve de índice para a listagem do mês de um usuário
 @Entity
-@Table(name = "orcamento_mensal")
+@Table(name = "orcamento_mensal", uniqueConstraints = {
+        @UniqueConstraint(name = OrcamentoMensalEntity.CHAVE_UNICA, columnNames = {"user_id", "periodo", "categoria_id"})
+})
 public class OrcamentoMensalEntity {
 
+    public static final String CHAVE_UNICA = "uk_orcamento_mensal_user_periodo_categoria";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String uuid;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
-    @ManyToOne(cascade = {})
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {})
     @JoinColumn(name = "categoria_id", nullable = false)
     private CategoriaEntity categoria;
 
@@ -27,6 +32,11 @@ public class OrcamentoMensalEntity {
     @Column(nullable = false)
     private YearMonth periodo;
 
+    // Controle de concorrência otimista; também é o ETag devolvido pela API. O DEFAULT cobre linhas já existentes
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long versao;
+
     // Getters and Setters
 
     public String getUuid() {
@@ -68,4 +78,12 @@ public class OrcamentoMensalEntity {
     public void setCategoria(CategoriaEntity categoria) {
         this.categoria = categoria;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
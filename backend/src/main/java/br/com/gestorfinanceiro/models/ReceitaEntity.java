@@ -6,7 +6,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "receitas")
+@Table(name = "receitas", indexes = {
+        @Index(name = "idx_receitas_user_data_uuid", columnList = "user_id, data, uuid"),
+        @Index(name = "idx_receitas_user_data_valor", columnList = "user_id, data, valor"),
+        @Index(name = "idx_receitas_categoria", columnList = "categoria_id")
+})
 public class ReceitaEntity {
 
     @Id
@@ -17,7 +21,7 @@ public class ReceitaEntity {
     private LocalDate data;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id")
     private CategoriaEntity categoria;
 
@@ -31,10 +35,15 @@ public class ReceitaEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String observacoes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
+    // Controle de concorrência otimista; também é o ETag devolvido pela API. O DEFAULT cobre linhas já existentes
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long versao;
+
     // Construtores
 
 
@@ -108,4 +117,12 @@ public class ReceitaEntity {
     public void setUser(UserEntity user) {
         this.user = user;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -0,0 +1,131 @@
+package br.com.gestorfinanceiro.models;
+
+import br.com.gestorfinanceiro.models.converters.YearMonthConverter;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+// Totais de despesas ou receitas por usuário, categoria e mês, mantidos junto com cada escrita.
+// user_id e categoria_id não têm FK: a tabela é derivada e pode ser refeita a partir das transações
+@Entity
+@Table(name = "resumo_mensal", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_resumo_mensal_chave", columnNames = {"user_id", "tipo", "ano_mes", "categoria_id"})
+}, indexes = {
+        @Index(name = "idx_resumo_mensal_ano_mes_user", columnList = "ano_mes, user_id, quantidade")
+})
+public class ResumoMensalEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String uuid;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private CategoriaType tipo;
+
+    @Column(name = "categoria_id")
+    private String categoriaId;
+
+    @Column(name = "ano_mes", nullable = false)
+    @Convert(converter = YearMonthConverter.class)
+    private YearMonth anoMes;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal soma = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal maiorValor = BigDecimal.ZERO;
+
+    // Construtores
+
+    public ResumoMensalEntity(String userId, CategoriaType tipo, String categoriaId, YearMonth anoMes) {
+        this.userId = userId;
+        this.tipo = tipo;
+        this.categoriaId = categoriaId;
+        this.anoMes = anoMes;
+    }
+
+    public ResumoMensalEntity() {
+    }
+
+    // Soma os valores ao mês; o maior valor só cresce aqui
+    public void adicionar(BigDecimal somaValores, long quantidadeValores, BigDecimal maior) {
+        this.soma = this.soma.add(somaValores);
+        this.quantidade += quantidadeValores;
+        this.maiorValor = this.maiorValor.max(maior);
+    }
+
+    // Getters and Setters
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public CategoriaType getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(CategoriaType tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(String categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public YearMonth getAnoMes() {
+        return anoMes;
+    }
+
+    public void setAnoMes(YearMonth anoMes) {
+        this.anoMes = anoMes;
+    }
+
+    public BigDecimal getSoma() {
+        return soma;
+    }
+
+    public void setSoma(BigDecimal soma) {
+        this.soma = soma;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getMaiorValor() {
+        return maiorValor;
+    }
+
+    public void setMaiorValor(BigDecimal maiorValor) {
+        this.maiorValor = maiorValor;
+    }
+}
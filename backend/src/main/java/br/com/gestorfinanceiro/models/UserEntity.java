@@ -11,9 +11,14 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+// Os índices compostos atendem a listagem do admin filtrada por status, ou por status e role, e ordenada por username
+// ou e-mail. Só por role, a listagem percorre em ordem o índice único do campo ordenado
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_users_ativo_role_username", columnList = "esta_ativo, role, username"),
+        @Index(name = "idx_users_ativo_role_email", columnList = "esta_ativo, role, email")
 })
 public class UserEntity implements UserDetails {
 
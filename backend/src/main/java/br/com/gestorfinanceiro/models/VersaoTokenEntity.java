@@ -0,0 +1,66 @@
+package br.com.gestorfinanceiro.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Versão atual dos tokens de cada usuário; tokens emitidos com uma versão menor foram revogados.
+// Só tem linha quem já teve os tokens revogados (os demais estão na versão 0). Sem FK, como resumo_mensal
+@Entity
+@Table(name = "versao_token", indexes = {
+        @Index(name = "idx_versao_token_atualizado_em", columnList = "atualizado_em")
+})
+public class VersaoTokenEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(nullable = false)
+    private long versao;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+
+    // Construtores
+
+    public VersaoTokenEntity(String userId, long versao, Instant atualizadoEm) {
+        this.userId = userId;
+        this.versao = versao;
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public VersaoTokenEntity() {
+    }
+
+    public void incrementar(Instant agora) {
+        this.versao++;
+        this.atualizadoEm = agora;
+    }
+
+    // Getters and Setters
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
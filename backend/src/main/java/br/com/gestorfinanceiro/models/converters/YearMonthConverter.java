@@ -0,0 +1,21 @@
+package br.com.gestorfinanceiro.models.converters;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.YearMonth;
+
+// Grava o mês como inteiro aaaamm: ordena como o calendário, então intervalos de meses viram BETWEEN no banco
+@Converter
+public class YearMonthConverter implements AttributeConverter<YearMonth, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(YearMonth yearMonth) {
+        return yearMonth == null ? null : yearMonth.getYear() * 100 + yearMonth.getMonthValue();
+    }
+
+    @Override
+    public YearMonth convertToEntityAttribute(Integer valor) {
+        return valor == null ? null : YearMonth.of(valor / 100, valor % 100);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.gestorfinanceiro.repositories;
+
+import br.com.gestorfinanceiro.models.AtividadeDiariaEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AtividadeDiariaRepository extends JpaRepository<AtividadeDiariaEntity, String> {
+
+    // Soma no próprio UPDATE, sem ler a linha antes: instâncias diferentes podem gravar o mesmo dia ao mesmo tempo.
+    // Devolve 0 quando o dia ainda não tem linha
+    @Transactional
+    @Modifying
+    @Query("UPDATE AtividadeDiariaEntity a SET a.criadas = a.criadas + :quantidade WHERE a.dia = :dia AND a.tipo = :tipo")
+    int incrementar(@Param("dia") LocalDate dia, @Param("tipo") CategoriaType tipo, @Param("quantidade") long quantidade);
+
+    List<AtividadeDiariaEntity> findAllByDiaGreaterThanEqual(LocalDate inicio);
+}
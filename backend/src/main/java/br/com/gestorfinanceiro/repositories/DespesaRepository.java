@@ -1,16 +1,21 @@
 package br.com.gestorfinanceiro.repositories;
 
-import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.repositories.custom.DespesaRepositoryCustom;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DespesaRepository extends JpaRepository<DespesaEntity, String>, DespesaRepositoryCustom {
+    // A categoria vem no mesmo SELECT: o mapper para DTO lê o nome dela em toda linha
+    @EntityGraph(attributePaths = "categoria")
     List<DespesaEntity> findAllByUserUuid(String userId);
 
-    List<DespesaEntity> findAllByCategoria(CategoriaEntity categoria);
+    @Override
+    @EntityGraph(attributePaths = "categoria")
+    Optional<DespesaEntity> findById(String uuid);
 }
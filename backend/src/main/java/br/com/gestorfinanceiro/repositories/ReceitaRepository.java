@@ -1,14 +1,19 @@
 package br.com.gestorfinanceiro.repositories;
 
-import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import br.com.gestorfinanceiro.repositories.custom.ReceitaRepositoryCustom;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ReceitaRepository extends JpaRepository<ReceitaEntity, String>, ReceitaRepositoryCustom {
+    // A categoria vem no mesmo SELECT: o mapper para DTO lê o nome dela em toda linha
+    @EntityGraph(attributePaths = "categoria")
     List<ReceitaEntity> findAllByUserUuid(String userId);
 
-    List<ReceitaEntity> findAllByCategoria(CategoriaEntity categoria);
+    @Override
+    @EntityGraph(attributePaths = "categoria")
+    Optional<ReceitaEntity> findById(String uuid);
 }
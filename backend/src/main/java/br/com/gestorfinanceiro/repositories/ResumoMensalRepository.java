@@ -0,0 +1,24 @@
+package br.com.gestorfinanceiro.repositories;
+
+import br.com.gestorfinanceiro.models.ResumoMensalEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.custom.ResumoMensalRepositoryCustom;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensalEntity, String>, ResumoMensalRepositoryCustom {
+
+    // Trava a linha do mês para que escritas concorrentes na mesma categoria não percam incrementos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ResumoMensalEntity> findByUserIdAndTipoAndCategoriaIdAndAnoMes(String userId, CategoriaType tipo, String categoriaId, YearMonth anoMes);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ResumoMensalEntity> findAllByCategoriaId(String categoriaId);
+}
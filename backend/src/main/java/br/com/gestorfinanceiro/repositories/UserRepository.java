@@ -1,15 +1,18 @@
 package br.com.gestorfinanceiro.repositories;
 
 import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.repositories.custom.UserRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, String> {
+public interface UserRepository extends JpaRepository<UserEntity, String>, UserRepositoryCustom {
 
     Optional<UserEntity> findByEmail(String email);
 
     Optional<UserEntity> findByUsername(String username);
+
+    long countByEstaAtivo(Boolean estaAtivo);
 }
@@ -0,0 +1,21 @@
+package br.com.gestorfinanceiro.repositories;
+
+import br.com.gestorfinanceiro.models.VersaoTokenEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VersaoTokenRepository extends JpaRepository<VersaoTokenEntity, String> {
+
+    // Trava a linha para que duas revogações simultâneas não gerem a mesma versão
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<VersaoTokenEntity> findWithLockByUserId(String userId);
+
+    List<VersaoTokenEntity> findAllByAtualizadoEmAfter(Instant desde);
+}
@@ -1,21 +1,38 @@
 package br.com.gestorfinanceiro.repositories.custom;
 
+import br.com.gestorfinanceiro.dto.common.Cursor;
+import br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DespesaRepositoryCustom {
-    List<DespesaEntity>findByUserAndYearMonthRange (String userId, YearMonth inicio, YearMonth fim);
+    // Busca e exclusão restritas ao dono: um uuid de outro usuário se comporta como inexistente
+    Optional<DespesaEntity> findByUuidAndUserUuid(String uuid, String userId);
+    int deleteByUuidAndUserUuid(String uuid, String userId);
+
     List<DespesaEntity> findByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim);
     List<DespesaEntity> findByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max);
-    BigDecimal sumDespesasByUserIdAndYearMonth(String userId, int year, int month);
+
+    // Consultas por cursor (data, uuid) em ordem decrescente; devolvem até limite + 1 linhas
+    List<DespesaEntity> findPageByUser(String userId, Cursor cursor, int limite);
+    List<DespesaEntity> findPageByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim, Cursor cursor, int limite);
+    List<DespesaEntity> findPageByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max, Cursor cursor, int limite);
+
+    // Lido sob demanda; precisa ser consumido dentro de uma transação e fechado ao final
+    Stream<TransacaoExportDTO> streamForExportByUser(String userId, LocalDate inicio, LocalDate fim);
+
     DespesaEntity findTopByUserIdAndYearMonthOrderByValorDesc(String userId, int year, int month);
-    Map<String, BigDecimal> findCategoriaWithHighestDespesaByUserIdAndYearMonth(String userId, int year, int month);
-    BigDecimal sumDespesasByUserIdAndYearMonth(String userId, YearMonth yearMonth);
+    Map<String, BigDecimal> sumDespesasByUserIdGroupedByCategoria(String userId, LocalDate inicio, LocalDate fim);
+
+    // UPDATE em massa (VERSIONED, incrementa a versão): move todas as despesas de uma categoria para outra e devolve quantas linhas mudaram
+    int reassignCategoria(CategoriaEntity antiga, CategoriaEntity nova);
 }
@@ -1,6 +1,6 @@
 package br.com.gestorfinanceiro.repositories.custom;
 
-import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO;
 import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
 
 import java.time.YearMonth;
@@ -8,8 +8,10 @@ import java.util.List;
 import java.util.Optional;
 
 public interface OrcamentoMensalRepositoryCustom {
-    Optional<OrcamentoMensalEntity> findByCategoriaAndPeriodoAndUserUuid(CategoriaEntity categoria, YearMonth periodo, String userId);
     Optional<OrcamentoMensalEntity> findByUuidAndUserUuid(String uuid, String userId);
     List<OrcamentoMensalEntity> findByUserId(String userId);
-    List<OrcamentoMensalEntity> findByPeriodo(YearMonth periodo);
+    List<OrcamentoMensalEntity> findByUserIdAndPeriodo(String userId, YearMonth periodo);
+
+    // Gasto de todos os orçamentos do período em uma única consulta agregada
+    List<ConsumoOrcamentoDTO> findConsumoByUserIdAndPeriodo(String userId, YearMonth periodo);
 }
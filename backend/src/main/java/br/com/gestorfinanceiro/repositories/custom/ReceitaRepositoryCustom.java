@@ -1,21 +1,38 @@
 package br.com.gestorfinanceiro.repositories.custom;
 
+import br.com.gestorfinanceiro.dto.common.Cursor;
+import br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReceitaRepositoryCustom {
+    // Busca e exclusão restritas ao dono: um uuid de outro usuário se comporta como inexistente
+    Optional<ReceitaEntity> findByUuidAndUserUuid(String uuid, String userId);
+    int deleteByUuidAndUserUuid(String uuid, String userId);
+
     List<ReceitaEntity> findByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim);
-    List<ReceitaEntity> findByUserAndYearMonthRange (String userId, YearMonth inicio, YearMonth fim);
     List<ReceitaEntity> findByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max);
-    BigDecimal sumReceitasByUserIdAndYearMonth(String userId, int year, int month);
+
+    // Consultas por cursor (data, uuid) em ordem decrescente; devolvem até limite + 1 linhas
+    List<ReceitaEntity> findPageByUser(String userId, Cursor cursor, int limite);
+    List<ReceitaEntity> findPageByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim, Cursor cursor, int limite);
+    List<ReceitaEntity> findPageByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max, Cursor cursor, int limite);
+
+    // Lido sob demanda; precisa ser consumido dentro de uma transação e fechado ao final
+    Stream<TransacaoExportDTO> streamForExportByUser(String userId, LocalDate inicio, LocalDate fim);
+
     ReceitaEntity findTopByUserIdAndYearMonthOrderByValorDesc(String userId, int year, int month);
-    Map<String, BigDecimal> findCategoriaWithHighestReceitaByUserIdAndYearMonth(String userId, int year, int month);
-    BigDecimal sumReceitasByUserIdAndYearMonth(String userId, YearMonth yearMonth);
+    Map<String, BigDecimal> sumReceitasByUserIdGroupedByCategoria(String userId, LocalDate inicio, LocalDate fim);
+
+    // UPDATE em massa (VERSIONED, incrementa a versão): move todas as receitas de uma categoria para outra e devolve quantas linhas mudaram
+    int reassignCategoria(CategoriaEntity antiga, CategoriaEntity nova);
 }
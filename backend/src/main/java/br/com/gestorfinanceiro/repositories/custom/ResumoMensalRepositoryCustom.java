@@ -0,0 +1,38 @@
+package br.com.gestorfinanceiro.repositories.custom;
+
+import br.com.gestorfinanceiro.dto.dashboard.TotalCategoriaDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.VolumeUsuarioDTO;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+public interface ResumoMensalRepositoryCustom {
+    BigDecimal sumByUserIdAndTipoAndAnoMes(String userId, CategoriaType tipo, YearMonth anoMes);
+    Map<YearMonth, BigDecimal> sumByUserIdAndTipoGroupedByMonth(String userId, CategoriaType tipo, YearMonth inicio, YearMonth fim);
+    Map<String, BigDecimal> findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(String userId, CategoriaType tipo, YearMonth anoMes);
+    List<TotalCategoriaDTO> findTotaisByUserIdAndAnoMes(String userId, YearMonth anoMes);
+
+    // Cria a linha zerada da chave se ela ainda não existe; com a chave já gravada (ou sendo gravada por outra
+    // transação) não faz nada
+    void insertIfAbsent(String userId, CategoriaType tipo, String categoriaId, YearMonth anoMes);
+
+    // Lê as transações brutas: usado quando o maior valor do mês sai e precisa ser recalculado
+    BigDecimal findMaiorValorNasTransacoes(CategoriaType tipo, String userId, String categoriaId, YearMonth anoMes);
+
+    // Usuários com mais transações no total, segundo a tabela (sem ler despesas e receitas), com as feitas a partir
+    // de recentesDesde à parte; armazenamento vem null
+    List<VolumeUsuarioDTO> findMaioresUsuariosPorQuantidade(YearMonth recentesDesde, int limite);
+
+    // Tamanho em disco de despesas e receitas com índices dividido pelas linhas estimadas no catálogo;
+    // só existe no PostgreSQL
+    double findBytesPorLinhaTransacoesPostgres();
+
+    // Lê no máximo uma linha, em vez do COUNT(*) da tabela inteira
+    boolean isEmpty();
+
+    // Apaga a tabela e a recalcula inteira a partir de despesas e receitas; devolve quantas linhas gerou
+    int rebuildFromTransacoes();
+}
@@ -0,0 +1,18 @@
+package br.com.gestorfinanceiro.repositories.custom;
+
+import br.com.gestorfinanceiro.dto.user.CursorUsuario;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    // Busca limite + 1 linhas a partir do cursor (ver Pagina.deLinhas)
+    List<UserForAdminDTO> findForAdmin(FiltroUsuarios filtro, OrdenacaoUsuarios ordenacao, CursorUsuario cursor, int limite);
+
+    long countForAdmin(FiltroUsuarios filtro);
+
+    // Linhas estimadas pelo ANALYZE no catálogo do PostgreSQL, sem ler a tabela; negativo se nunca foi analisada
+    long estimateCountPostgres();
+}
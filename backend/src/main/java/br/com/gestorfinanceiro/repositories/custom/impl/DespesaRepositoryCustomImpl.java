@@ -1,55 +1,95 @@
 package br.com.gestorfinanceiro.repositories.custom.impl;
 
+import br.com.gestorfinanceiro.dto.common.Cursor;
+import br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.repositories.custom.DespesaRepositoryCustom;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class DespesaRepositoryCustomImpl implements DespesaRepositoryCustom {
 
     private static final String USER_ID = "userId";
-    private static final String YEAR_PARAM = "year";
-    private static final String MONTH_PARAM = "month";
+    private static final String INICIO = "inicio";
+    private static final String FIM = "fim";
+    static final int TAMANHO_LOTE_EXPORTACAO = 1000;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
-    public List<DespesaEntity> findByUserAndYearMonthRange(String userId, YearMonth inicio, YearMonth fim) {
-        String jpql = "SELECT d FROM DespesaEntity d WHERE d.user.uuid = :userId AND d.data BETWEEN :inicio AND :fim ORDER BY d.data";
+    public Optional<DespesaEntity> findByUuidAndUserUuid(String uuid, String userId) {
+        String jpql = "SELECT d FROM DespesaEntity d LEFT JOIN FETCH d.categoria WHERE d.uuid = :uuid AND d.user.uuid = :userId";
 
         return entityManager.createQuery(jpql, DespesaEntity.class)
+                .setParameter("uuid", uuid)
                 .setParameter(USER_ID, userId)
-                .setParameter("inicio", inicio.atDay(1))
-                .setParameter("fim", fim.atEndOfMonth())
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int deleteByUuidAndUserUuid(String uuid, String userId) {
+        // DELETE condicional direto no banco, sem carregar a entidade de novo para o em.remove
+        String jpql = "DELETE FROM DespesaEntity d WHERE d.uuid = :uuid AND d.user.uuid = :userId";
+
+        int removidas = entityManager.createQuery(jpql)
+                .setParameter("uuid", uuid)
+                .setParameter(USER_ID, userId)
+                .executeUpdate();
+
+        // O DELETE em massa não passa pelo contexto de persistência: getReference devolve a instância já carregada
+        // (ou um proxy, sem consulta) e o detach impede que ela continue visível na mesma transação
+        if (removidas > 0) {
+            entityManager.detach(entityManager.getReference(DespesaEntity.class, uuid));
+        }
+        return removidas;
+    }
+
+    @Override
+    public Map<String, BigDecimal> sumDespesasByUserIdGroupedByCategoria(String userId, LocalDate inicio, LocalDate fim) {
+        String jpql = "SELECT d.categoria.nome, SUM(d.valor) FROM DespesaEntity d " +
+                "WHERE d.user.uuid = :userId AND d.data BETWEEN :inicio AND :fim " +
+                "GROUP BY d.categoria.nome";
+
+        List<Object[]> results = entityManager.createQuery(jpql, Object[].class)
+                .setParameter(USER_ID, userId)
+                .setParameter(INICIO, inicio)
+                .setParameter(FIM, fim)
                 .getResultList();
+
+        return somasPorChave(results);
     }
 
     @Override
     public List<DespesaEntity> findByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim) {
-        String jpql = "SELECT d FROM DespesaEntity d WHERE d.user.uuid = :userId AND d.data BETWEEN :inicio AND :fim";
+        String jpql = "SELECT d FROM DespesaEntity d LEFT JOIN FETCH d.categoria WHERE d.user.uuid = :userId AND d.data BETWEEN :inicio AND :fim";
 
         TypedQuery<DespesaEntity> query = entityManager.createQuery(jpql, DespesaEntity.class);
         query.setParameter(USER_ID, userId);
-        query.setParameter("inicio", inicio);
-        query.setParameter("fim", fim);
+        query.setParameter(INICIO, inicio);
+        query.setParameter(FIM, fim);
 
         return query.getResultList();
     }
 
     @Override
     public List<DespesaEntity> findByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max) {
-        String jpql = "SELECT r FROM DespesaEntity r WHERE r.user.uuid = :userId AND r.valor BETWEEN :min AND :max";
+        String jpql = "SELECT r FROM DespesaEntity r LEFT JOIN FETCH r.categoria WHERE r.user.uuid = :userId AND r.valor BETWEEN :min AND :max";
 
         return entityManager.createQuery(jpql, DespesaEntity.class)
                 .setParameter(USER_ID, userId)
@@ -59,71 +99,111 @@ public class DespesaRepositoryCustomImpl implements DespesaRepositoryCustom {
     }
 
     @Override
-    public BigDecimal sumDespesasByUserIdAndYearMonth(String userId, int year, int month) {
-        String jpql = "SELECT SUM(d.valor) FROM DespesaEntity d WHERE d.user.uuid = :userId AND YEAR(d.data) = :year AND MONTH(d.data) = :month";
+    public List<DespesaEntity> findPageByUser(String userId, Cursor cursor, int limite) {
+        return buscarPagina(entityManager, DespesaEntity.class, "", Map.of(USER_ID, userId), cursor, limite);
+    }
 
-        BigDecimal result = entityManager.createQuery(jpql, BigDecimal.class)
-                .setParameter(USER_ID, userId)
-                .setParameter(YEAR_PARAM, year)
-                .setParameter(MONTH_PARAM, month)
-                .getSingleResult();
+    @Override
+    public List<DespesaEntity> findPageByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim, Cursor cursor, int limite) {
+        return buscarPagina(entityManager, DespesaEntity.class, " AND t.data BETWEEN :inicio AND :fim",
+                Map.of(USER_ID, userId, INICIO, inicio, FIM, fim), cursor, limite);
+    }
 
-        return result != null ? result : BigDecimal.ZERO;
+    @Override
+    public List<DespesaEntity> findPageByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max, Cursor cursor, int limite) {
+        return buscarPagina(entityManager, DespesaEntity.class, " AND t.valor BETWEEN :min AND :max",
+                Map.of(USER_ID, userId, "min", min, "max", max), cursor, limite);
+    }
+
+    @Override
+    public Stream<TransacaoExportDTO> streamForExportByUser(String userId, LocalDate inicio, LocalDate fim) {
+        return buscarParaExportacao(entityManager, "DespesaEntity", "DESPESA", "destinoPagamento", userId, inicio, fim);
     }
 
     @Override
     public DespesaEntity findTopByUserIdAndYearMonthOrderByValorDesc(String userId, int year, int month) {
-        String jpql = "SELECT d FROM DespesaEntity d WHERE d.user.uuid = :userId AND YEAR(d.data) = :year AND MONTH(d.data) = :month ORDER BY d.valor DESC";
+        String jpql = "SELECT d FROM DespesaEntity d LEFT JOIN FETCH d.categoria WHERE d.user.uuid = :userId AND d.data >= :inicio AND d.data < :fim ORDER BY d.valor DESC";
 
         List<DespesaEntity> result = entityManager.createQuery(jpql, DespesaEntity.class)
                 .setParameter(USER_ID, userId)
-                .setParameter(YEAR_PARAM, year)
-                .setParameter(MONTH_PARAM, month)
+                .setParameter(INICIO, inicioDoMes(year, month))
+                .setParameter(FIM, inicioDoMes(year, month).plusMonths(1))
                 .setMaxResults(1)
                 .getResultList();
 
         return result.isEmpty() ? null : result.get(0);
     }
 
-    @Override
-    public Map<String, BigDecimal> findCategoriaWithHighestDespesaByUserIdAndYearMonth(String userId, int year, int month) {
-        String jpql = "SELECT d.categoria.nome AS categoria, SUM(d.valor) AS total " +
-                "FROM DespesaEntity d " +
-                "WHERE d.user.uuid = :userId AND YEAR(d.data) = :year AND MONTH(d.data) = :month " +
-                "GROUP BY d.categoria.nome " +
-                "ORDER BY total DESC";
-
-        return getStringBigDecimalMap(userId, year, month, jpql, entityManager, USER_ID);
-    }
+    // Seek pela chave (data, uuid): o custo de cada página não depende de quantas já foram lidas,
+    // ao contrário de OFFSET. A categoria vem no mesmo SELECT para não disparar uma consulta por linha
+    static <T> List<T> buscarPagina(EntityManager entityManager, Class<T> entidade, String filtro,
+                                    Map<String, Object> parametros, Cursor cursor, int limite) {
+        String jpql = "SELECT t FROM " + entidade.getSimpleName() + " t LEFT JOIN FETCH t.categoria " +
+                "WHERE t.user.uuid = :userId" + filtro +
+                (cursor != null ? " AND (t.data < :cursorData OR (t.data = :cursorData AND t.uuid < :cursorUuid))" : "") +
+                " ORDER BY t.data DESC, t.uuid DESC";
+
+        TypedQuery<T> query = entityManager.createQuery(jpql, entidade);
+        parametros.forEach(query::setParameter);
+        if (cursor != null) {
+            query.setParameter("cursorData", cursor.data());
+            query.setParameter("cursorUuid", cursor.uuid());
+        }
 
-    static Map<String, BigDecimal> getStringBigDecimalMap(String userId, int year, int month, String jpql, EntityManager entityManager, String userId2) {
-        List<Object[]> results = entityManager.createQuery(jpql, Object[].class)
-                .setParameter(userId2, userId)
-                .setParameter(YEAR_PARAM, year)
-                .setParameter(MONTH_PARAM, month)
-                .setMaxResults(1)
+        return query.setMaxResults(limite + 1)
                 .getResultList();
+    }
 
-        if (results.isEmpty()) {
-            return Collections.emptyMap();
+    // Projeção escalar lida em lotes do cursor do banco: nenhuma entidade entra no contexto de persistência,
+    // então a memória não cresce com o número de linhas. inicio e fim são opcionais e inclusivos
+    static Stream<TransacaoExportDTO> buscarParaExportacao(EntityManager entityManager, String entidade, String tipo,
+                                                           String campoOrigem, String userId, LocalDate inicio, LocalDate fim) {
+        String jpql = "SELECT new br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO('" + tipo + "', " +
+                "t.uuid, t.data, t.valor, c.nome, t." + campoOrigem + ", t.observacoes) " +
+                "FROM " + entidade + " t LEFT JOIN t.categoria c " +
+                "WHERE t.user.uuid = :userId" +
+                (inicio != null ? " AND t.data >= :inicio" : "") +
+                (fim != null ? " AND t.data <= :fim" : "") +
+                " ORDER BY t.data, t.uuid";
+
+        TypedQuery<TransacaoExportDTO> query = entityManager.createQuery(jpql, TransacaoExportDTO.class)
+                .setParameter(USER_ID, userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_EXPORTACAO)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (inicio != null) {
+            query.setParameter(INICIO, inicio);
+        }
+        if (fim != null) {
+            query.setParameter(FIM, fim);
         }
 
-        Object[] result = results.get(0);
-        return Map.of((String) result[0], (BigDecimal) result[1]);
+        return query.getResultStream();
+    }
+
+    // Intervalo semiaberto [inicio, fim) sobre a coluna data para que o índice (user_id, data) seja usado
+    static LocalDate inicioDoMes(int year, int month) {
+        return LocalDate.of(year, month, 1);
+    }
+
+    // Linhas (chave, soma) de um GROUP BY
+    static Map<String, BigDecimal> somasPorChave(List<Object[]> results) {
+        Map<String, BigDecimal> somas = new HashMap<>();
+        for (Object[] linha : results) {
+            somas.put((String) linha[0], (BigDecimal) linha[1]);
+        }
+        return somas;
     }
 
     @Override
-    public BigDecimal sumDespesasByUserIdAndYearMonth(String userId, YearMonth yearMonth) {
-        String jpql = String.format("SELECT SUM(d.valor) FROM DespesaEntity d WHERE d.user.uuid = :%s " +
-                        "AND YEAR(d.data) = :%s AND MONTH(d.data) = :%s",
-                USER_ID, YEAR_PARAM, MONTH_PARAM);
+    public int reassignCategoria(CategoriaEntity antiga, CategoriaEntity nova) {
+        String jpql = "UPDATE VERSIONED DespesaEntity d SET d.categoria = :nova WHERE d.categoria = :antiga";
 
-        BigDecimal result = entityManager.createQuery(jpql, BigDecimal.class)
-                .setParameter(USER_ID, userId)
-                .setParameter(YEAR_PARAM, yearMonth.getYear())
-                .setParameter(MONTH_PARAM, yearMonth.getMonthValue())
-                .getSingleResult();
+        // O UPDATE só dispara o flush automático das despesas/receitas; a categoria nova pode ainda não ter sido inserida
+        entityManager.flush();
 
-        return result != null ? result : BigDecimal.ZERO;
+        return entityManager.createQuery(jpql)
+                .setParameter("nova", nova)
+                .setParameter("antiga", antiga)
+                .executeUpdate();
     }
 }
@@ -1,6 +1,6 @@
 package br.com.gestorfinanceiro.repositories.custom.impl;
 
-import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO;
 import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
 import br.com.gestorfinanceiro.repositories.custom.OrcamentoMensalRepositoryCustom;
 import jakarta.persistence.EntityManager;
@@ -18,45 +18,54 @@ public class OrcamentoMensalRepositoryCustomImpl implements OrcamentoMensalRepos
     private EntityManager entityManager;
 
     @Override
-    public Optional<OrcamentoMensalEntity> findByCategoriaAndPeriodoAndUserUuid(CategoriaEntity categoria, YearMonth periodo, String userId) {
-        String jpql = "SELECT o FROM OrcamentoMensalEntity o WHERE o.user.uuid = :userId AND o.categoria = :categoria AND o.periodo = :periodo";
+    public Optional<OrcamentoMensalEntity> findByUuidAndUserUuid(String uuid, String userId) {
+        String jpql = "SELECT o FROM OrcamentoMensalEntity o JOIN FETCH o.categoria WHERE o.uuid = :uuid AND o.user.uuid = :userId";
 
         return entityManager.createQuery(jpql, OrcamentoMensalEntity.class)
+                .setParameter("uuid", uuid)
                 .setParameter(USER_ID, userId)
-                .setParameter("categoria", categoria)
-                .setParameter("periodo", periodo)
                 .getResultList()
                 .stream()
                 .findFirst();
     }
 
     @Override
-    public Optional<OrcamentoMensalEntity> findByUuidAndUserUuid(String uuid, String userId) {
-        String jpql = "SELECT o FROM OrcamentoMensalEntity o WHERE o.uuid = :uuid AND o.user.uuid = :userId";
+    public List<OrcamentoMensalEntity> findByUserId(String userId) {
+        String jpql = "SELECT o FROM OrcamentoMensalEntity o JOIN FETCH o.categoria WHERE o.user.uuid = :userId";
 
         return entityManager.createQuery(jpql, OrcamentoMensalEntity.class)
-                .setParameter("uuid", uuid)
                 .setParameter(USER_ID, userId)
-                .getResultList()
-                .stream()
-                .findFirst();
+                .getResultList();
     }
 
     @Override
-    public List<OrcamentoMensalEntity> findByUserId(String userId) {
-        String jpql = "SELECT o FROM OrcamentoMensalEntity o WHERE o.user.uuid = :userId";
+    public List<OrcamentoMensalEntity> findByUserIdAndPeriodo(String userId, YearMonth periodo) {
+        String jpql = "SELECT o FROM OrcamentoMensalEntity o JOIN FETCH o.categoria WHERE o.user.uuid = :userId AND o.periodo = :periodo";
 
         return entityManager.createQuery(jpql, OrcamentoMensalEntity.class)
                 .setParameter(USER_ID, userId)
+                .setParameter("periodo", periodo)
                 .getResultList();
     }
 
     @Override
-    public List<OrcamentoMensalEntity> findByPeriodo(YearMonth periodo) {
-        String jpql = "SELECT o FROM OrcamentoMensalEntity o WHERE o.periodo = :periodo";
+    public List<ConsumoOrcamentoDTO> findConsumoByUserIdAndPeriodo(String userId, YearMonth periodo) {
+        // LEFT JOIN para que orçamentos sem nenhuma despesa no mês venham com gasto zero
+        String jpql = "SELECT new br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO(" +
+                "o.uuid, c.nome, o.periodo, o.valorLimite, COALESCE(SUM(d.valor), 0)) " +
+                "FROM OrcamentoMensalEntity o JOIN o.categoria c " +
+                "LEFT JOIN DespesaEntity d ON d.categoria = c AND d.user = o.user " +
+                "AND d.data >= :inicio AND d.data < :fim " +
+                "WHERE o.user.uuid = :userId AND o.periodo = :periodo " +
+                "GROUP BY o.uuid, c.nome, o.periodo, o.valorLimite " +
+                "ORDER BY c.nome";
 
-        return entityManager.createQuery(jpql, OrcamentoMensalEntity.class)
+        return entityManager.createQuery(jpql, ConsumoOrcamentoDTO.class)
+                .setParameter(USER_ID, userId)
                 .setParameter("periodo", periodo)
+                .setParameter("inicio", periodo.atDay(1))
+                .setParameter("fim", periodo.plusMonths(1)
+                        .atDay(1))
                 .getResultList();
     }
 }
@@ -1,5 +1,8 @@
 package br.com.gestorfinanceiro.repositories.custom.impl;
 
+import br.com.gestorfinanceiro.dto.common.Cursor;
+import br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import br.com.gestorfinanceiro.repositories.custom.ReceitaRepositoryCustom;
 import jakarta.persistence.EntityManager;
@@ -9,48 +12,86 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import static br.com.gestorfinanceiro.repositories.custom.impl.DespesaRepositoryCustomImpl.getStringBigDecimalMap;
+import static br.com.gestorfinanceiro.repositories.custom.impl.DespesaRepositoryCustomImpl.buscarPagina;
+import static br.com.gestorfinanceiro.repositories.custom.impl.DespesaRepositoryCustomImpl.buscarParaExportacao;
+import static br.com.gestorfinanceiro.repositories.custom.impl.DespesaRepositoryCustomImpl.inicioDoMes;
+import static br.com.gestorfinanceiro.repositories.custom.impl.DespesaRepositoryCustomImpl.somasPorChave;
 
 @Repository
 public class ReceitaRepositoryCustomImpl implements ReceitaRepositoryCustom {
 
     private static final String USER_ID = "userId";
-    private static final String YEAR_PARAM = "year";
-    private static final String MONTH_PARAM = "month";
+    private static final String INICIO = "inicio";
+    private static final String FIM = "fim";
 
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Override
+    public Optional<ReceitaEntity> findByUuidAndUserUuid(String uuid, String userId) {
+        String jpql = "SELECT r FROM ReceitaEntity r LEFT JOIN FETCH r.categoria WHERE r.uuid = :uuid AND r.user.uuid = :userId";
+
+        return entityManager.createQuery(jpql, ReceitaEntity.class)
+                .setParameter("uuid", uuid)
+                .setParameter(USER_ID, userId)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int deleteByUuidAndUserUuid(String uuid, String userId) {
+        // DELETE condicional direto no banco, sem carregar a entidade de novo para o em.remove
+        String jpql = "DELETE FROM ReceitaEntity r WHERE r.uuid = :uuid AND r.user.uuid = :userId";
+
+        int removidas = entityManager.createQuery(jpql)
+                .setParameter("uuid", uuid)
+                .setParameter(USER_ID, userId)
+                .executeUpdate();
+
+        // O DELETE em massa não passa pelo contexto de persistência: getReference devolve a instância já carregada
+        // (ou um proxy, sem consulta) e o detach impede que ela continue visível na mesma transação
+        if (removidas > 0) {
+            entityManager.detach(entityManager.getReference(ReceitaEntity.class, uuid));
+        }
+        return removidas;
+    }
+
     @Override
     public List<ReceitaEntity> findByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim) {
-        String jpql = "SELECT r FROM ReceitaEntity r WHERE r.user.uuid = :userId AND r.data BETWEEN :inicio AND :fim";
+        String jpql = "SELECT r FROM ReceitaEntity r LEFT JOIN FETCH r.categoria WHERE r.user.uuid = :userId AND r.data BETWEEN :inicio AND :fim";
 
         TypedQuery<ReceitaEntity> query = entityManager.createQuery(jpql, ReceitaEntity.class);
         query.setParameter(USER_ID, userId);
-        query.setParameter("inicio", inicio);
-        query.setParameter("fim", fim);
+        query.setParameter(INICIO, inicio);
+        query.setParameter(FIM, fim);
 
         return query.getResultList();
     }
 
     @Override
-    public List<ReceitaEntity> findByUserAndYearMonthRange(String userId, YearMonth inicio, YearMonth fim) {
-        String jpql = "SELECT r FROM ReceitaEntity r WHERE r.user.uuid = :userId AND r.data BETWEEN :inicio AND :fim ORDER BY r.data";
+    public Map<String, BigDecimal> sumReceitasByUserIdGroupedByCategoria(String userId, LocalDate inicio, LocalDate fim) {
+        String jpql = "SELECT r.categoria.nome, SUM(r.valor) FROM ReceitaEntity r " +
+                "WHERE r.user.uuid = :userId AND r.data BETWEEN :inicio AND :fim " +
+                "GROUP BY r.categoria.nome";
 
-        return entityManager.createQuery(jpql, ReceitaEntity.class)
+        List<Object[]> results = entityManager.createQuery(jpql, Object[].class)
                 .setParameter(USER_ID, userId)
-                .setParameter("inicio", inicio.atDay(1))
-                .setParameter("fim", fim.atEndOfMonth())
+                .setParameter(INICIO, inicio)
+                .setParameter(FIM, fim)
                 .getResultList();
+
+        return somasPorChave(results);
     }
 
     @Override
     public List<ReceitaEntity> findByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max) {
-        String jpql = "SELECT r FROM ReceitaEntity r WHERE r.user.uuid = :userId AND r.valor BETWEEN :min AND :max";
+        String jpql = "SELECT r FROM ReceitaEntity r LEFT JOIN FETCH r.categoria WHERE r.user.uuid = :userId AND r.valor BETWEEN :min AND :max";
 
         return entityManager.createQuery(jpql, ReceitaEntity.class)
                 .setParameter(USER_ID, userId)
@@ -60,26 +101,35 @@ public class ReceitaRepositoryCustomImpl implements ReceitaRepositoryCustom {
     }
 
     @Override
-    public BigDecimal sumReceitasByUserIdAndYearMonth(String userId, int year, int month) {
-        String jpql = "SELECT SUM(r.valor) FROM ReceitaEntity r WHERE r.user.uuid = :userId AND YEAR(r.data) = :year AND MONTH(r.data) = :month";
+    public List<ReceitaEntity> findPageByUser(String userId, Cursor cursor, int limite) {
+        return buscarPagina(entityManager, ReceitaEntity.class, "", Map.of(USER_ID, userId), cursor, limite);
+    }
 
-        BigDecimal result = entityManager.createQuery(jpql, BigDecimal.class)
-                .setParameter(USER_ID, userId)
-                .setParameter(YEAR_PARAM, year)
-                .setParameter(MONTH_PARAM, month)
-                .getSingleResult();
+    @Override
+    public List<ReceitaEntity> findPageByUserAndDateRange(String userId, LocalDate inicio, LocalDate fim, Cursor cursor, int limite) {
+        return buscarPagina(entityManager, ReceitaEntity.class, " AND t.data BETWEEN :inicio AND :fim",
+                Map.of(USER_ID, userId, INICIO, inicio, FIM, fim), cursor, limite);
+    }
 
-        return result != null ? result : BigDecimal.ZERO;
+    @Override
+    public List<ReceitaEntity> findPageByUserAndValueBetween(String userId, BigDecimal min, BigDecimal max, Cursor cursor, int limite) {
+        return buscarPagina(entityManager, ReceitaEntity.class, " AND t.valor BETWEEN :min AND :max",
+                Map.of(USER_ID, userId, "min", min, "max", max), cursor, limite);
+    }
+
+    @Override
+    public Stream<TransacaoExportDTO> streamForExportByUser(String userId, LocalDate inicio, LocalDate fim) {
+        return buscarParaExportacao(entityManager, "ReceitaEntity", "RECEITA", "origemDoPagamento", userId, inicio, fim);
     }
 
     @Override
     public ReceitaEntity findTopByUserIdAndYearMonthOrderByValorDesc(String userId, int year, int month) {
-        String jpql = "SELECT r FROM ReceitaEntity r WHERE r.user.uuid = :userId AND YEAR(r.data) = :year AND MONTH(r.data) = :month ORDER BY r.valor DESC";
+        String jpql = "SELECT r FROM ReceitaEntity r LEFT JOIN FETCH r.categoria WHERE r.user.uuid = :userId AND r.data >= :inicio AND r.data < :fim ORDER BY r.valor DESC";
 
         List<ReceitaEntity> result = entityManager.createQuery(jpql, ReceitaEntity.class)
                 .setParameter(USER_ID, userId)
-                .setParameter(YEAR_PARAM, year)
-                .setParameter(MONTH_PARAM, month)
+                .setParameter(INICIO, inicioDoMes(year, month))
+                .setParameter(FIM, inicioDoMes(year, month).plusMonths(1))
                 .setMaxResults(1)
                 .getResultList();
 
@@ -87,29 +137,15 @@ public class ReceitaRepositoryCustomImpl implements ReceitaRepositoryCustom {
     }
 
     @Override
-    public Map<String, BigDecimal> findCategoriaWithHighestReceitaByUserIdAndYearMonth(String userId, int year, int month) {
-        String jpql = "SELECT r.categoria.nome AS categoria, SUM(r.valor) AS total " +
-                "FROM ReceitaEntity r " +
-                "WHERE r.user.uuid = :userId AND YEAR(r.data) = :year AND MONTH(r.data) = :month " +
-                "GROUP BY r.categoria.nome " +
-                "ORDER BY total DESC";
-
-        return getStringBigDecimalMap(userId, year, month, jpql, entityManager, USER_ID);
-    }
-
-    @Override
-    public BigDecimal sumReceitasByUserIdAndYearMonth(String userId, YearMonth yearMonth) {
-        String jpql = String.format("SELECT SUM(r.valor) FROM ReceitaEntity r WHERE r.user.uuid = :%s " +
-                        "AND YEAR(r.data) = :%s AND MONTH(r.data) = :%s",
-                USER_ID, YEAR_PARAM, MONTH_PARAM);
+    public int reassignCategoria(CategoriaEntity antiga, CategoriaEntity nova) {
+        String jpql = "UPDATE VERSIONED ReceitaEntity r SET r.categoria = :nova WHERE r.categoria = :antiga";
 
-        BigDecimal result = entityManager.createQuery(jpql, BigDecimal.class)
-                .setParameter(USER_ID, userId)
-                .setParameter(YEAR_PARAM, yearMonth.getYear())
-                .setParameter(MONTH_PARAM, yearMonth.getMonthValue())
-                .getSingleResult();
+        // O UPDATE só dispara o flush automático das despesas/receitas; a categoria nova pode ainda não ter sido inserida
+        entityManager.flush();
 
-        return result != null ? result : BigDecimal.ZERO;
+        return entityManager.createQuery(jpql)
+                .setParameter("nova", nova)
+                .setParameter("antiga", antiga)
+                .executeUpdate();
     }
-
 }
@@ -0,0 +1,205 @@
+package br.com.gestorfinanceiro.repositories.custom.impl;
+
+import br.com.gestorfinanceiro.dto.dashboard.TotalCategoriaDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.VolumeUsuarioDTO;
+import br.com.gestorfinanceiro.models.ResumoMensalEntity;
+import br.com.gestorfinanceiro.models.converters.YearMonthConverter;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.custom.ResumoMensalRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class ResumoMensalRepositoryCustomImpl implements ResumoMensalRepositoryCustom {
+
+    private static final String USER_ID = "userId";
+    private static final String TIPO = "tipo";
+    private static final String ANO_MES = "anoMes";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public BigDecimal sumByUserIdAndTipoAndAnoMes(String userId, CategoriaType tipo, YearMonth anoMes) {
+        String jpql = "SELECT SUM(r.soma) FROM ResumoMensalEntity r " +
+                "WHERE r.userId = :userId AND r.tipo = :tipo AND r.anoMes = :anoMes";
+
+        BigDecimal result = entityManager.createQuery(jpql, BigDecimal.class)
+                .setParameter(USER_ID, userId)
+                .setParameter(TIPO, tipo)
+                .setParameter(ANO_MES, anoMes)
+                .getSingleResult();
+
+        return result != null ? result : BigDecimal.ZERO;
+    }
+
+    @Override
+    public Map<YearMonth, BigDecimal> sumByUserIdAndTipoGroupedByMonth(String userId, CategoriaType tipo, YearMonth inicio, YearMonth fim) {
+        String jpql = "SELECT r.anoMes, SUM(r.soma) FROM ResumoMensalEntity r " +
+                "WHERE r.userId = :userId AND r.tipo = :tipo AND r.anoMes BETWEEN :inicio AND :fim " +
+                "GROUP BY r.anoMes";
+
+        List<Object[]> results = entityManager.createQuery(jpql, Object[].class)
+                .setParameter(USER_ID, userId)
+                .setParameter(TIPO, tipo)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", fim)
+                .getResultList();
+
+        Map<YearMonth, BigDecimal> somas = new HashMap<>();
+        for (Object[] linha : results) {
+            somas.put((YearMonth) linha[0], (BigDecimal) linha[1]);
+        }
+        return somas;
+    }
+
+    @Override
+    public Map<String, BigDecimal> findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(String userId, CategoriaType tipo, YearMonth anoMes) {
+        String jpql = "SELECT c.nome, r.soma FROM ResumoMensalEntity r JOIN CategoriaEntity c ON c.uuid = r.categoriaId " +
+                "WHERE r.userId = :userId AND r.tipo = :tipo AND r.anoMes = :anoMes " +
+                "ORDER BY r.soma DESC, c.nome";
+
+        List<Object[]> results = entityManager.createQuery(jpql, Object[].class)
+                .setParameter(USER_ID, userId)
+                .setParameter(TIPO, tipo)
+                .setParameter(ANO_MES, anoMes)
+                .setMaxResults(1)
+                .getResultList();
+
+        if (results.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Object[] result = results.get(0);
+        return Map.of((String) result[0], (BigDecimal) result[1]);
+    }
+
+    @Override
+    public List<TotalCategoriaDTO> findTotaisByUserIdAndAnoMes(String userId, YearMonth anoMes) {
+        String jpql = "SELECT new br.com.gestorfinanceiro.dto.dashboard.TotalCategoriaDTO(r.tipo, c.nome, r.soma) " +
+                "FROM ResumoMensalEntity r LEFT JOIN CategoriaEntity c ON c.uuid = r.categoriaId " +
+                "WHERE r.userId = :userId AND r.anoMes = :anoMes";
+
+        return entityManager.createQuery(jpql, TotalCategoriaDTO.class)
+                .setParameter(USER_ID, userId)
+                .setParameter(ANO_MES, anoMes)
+                .getResultList();
+    }
+
+    @Override
+    public void insertIfAbsent(String userId, CategoriaType tipo, String categoriaId, YearMonth anoMes) {
+        entityManager.createNativeQuery("INSERT INTO resumo_mensal " +
+                        "(uuid, user_id, tipo, categoria_id, ano_mes, soma, quantidade, maior_valor) " +
+                        "VALUES (:uuid, :userId, :tipo, :categoriaId, :anoMes, 0, 0, 0) " +
+                        "ON CONFLICT DO NOTHING")
+                .setParameter("uuid", UUID.randomUUID()
+                        .toString())
+                .setParameter(USER_ID, userId)
+                .setParameter(TIPO, tipo.name())
+                .setParameter("categoriaId", categoriaId)
+                .setParameter(ANO_MES, new YearMonthConverter().convertToDatabaseColumn(anoMes))
+                .executeUpdate();
+    }
+
+    @Override
+    public BigDecimal findMaiorValorNasTransacoes(CategoriaType tipo, String userId, String categoriaId, YearMonth anoMes) {
+        // "= null" nunca é verdadeiro: a linha sem categoria precisa do IS NULL
+        String categoriaFiltro = categoriaId != null ? "t.categoria.uuid = :categoriaId" : "t.categoria IS NULL";
+        String jpql = "SELECT MAX(t.valor) FROM " + entidade(tipo) + " t " +
+                "WHERE t.user.uuid = :userId AND " + categoriaFiltro + " AND t.data >= :inicio AND t.data < :fim";
+
+        TypedQuery<BigDecimal> query = entityManager.createQuery(jpql, BigDecimal.class)
+                .setParameter(USER_ID, userId)
+                .setParameter("inicio", anoMes.atDay(1))
+                .setParameter("fim", anoMes.plusMonths(1).atDay(1));
+        if (categoriaId != null) {
+            query.setParameter("categoriaId", categoriaId);
+        }
+
+        BigDecimal result = query.getSingleResult();
+
+        return result != null ? result : BigDecimal.ZERO;
+    }
+
+    @Override
+    public List<VolumeUsuarioDTO> findMaioresUsuariosPorQuantidade(YearMonth recentesDesde, int limite) {
+        // Agrupa a tabela inteira, mas ela tem uma linha por categoria e mês; o índice (ano_mes, user_id, quantidade)
+        // cobre a consulta sem ler as linhas
+        String jpql = "SELECT r.userId, u.username, SUM(r.quantidade), " +
+                "SUM(CASE WHEN r.anoMes >= :anoMes THEN r.quantidade ELSE 0 END) FROM ResumoMensalEntity r " +
+                "LEFT JOIN UserEntity u ON u.uuid = r.userId " +
+                "GROUP BY r.userId, u.username " +
+                "ORDER BY SUM(r.quantidade) DESC, r.userId";
+
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter(ANO_MES, recentesDesde)
+                .setMaxResults(limite)
+                .getResultList()
+                .stream()
+                .map(linha -> new VolumeUsuarioDTO((String) linha[0], (String) linha[1], ((Number) linha[2]).longValue(),
+                        ((Number) linha[3]).longValue(), null))
+                .toList();
+    }
+
+    @Override
+    public double findBytesPorLinhaTransacoesPostgres() {
+        // reltuples é a contagem estimada pelo ANALYZE (-1 se a tabela nunca foi analisada), sem ler as linhas
+        Number result = (Number) entityManager.createNativeQuery(
+                        "SELECT (pg_total_relation_size('despesas') + pg_total_relation_size('receitas'))::float8 " +
+                                "/ NULLIF(SUM(GREATEST(c.reltuples, 0)), 0) " +
+                                "FROM pg_class c WHERE c.relname IN ('despesas', 'receitas') AND c.relkind = 'r'")
+                .getSingleResult();
+
+        return result != null ? result.doubleValue() : 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entityManager.createQuery("SELECT r.uuid FROM ResumoMensalEntity r", String.class)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    @Override
+    public int rebuildFromTransacoes() {
+        entityManager.createQuery("DELETE FROM ResumoMensalEntity")
+                .executeUpdate();
+
+        int linhas = 0;
+        for (CategoriaType tipo : CategoriaType.values()) {
+            // Um GROUP BY por tabela: o resultado tem uma linha por usuário, categoria e mês
+            String jpql = "SELECT t.user.uuid, c.uuid, YEAR(t.data), MONTH(t.data), SUM(t.valor), COUNT(t), MAX(t.valor) " +
+                    "FROM " + entidade(tipo) + " t LEFT JOIN t.categoria c " +
+                    "GROUP BY t.user.uuid, c.uuid, YEAR(t.data), MONTH(t.data)";
+
+            List<Object[]> results = entityManager.createQuery(jpql, Object[].class)
+                    .getResultList();
+
+            for (Object[] linha : results) {
+                YearMonth anoMes = YearMonth.of(((Number) linha[2]).intValue(), ((Number) linha[3]).intValue());
+                ResumoMensalEntity resumo = new ResumoMensalEntity((String) linha[0], tipo, (String) linha[1], anoMes);
+                resumo.adicionar((BigDecimal) linha[4], ((Number) linha[5]).longValue(), (BigDecimal) linha[6]);
+                entityManager.persist(resumo);
+            }
+            linhas += results.size();
+        }
+
+        entityManager.flush();
+        return linhas;
+    }
+
+    private static String entidade(CategoriaType tipo) {
+        return tipo == CategoriaType.DESPESAS ? "DespesaEntity" : "ReceitaEntity";
+    }
+}
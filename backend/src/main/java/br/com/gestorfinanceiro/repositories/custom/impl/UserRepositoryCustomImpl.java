@@ -0,0 +1,85 @@
+package br.com.gestorfinanceiro.repositories.custom.impl;
+
+import br.com.gestorfinanceiro.dto.user.CursorUsuario;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
+import br.com.gestorfinanceiro.repositories.custom.UserRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Projeção direto no DTO: nenhuma UserEntity (nem o hash da senha) é carregada. Seek pelo campo de ordenação,
+    // que é único e indexado, então cada página custa o mesmo independente de quantas vieram antes
+    @Override
+    public List<UserForAdminDTO> findForAdmin(FiltroUsuarios filtro, OrdenacaoUsuarios ordenacao, CursorUsuario cursor, int limite) {
+        Map<String, Object> parametros = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT new br.com.gestorfinanceiro.dto.user.UserForAdminDTO(" +
+                "u.uuid, u.username, u.email, u.role, u.estaAtivo) FROM UserEntity u WHERE 1 = 1");
+        adicionarFiltros(jpql, parametros, filtro);
+
+        String atributo = "u." + ordenacao.getAtributo();
+        if (cursor != null) {
+            jpql.append(" AND ").append(atributo).append(ordenacao.isDecrescente() ? " < " : " > ").append(":cursor");
+            parametros.put("cursor", cursor.valor());
+        }
+        jpql.append(" ORDER BY ").append(atributo).append(ordenacao.isDecrescente() ? " DESC" : " ASC");
+
+        TypedQuery<UserForAdminDTO> query = entityManager.createQuery(jpql.toString(), UserForAdminDTO.class);
+        parametros.forEach(query::setParameter);
+        query.setMaxResults(limite + 1);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countForAdmin(FiltroUsuarios filtro) {
+        Map<String, Object> parametros = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(u) FROM UserEntity u WHERE 1 = 1");
+        adicionarFiltros(jpql, parametros, filtro);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parametros.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    @Override
+    public long estimateCountPostgres() {
+        Number result = (Number) entityManager.createNativeQuery(
+                        "SELECT reltuples FROM pg_class WHERE oid = 'users'::regclass")
+                .getSingleResult();
+
+        return result != null ? result.longValue() : -1;
+    }
+
+    // Busca por prefixo com LIKE 'x%'; os curingas digitados são escapados. O OR entre username e email e, no
+    // PostgreSQL, a collation do banco impedem que os índices únicos atendam o prefixo, então a busca lê a tabela
+    // e por isso não tem total na listagem paginada, só o cursor da próxima página
+    private static void adicionarFiltros(StringBuilder jpql, Map<String, Object> parametros, FiltroUsuarios filtro) {
+        if (filtro.role() != null) {
+            jpql.append(" AND u.role = :role");
+            parametros.put("role", filtro.role());
+        }
+        if (filtro.estaAtivo() != null) {
+            jpql.append(" AND u.estaAtivo = :estaAtivo");
+            parametros.put("estaAtivo", filtro.estaAtivo());
+        }
+        if (filtro.busca() != null) {
+            jpql.append(" AND (u.username LIKE :prefixo ESCAPE '!' OR u.email LIKE :prefixo ESCAPE '!')");
+            parametros.put("prefixo", filtro.busca()
+                    .replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_") + "%");
+        }
+    }
+}
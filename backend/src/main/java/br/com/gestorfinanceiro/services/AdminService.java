@@ -1,12 +1,16 @@
 package br.com.gestorfinanceiro.services;
 
+import br.com.gestorfinanceiro.dto.common.Pagina;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
 import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.models.UserEntity;
 
-import java.util.List;
-
 public interface AdminService {
-    List<UserEntity> listUsers();
+    Pagina<UserForAdminDTO> listarUsuarios(FiltroUsuarios filtro, OrdenacaoUsuarios ordenacao, String cursor, int limite);
+
+    long contarUsuarios(FiltroUsuarios filtro);
 
     UserEntity atualizarUser(String userID, UserAdminUpdateDTO userAdminUpdateDTO);
 }
@@ -7,4 +7,6 @@ public interface AuthService {
     UserEntity login(String email, String password);
 
     UserEntity findUserByEmail(String email);
+
+    UserEntity renovarSessao(String userId, long versaoToken);
 }
@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro.services;
 
+import br.com.gestorfinanceiro.dto.dashboard.DashboardResumoDTO;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import org.springframework.stereotype.Service;
@@ -18,4 +19,5 @@ public interface DashboardService {
     Map<String, BigDecimal> getCategoriaComMaiorReceita(String userId, YearMonth yearMonth);
     BigDecimal calcularTotalDespesasNoMes(String userId, YearMonth mes);
     BigDecimal calcularTotalReceitasNoMes(String userId, YearMonth mes);
+    DashboardResumoDTO getResumo(String userId, YearMonth yearMonth);
 }
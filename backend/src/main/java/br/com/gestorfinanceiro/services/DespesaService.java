@@ -2,6 +2,8 @@ package br.com.gestorfinanceiro.services;
 
 import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaUpdateDTO;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.models.DespesaEntity;
@@ -15,13 +17,18 @@ public interface DespesaService {
 
     DespesaEntity criarDespesa(DespesaCreateDTO despesaCreateDTO, String userId);
 
+    ImportacaoLoteDTO importarDespesas(List<DespesaCreateDTO> despesas, String userId);
+
     List<DespesaEntity> listarDespesasUsuario(String userId);
 
+    Pagina<DespesaEntity> listarDespesasUsuario(String userId, String cursor, int limite);
+
     DespesaEntity buscarDespesaPorId(String uuid);
 
-    DespesaEntity atualizarDespesa(String uuid, DespesaUpdateDTO despesaUpdateDTO);
+    // Atualização e exclusão só enxergam registros do userId. versaoEsperada vem do If-Match; null atualiza sem checar a versão
+    DespesaEntity atualizarDespesa(String uuid, String userId, DespesaUpdateDTO despesaUpdateDTO, Long versaoEsperada);
 
-    void excluirDespesa(String uuid);
+    void excluirDespesa(String uuid, String userId);
 
     GraficoBarraDTO gerarGraficoBarras(String userId, YearMonth inicio, YearMonth fim);
 
@@ -29,5 +36,9 @@ public interface DespesaService {
 
     List<DespesaEntity> buscarDespesasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim);
 
+    Pagina<DespesaEntity> buscarDespesasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim, String cursor, int limite);
+
     List<DespesaEntity> buscarDespesasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max);
+
+    Pagina<DespesaEntity> buscarDespesasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max, String cursor, int limite);
 }
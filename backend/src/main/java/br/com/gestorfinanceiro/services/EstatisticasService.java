@@ -0,0 +1,15 @@
+package br.com.gestorfinanceiro.services;
+
+import br.com.gestorfinanceiro.dto.estatisticas.EstatisticasDTO;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+
+public interface EstatisticasService {
+
+    // Chamado dentro da transação de quem cria despesas/receitas; só conta depois do commit
+    void registrarCriacao(CategoriaType tipo, int quantidade);
+
+    EstatisticasDTO obterEstatisticas();
+
+    // Grava os contadores acumulados e recalcula as estatísticas
+    void atualizar();
+}
@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro.services;
 
+import br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO;
 import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
 
 import java.math.BigDecimal;
@@ -10,8 +11,10 @@ public interface OrcamentoMensalService {
 
     List<OrcamentoMensalEntity> listarTodosPorUsuario(String userId);
     List<OrcamentoMensalEntity> listarPorPeriodo(String userId, YearMonth periodo);
+    List<ConsumoOrcamentoDTO> calcularConsumoPorPeriodo(String userId, YearMonth periodo);
     OrcamentoMensalEntity buscarPorId(String userId, String uuid);
     OrcamentoMensalEntity criarOrcamentoMensal(String userId, String categoria, BigDecimal valorLimite, YearMonth periodo);
-    OrcamentoMensalEntity atualizarOrcamentoMensal(String userId, String uuid, String categoria, BigDecimal valorLimite, YearMonth periodo);
+    // versaoEsperada vem do If-Match; null atualiza sem checar a versão
+    OrcamentoMensalEntity atualizarOrcamentoMensal(String userId, String uuid, String categoria, BigDecimal valorLimite, YearMonth periodo, Long versaoEsperada);
     void excluirOrcamentoMensal(String userId, String uuid);
 }
@@ -1,5 +1,7 @@
 package br.com.gestorfinanceiro.services;
 
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.dto.receita.ReceitaCreateDTO;
@@ -14,13 +16,18 @@ import java.util.List;
 public interface ReceitaService {
     ReceitaEntity criarReceita(ReceitaCreateDTO receitaCreateDTO, String userId);
 
+    ImportacaoLoteDTO importarReceitas(List<ReceitaCreateDTO> receitas, String userId);
+
     List<ReceitaEntity> listarReceitasUsuario(String userId);
 
+    Pagina<ReceitaEntity> listarReceitasUsuario(String userId, String cursor, int limite);
+
     ReceitaEntity buscarReceitaPorId(String uuid);
 
-    ReceitaEntity atualizarReceita(String uuid, ReceitaUpdateDTO receitaUpdateDTO);
+    // Atualização e exclusão só enxergam registros do userId. versaoEsperada vem do If-Match; null atualiza sem checar a versão
+    ReceitaEntity atualizarReceita(String uuid, String userId, ReceitaUpdateDTO receitaUpdateDTO, Long versaoEsperada);
 
-    void excluirReceita(String uuid);
+    void excluirReceita(String uuid, String userId);
 
     GraficoPizzaDTO gerarGraficoPizza(String userId, LocalDate inicio, LocalDate fim);
 
@@ -28,5 +35,9 @@ public interface ReceitaService {
 
     List<ReceitaEntity> buscarReceitasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim);
 
+    Pagina<ReceitaEntity> buscarReceitasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim, String cursor, int limite);
+
     List<ReceitaEntity> buscarReceitasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max);
+
+    Pagina<ReceitaEntity> buscarReceitasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max, String cursor, int limite);
 }
@@ -0,0 +1,28 @@
+package br.com.gestorfinanceiro.services;
+
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+public interface ResumoMensalService {
+
+    // Chamados dentro da transação de quem escreve a despesa/receita
+    void registrar(CategoriaType tipo, CategoriaEntity categoria, LocalDate data, BigDecimal valor);
+    void registrar(CategoriaType tipo, CategoriaEntity categoria, YearMonth anoMes, List<BigDecimal> valores);
+    // categoria pode ser null nas transações antigas, que a reconstrução agrupa numa linha sem categoria
+    void remover(CategoriaType tipo, String userId, CategoriaEntity categoria, LocalDate data, BigDecimal valor);
+    void reatribuirCategoria(CategoriaEntity antiga, CategoriaEntity nova);
+
+    Map<YearMonth, BigDecimal> somarPorMes(String userId, CategoriaType tipo, YearMonth inicio, YearMonth fim);
+
+    // Refaz resumo_mensal a partir de despesas e receitas; devolve quantas linhas foram geradas
+    int reconstruir();
+
+    // O mesmo, mas só quando a tabela ainda não tem nenhuma linha; roda na subida da aplicação
+    void reconstruirSeVazia();
+}
@@ -0,0 +1,13 @@
+package br.com.gestorfinanceiro.services;
+
+import br.com.gestorfinanceiro.dto.transacao.FormatoExportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface TransacaoService {
+
+    void exportarTransacoes(String userId, FormatoExportacao formato, LocalDate inicio, LocalDate fim,
+                            OutputStream saida) throws IOException;
+}
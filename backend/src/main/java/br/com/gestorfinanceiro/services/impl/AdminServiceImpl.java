@@ -1,12 +1,23 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.config.BancoDeDados;
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
+import br.com.gestorfinanceiro.config.security.VersoesToken;
+import br.com.gestorfinanceiro.dto.common.Pagina;
+import br.com.gestorfinanceiro.dto.user.CursorUsuario;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
 import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
 import br.com.gestorfinanceiro.exceptions.user.UserNotFoundException;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.AdminService;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,17 +26,44 @@ import java.util.List;
 public class AdminServiceImpl implements AdminService {
 
     private final UserRepository userRepository;
+    private final VersoesToken versoesToken;
+    private final BancoDeDados bancoDeDados;
 
-    public AdminServiceImpl(UserRepository userRepository) {
+    public AdminServiceImpl(UserRepository userRepository, VersoesToken versoesToken, BancoDeDados bancoDeDados) {
         this.userRepository = userRepository;
+        this.versoesToken = versoesToken;
+        this.bancoDeDados = bancoDeDados;
     }
 
     @Override
-    public List<UserEntity> listUsers() {
-        return userRepository.findAll();
+    public Pagina<UserForAdminDTO> listarUsuarios(FiltroUsuarios filtro, OrdenacaoUsuarios ordenacao, String cursor, int limite) {
+        if (limite < 1 || limite > Pagina.LIMITE_MAXIMO) {
+            throw new InvalidDataException("O limite deve estar entre 1 e " + Pagina.LIMITE_MAXIMO + ".");
+        }
+
+        CursorUsuario posicao = cursor == null ? null : CursorUsuario.decodificar(cursor, ordenacao);
+        List<UserForAdminDTO> linhas = userRepository.findForAdmin(filtro, ordenacao, posicao, limite);
+
+        return Pagina.deLinhas(linhas, limite, user -> new CursorUsuario(ordenacao, valorOrdenado(user, ordenacao)).codificar());
     }
 
+    // O total é aproximado e só existe sem busca (o controller não pede com busca). Sem filtro nenhum, no PostgreSQL
+    // vem da estimativa do catálogo; com role ou status, é um COUNT pelos índices (esta_ativo, role, ...), e as poucas
+    // combinações ficam no cache até o TTL, sem acompanhar cada cadastro
     @Override
+    @Cacheable(cacheNames = CacheConfig.CONTAGEM_USUARIOS)
+    public long contarUsuarios(FiltroUsuarios filtro) {
+        if (bancoDeDados.isPostgres() && filtro.role() == null && filtro.estaAtivo() == null && filtro.busca() == null) {
+            long estimativa = userRepository.estimateCountPostgres();
+            if (estimativa >= 0) {
+                return estimativa;
+            }
+        }
+        return userRepository.countForAdmin(filtro);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CONTAGEM_USUARIOS, allEntries = true)
     public UserEntity atualizarUser(String userID, UserAdminUpdateDTO userAdminUpdateDTO) {
         // Validar o ID do usuário
         if (userID == null || userID.isEmpty()) {
@@ -41,6 +79,15 @@ public class AdminServiceImpl implements AdminService {
         user.setRole(Roles.valueOf(userAdminUpdateDTO.getRole()));
 
         // Salvar e retornar o usuário atualizado
-        return userRepository.save(user);
+        UserEntity userAtualizado = userRepository.save(user);
+
+        // Role e status mudaram: os tokens já emitidos deixam de valer e o usuário precisa renovar a sessão
+        versoesToken.revogar(userID);
+
+        return userAtualizado;
+    }
+
+    private static String valorOrdenado(UserForAdminDTO user, OrdenacaoUsuarios ordenacao) {
+        return "email".equals(ordenacao.getAtributo()) ? user.getEmail() : user.getUsername();
     }
 }
@@ -1,25 +1,43 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.config.security.HashSenhaExecutor;
+import br.com.gestorfinanceiro.config.security.VersoesToken;
 import br.com.gestorfinanceiro.exceptions.user.*;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.DespesasCategorias;
+import br.com.gestorfinanceiro.models.enums.ReceitasCategorias;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.AuthService;
 import jakarta.validation.Valid;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final CategoriaRepository categoriaRepository;
+    private final HashSenhaExecutor hashSenhaExecutor;
+    private final VersoesToken versoesToken;
 
-    public AuthServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthServiceImpl(UserRepository userRepository, CategoriaRepository categoriaRepository,
+                           HashSenhaExecutor hashSenhaExecutor, VersoesToken versoesToken) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.categoriaRepository = categoriaRepository;
+        this.hashSenhaExecutor = hashSenhaExecutor;
+        this.versoesToken = versoesToken;
     }
 
+    // Usuário e categorias padrão na mesma transação: ou o cadastro sai completo ou nada é gravado.
+    // Os UUIDs são gerados na aplicação, então as categorias vão num único INSERT em lote no flush
     @Override
+    @Transactional
     public UserEntity register(@Valid UserEntity userEntity) {
         // Verifica se o e-mail já está cadastrado
         if (userRepository.findByEmail(userEntity.getEmail()).isPresent()) {
@@ -31,13 +49,35 @@ public class AuthServiceImpl implements AuthService {
         }
 
         try {
-            userEntity.setPassword(passwordEncoder.encode(userEntity.getPassword()));
-            return userRepository.save(userEntity);
+            userEntity.setPassword(hashSenhaExecutor.codificar(userEntity.getPassword()));
+            UserEntity registrado = userRepository.save(userEntity);
+
+            categoriaRepository.saveAll(categoriasPadrao(registrado));
+            // Flush aqui para que uma falha no INSERT vire UserOperationException, e não um erro no commit
+            categoriaRepository.flush();
+
+            return registrado;
+        } catch (PasswordHashingUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new UserOperationException("Erro ao registrar usuario. Por favor, tente novamente", e);
         }
     }
 
+    // Um usuário recém-criado não tem categorias, então não há duplicidade a verificar
+    private static List<CategoriaEntity> categoriasPadrao(UserEntity user) {
+        List<CategoriaEntity> categorias = new ArrayList<>();
+        for (DespesasCategorias categoria : DespesasCategorias.values()) {
+            categorias.add(new CategoriaEntity(categoria.toNormalCase(), CategoriaType.DESPESAS, user));
+        }
+        for (ReceitasCategorias categoria : ReceitasCategorias.values()) {
+            categorias.add(new CategoriaEntity(categoria.toNormalCase(), CategoriaType.RECEITAS, user));
+        }
+        categorias.add(new CategoriaEntity(null, "Sem Categoria", CategoriaType.DESPESAS, user, true));
+        categorias.add(new CategoriaEntity(null, "Sem Categoria", CategoriaType.RECEITAS, user, true));
+        return categorias;
+    }
+
 
     @Override
     public UserEntity login(String email, String password) {
@@ -45,7 +85,7 @@ public class AuthServiceImpl implements AuthService {
             UserEntity userFoundByEmail = userRepository.findByEmail(email).orElseThrow(() -> new EmailNotFoundException(email));
 
             // Verifica se a senha informada é a mesma que a senha cadastrada
-            if (passwordEncoder.matches(password, userFoundByEmail.getPassword())) {
+            if (hashSenhaExecutor.verificar(password, userFoundByEmail.getPassword())) {
                 return userFoundByEmail;
             }
             // Senão encontrar a senha é inválida
@@ -55,6 +95,8 @@ public class AuthServiceImpl implements AuthService {
             throw new EmailNotFoundException("Email não encontrado. Por favor, verifique se o email está correto.");
         } catch (InvalidPasswordException e) {
             throw new InvalidPasswordException();
+        } catch (PasswordHashingUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new UserOperationException("Erro ao logar usuario. Por favor, tente novamente", e);
         }
@@ -64,4 +106,19 @@ public class AuthServiceImpl implements AuthService {
     public UserEntity findUserByEmail(String email) {
         return userRepository.findByEmail(email).orElseThrow(() -> new EmailNotFoundException(email));
     }
-}
\ No newline at end of file
+
+    // Renovar não passa pelo BCrypt: basta o refresh token estar na versão atual e o usuário ainda existir e
+    // estar ativo. Um desativado recebe o mesmo 401 que o token de acesso dele recebe no JwtFilter, em vez de
+    // um par novo que não autentica
+    @Override
+    public UserEntity renovarSessao(String userId, long versaoToken) {
+        if (userId == null || !versoesToken.estaValida(userId, versaoToken)) {
+            throw new InvalidTokenException();
+        }
+        UserEntity user = userRepository.findById(userId).orElseThrow(InvalidTokenException::new);
+        if (!Boolean.TRUE.equals(user.getEstaAtivo())) {
+            throw new InvalidTokenException();
+        }
+        return user;
+    }
+}
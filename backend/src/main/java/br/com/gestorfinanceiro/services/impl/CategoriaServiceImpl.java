@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.config.cache.DashboardCache;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaCreateDTO;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaUpdateDTO;
 import br.com.gestorfinanceiro.exceptions.categoria.CategoriaAcessDeniedException;
@@ -16,7 +17,9 @@ import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.CategoriaService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -27,13 +30,17 @@ public class CategoriaServiceImpl implements CategoriaService {
     private final UserRepository userRepository;
     private final DespesaRepository despesaRepository;
     private final ReceitaRepository receitaRepository;
+    private final ResumoMensalService resumoMensalService;
+    private final DashboardCache dashboardCache;
 
 
-    public CategoriaServiceImpl(CategoriaRepository categoriaRepository, UserRepository userRepository, DespesaRepository despesaRepository, ReceitaRepository receitaRepository) {
+    public CategoriaServiceImpl(CategoriaRepository categoriaRepository, UserRepository userRepository, DespesaRepository despesaRepository, ReceitaRepository receitaRepository, ResumoMensalService resumoMensalService, DashboardCache dashboardCache) {
         this.categoriaRepository = categoriaRepository;
         this.userRepository = userRepository;
         this.despesaRepository = despesaRepository;
         this.receitaRepository = receitaRepository;
+        this.resumoMensalService = resumoMensalService;
+        this.dashboardCache = dashboardCache;
     }
 
     @Override
@@ -144,13 +151,18 @@ public class CategoriaServiceImpl implements CategoriaService {
         // Atualiza a categoria
         try {
             categoria.setNome(novaCategoria.getNome());
-            return categoriaRepository.save(categoria);
+            CategoriaEntity categoriaAtualizada = categoriaRepository.save(categoria);
+
+            // O nome aparece no dashboard e nos gráficos de qualquer mês
+            dashboardCache.invalidarUsuario(userId);
+            return categoriaAtualizada;
         } catch (Exception e) {
             throw new CategoriaOperationException();
         }
     }
 
     @Override
+    @Transactional
     public void excluirCategoria(String categoriaId, String userId) {
         // Verifica se o categoriaId é valido
         if (categoriaId == null || categoriaId.isBlank()) {
@@ -180,23 +192,17 @@ public class CategoriaServiceImpl implements CategoriaService {
                     .orElseGet(() -> criarSemCategoria(userId, categoria.getTipo()
                             .name()));
 
-            // Atualizar todas as referências dependendo do tipo da categoria
+            // Move todas as referências com um único UPDATE, sem carregar as transações
             if (categoria.getTipo() == CategoriaType.DESPESAS) {
-                despesaRepository.findAllByCategoria(categoria)
-                        .forEach(despesa -> {
-                            despesa.setCategoria(semCategoria);
-                            despesaRepository.save(despesa);
-                        });
+                despesaRepository.reassignCategoria(categoria, semCategoria);
             } else if (categoria.getTipo() == CategoriaType.RECEITAS) {
-                receitaRepository.findAllByCategoria(categoria)
-                        .forEach(receita -> {
-                            receita.setCategoria(semCategoria);
-                            receitaRepository.save(receita);
-                        });
+                receitaRepository.reassignCategoria(categoria, semCategoria);
             }
+            resumoMensalService.reatribuirCategoria(categoria, semCategoria);
 
             // Exclui a categoria após atualizar todas as referências
             categoriaRepository.delete(categoria);
+            dashboardCache.invalidarUsuario(userId);
         } catch (Exception e) {
             throw new CategoriaOperationException("Erro ao excluir categoria: " + e.getMessage());
         }
@@ -1,18 +1,29 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
+import br.com.gestorfinanceiro.dto.dashboard.DashboardResumoDTO;
+import br.com.gestorfinanceiro.dto.dashboard.TotalCategoriaDTO;
+import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
+import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
 import br.com.gestorfinanceiro.exceptions.dashboard.DashboardOperationException;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
 import br.com.gestorfinanceiro.exceptions.user.UserNotFoundException;
+import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.DashboardService;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -24,24 +35,36 @@ public class DashboardServiceImpl implements DashboardService {
 
     private final ReceitaRepository receitaRepository;
 
-    public DashboardServiceImpl(UserRepository userRepository, DespesaRepository despesaRepository, ReceitaRepository receitaRepository) {
+    private final ResumoMensalRepository resumoMensalRepository;
+
+    private final Mapper<DespesaEntity, DespesaDTO> despesaMapper;
+
+    private final Mapper<ReceitaEntity, ReceitaDTO> receitaMapper;
+
+    public DashboardServiceImpl(UserRepository userRepository, DespesaRepository despesaRepository, ReceitaRepository receitaRepository,
+                                ResumoMensalRepository resumoMensalRepository, Mapper<DespesaEntity, DespesaDTO> despesaMapper,
+                                Mapper<ReceitaEntity, ReceitaDTO> receitaMapper) {
         this.userRepository = userRepository;
         this.despesaRepository = despesaRepository;
         this.receitaRepository = receitaRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.despesaMapper = despesaMapper;
+        this.receitaMapper = receitaMapper;
     }
 
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public BigDecimal getSaldoTotal(String userId, YearMonth yearMonth) {
         validateUserId(userId);
         validateYearMonth(yearMonth);
 
         try {
-            BigDecimal totalReceitas = receitaRepository.sumReceitasByUserIdAndYearMonth(
-                    userId, yearMonth.getYear(), yearMonth.getMonthValue());
+            BigDecimal totalReceitas = resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(
+                    userId, CategoriaType.RECEITAS, yearMonth);
 
-            BigDecimal totalDespesas = despesaRepository.sumDespesasByUserIdAndYearMonth(
-                    userId, yearMonth.getYear(), yearMonth.getMonthValue());
+            BigDecimal totalDespesas = resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(
+                    userId, CategoriaType.DESPESAS, yearMonth);
 
             return totalReceitas.subtract(totalDespesas);
         } catch (Exception e) {
@@ -49,6 +72,8 @@ public class DashboardServiceImpl implements DashboardService {
         }
     }
 
+    // getMaiorDespesa e getMaiorReceita ficam fora do cache: devolvem entidades JPA, que não devem ser
+    // compartilhadas entre requisições (o resumo, que é cacheado, já traz a maior transação como DTO)
     @Override
     public DespesaEntity getMaiorDespesa(String userId, YearMonth yearMonth) {
         validateUserId(userId);
@@ -76,55 +101,128 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public Map<String, BigDecimal> getCategoriaComMaiorDespesa(String userId, YearMonth yearMonth) {
         validateUserId(userId);
         validateYearMonth(yearMonth);
 
         try {
-            return despesaRepository.findCategoriaWithHighestDespesaByUserIdAndYearMonth(
-                    userId, yearMonth.getYear(), yearMonth.getMonthValue());
+            return resumoMensalRepository.findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(
+                    userId, CategoriaType.DESPESAS, yearMonth);
         } catch (Exception e) {
             throw new DashboardOperationException("Erro ao buscar categoria com maior despesa. Por favor, tente novamente.", e);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public Map<String, BigDecimal> getCategoriaComMaiorReceita(String userId, YearMonth yearMonth) {
         validateUserId(userId);
         validateYearMonth(yearMonth);
 
         try {
-            return receitaRepository.findCategoriaWithHighestReceitaByUserIdAndYearMonth(
-                    userId, yearMonth.getYear(), yearMonth.getMonthValue());
+            return resumoMensalRepository.findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(
+                    userId, CategoriaType.RECEITAS, yearMonth);
         } catch (Exception e) {
             throw new DashboardOperationException("Erro ao buscar categoria com maior receita. Por favor, tente novamente.", e);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public BigDecimal calcularTotalDespesasNoMes(String userId, YearMonth mes) {
         validateUserId(userId);
         validateYearMonth(mes);
 
         try {
-            return despesaRepository.sumDespesasByUserIdAndYearMonth(userId, mes);
+            return resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(userId, CategoriaType.DESPESAS, mes);
         } catch (Exception e) {
             throw new DashboardOperationException("Erro ao calcular total de despesas do mês. Por favor, tente novamente.", e);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public BigDecimal calcularTotalReceitasNoMes(String userId, YearMonth mes) {
         validateUserId(userId);
         validateYearMonth(mes);
 
         try {
-            return receitaRepository.sumReceitasByUserIdAndYearMonth(userId, mes);
+            return resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(userId, CategoriaType.RECEITAS, mes);
         } catch (Exception e) {
             throw new DashboardOperationException("Erro ao calcular total de receitas do mês. Por favor, tente novamente.", e);
         }
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
+    public DashboardResumoDTO getResumo(String userId, YearMonth yearMonth) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new InvalidUserIdException();
+        }
+        validateYearMonth(yearMonth);
+
+        List<TotalCategoriaDTO> totais;
+        try {
+            // Totais e categorias líderes saem das poucas linhas do mês em resumo_mensal
+            totais = resumoMensalRepository.findTotaisByUserIdAndAnoMes(userId, yearMonth);
+        } catch (Exception e) {
+            throw new DashboardOperationException("Erro ao gerar resumo do mês. Por favor, tente novamente.", e);
+        }
+        // Só um mês vazio precisa confirmar que o usuário existe; com linhas no resumo, a consulta já respondeu
+        if (totais.isEmpty() && !userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+
+        try {
+            BigDecimal despesaTotal = total(totais, CategoriaType.DESPESAS);
+            BigDecimal receitaTotal = total(totais, CategoriaType.RECEITAS);
+
+            // A maior transação de cada tipo ainda vem das tabelas de transações, pelo índice (user_id, data, valor),
+            // e só é buscada quando o mês tem transações daquele tipo
+            DespesaEntity maiorDespesa = temTransacoes(totais, CategoriaType.DESPESAS)
+                    ? despesaRepository.findTopByUserIdAndYearMonthOrderByValorDesc(userId, yearMonth.getYear(), yearMonth.getMonthValue())
+                    : null;
+            ReceitaEntity maiorReceita = temTransacoes(totais, CategoriaType.RECEITAS)
+                    ? receitaRepository.findTopByUserIdAndYearMonthOrderByValorDesc(userId, yearMonth.getYear(), yearMonth.getMonthValue())
+                    : null;
+
+            return new DashboardResumoDTO(
+                    yearMonth,
+                    receitaTotal.subtract(despesaTotal),
+                    despesaTotal,
+                    receitaTotal,
+                    maiorDespesa != null ? despesaMapper.mapTo(maiorDespesa) : null,
+                    maiorReceita != null ? receitaMapper.mapTo(maiorReceita) : null,
+                    categoriaLider(totais, CategoriaType.DESPESAS),
+                    categoriaLider(totais, CategoriaType.RECEITAS)
+            );
+        } catch (Exception e) {
+            throw new DashboardOperationException("Erro ao gerar resumo do mês. Por favor, tente novamente.", e);
+        }
+    }
+
+    private static boolean temTransacoes(List<TotalCategoriaDTO> totais, CategoriaType tipo) {
+        return totais.stream().anyMatch(total -> total.tipo() == tipo);
+    }
+
+    private static BigDecimal total(List<TotalCategoriaDTO> totais, CategoriaType tipo) {
+        return totais.stream()
+                .filter(total -> total.tipo() == tipo)
+                .map(TotalCategoriaDTO::total)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    // Categoria com maior soma no mês; empates ficam com o primeiro nome em ordem alfabética
+    private static Map<String, BigDecimal> categoriaLider(List<TotalCategoriaDTO> totais, CategoriaType tipo) {
+        return totais.stream()
+                .filter(total -> total.tipo() == tipo && total.categoria() != null)
+                .min(Comparator.comparing(TotalCategoriaDTO::total, Comparator.reverseOrder())
+                        .thenComparing(TotalCategoriaDTO::categoria))
+                .map(lider -> Map.of(lider.categoria(), lider.total()))
+                .orElse(Map.of());
+    }
+
     private void validateUserId(String userId) {
         if (userId == null || userId.trim().isEmpty()) {
             throw new InvalidUserIdException();
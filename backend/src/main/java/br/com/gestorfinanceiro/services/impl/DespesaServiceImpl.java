@@ -1,12 +1,18 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
 import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaUpdateDTO;
+import br.com.gestorfinanceiro.dto.common.Cursor;
+import br.com.gestorfinanceiro.dto.common.ErroImportacaoDTO;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.exceptions.categoria.CategoriaNameNotFoundException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidUuidException;
+import br.com.gestorfinanceiro.exceptions.despesa.DespesaAccessDeniedException;
 import br.com.gestorfinanceiro.exceptions.despesa.DespesaNotFoundException;
 import br.com.gestorfinanceiro.exceptions.despesa.DespesaOperationException;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
@@ -20,13 +26,21 @@ import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.DespesaService;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import br.com.gestorfinanceiro.utils.DataUtils;
+import br.com.gestorfinanceiro.utils.ETagUtils;
+import jakarta.validation.Validator;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -38,12 +52,18 @@ public class DespesaServiceImpl implements DespesaService {
     private final CategoriaRepository categoriaRepository;
     private final UserRepository userRepository;
     private final Mapper<DespesaEntity, DespesaCreateDTO> despesaCreateDTOMapper;
+    private final Validator validator;
+    private final ResumoMensalService resumoMensalService;
+    private final EstatisticasService estatisticasService;
 
-    public DespesaServiceImpl(DespesaRepository despesaRepository, CategoriaRepository categoriaRepository, UserRepository userRepository, Mapper<DespesaEntity, DespesaCreateDTO> despesaCreateDTOMapper) {
+    public DespesaServiceImpl(DespesaRepository despesaRepository, CategoriaRepository categoriaRepository, UserRepository userRepository, Mapper<DespesaEntity, DespesaCreateDTO> despesaCreateDTOMapper, Validator validator, ResumoMensalService resumoMensalService, EstatisticasService estatisticasService) {
         this.despesaRepository = despesaRepository;
         this.categoriaRepository = categoriaRepository;
         this.userRepository = userRepository;
         this.despesaCreateDTOMapper = despesaCreateDTOMapper;
+        this.validator = validator;
+        this.resumoMensalService = resumoMensalService;
+        this.estatisticasService = estatisticasService;
     }
 
     @Override
@@ -72,12 +92,65 @@ public class DespesaServiceImpl implements DespesaService {
             despesaParaCriar.setCategoria(categoria);
             despesaParaCriar.setUser(user);
 
-            return despesaRepository.save(despesaParaCriar);
+            DespesaEntity despesaCriada = despesaRepository.save(despesaParaCriar);
+            resumoMensalService.registrar(CategoriaType.DESPESAS, categoria, despesaCriada.getData(), despesaCriada.getValor());
+            estatisticasService.registrarCriacao(CategoriaType.DESPESAS, 1);
+
+            return despesaCriada;
         } catch (Exception e) {
             throw new DespesaOperationException("Erro ao criar Despesa. Por favor, tente novamente.", e);
         }
     }
 
+    @Override
+    @Transactional
+    public ImportacaoLoteDTO importarDespesas(List<DespesaCreateDTO> despesas, String userId) {
+        if (userId == null || userId.trim()
+                .isEmpty()) {
+            throw new InvalidUserIdException();
+        }
+
+        ValidadorLote.validarTamanho(despesas);
+
+        // Usuário e categorias são lidos uma única vez para o lote inteiro
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        Map<String, CategoriaEntity> categorias = ValidadorLote.categoriasPorNome(
+                categoriaRepository.findAllByUserUuidAndTipo(userId, CategoriaType.DESPESAS));
+
+        List<ErroImportacaoDTO> erros = ValidadorLote.validar(despesas, validator, categorias);
+        if (!erros.isEmpty()) {
+            return ImportacaoLoteDTO.rejeitado(despesas.size(), erros);
+        }
+
+        List<DespesaEntity> despesasParaCriar = new ArrayList<>(despesas.size());
+        for (DespesaCreateDTO dto : despesas) {
+            DespesaEntity despesa = despesaCreateDTOMapper.mapFrom(dto);
+            despesa.setCategoria(categorias.get(dto.getCategoria()));
+            despesa.setUser(user);
+            despesasParaCriar.add(despesa);
+        }
+
+        // Com hibernate.jdbc.batch_size os INSERTs vão ao banco em lotes, e não um por linha
+        try {
+            despesaRepository.saveAll(despesasParaCriar);
+            despesaRepository.flush();
+
+            // resumo_mensal recebe uma atualização por categoria e mês, e não uma por linha
+            despesasParaCriar.stream()
+                    .collect(Collectors.groupingBy(DespesaEntity::getCategoria,
+                            Collectors.groupingBy(despesa -> YearMonth.from(despesa.getData()),
+                                    Collectors.mapping(DespesaEntity::getValor, Collectors.toList()))))
+                    .forEach((categoria, meses) -> meses.forEach((anoMes, valores) ->
+                            resumoMensalService.registrar(CategoriaType.DESPESAS, categoria, anoMes, valores)));
+            estatisticasService.registrarCriacao(CategoriaType.DESPESAS, despesasParaCriar.size());
+        } catch (Exception e) {
+            throw new DespesaOperationException("Erro ao importar despesas. Por favor, tente novamente.", e);
+        }
+
+        return ImportacaoLoteDTO.importado(despesasParaCriar.size());
+    }
+
     @Override
     public List<DespesaEntity> listarDespesasUsuario(String userId) {
         if (userId == null || userId.trim()
@@ -94,6 +167,25 @@ public class DespesaServiceImpl implements DespesaService {
         }
     }
 
+    @Override
+    public Pagina<DespesaEntity> listarDespesasUsuario(String userId, String cursor, int limite) {
+        if (userId == null || userId.trim()
+                .isEmpty()) {
+            throw new InvalidUserIdException();
+        }
+
+        validarLimite(limite);
+
+        List<DespesaEntity> linhas = despesaRepository.findPageByUser(userId, decodificarCursor(cursor), limite);
+
+        // Assim como na listagem completa, um usuário sem despesas na primeira página gera 404
+        if (linhas.isEmpty() && cursor == null) {
+            throw new DespesaNotFoundException(userId);
+        }
+
+        return Pagina.deLinhas(linhas, limite, DespesaServiceImpl::cursorDe);
+    }
+
     @Override
     public DespesaEntity buscarDespesaPorId(String uuid) {
         if (uuid == null || uuid.trim()
@@ -108,7 +200,7 @@ public class DespesaServiceImpl implements DespesaService {
 
     @Override
     @Transactional
-    public DespesaEntity atualizarDespesa(String uuid, DespesaUpdateDTO despesaUpdateDTO) {
+    public DespesaEntity atualizarDespesa(String uuid, String userId, DespesaUpdateDTO despesaUpdateDTO, Long versaoEsperada) {
         if (uuid == null || uuid.trim()
                 .isEmpty()) {
             throw new InvalidUuidException();
@@ -118,8 +210,14 @@ public class DespesaServiceImpl implements DespesaService {
             throw new InvalidDataException("Os dados da despesa não podem ser nulos.");
         }
 
-        DespesaEntity despesa = despesaRepository.findById(uuid)
-                .orElseThrow(() -> new DespesaNotFoundException(uuid));
+        DespesaEntity despesa = despesaRepository.findByUuidAndUserUuid(uuid, userId)
+                .orElseThrow(() -> naoEncontradaOuDeOutroUsuario(uuid));
+        ETagUtils.verificarVersao(versaoEsperada, despesa.getVersao());
+
+        // Guarda a posição antiga para tirar o valor do mês/categoria de origem em resumo_mensal
+        CategoriaEntity categoriaAnterior = despesa.getCategoria();
+        LocalDate dataAnterior = despesa.getData();
+        BigDecimal valorAnterior = despesa.getValor();
 
         // Coloca os novos valores na despesa
         despesa.setData(despesaUpdateDTO.getData());
@@ -128,8 +226,7 @@ public class DespesaServiceImpl implements DespesaService {
         despesa.setCategoria(
                 categoriaRepository.findByNomeAndTipoAndUserUuid(despesaUpdateDTO.getCategoria(),
                                 CategoriaType.DESPESAS,
-                                despesa.getUser()
-                                        .getUuid())
+                                userId)
                         .orElseThrow(
                                 () -> new CategoriaNameNotFoundException(despesaUpdateDTO.getCategoria())));
 
@@ -138,7 +235,13 @@ public class DespesaServiceImpl implements DespesaService {
         despesa.setObservacoes(despesaUpdateDTO.getObservacoes());
 
         try {
-            return despesaRepository.save(despesa);
+            DespesaEntity despesaAtualizada = despesaRepository.save(despesa);
+            resumoMensalService.remover(CategoriaType.DESPESAS, userId, categoriaAnterior, dataAnterior, valorAnterior);
+            resumoMensalService.registrar(CategoriaType.DESPESAS, despesaAtualizada.getCategoria(), despesaAtualizada.getData(), despesaAtualizada.getValor());
+
+            return despesaAtualizada;
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new DespesaOperationException("Erro ao atualizar despesa. Por favor, tente novamente.", e);
         }
@@ -146,54 +249,102 @@ public class DespesaServiceImpl implements DespesaService {
 
     @Override
     @Transactional
-    public void excluirDespesa(String uuid) {
+    public void excluirDespesa(String uuid, String userId) {
         if (uuid == null || uuid.trim()
                 .isEmpty()) {
             throw new InvalidUuidException();
         }
 
-        DespesaEntity despesa = despesaRepository.findById(uuid)
-                .orElseThrow(() -> new DespesaNotFoundException(uuid));
+        // A leitura continua necessária: resumo_mensal precisa da categoria, da data e do valor removidos
+        DespesaEntity despesa = despesaRepository.findByUuidAndUserUuid(uuid, userId)
+                .orElseThrow(() -> naoEncontradaOuDeOutroUsuario(uuid));
 
         try {
-            despesaRepository.delete(despesa);
+            // 0 linhas: uma exclusão concorrente chegou antes e já tirou o valor de resumo_mensal
+            if (despesaRepository.deleteByUuidAndUserUuid(uuid, userId) > 0) {
+                resumoMensalService.remover(CategoriaType.DESPESAS, userId, despesa.getCategoria(), despesa.getData(), despesa.getValor());
+            }
         } catch (Exception e) {
             throw new DespesaOperationException("Erro ao excluir despesa. Por favor, tente novamente.", e);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAFICOS, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public GraficoBarraDTO gerarGraficoBarras(String userId, YearMonth inicio, YearMonth fim) {
-        List<DespesaEntity> despesas = despesaRepository.findByUserAndYearMonthRange(userId, inicio, fim);
-        
-        Map<String, BigDecimal> dadosMensais = despesas.stream()
-            .collect(Collectors.groupingBy(
-                d -> DataUtils.formatarMesAno(d.getData()),
-                Collectors.reducing(BigDecimal.ZERO, DespesaEntity::getValor, BigDecimal::add)
-            ));
-        
+        // As somas por mês vêm prontas de resumo_mensal; aqui só formatamos os meses e completamos os vazios
+        Map<String, BigDecimal> dadosMensais = new HashMap<>();
+        resumoMensalService.somarPorMes(userId, CategoriaType.DESPESAS, inicio, fim)
+                .forEach((mes, total) -> dadosMensais.put(DataUtils.formatarMesAno(mes), total));
+
         DataUtils.preencherMesesVazios(dadosMensais, inicio, fim);
-        
+
         return new GraficoBarraDTO(dadosMensais);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAFICOS, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public GraficoPizzaDTO gerarGraficoPizza(String userId, LocalDate inicio, LocalDate fim) {
-        List<DespesaEntity> despesas = despesaRepository.findByUserAndDateRange(userId, inicio, fim);
-
-        Map<String, BigDecimal> categorias = despesas.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getCategoria()
-                                .getNome(),
-                        Collectors.mapping(DespesaEntity::getValor,
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-                ));
+        Map<String, BigDecimal> categorias = despesaRepository.sumDespesasByUserIdGroupedByCategoria(userId, inicio, fim);
 
         return new GraficoPizzaDTO(categorias);
     }
 
     @Override
     public List<DespesaEntity> buscarDespesasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim) {
+        validarIntervaloDeDatas(userId, inicio, fim);
+
+        try {
+            return despesaRepository.findByUserAndDateRange(userId, inicio, fim);
+        } catch (Exception e) {
+            throw new DespesaOperationException(
+                    "Erro ao buscar despesas por intervalo de datas. Por favor, tente novamente.", e);
+        }
+    }
+
+    @Override
+    public List<DespesaEntity> buscarDespesasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max) {
+        validarIntervaloDeValores(userId, min, max);
+
+        try {
+            return despesaRepository.findByUserAndValueBetween(userId, min, max);
+        } catch (Exception e) {
+            throw new DespesaOperationException(
+                    "Erro ao buscar despesas por intervalo de valores. Por favor, tente novamente.", e);
+        }
+    }
+
+    @Override
+    public Pagina<DespesaEntity> buscarDespesasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim, String cursor, int limite) {
+        validarIntervaloDeDatas(userId, inicio, fim);
+        validarLimite(limite);
+        Cursor posicao = decodificarCursor(cursor);
+
+        try {
+            List<DespesaEntity> linhas = despesaRepository.findPageByUserAndDateRange(userId, inicio, fim, posicao, limite);
+            return Pagina.deLinhas(linhas, limite, DespesaServiceImpl::cursorDe);
+        } catch (Exception e) {
+            throw new DespesaOperationException(
+                    "Erro ao buscar despesas por intervalo de datas. Por favor, tente novamente.", e);
+        }
+    }
+
+    @Override
+    public Pagina<DespesaEntity> buscarDespesasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max, String cursor, int limite) {
+        validarIntervaloDeValores(userId, min, max);
+        validarLimite(limite);
+        Cursor posicao = decodificarCursor(cursor);
+
+        try {
+            List<DespesaEntity> linhas = despesaRepository.findPageByUserAndValueBetween(userId, min, max, posicao, limite);
+            return Pagina.deLinhas(linhas, limite, DespesaServiceImpl::cursorDe);
+        } catch (Exception e) {
+            throw new DespesaOperationException(
+                    "Erro ao buscar despesas por intervalo de valores. Por favor, tente novamente.", e);
+        }
+    }
+
+    private void validarIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim) {
         if (userId == null || userId.trim()
                 .isEmpty()) {
             throw new InvalidUserIdException();
@@ -206,17 +357,9 @@ public class DespesaServiceImpl implements DespesaService {
         if (inicio.isAfter(fim)) {
             throw new InvalidDataException("A data de início não pode ser após a data de fim.");
         }
-
-        try {
-            return despesaRepository.findByUserAndDateRange(userId, inicio, fim);
-        } catch (Exception e) {
-            throw new DespesaOperationException(
-                    "Erro ao buscar despesas por intervalo de datas. Por favor, tente novamente.", e);
-        }
     }
 
-    @Override
-    public List<DespesaEntity> buscarDespesasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max) {
+    private void validarIntervaloDeValores(String userId, BigDecimal min, BigDecimal max) {
         if (userId == null || userId.trim()
                 .isEmpty()) {
             throw new InvalidUserIdException();
@@ -233,12 +376,24 @@ public class DespesaServiceImpl implements DespesaService {
         if (min.compareTo(max) > 0) {
             throw new InvalidDataException("O valor mínimo não pode ser maior que o valor máximo.");
         }
+    }
 
-        try {
-            return despesaRepository.findByUserAndValueBetween(userId, min, max);
-        } catch (Exception e) {
-            throw new DespesaOperationException(
-                    "Erro ao buscar despesas por intervalo de valores. Por favor, tente novamente.", e);
+    private static void validarLimite(int limite) {
+        if (limite < 1 || limite > Pagina.LIMITE_MAXIMO) {
+            throw new InvalidDataException("O limite deve estar entre 1 e " + Pagina.LIMITE_MAXIMO + ".");
         }
     }
-}
\ No newline at end of file
+
+    private static Cursor decodificarCursor(String cursor) {
+        return cursor == null ? null : Cursor.decodificar(cursor);
+    }
+
+    private static String cursorDe(DespesaEntity despesa) {
+        return new Cursor(despesa.getData(), despesa.getUuid()).codificar();
+    }
+
+    // Só no caminho de erro: separa a despesa de outro usuário (403) da que não existe (404)
+    private RuntimeException naoEncontradaOuDeOutroUsuario(String uuid) {
+        return despesaRepository.existsById(uuid) ? new DespesaAccessDeniedException(uuid) : new DespesaNotFoundException(uuid);
+    }
+}
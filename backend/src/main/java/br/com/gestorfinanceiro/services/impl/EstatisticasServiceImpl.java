@@ -0,0 +1,175 @@
+package br.com.gestorfinanceiro.services.impl;
+
+import br.com.gestorfinanceiro.config.BancoDeDados;
+import br.com.gestorfinanceiro.dto.estatisticas.AtividadeDiariaDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.EstatisticasDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.VolumeUsuarioDTO;
+import br.com.gestorfinanceiro.models.AtividadeDiariaEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.AtividadeDiariaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estatísticas da plataforma para o admin, servidas de uma cópia em memória recalculada a cada
+ * {@code admin.estatisticas.atualizacao}. Nenhuma conta passa por despesas e receitas: as criações por dia vêm de
+ * contadores acumulados em memória a cada escrita e somados em atividade_diaria no mesmo ciclo, e o volume por usuário
+ * vem de resumo_mensal, que já é mantido a cada escrita e tem uma linha por categoria e mês, não por transação.
+ */
+@Service
+public class EstatisticasServiceImpl implements EstatisticasService {
+
+    private final UserRepository userRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final AtividadeDiariaRepository atividadeDiariaRepository;
+    private final BancoDeDados bancoDeDados;
+    private final int dias;
+    private final int maioresUsuarios;
+
+    // merge e remove são atômicos por chave: uma criação entra na soma retirada agora ou na do próximo ciclo
+    private final Map<ChaveAtividade, Long> pendentes = new ConcurrentHashMap<>();
+    private volatile EstatisticasDTO estatisticas;
+
+    public EstatisticasServiceImpl(UserRepository userRepository, ResumoMensalRepository resumoMensalRepository,
+                                   AtividadeDiariaRepository atividadeDiariaRepository, BancoDeDados bancoDeDados,
+                                   @Value("${admin.estatisticas.dias:30}") int dias,
+                                   @Value("${admin.estatisticas.maiores-usuarios:10}") int maioresUsuarios) {
+        this.userRepository = userRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.atividadeDiariaRepository = atividadeDiariaRepository;
+        this.bancoDeDados = bancoDeDados;
+        this.dias = dias;
+        this.maioresUsuarios = maioresUsuarios;
+    }
+
+    @Override
+    public void registrarCriacao(CategoriaType tipo, int quantidade) {
+        if (quantidade <= 0) {
+            return;
+        }
+
+        ChaveAtividade chave = new ChaveAtividade(LocalDate.now(), tipo);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            contar(chave, quantidade);
+            return;
+        }
+        // Uma criação desfeita por rollback não entra na contagem
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                contar(chave, quantidade);
+            }
+        });
+    }
+
+    // A primeira chamada após a inicialização calcula na hora; as demais só leem a cópia
+    @Override
+    public EstatisticasDTO obterEstatisticas() {
+        EstatisticasDTO atual = estatisticas;
+        if (atual != null) {
+            return atual;
+        }
+        atualizar();
+        return estatisticas;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${admin.estatisticas.atualizacao:1m}", initialDelayString = "${admin.estatisticas.atualizacao:1m}")
+    public synchronized void atualizar() {
+        gravarPendentes();
+        estatisticas = calcular();
+    }
+
+    private void contar(ChaveAtividade chave, long quantidade) {
+        pendentes.merge(chave, quantidade, Long::sum);
+    }
+
+    // Um UPDATE somando por dia e tipo, e não um por criação. Se falhar, a quantidade volta para o próximo ciclo
+    private void gravarPendentes() {
+        for (ChaveAtividade chave : pendentes.keySet()) {
+            Long quantidade = pendentes.remove(chave);
+            if (quantidade == null) {
+                continue;
+            }
+
+            try {
+                somar(chave, quantidade);
+            } catch (RuntimeException e) {
+                contar(chave, quantidade);
+                throw e;
+            }
+        }
+    }
+
+    private void somar(ChaveAtividade chave, long quantidade) {
+        if (atividadeDiariaRepository.incrementar(chave.dia(), chave.tipo(), quantidade) > 0) {
+            return;
+        }
+        try {
+            atividadeDiariaRepository.save(new AtividadeDiariaEntity(chave.dia(), chave.tipo(), quantidade));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou a linha do dia primeiro
+            atividadeDiariaRepository.incrementar(chave.dia(), chave.tipo(), quantidade);
+        }
+    }
+
+    private EstatisticasDTO calcular() {
+        return new EstatisticasDTO(userRepository.count(), userRepository.countByEstaAtivo(true),
+                transacoesPorDia(), maioresUsuarios(), Instant.now());
+    }
+
+    // Um item por dia do período, inclusive os sem criações
+    private List<AtividadeDiariaDTO> transacoesPorDia() {
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = hoje.minusDays(dias - 1L);
+
+        Map<LocalDate, long[]> porDia = new HashMap<>();
+        for (AtividadeDiariaEntity atividade : atividadeDiariaRepository.findAllByDiaGreaterThanEqual(inicio)) {
+            long[] criadas = porDia.computeIfAbsent(atividade.getDia(), dia -> new long[2]);
+            criadas[atividade.getTipo() == CategoriaType.DESPESAS ? 0 : 1] += atividade.getCriadas();
+        }
+
+        List<AtividadeDiariaDTO> resultado = new ArrayList<>(dias);
+        for (LocalDate dia = inicio; !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+            long[] criadas = porDia.getOrDefault(dia, new long[2]);
+            resultado.add(new AtividadeDiariaDTO(dia, criadas[0], criadas[1]));
+        }
+        return resultado;
+    }
+
+    // Ranking pelo total de transações guardadas, que é o que ocupa espaço; as dos meses que o período toca vêm à
+    // parte. O banco só informa o tamanho das tabelas inteiras; o de cada usuário é estimado pelas suas linhas vezes a
+    // média de bytes por linha
+    private List<VolumeUsuarioDTO> maioresUsuarios() {
+        YearMonth recentesDesde = YearMonth.from(LocalDate.now().minusDays(dias - 1L));
+        List<VolumeUsuarioDTO> maiores = resumoMensalRepository.findMaioresUsuariosPorQuantidade(recentesDesde, maioresUsuarios);
+        if (!bancoDeDados.isPostgres() || maiores.isEmpty()) {
+            return maiores;
+        }
+
+        double bytesPorLinha = resumoMensalRepository.findBytesPorLinhaTransacoesPostgres();
+        return maiores.stream()
+                .map(usuario -> new VolumeUsuarioDTO(usuario.userId(), usuario.username(), usuario.transacoes(),
+                        usuario.transacoesRecentes(), Math.round(usuario.transacoes() * bytesPorLinha)))
+                .toList();
+    }
+
+    private record ChaveAtividade(LocalDate dia, CategoriaType tipo) {
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO;
 import br.com.gestorfinanceiro.exceptions.categoria.CategoriaNameNotFoundException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalAlreadyExistsException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalNotFoundException;
@@ -14,12 +15,17 @@ import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.OrcamentoMensalRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.OrcamentoMensalService;
+import br.com.gestorfinanceiro.utils.ETagUtils;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
@@ -61,7 +67,7 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
             throw new InvalidDataException("O período não pode ser nulo.");
         }
 
-        List<OrcamentoMensalEntity> orcamentosMensais = orcamentoMensalRepository.findByPeriodo(periodo);
+        List<OrcamentoMensalEntity> orcamentosMensais = orcamentoMensalRepository.findByUserIdAndPeriodo(userId, periodo);
 
         if (orcamentosMensais.isEmpty()) {
             throw new OrcamentoMensalNotFoundException("Nenhum orçamento encontrado para o período: " + periodo);
@@ -70,6 +76,27 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
         return orcamentosMensais;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ConsumoOrcamentoDTO> calcularConsumoPorPeriodo(String userId, YearMonth periodo) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new InvalidUuidException();
+        }
+
+        if (periodo == null) {
+            throw new InvalidDataException("O período não pode ser nulo.");
+        }
+
+        // Calculado a cada chamada a partir das despesas, então reflete qualquer escrita já confirmada
+        List<ConsumoOrcamentoDTO> consumos = orcamentoMensalRepository.findConsumoByUserIdAndPeriodo(userId, periodo);
+
+        if (consumos.isEmpty()) {
+            throw new OrcamentoMensalNotFoundException("Nenhum orçamento encontrado para o período: " + periodo);
+        }
+
+        return consumos;
+    }
+
     @Override
     public OrcamentoMensalEntity buscarPorId(String userId, String uuid) {
         if (userId == null || userId.trim().isEmpty()) {
@@ -95,8 +122,8 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
         CategoriaEntity categoriaEntity = categoriaRepository.findByNomeAndUserUuid(categoria, userId)
                 .orElseThrow(() -> new CategoriaNameNotFoundException("Categoria não encontrada: " + categoria));
 
-        verificarOrcamentoDuplicado(userId, categoriaEntity, periodo, null);
-
+        // Duplicidade é barrada pela chave única (user_id, periodo, categoria_id); o flush faz a violação
+        // aparecer aqui, e não só no commit
         try {
             OrcamentoMensalEntity orcamentoMensal = new OrcamentoMensalEntity();
             orcamentoMensal.setCategoria(categoriaEntity);
@@ -104,7 +131,9 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
             orcamentoMensal.setPeriodo(periodo);
             orcamentoMensal.setUser(user);
 
-            return orcamentoMensalRepository.save(orcamentoMensal);
+            return orcamentoMensalRepository.saveAndFlush(orcamentoMensal);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e, categoriaEntity, periodo);
         } catch (Exception e) {
             throw new OrcamentoMensalOperationException("Erro ao criar orçamento mensal. Por favor, tente novamente.", e);
         }
@@ -112,7 +141,7 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
 
     @Override
     @Transactional
-    public OrcamentoMensalEntity atualizarOrcamentoMensal(String userId, String uuid, String categoria, BigDecimal valorLimite, YearMonth periodo) {
+    public OrcamentoMensalEntity atualizarOrcamentoMensal(String userId, String uuid, String categoria, BigDecimal valorLimite, YearMonth periodo, Long versaoEsperada) {
         validarParametros(userId, categoria, valorLimite, periodo);
 
         if (uuid == null || uuid.trim().isEmpty()) {
@@ -120,17 +149,20 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
         }
 
         OrcamentoMensalEntity orcamentoMensal = buscarPorId(userId, uuid);
+        ETagUtils.verificarVersao(versaoEsperada, orcamentoMensal.getVersao());
         CategoriaEntity categoriaEntity = categoriaRepository.findByNomeAndUserUuid(categoria, userId)
                 .orElseThrow(() -> new CategoriaNameNotFoundException("Categoria não encontrada: " + categoria));
 
-        verificarOrcamentoDuplicado(userId, categoriaEntity, periodo, uuid);
-
         try {
             orcamentoMensal.setCategoria(categoriaEntity);
             orcamentoMensal.setValorLimite(valorLimite);
             orcamentoMensal.setPeriodo(periodo);
 
-            return orcamentoMensalRepository.save(orcamentoMensal);
+            return orcamentoMensalRepository.saveAndFlush(orcamentoMensal);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e, categoriaEntity, periodo);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new OrcamentoMensalOperationException("Erro ao atualizar orçamento mensal. Por favor, tente novamente.", e);
         }
@@ -174,11 +206,12 @@ public class OrcamentoMensalServiceImpl implements OrcamentoMensalService {
         }
     }
 
-    private void verificarOrcamentoDuplicado(String userId, CategoriaEntity categoria, YearMonth periodo, String uuidAtual) {
-        orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, periodo, userId)
-                .filter(existing -> uuidAtual == null || !existing.getUuid().equals(uuidAtual))
-                .ifPresent(existing -> {
-                    throw new OrcamentoMensalAlreadyExistsException(categoria, periodo);
-                });
+    private static RuntimeException traduzirViolacao(DataIntegrityViolationException e, CategoriaEntity categoria, YearMonth periodo) {
+        if (e.getCause() instanceof ConstraintViolationException violacao
+                && violacao.getConstraintName() != null
+                && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(OrcamentoMensalEntity.CHAVE_UNICA)) {
+            return new OrcamentoMensalAlreadyExistsException(categoria, periodo);
+        }
+        return new OrcamentoMensalOperationException("Erro ao salvar orçamento mensal. Por favor, tente novamente.", e);
     }
 }
\ No newline at end of file
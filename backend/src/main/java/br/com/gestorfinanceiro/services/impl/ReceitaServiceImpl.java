@@ -1,5 +1,10 @@
 package br.com.gestorfinanceiro.services.impl;
 
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
+import br.com.gestorfinanceiro.dto.common.Cursor;
+import br.com.gestorfinanceiro.dto.common.ErroImportacaoDTO;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.dto.receita.ReceitaCreateDTO;
@@ -7,6 +12,7 @@ import br.com.gestorfinanceiro.dto.receita.ReceitaUpdateDTO;
 import br.com.gestorfinanceiro.exceptions.categoria.CategoriaNameNotFoundException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidUuidException;
+import br.com.gestorfinanceiro.exceptions.receita.ReceitaAccessDeniedException;
 import br.com.gestorfinanceiro.exceptions.receita.ReceitaNotFoundException;
 import br.com.gestorfinanceiro.exceptions.receita.ReceitaOperationException;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
@@ -19,14 +25,22 @@ import br.com.gestorfinanceiro.models.enums.CategoriaType;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.EstatisticasService;
 import br.com.gestorfinanceiro.services.ReceitaService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import br.com.gestorfinanceiro.utils.DataUtils;
+import br.com.gestorfinanceiro.utils.ETagUtils;
+import jakarta.validation.Validator;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -38,12 +52,18 @@ public class ReceitaServiceImpl implements ReceitaService {
     private final CategoriaRepository categoriaRepository;
     private final UserRepository userRepository;
     private final Mapper<ReceitaEntity, ReceitaCreateDTO> receitaCreateDTOMapper;
+    private final Validator validator;
+    private final ResumoMensalService resumoMensalService;
+    private final EstatisticasService estatisticasService;
 
-    public ReceitaServiceImpl(ReceitaRepository receitaRepository, CategoriaRepository categoriaRepository, UserRepository userRepository, Mapper<ReceitaEntity, ReceitaCreateDTO> receitaCreateDTOMapper) {
+    public ReceitaServiceImpl(ReceitaRepository receitaRepository, CategoriaRepository categoriaRepository, UserRepository userRepository, Mapper<ReceitaEntity, ReceitaCreateDTO> receitaCreateDTOMapper, Validator validator, ResumoMensalService resumoMensalService, EstatisticasService estatisticasService) {
         this.receitaRepository = receitaRepository;
         this.categoriaRepository = categoriaRepository;
         this.userRepository = userRepository;
         this.receitaCreateDTOMapper = receitaCreateDTOMapper;
+        this.validator = validator;
+        this.resumoMensalService = resumoMensalService;
+        this.estatisticasService = estatisticasService;
     }
 
     @Override
@@ -72,12 +92,65 @@ public class ReceitaServiceImpl implements ReceitaService {
             receitaParaCriar.setCategoria(categoria);
             receitaParaCriar.setUser(user);
 
-            return receitaRepository.save(receitaParaCriar);
+            ReceitaEntity receitaCriada = receitaRepository.save(receitaParaCriar);
+            resumoMensalService.registrar(CategoriaType.RECEITAS, categoria, receitaCriada.getData(), receitaCriada.getValor());
+            estatisticasService.registrarCriacao(CategoriaType.RECEITAS, 1);
+
+            return receitaCriada;
         } catch (Exception e) {
             throw new ReceitaOperationException("Erro ao criar receita. Por favor, tente novamente.", e);
         }
     }
 
+    @Override
+    @Transactional
+    public ImportacaoLoteDTO importarReceitas(List<ReceitaCreateDTO> receitas, String userId) {
+        if (userId == null || userId.trim()
+                .isEmpty()) {
+            throw new InvalidUserIdException();
+        }
+
+        ValidadorLote.validarTamanho(receitas);
+
+        // Usuário e categorias são lidos uma única vez para o lote inteiro
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        Map<String, CategoriaEntity> categorias = ValidadorLote.categoriasPorNome(
+                categoriaRepository.findAllByUserUuidAndTipo(userId, CategoriaType.RECEITAS));
+
+        List<ErroImportacaoDTO> erros = ValidadorLote.validar(receitas, validator, categorias);
+        if (!erros.isEmpty()) {
+            return ImportacaoLoteDTO.rejeitado(receitas.size(), erros);
+        }
+
+        List<ReceitaEntity> receitasParaCriar = new ArrayList<>(receitas.size());
+        for (ReceitaCreateDTO dto : receitas) {
+            ReceitaEntity receita = receitaCreateDTOMapper.mapFrom(dto);
+            receita.setCategoria(categorias.get(dto.getCategoria()));
+            receita.setUser(user);
+            receitasParaCriar.add(receita);
+        }
+
+        // Com hibernate.jdbc.batch_size os INSERTs vão ao banco em lotes, e não um por linha
+        try {
+            receitaRepository.saveAll(receitasParaCriar);
+            receitaRepository.flush();
+
+            // resumo_mensal recebe uma atualização por categoria e mês, e não uma por linha
+            receitasParaCriar.stream()
+                    .collect(Collectors.groupingBy(ReceitaEntity::getCategoria,
+                            Collectors.groupingBy(receita -> YearMonth.from(receita.getData()),
+                                    Collectors.mapping(ReceitaEntity::getValor, Collectors.toList()))))
+                    .forEach((categoria, meses) -> meses.forEach((anoMes, valores) ->
+                            resumoMensalService.registrar(CategoriaType.RECEITAS, categoria, anoMes, valores)));
+            estatisticasService.registrarCriacao(CategoriaType.RECEITAS, receitasParaCriar.size());
+        } catch (Exception e) {
+            throw new ReceitaOperationException("Erro ao importar receitas. Por favor, tente novamente.", e);
+        }
+
+        return ImportacaoLoteDTO.importado(receitasParaCriar.size());
+    }
+
     @Override
     public List<ReceitaEntity> listarReceitasUsuario(String userId) {
         if (userId == null || userId.trim()
@@ -94,6 +167,25 @@ public class ReceitaServiceImpl implements ReceitaService {
         }
     }
 
+    @Override
+    public Pagina<ReceitaEntity> listarReceitasUsuario(String userId, String cursor, int limite) {
+        if (userId == null || userId.trim()
+                .isEmpty()) {
+            throw new InvalidUserIdException();
+        }
+
+        validarLimite(limite);
+
+        List<ReceitaEntity> linhas = receitaRepository.findPageByUser(userId, decodificarCursor(cursor), limite);
+
+        // Assim como na listagem completa, um usuário sem receitas na primeira página gera 404
+        if (linhas.isEmpty() && cursor == null) {
+            throw new ReceitaNotFoundException(userId);
+        }
+
+        return Pagina.deLinhas(linhas, limite, ReceitaServiceImpl::cursorDe);
+    }
+
     @Override
     public ReceitaEntity buscarReceitaPorId(String uuid) {
         if (uuid == null || uuid.trim()
@@ -108,7 +200,7 @@ public class ReceitaServiceImpl implements ReceitaService {
 
     @Override
     @Transactional
-    public ReceitaEntity atualizarReceita(String uuid, ReceitaUpdateDTO receitaUpdateDTO) {
+    public ReceitaEntity atualizarReceita(String uuid, String userId, ReceitaUpdateDTO receitaUpdateDTO, Long versaoEsperada) {
         if (uuid == null || uuid.trim()
                 .isEmpty()) {
             throw new InvalidUuidException();
@@ -118,8 +210,14 @@ public class ReceitaServiceImpl implements ReceitaService {
             throw new InvalidDataException("Os dados da receita não podem ser nulos.");
         }
 
-        ReceitaEntity receita = receitaRepository.findById(uuid)
-                .orElseThrow(() -> new ReceitaNotFoundException(uuid));
+        ReceitaEntity receita = receitaRepository.findByUuidAndUserUuid(uuid, userId)
+                .orElseThrow(() -> naoEncontradaOuDeOutroUsuario(uuid));
+        ETagUtils.verificarVersao(versaoEsperada, receita.getVersao());
+
+        // Guarda a posição antiga para tirar o valor do mês/categoria de origem em resumo_mensal
+        CategoriaEntity categoriaAnterior = receita.getCategoria();
+        LocalDate dataAnterior = receita.getData();
+        BigDecimal valorAnterior = receita.getValor();
 
         // Coloca os novos valores na despesa
         receita.setData(receitaUpdateDTO.getData());
@@ -128,8 +226,7 @@ public class ReceitaServiceImpl implements ReceitaService {
         receita.setCategoria(
                 categoriaRepository.findByNomeAndTipoAndUserUuid(receitaUpdateDTO.getCategoria(),
                                 CategoriaType.RECEITAS,
-                                receita.getUser()
-                                        .getUuid())
+                                userId)
                         .orElseThrow(
                                 () -> new CategoriaNameNotFoundException(receitaUpdateDTO.getCategoria())));
 
@@ -138,7 +235,13 @@ public class ReceitaServiceImpl implements ReceitaService {
         receita.setObservacoes(receitaUpdateDTO.getObservacoes());
 
         try {
-            return receitaRepository.save(receita);
+            ReceitaEntity receitaAtualizada = receitaRepository.save(receita);
+            resumoMensalService.remover(CategoriaType.RECEITAS, userId, categoriaAnterior, dataAnterior, valorAnterior);
+            resumoMensalService.registrar(CategoriaType.RECEITAS, receitaAtualizada.getCategoria(), receitaAtualizada.getData(), receitaAtualizada.getValor());
+
+            return receitaAtualizada;
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new ReceitaOperationException("Erro ao atualizar despesa. Por favor, tente novamente.", e);
         }
@@ -146,46 +249,41 @@ public class ReceitaServiceImpl implements ReceitaService {
 
     @Override
     @Transactional
-    public void excluirReceita(String uuid) {
+    public void excluirReceita(String uuid, String userId) {
         if (uuid == null || uuid.trim()
                 .isEmpty()) {
             throw new InvalidUuidException();
         }
 
-        ReceitaEntity receita = receitaRepository.findById(uuid)
-                .orElseThrow(() -> new ReceitaNotFoundException(uuid));
+        // A leitura continua necessária: resumo_mensal precisa da categoria, da data e do valor removidos
+        ReceitaEntity receita = receitaRepository.findByUuidAndUserUuid(uuid, userId)
+                .orElseThrow(() -> naoEncontradaOuDeOutroUsuario(uuid));
 
         try {
-            receitaRepository.delete(receita);
+            // 0 linhas: uma exclusão concorrente chegou antes e já tirou o valor de resumo_mensal
+            if (receitaRepository.deleteByUuidAndUserUuid(uuid, userId) > 0) {
+                resumoMensalService.remover(CategoriaType.RECEITAS, userId, receita.getCategoria(), receita.getData(), receita.getValor());
+            }
         } catch (Exception e) {
             throw new ReceitaOperationException("Erro ao excluir receita. Por favor, tente novamente.", e);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAFICOS, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public GraficoPizzaDTO gerarGraficoPizza(String userId, LocalDate inicio, LocalDate fim) {
-        List<ReceitaEntity> receitas = receitaRepository.findByUserAndDateRange(userId, inicio, fim);
-
-        Map<String, BigDecimal> categorias = receitas.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getCategoria()
-                                .getNome(),
-                        Collectors.mapping(ReceitaEntity::getValor,
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-                ));
+        Map<String, BigDecimal> categorias = receitaRepository.sumReceitasByUserIdGroupedByCategoria(userId, inicio, fim);
 
         return new GraficoPizzaDTO(categorias);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAFICOS, keyGenerator = CacheConfig.CHAVE_POR_PERIODO)
     public GraficoBarraDTO gerarGraficoBarras(String userId, YearMonth inicio, YearMonth fim) {
-        List<ReceitaEntity> receitas = receitaRepository.findByUserAndYearMonthRange(userId, inicio, fim);
-        
-        Map<String, BigDecimal> dadosMensais = receitas.stream()
-            .collect(Collectors.groupingBy(
-                d -> DataUtils.formatarMesAno(d.getData()),
-                Collectors.reducing(BigDecimal.ZERO, ReceitaEntity::getValor, BigDecimal::add)
-            ));
+        // As somas por mês vêm prontas de resumo_mensal; aqui só formatamos os meses e completamos os vazios
+        Map<String, BigDecimal> dadosMensais = new HashMap<>();
+        resumoMensalService.somarPorMes(userId, CategoriaType.RECEITAS, inicio, fim)
+                .forEach((mes, total) -> dadosMensais.put(DataUtils.formatarMesAno(mes), total));
         
         DataUtils.preencherMesesVazios(dadosMensais, inicio, fim);
         
@@ -194,6 +292,59 @@ public class ReceitaServiceImpl implements ReceitaService {
 
     @Override
     public List<ReceitaEntity> buscarReceitasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim) {
+        validarIntervaloDeDatas(userId, inicio, fim);
+
+        try {
+            return receitaRepository.findByUserAndDateRange(userId, inicio, fim);
+        } catch (Exception e) {
+            throw new ReceitaOperationException(
+                    "Erro ao buscar receitas por intervalo de datas. Por favor, tente novamente.", e);
+        }
+    }
+
+    @Override
+    public List<ReceitaEntity> buscarReceitasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max) {
+        validarIntervaloDeValores(userId, min, max);
+
+        try {
+            return receitaRepository.findByUserAndValueBetween(userId, min, max);
+        } catch (Exception e) {
+            throw new ReceitaOperationException(
+                    "Erro ao buscar receitas por intervalo de valores. Por favor, tente novamente.", e);
+        }
+    }
+
+    @Override
+    public Pagina<ReceitaEntity> buscarReceitasPorIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim, String cursor, int limite) {
+        validarIntervaloDeDatas(userId, inicio, fim);
+        validarLimite(limite);
+        Cursor posicao = decodificarCursor(cursor);
+
+        try {
+            List<ReceitaEntity> linhas = receitaRepository.findPageByUserAndDateRange(userId, inicio, fim, posicao, limite);
+            return Pagina.deLinhas(linhas, limite, ReceitaServiceImpl::cursorDe);
+        } catch (Exception e) {
+            throw new ReceitaOperationException(
+                    "Erro ao buscar receitas por intervalo de datas. Por favor, tente novamente.", e);
+        }
+    }
+
+    @Override
+    public Pagina<ReceitaEntity> buscarReceitasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max, String cursor, int limite) {
+        validarIntervaloDeValores(userId, min, max);
+        validarLimite(limite);
+        Cursor posicao = decodificarCursor(cursor);
+
+        try {
+            List<ReceitaEntity> linhas = receitaRepository.findPageByUserAndValueBetween(userId, min, max, posicao, limite);
+            return Pagina.deLinhas(linhas, limite, ReceitaServiceImpl::cursorDe);
+        } catch (Exception e) {
+            throw new ReceitaOperationException(
+                    "Erro ao buscar receitas por intervalo de valores. Por favor, tente novamente.", e);
+        }
+    }
+
+    private void validarIntervaloDeDatas(String userId, LocalDate inicio, LocalDate fim) {
         if (userId == null || userId.trim()
                 .isEmpty()) {
             throw new InvalidUserIdException();
@@ -206,17 +357,9 @@ public class ReceitaServiceImpl implements ReceitaService {
         if (inicio.isAfter(fim)) {
             throw new InvalidDataException("A data de início não pode ser após a data de fim.");
         }
-
-        try {
-            return receitaRepository.findByUserAndDateRange(userId, inicio, fim);
-        } catch (Exception e) {
-            throw new ReceitaOperationException(
-                    "Erro ao buscar receitas por intervalo de datas. Por favor, tente novamente.", e);
-        }
     }
 
-    @Override
-    public List<ReceitaEntity> buscarReceitasPorIntervaloDeValores(String userId, BigDecimal min, BigDecimal max) {
+    private void validarIntervaloDeValores(String userId, BigDecimal min, BigDecimal max) {
         if (userId == null || userId.trim()
                 .isEmpty()) {
             throw new InvalidUserIdException();
@@ -233,13 +376,24 @@ public class ReceitaServiceImpl implements ReceitaService {
         if (min.compareTo(max) > 0) {
             throw new InvalidDataException("O valor mínimo não pode ser maior que o valor máximo.");
         }
+    }
 
-        try {
-            return receitaRepository.findByUserAndValueBetween(userId, min, max);
-        } catch (Exception e) {
-            throw new ReceitaOperationException(
-                    "Erro ao buscar receitas por intervalo de valores. Por favor, tente novamente.", e);
+    private static void validarLimite(int limite) {
+        if (limite < 1 || limite > Pagina.LIMITE_MAXIMO) {
+            throw new InvalidDataException("O limite deve estar entre 1 e " + Pagina.LIMITE_MAXIMO + ".");
         }
     }
 
-}
\ No newline at end of file
+    private static Cursor decodificarCursor(String cursor) {
+        return cursor == null ? null : Cursor.decodificar(cursor);
+    }
+
+    private static String cursorDe(ReceitaEntity receita) {
+        return new Cursor(receita.getData(), receita.getUuid()).codificar();
+    }
+
+    // Só no caminho de erro: separa a receita de outro usuário (403) da que não existe (404)
+    private RuntimeException naoEncontradaOuDeOutroUsuario(String uuid) {
+        return receitaRepository.existsById(uuid) ? new ReceitaAccessDeniedException(uuid) : new ReceitaNotFoundException(uuid);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.gestorfinanceiro.services.impl;
+
+import br.com.gestorfinanceiro.config.cache.DashboardCache;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.ResumoMensalEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+    private final ResumoMensalRepository resumoMensalRepository;
+
+    private final DashboardCache dashboardCache;
+
+    public ResumoMensalServiceImpl(ResumoMensalRepository resumoMensalRepository, DashboardCache dashboardCache) {
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.dashboardCache = dashboardCache;
+    }
+
+    @Override
+    @Transactional
+    public void registrar(CategoriaType tipo, CategoriaEntity categoria, LocalDate data, BigDecimal valor) {
+        registrar(tipo, categoria, YearMonth.from(data), List.of(valor));
+    }
+
+    @Override
+    @Transactional
+    public void registrar(CategoriaType tipo, CategoriaEntity categoria, YearMonth anoMes, List<BigDecimal> valores) {
+        String userId = categoria.getUser()
+                .getUuid();
+
+        ResumoMensalEntity resumo = travarLinha(userId, tipo, categoria.getUuid(), anoMes);
+
+        resumo.adicionar(valores.stream()
+                        .reduce(BigDecimal.ZERO, BigDecimal::add), valores.size(),
+                valores.stream()
+                        .reduce(BigDecimal.ZERO, BigDecimal::max));
+
+        resumoMensalRepository.save(resumo);
+        // Toda escrita de despesa/receita passa por aqui, então é daqui que sai a invalidação dos caches do mês
+        dashboardCache.invalidarMes(userId, anoMes);
+    }
+
+    @Override
+    @Transactional
+    public void remover(CategoriaType tipo, String userId, CategoriaEntity categoria, LocalDate data, BigDecimal valor) {
+        YearMonth anoMes = YearMonth.from(data);
+        dashboardCache.invalidarMes(userId, anoMes);
+
+        // Transações antigas sem categoria estão na linha de categoria_id nulo que a reconstrução gera
+        String categoriaId = categoria != null ? categoria.getUuid() : null;
+        resumoMensalRepository.findByUserIdAndTipoAndCategoriaIdAndAnoMes(userId, tipo, categoriaId, anoMes)
+                .ifPresent(resumo -> {
+                    if (resumo.getQuantidade() <= 1) {
+                        resumoMensalRepository.delete(resumo);
+                        return;
+                    }
+
+                    resumo.setSoma(resumo.getSoma()
+                            .subtract(valor));
+                    resumo.setQuantidade(resumo.getQuantidade() - 1);
+
+                    // Só a saída do maior valor obriga a voltar às transações do mês (já sem a linha removida)
+                    if (valor.compareTo(resumo.getMaiorValor()) >= 0) {
+                        resumo.setMaiorValor(resumoMensalRepository.findMaiorValorNasTransacoes(
+                                tipo, userId, categoriaId, anoMes));
+                    }
+
+                    resumoMensalRepository.save(resumo);
+                });
+    }
+
+    @Override
+    @Transactional
+    public void reatribuirCategoria(CategoriaEntity antiga, CategoriaEntity nova) {
+        // Uma linha por mês com movimento na categoria antiga, somada na linha do mesmo mês da nova
+        for (ResumoMensalEntity resumo : resumoMensalRepository.findAllByCategoriaId(antiga.getUuid())) {
+            ResumoMensalEntity destino = travarLinha(resumo.getUserId(), resumo.getTipo(), nova.getUuid(), resumo.getAnoMes());
+
+            destino.adicionar(resumo.getSoma(), resumo.getQuantidade(), resumo.getMaiorValor());
+
+            resumoMensalRepository.save(destino);
+            resumoMensalRepository.delete(resumo);
+        }
+    }
+
+    // O SELECT ... FOR UPDATE só trava linhas que já existem: duas primeiras escritas da mesma chave passariam
+    // juntas e a segunda esbarraria em uk_resumo_mensal_chave. O INSERT ... ON CONFLICT DO NOTHING garante a
+    // linha antes da trava (quem chega depois espera o commit da outra e não insere nada)
+    private ResumoMensalEntity travarLinha(String userId, CategoriaType tipo, String categoriaId, YearMonth anoMes) {
+        resumoMensalRepository.insertIfAbsent(userId, tipo, categoriaId, anoMes);
+
+        return resumoMensalRepository.findByUserIdAndTipoAndCategoriaIdAndAnoMes(userId, tipo, categoriaId, anoMes)
+                .orElseThrow();
+    }
+
+    @Override
+    public Map<YearMonth, BigDecimal> somarPorMes(String userId, CategoriaType tipo, YearMonth inicio, YearMonth fim) {
+        return resumoMensalRepository.sumByUserIdAndTipoGroupedByMonth(userId, tipo, inicio, fim);
+    }
+
+    @Override
+    @Transactional
+    public int reconstruir() {
+        dashboardCache.invalidarTudo();
+        return resumoMensalRepository.rebuildFromTransacoes();
+    }
+
+    // resumo_mensal nasce vazia no primeiro deploy (ddl-auto só cria a tabela) e os painéis leriam zero até
+    // alguém chamar a reconstrução; com linhas já gravadas não faz nada
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconstruirSeVazia() {
+        if (resumoMensalRepository.isEmpty()) {
+            reconstruir();
+        }
+    }
+}
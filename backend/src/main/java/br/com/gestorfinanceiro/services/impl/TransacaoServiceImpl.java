@@ -0,0 +1,115 @@
+package br.com.gestorfinanceiro.services.impl;
+
+import br.com.gestorfinanceiro.dto.transacao.FormatoExportacao;
+import br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO;
+import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.services.TransacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TransacaoServiceImpl implements TransacaoService {
+
+    private static final String CABECALHO_CSV = "tipo,uuid,data,valor,categoria,origem_ou_destino,observacoes";
+    private static final int LINHAS_POR_FLUSH = 1000;
+
+    private final DespesaRepository despesaRepository;
+    private final ReceitaRepository receitaRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransacaoServiceImpl(DespesaRepository despesaRepository, ReceitaRepository receitaRepository,
+                                ObjectMapper objectMapper) {
+        this.despesaRepository = despesaRepository;
+        this.receitaRepository = receitaRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarTransacoes(String userId, FormatoExportacao formato, LocalDate inicio, LocalDate fim,
+                                   OutputStream saida) throws IOException {
+        if (userId == null || userId.trim()
+                .isEmpty()) {
+            throw new InvalidUserIdException();
+        }
+
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacao.CSV) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        // Cada linha é escrita assim que chega do banco; o flush periódico manda os bytes ao cliente
+        // sem esperar o fim da consulta. O cursor das despesas é fechado antes de abrir o das receitas, para
+        // que só um fique aberto no banco durante a exportação
+        long escritas;
+        try (Stream<TransacaoExportDTO> despesas = despesaRepository.streamForExportByUser(userId, inicio, fim)) {
+            escritas = escrever(despesas.iterator(), formato, escritor, 0);
+        }
+        try (Stream<TransacaoExportDTO> receitas = receitaRepository.streamForExportByUser(userId, inicio, fim)) {
+            escrever(receitas.iterator(), formato, escritor, escritas);
+        }
+
+        escritor.flush();
+    }
+
+    private long escrever(Iterator<TransacaoExportDTO> linhas, FormatoExportacao formato, Writer escritor,
+                          long escritas) throws IOException {
+        while (linhas.hasNext()) {
+            TransacaoExportDTO linha = linhas.next();
+            escritor.write(formato == FormatoExportacao.CSV ? paraCsv(linha) : paraJson(linha));
+            escritor.write('\n');
+
+            if (++escritas % LINHAS_POR_FLUSH == 0) {
+                escritor.flush();
+            }
+        }
+        return escritas;
+    }
+
+    private String paraJson(TransacaoExportDTO linha) {
+        try {
+            return objectMapper.writeValueAsString(linha);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String paraCsv(TransacaoExportDTO linha) {
+        return String.join(",",
+                linha.tipo(),
+                linha.uuid(),
+                linha.data()
+                        .toString(),
+                linha.valor()
+                        .toPlainString(),
+                campoCsv(linha.categoria()),
+                campoCsv(linha.origemOuDestino()),
+                campoCsv(linha.observacoes()));
+    }
+
+    // Aspas apenas quando o valor tem separador, aspas ou quebra de linha (RFC 4180)
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
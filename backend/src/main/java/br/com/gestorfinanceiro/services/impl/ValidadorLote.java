@@ -0,0 +1,71 @@
+package br.com.gestorfinanceiro.services.impl;
+
+import br.com.gestorfinanceiro.dto.common.ErroImportacaoDTO;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.common.TransacaoCreateDTO;
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Validação compartilhada pelas importações de despesas e receitas
+final class ValidadorLote {
+
+    private ValidadorLote() {
+        throw new UnsupportedOperationException("Classe utilitária - não deve ser instanciada");
+    }
+
+    static void validarTamanho(List<?> linhas) {
+        if (linhas == null || linhas.isEmpty()) {
+            throw new InvalidDataException("O lote não pode ser vazio.");
+        }
+
+        if (linhas.size() > ImportacaoLoteDTO.LIMITE_LINHAS) {
+            throw new InvalidDataException("O lote pode ter no máximo " + ImportacaoLoteDTO.LIMITE_LINHAS + " linhas.");
+        }
+    }
+
+    static Map<String, CategoriaEntity> categoriasPorNome(Collection<CategoriaEntity> categorias) {
+        return categorias.stream()
+                .collect(Collectors.toMap(CategoriaEntity::getNome, Function.identity(), (a, b) -> a));
+    }
+
+    // Valida todas as linhas antes de qualquer INSERT: as anotações do DTO e a existência da categoria
+    static List<ErroImportacaoDTO> validar(List<? extends TransacaoCreateDTO> linhas, Validator validator,
+                                           Map<String, CategoriaEntity> categorias) {
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+
+        for (int i = 0; i < linhas.size(); i++) {
+            TransacaoCreateDTO linha = linhas.get(i);
+            List<String> mensagens = new ArrayList<>();
+
+            if (linha == null) {
+                mensagens.add("A linha não pode ser nula.");
+            } else {
+                validator.validate(linha)
+                        .stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .forEach(mensagens::add);
+
+                if (linha.getCategoria() != null && !linha.getCategoria().isBlank()
+                        && !categorias.containsKey(linha.getCategoria())) {
+                    mensagens.add("Categoria não encontrada: " + linha.getCategoria());
+                }
+            }
+
+            if (!mensagens.isEmpty()) {
+                erros.add(new ErroImportacaoDTO(i + 1, mensagens));
+            }
+        }
+
+        return erros;
+    }
+}
@@ -19,6 +19,10 @@ public class DataUtils {
         return data.format(MES_ANO_FORMATTER).toLowerCase();
     }
 
+    public static String formatarMesAno(YearMonth mes) {
+        return mes.format(MES_ANO_FORMATTER).toLowerCase();
+    }
+
     public static void preencherMesesVazios(Map<String, BigDecimal> map, YearMonth inicio, YearMonth fim) {
         YearMonth current = inicio;
         while (!current.isAfter(fim)) {
@@ -0,0 +1,44 @@
+package br.com.gestorfinanceiro.utils;
+
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+import br.com.gestorfinanceiro.exceptions.common.VersionMismatchException;
+
+// ETags das transações: a versão (@Version) da entidade entre aspas, ex.: "3"
+public class ETagUtils {
+
+    private ETagUtils() {
+        throw new UnsupportedOperationException("Classe utilitária - não deve ser instanciada");
+    }
+
+    // Entidades ainda não persistidas não têm versão e saem sem ETag
+    public static String formatar(Long versao) {
+        return versao == null ? null : "\"" + versao + "\"";
+    }
+
+    // Converte o cabeçalho If-Match na versão esperada; sem cabeçalho ou com "*" a atualização é incondicional (null)
+    public static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            valor = valor.substring(1, valor.length() - 1);
+        }
+
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new InvalidDataException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    public static void verificarVersao(Long versaoEsperada, Long versaoAtual) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new VersionMismatchException(versaoEsperada, versaoAtual);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.dto.user.LoginDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
+import br.com.gestorfinanceiro.models.ReceitaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.OrcamentoMensalRepository;
+import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conta os statements que cada listagem manda ao banco. Sem transação no teste: os dados são gravados antes e cada
+ * requisição abre o próprio contexto de persistência, como em produção, então um N+1 na categoria ou no usuário
+ * apareceria na contagem.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Sem isso o Hibernate loga as métricas de cada sessão
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConsultasListagemIntegrationTest {
+
+    private static final int TRANSACOES_POR_TIPO = 30;
+    private static final YearMonth PERIODO = YearMonth.of(2024, 5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private OrcamentoMensalRepository orcamentoMensalRepository;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics estatisticas;
+    private String authHeader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        limparBaseDeDados();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+
+        UserEntity user = new UserEntity();
+        user.setUsername("Usuario Listagem");
+        user.setEmail("listagem@email.com");
+        user.setPassword(passwordEncoder.encode("123456"));
+        user.setRole(Roles.USER);
+        user = userRepository.save(user);
+
+        List<CategoriaEntity> categoriasDespesa = new ArrayList<>();
+        List<CategoriaEntity> categoriasReceita = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            categoriasDespesa.add(categoriaRepository.save(new CategoriaEntity("Despesa " + i, CategoriaType.DESPESAS, user)));
+            categoriasReceita.add(categoriaRepository.save(new CategoriaEntity("Receita " + i, CategoriaType.RECEITAS, user)));
+        }
+
+        List<DespesaEntity> despesas = new ArrayList<>();
+        List<ReceitaEntity> receitas = new ArrayList<>();
+        for (int i = 0; i < TRANSACOES_POR_TIPO; i++) {
+            LocalDate data = PERIODO.atDay(i % 28 + 1);
+            despesas.add(new DespesaEntity(null, data, categoriasDespesa.get(i % 3), BigDecimal.valueOf(i + 1L),
+                    "Mercado", "Compra " + i, user));
+            receitas.add(new ReceitaEntity(null, data, categoriasReceita.get(i % 3), BigDecimal.valueOf(i + 1L),
+                    "Empresa", "Pagamento " + i, user));
+        }
+        despesaRepository.saveAll(despesas);
+        receitaRepository.saveAll(receitas);
+
+        for (CategoriaEntity categoria : categoriasDespesa) {
+            OrcamentoMensalEntity orcamento = new OrcamentoMensalEntity();
+            orcamento.setUser(user);
+            orcamento.setCategoria(categoria);
+            orcamento.setValorLimite(BigDecimal.valueOf(500));
+            orcamento.setPeriodo(PERIODO);
+            orcamentoMensalRepository.save(orcamento);
+        }
+
+        authHeader = "Bearer " + obterTokenJwt();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparBaseDeDados();
+    }
+
+    @Test
+    void deveListarDespesasComUmaConsulta() throws Exception {
+        assertStatements("/despesas", TRANSACOES_POR_TIPO);
+    }
+
+    @Test
+    void deveListarPaginaDeDespesasComUmaConsulta() throws Exception {
+        assertStatements("/despesas?limit=10", 10);
+    }
+
+    @Test
+    void deveListarReceitasComUmaConsulta() throws Exception {
+        assertStatements("/receitas", TRANSACOES_POR_TIPO);
+    }
+
+    @Test
+    void deveListarOrcamentosComUmaConsulta() throws Exception {
+        assertStatements("/orcamento-mensal", 3);
+        assertStatements("/orcamento-mensal/periodo/" + PERIODO, 3);
+    }
+
+    // Uma chamada antes da medida aquece o cache do principal; depois, a listagem deve custar um único SELECT,
+    // com a categoria no JOIN e sem nenhuma carga extra de categoria ou usuário
+    private void assertStatements(String url, int linhas) throws Exception {
+        mockMvc.perform(get(url).header("Authorization", authHeader))
+                .andExpect(status().isOk());
+        estatisticas.clear();
+
+        mockMvc.perform(get(url).header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(linhas)));
+
+        assertEquals(1, estatisticas.getPrepareStatementCount(), "statements em " + url);
+        assertEquals(0, estatisticas.getEntityFetchCount(), "cargas de associação em " + url);
+    }
+
+    private String obterTokenJwt() throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginDTO("listagem@email.com", "123456"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse()
+                        .getContentAsString())
+                .get("token")
+                .asText();
+    }
+
+    private void limparBaseDeDados() {
+        resumoMensalRepository.deleteAllInBatch();
+        orcamentoMensalRepository.deleteAllInBatch();
+        despesaRepository.deleteAllInBatch();
+        receitaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
+import br.com.gestorfinanceiro.config.cache.ChavePeriodo;
+import br.com.gestorfinanceiro.config.cache.DashboardCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCacheTest {
+
+    private static final YearMonth MARCO = YearMonth.of(2025, 3);
+
+    private Cache dashboard;
+    private Cache graficos;
+    private DashboardCache dashboardCache;
+
+    private final ChavePeriodo saldoMarco = chave("user-a", "saldo", MARCO.atDay(1), MARCO.atEndOfMonth());
+    private final ChavePeriodo saldoAbril = chave("user-a", "saldo", LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30));
+    private final ChavePeriodo barrasTrimestre = chave("user-a", "barras", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+    private final ChavePeriodo saldoMarcoOutroUsuario = chave("user-b", "saldo", MARCO.atDay(1), MARCO.atEndOfMonth());
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.DASHBOARD, CacheConfig.GRAFICOS);
+        dashboard = cacheManager.getCache(CacheConfig.DASHBOARD);
+        graficos = cacheManager.getCache(CacheConfig.GRAFICOS);
+        dashboardCache = new DashboardCache(cacheManager, Duration.ofMinutes(20));
+
+        colocar(dashboard, saldoMarco, 1);
+        colocar(dashboard, saldoAbril, 2);
+        colocar(dashboard, saldoMarcoOutroUsuario, 3);
+        colocar(graficos, barrasTrimestre, 4);
+    }
+
+    @Test
+    void deveInvalidarApenasIntervalosQueCobremOMesDoUsuario() {
+        dashboardCache.invalidarMes("user-a", MARCO);
+
+        assertNull(dashboard.get(saldoMarco));
+        assertNull(graficos.get(barrasTrimestre));
+        assertNotNull(dashboard.get(saldoAbril));
+        assertNotNull(dashboard.get(saldoMarcoOutroUsuario));
+    }
+
+    @Test
+    void deveInvalidarTodasAsEntradasDoUsuario() {
+        dashboardCache.invalidarUsuario("user-a");
+
+        assertNull(dashboard.get(saldoMarco));
+        assertNull(dashboard.get(saldoAbril));
+        assertNull(graficos.get(barrasTrimestre));
+        assertNotNull(dashboard.get(saldoMarcoOutroUsuario));
+    }
+
+    @Test
+    void deveTratarIntervaloSemFimComoAberto() {
+        ChavePeriodo semFim = chave("user-a", "pizza", LocalDate.of(2024, 1, 1), null);
+        colocar(graficos, semFim, 5);
+
+        dashboardCache.invalidarMes("user-a", YearMonth.of(2030, 1));
+
+        assertNull(graficos.get(semFim));
+    }
+
+    @Test
+    void deveLimparTudo() {
+        dashboardCache.invalidarTudo();
+
+        assertNull(dashboard.get(saldoMarcoOutroUsuario));
+        assertNull(graficos.get(barrasTrimestre));
+    }
+
+    // Como o gerador de chaves faz numa leitura cacheada
+    private void colocar(Cache cache, ChavePeriodo chave, Object valor) {
+        dashboardCache.registrar(chave);
+        cache.put(chave, valor);
+    }
+
+    private static ChavePeriodo chave(String userId, String operacao, LocalDate inicio, LocalDate fim) {
+        return new ChavePeriodo(userId, operacao, inicio, fim);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.config.security.HashSenhaExecutor;
+import br.com.gestorfinanceiro.exceptions.user.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashSenhaExecutorTest {
+
+    private MeterRegistry meterRegistry;
+    private CountDownLatch liberar;
+    private CountDownLatch emExecucao;
+    private HashSenhaExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        liberar = new CountDownLatch(1);
+        emExecucao = new CountDownLatch(1);
+        executor = new HashSenhaExecutor(new EncoderBloqueante(), meterRegistry, 1, 1, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.encerrar();
+    }
+
+    @Test
+    void deveCodificarEVerificarNoPoolEMedirOTempo() {
+        liberar.countDown();
+
+        assertEquals("hash:senha", executor.codificar("senha"));
+        assertTrue(executor.verificar("senha", "hash:senha"));
+        assertFalse(executor.verificar("outra", "hash:senha"));
+
+        assertEquals(1, meterRegistry.get("gestorfinanceiro.senha.hash").tag("operacao", "codificar").timer().count());
+        assertEquals(2, meterRegistry.get("gestorfinanceiro.senha.hash").tag("operacao", "verificar").timer().count());
+    }
+
+    @Test
+    void deveRecusarNaHoraQuandoPoolEFilaEstaoCheios() throws Exception {
+        CompletableFuture<String> emAndamento = CompletableFuture.supplyAsync(() -> executor.codificar("a"));
+        assertTrue(emExecucao.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> executor.codificar("b"));
+        aguardarFila(1);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> executor.codificar("c"));
+        assertEquals(1, meterRegistry.get("gestorfinanceiro.senha.rejeitadas").counter().count());
+
+        liberar.countDown();
+        assertEquals("hash:a", emAndamento.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", naFila.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deveDesistirQuandoOHashPassaDoTempoLimite() {
+        executor.encerrar();
+        executor = new HashSenhaExecutor(new EncoderBloqueante(), meterRegistry, 1, 1, Duration.ofMillis(50));
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> executor.verificar("senha", "hash:senha"));
+    }
+
+    @Test
+    void deveRepassarErroDoEncoder() {
+        liberar.countDown();
+
+        assertThrows(IllegalArgumentException.class, () -> executor.verificar(null, "hash:senha"));
+    }
+
+    private void aguardarFila(int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("gestorfinanceiro.senha.fila").gauge().value() < tamanho) {
+            assertTrue(System.nanoTime() < limite, "a tarefa não chegou à fila");
+            Thread.sleep(10);
+        }
+    }
+
+    // Segura cada hash até o teste liberar, para controlar quantos ocupam o pool
+    private class EncoderBloqueante implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence senha) {
+            aguardar();
+            return "hash:" + senha;
+        }
+
+        @Override
+        public boolean matches(CharSequence senha, String hash) {
+            if (senha == null) {
+                throw new IllegalArgumentException("senha nula");
+            }
+            aguardar();
+            return hash.equals("hash:" + senha);
+        }
+
+        private void aguardar() {
+            emExecucao.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -3,6 +3,9 @@ package br.com.gestorfinanceiro;
 import org.junit.jupiter.api.Test;
 
 import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.security.TokenAcesso;
+import br.com.gestorfinanceiro.config.security.TokenRefresh;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +36,7 @@ class JwtUtilTest {
     void setUp() {
         ReflectionTestUtils.setField(jwtUtil, "secret", secret);
         ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", expiration);
         
         // Token válido
         Map<String, Object> claims = new HashMap<>();
@@ -49,23 +53,65 @@ class JwtUtilTest {
 
     // Testes de integração
     @Test
-    void extractUsername_ShouldReturnUsername_WhenTokenIsValid() {
-        String username = jwtUtil.extractUsername(validToken);
-        assertEquals("username123", username);
+    void extractTokenAcesso_ShouldReturnUsername_WhenTokenIsValid() {
+        assertEquals("username123", jwtUtil.extractTokenAcesso(validToken).principal().username());
     }
 
     @Test
-    void extractUsername_ShouldThrowException_WhenTokenIsInvalid() {
-        assertThrows(Exception.class, () -> jwtUtil.extractUsername("invalid.token.string"));
+    void extractTokenAcesso_ShouldThrowException_WhenTokenIsInvalid() {
+        assertThrows(Exception.class, () -> jwtUtil.extractTokenAcesso("invalid.token.string"));
     }
 
     @Test
-    void validateToken_ShouldReturnTrue_WhenTokenIsValidAndEmailMatches() {
-        assertTrue(jwtUtil.validateToken(validToken, "user@example.com"));
+    void extractTokenAcesso_ShouldThrowException_WhenTokenIsExpired() {
+        String expirado = Jwts.builder()
+                .setSubject("username123")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(SignatureAlgorithm.HS512, secret)
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractTokenAcesso(expirado));
+    }
+
+    @Test
+    void limitarExpiracao_ShouldClampAccessTokenLifetimeToCeiling() {
+        ReflectionTestUtils.setField(jwtUtil, "expirationMaxima", 3600000L);
+        jwtUtil.limitarExpiracao();
+        assertEquals(3600000L, ReflectionTestUtils.getField(jwtUtil, "expiration"));
+
+        // O valor antigo de produção (24h) não impede a subida: vira o teto
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        assertDoesNotThrow(() -> jwtUtil.limitarExpiracao());
+        assertEquals(3600000L, ReflectionTestUtils.getField(jwtUtil, "expiration"));
+    }
+
+    @Test
+    void extractTokenAcesso_ShouldReturnPrincipalStatusAndVersion() {
+        String token = jwtUtil.generateToken("id-1", "username123", "user@example.com", "ADMIN", "false", 4);
+
+        TokenAcesso acesso = jwtUtil.extractTokenAcesso(token);
+
+        assertEquals("id-1", acesso.principal().userId());
+        assertEquals("ADMIN", acesso.principal().role());
+        assertFalse(acesso.estaAtivo());
+        assertEquals(4, acesso.versao());
     }
 
     @Test
-    void validateToken_ShouldReturnFalse_WhenEmailDoesNotMatch() {
-        assertFalse(jwtUtil.validateToken(validToken, "wrong@example.com"));
+    void extractTokenAcesso_ShouldUseVersionZero_WhenTokenHasNoVersionClaim() {
+        assertEquals(0, jwtUtil.extractTokenAcesso(validToken).versao());
+    }
+
+    @Test
+    void refreshToken_ShouldNotBeAcceptedAsAccessToken_AndViceVersa() {
+        String refreshToken = jwtUtil.generateRefreshToken("id-1", 2);
+        String accessToken = jwtUtil.generateToken("id-1", "username123", "user@example.com", "USER", "true", 2);
+
+        TokenRefresh refresh = jwtUtil.extractTokenRefresh(refreshToken);
+        assertEquals("id-1", refresh.userId());
+        assertEquals(2, refresh.versao());
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractTokenAcesso(refreshToken));
+        assertThrows(JwtException.class, () -> jwtUtil.extractTokenRefresh(accessToken));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.config.security.LimiteTentativasLogin;
+import br.com.gestorfinanceiro.exceptions.user.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteTentativasLoginTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private MeterRegistry meterRegistry;
+    private AtomicLong relogio;
+    private LimiteTentativasLogin limite;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relogio = new AtomicLong();
+        // 3 tentativas por e-mail, repondo uma por minuto; 5 por IP, repondo uma a cada 10 s
+        limite = new LimiteTentativasLogin(meterRegistry, 3, Duration.ofMinutes(1), 5, Duration.ofSeconds(10),
+                1000, relogio::get);
+    }
+
+    @Test
+    void deveRecusarEmailAcimaDaCapacidadeEInformarEspera() {
+        for (int i = 0; i < 3; i++) {
+            limite.registrarTentativa("user@email.com", IP);
+        }
+
+        TooManyLoginAttemptsException thrown = assertThrows(TooManyLoginAttemptsException.class,
+                () -> limite.registrarTentativa("user@email.com", IP));
+        assertEquals(60, thrown.getSegundosParaNovaTentativa());
+        assertEquals(1, meterRegistry.get("gestorfinanceiro.login.bloqueios").tag("chave", "email").counter().count());
+    }
+
+    @Test
+    void naoDeveBloquearEmailParaOutroIp() {
+        // Quem erra a senha alheia de um IP esgota só o balde do e-mail naquele IP
+        for (int i = 0; i < 3; i++) {
+            limite.registrarTentativa("user@email.com", "10.0.0.2");
+        }
+        assertThrows(TooManyLoginAttemptsException.class, () -> limite.registrarTentativa("user@email.com", "10.0.0.2"));
+
+        assertDoesNotThrow(() -> limite.registrarTentativa("user@email.com", IP));
+    }
+
+    @Test
+    void deveTratarEmailSemDiferenciarMaiusculas() {
+        limite.registrarTentativa("User@Email.com", IP);
+        limite.registrarTentativa(" user@email.com", IP);
+        limite.registrarTentativa("USER@EMAIL.COM", IP);
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> limite.registrarTentativa("user@email.com", IP));
+    }
+
+    @Test
+    void deveReporTokensComOTempo() {
+        for (int i = 0; i < 3; i++) {
+            limite.registrarTentativa("user@email.com", IP);
+        }
+
+        relogio.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertDoesNotThrow(() -> limite.registrarTentativa("user@email.com", IP));
+        assertThrows(TooManyLoginAttemptsException.class, () -> limite.registrarTentativa("user@email.com", IP));
+    }
+
+    @Test
+    void deveRecusarIpQueVariaOsEmails() {
+        for (int i = 0; i < 5; i++) {
+            limite.registrarTentativa("user" + i + "@email.com", IP);
+        }
+
+        TooManyLoginAttemptsException thrown = assertThrows(TooManyLoginAttemptsException.class,
+                () -> limite.registrarTentativa("outro@email.com", IP));
+        assertEquals(10, thrown.getSegundosParaNovaTentativa());
+        // O IP é recusado antes de gastar o balde do e-mail alheio
+        for (int i = 0; i < 3; i++) {
+            limite.registrarTentativa("outro@email.com", "10.0.0.9");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
+import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
+import br.com.gestorfinanceiro.mappers.impl.DespesaMapperImpl;
+import br.com.gestorfinanceiro.mappers.impl.ReceitaMapperImpl;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.ReceitaEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappersTest {
+
+    private final DespesaMapperImpl despesaMapper = new DespesaMapperImpl();
+    private final ReceitaMapperImpl receitaMapper = new ReceitaMapperImpl();
+
+    @Test
+    void deveMapearDespesaComCategoria() {
+        DespesaEntity despesa = criarDespesa();
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setNome("Alimentacao");
+        despesa.setCategoria(categoria);
+
+        DespesaDTO dto = despesaMapper.mapTo(despesa);
+
+        assertEquals("Alimentacao", dto.getCategoria());
+        assertEquals(0, BigDecimal.TEN.compareTo(dto.getValor()));
+        assertEquals("Mercado", dto.getDestinoPagamento());
+    }
+
+    // Linhas antigas sem categoria_id não podem derrubar a listagem
+    @Test
+    void deveMapearDespesaSemCategoria() {
+        DespesaDTO dto = despesaMapper.mapTo(criarDespesa());
+
+        assertNull(dto.getCategoria());
+        assertEquals("Mercado", dto.getDestinoPagamento());
+    }
+
+    @Test
+    void deveMapearReceitaSemCategoria() {
+        ReceitaEntity receita = new ReceitaEntity();
+        receita.setData(LocalDate.of(2025, 3, 1));
+        receita.setValor(BigDecimal.TEN);
+        receita.setOrigemDoPagamento("Empresa");
+
+        ReceitaDTO dto = receitaMapper.mapTo(receita);
+
+        assertNull(dto.getCategoria());
+        assertEquals("Empresa", dto.getOrigemDoPagamento());
+    }
+
+    private DespesaEntity criarDespesa() {
+        DespesaEntity despesa = new DespesaEntity();
+        despesa.setData(LocalDate.of(2025, 3, 1));
+        despesa.setValor(BigDecimal.TEN);
+        despesa.setDestinoPagamento("Mercado");
+        return despesa;
+    }
+}
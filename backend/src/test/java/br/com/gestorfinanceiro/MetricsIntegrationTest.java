@@ -0,0 +1,97 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.exceptions.user.UserNotFoundException;
+import br.com.gestorfinanceiro.services.CategoriaService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+// Sem isso o Spring Boot desliga a exportação de métricas (e o endpoint do Prometheus) nos testes
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Test
+    void deveCronometrarMetodosDosServicesComAExcecaoLancada() {
+        assertThrows(UserNotFoundException.class, () -> categoriaService.listarCategorias("usuario-inexistente"));
+
+        Timer timer = meterRegistry.find("gestorfinanceiro.service")
+                .tag("class", "CategoriaServiceImpl")
+                .tag("method", "listarCategorias")
+                .tag("exception", "UserNotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    void deveCronometrarVerificacaoDoTokenEContarProblemaDeAutenticacao() throws Exception {
+        double problemasAntes = contarProblemas("ERRO_DE_AUTENTICACAO");
+
+        mockMvc.perform(get("/dashboard/saldo-total")
+                        .param("periodo", YearMonth.now().toString())
+                        .header("Authorization", "Bearer token-invalido"))
+                .andExpect(status().isUnauthorized());
+
+        Timer timer = meterRegistry.find("gestorfinanceiro.jwt.verificacao")
+                .tag("resultado", "invalido")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+        assertEquals(problemasAntes + 1, contarProblemas("ERRO_DE_AUTENTICACAO"));
+    }
+
+    @Test
+    void deveExporMetricasDoPoolDeConexoes() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+    }
+
+    @Test
+    void deveExporMetricasNoFormatoDoPrometheusParaAdministradores() throws Exception {
+        assertThrows(UserNotFoundException.class, () -> categoriaService.listarCategorias("usuario-inexistente"));
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("gestorfinanceiro_service_seconds_bucket")));
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("usuario").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private double contarProblemas(String tipo) {
+        return meterRegistry.find("gestorfinanceiro.problemas")
+                .tag("type", tipo)
+                .counters()
+                .stream()
+                .mapToDouble(contador -> contador.count())
+                .sum();
+    }
+}
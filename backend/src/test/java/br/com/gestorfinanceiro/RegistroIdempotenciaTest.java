@@ -0,0 +1,120 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.config.idempotencia.RegistroIdempotencia;
+import br.com.gestorfinanceiro.exceptions.common.IdempotencyKeyInProgressException;
+import br.com.gestorfinanceiro.exceptions.common.IdempotencyKeyReuseException;
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
+import br.com.gestorfinanceiro.utils.ETagUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistroIdempotenciaTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String OPERACAO = "POST /despesas";
+
+    private RegistroIdempotencia registro;
+    private AtomicInteger criacoes;
+    private Supplier<ResponseEntity<String>> criacao;
+
+    @BeforeEach
+    void setUp() {
+        registro = new RegistroIdempotencia(new ObjectMapper(), 100, Duration.ofMinutes(5));
+        criacoes = new AtomicInteger();
+        criacao = () -> ResponseEntity.created(URI.create("/despesas/" + criacoes.incrementAndGet()))
+                .body("despesa-" + criacoes.get());
+    }
+
+    @Test
+    void deveExecutarSempreSemChave() {
+        registro.executar(USER_ID, OPERACAO, null, Map.of("valor", 10), criacao);
+        registro.executar(USER_ID, OPERACAO, null, Map.of("valor", 10), criacao);
+
+        assertEquals(2, criacoes.get());
+    }
+
+    @Test
+    void deveRepetirRespostaGravadaParaMesmaChaveEMesmoCorpo() {
+        ResponseEntity<String> primeira = registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), criacao);
+        ResponseEntity<String> repetida = registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), criacao);
+
+        assertEquals(1, criacoes.get());
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals(primeira.getBody(), repetida.getBody());
+        assertEquals(primeira.getHeaders().getLocation(), repetida.getHeaders().getLocation());
+        assertEquals("true", repetida.getHeaders().getFirst(RegistroIdempotencia.CABECALHO_REPETIDA));
+        assertNull(primeira.getHeaders().getFirst(RegistroIdempotencia.CABECALHO_REPETIDA));
+    }
+
+    @Test
+    void deveSepararChavesPorUsuarioEOperacao() {
+        registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), criacao);
+        registro.executar("user-2", OPERACAO, "chave", Map.of("valor", 10), criacao);
+        registro.executar(USER_ID, "POST /receitas", "chave", Map.of("valor", 10), criacao);
+
+        assertEquals(3, criacoes.get());
+    }
+
+    @Test
+    void deveRejeitarMesmaChaveComOutroCorpo() {
+        registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), criacao);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 20), criacao));
+        assertEquals(1, criacoes.get());
+    }
+
+    @Test
+    void deveRejeitarRetentativaEnquantoOriginalEstaEmAndamento() {
+        ResponseEntity<String> resposta = registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), () -> {
+            assertThrows(IdempotencyKeyInProgressException.class,
+                    () -> registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), criacao));
+            return criacao.get();
+        });
+
+        assertEquals(HttpStatus.CREATED, resposta.getStatusCode());
+        assertEquals(1, criacoes.get());
+    }
+
+    @Test
+    void deveLiberarChaveQuandoCriacaoFalha() {
+        assertThrows(IllegalStateException.class, () -> registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10),
+                () -> {
+                    throw new IllegalStateException("falha");
+                }));
+
+        registro.executar(USER_ID, OPERACAO, "chave", Map.of("valor", 10), criacao);
+
+        assertEquals(1, criacoes.get());
+    }
+
+    @Test
+    void deveRejeitarChaveVaziaOuLongaDemais() {
+        Map<String, Integer> corpo = Map.of("valor", 10);
+        String chaveLonga = "x".repeat(256);
+
+        assertThrows(InvalidDataException.class, () -> registro.executar(USER_ID, OPERACAO, " ", corpo, criacao));
+        assertThrows(InvalidDataException.class, () -> registro.executar(USER_ID, OPERACAO, chaveLonga, corpo, criacao));
+    }
+
+    @Test
+    void deveConverterIfMatchNaVersao() {
+        assertEquals(3L, ETagUtils.versaoDoIfMatch("\"3\""));
+        assertEquals(3L, ETagUtils.versaoDoIfMatch("W/\"3\""));
+        assertNull(ETagUtils.versaoDoIfMatch("*"));
+        assertNull(ETagUtils.versaoDoIfMatch(null));
+        assertThrows(InvalidDataException.class, () -> ETagUtils.versaoDoIfMatch("\"abc\""));
+        assertEquals("\"3\"", ETagUtils.formatar(3L));
+    }
+}
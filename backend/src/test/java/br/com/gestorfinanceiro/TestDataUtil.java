@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro;
 
+import br.com.gestorfinanceiro.config.security.JwtPrincipal;
 import br.com.gestorfinanceiro.dto.user.UserDTO;
 import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaCreateDTO;
@@ -7,6 +8,11 @@ import br.com.gestorfinanceiro.dto.categoria.CategoriaUpdateDTO;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.Roles;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
 
 public class TestDataUtil {
     //------------------------------- UTILS DE USERS -------------------------------//
@@ -67,4 +73,13 @@ public class TestDataUtil {
     public static CategoriaUpdateDTO criarCategoriaUpdateDTOUtil(String nome) {
         return new CategoriaUpdateDTO(nome);
     }
+
+    //------------------------------- UTILS DE AUTENTICAÇÃO -------------------------------//
+    // Simula o que o JwtFilter faz: coloca o principal do usuário no contexto de segurança
+    public static void autenticarUsuario(String userId) {
+        JwtPrincipal principal = new JwtPrincipal(userId, "usuario", "usuario@teste.com", Roles.USER.name());
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + Roles.USER.name())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
 }
@@ -0,0 +1,82 @@
+package br.com.gestorfinanceiro;
+
+import br.com.gestorfinanceiro.config.security.VersoesToken;
+import br.com.gestorfinanceiro.models.VersaoTokenEntity;
+import br.com.gestorfinanceiro.repositories.VersaoTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VersoesTokenTest {
+
+    @Mock
+    private VersaoTokenRepository versaoTokenRepository;
+
+    private VersoesToken versoesToken;
+
+    @BeforeEach
+    void setUp() {
+        versoesToken = new VersoesToken(versaoTokenRepository, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void deveConsiderarVersaoZeroParaQuemNuncaFoiRevogado() {
+        when(versaoTokenRepository.findAll()).thenReturn(List.of());
+        versoesToken.carregar();
+
+        assertEquals(0, versoesToken.versaoAtual("user-a"));
+        assertTrue(versoesToken.estaValida("user-a", 0));
+        assertFalse(versoesToken.estaValida("user-a", 1));
+    }
+
+    @Test
+    void deveCarregarVersoesDaTabelaNaInicializacao() {
+        when(versaoTokenRepository.findAll()).thenReturn(List.of(new VersaoTokenEntity("user-a", 3, Instant.now())));
+        versoesToken.carregar();
+
+        assertFalse(versoesToken.estaValida("user-a", 2));
+        assertTrue(versoesToken.estaValida("user-a", 3));
+    }
+
+    @Test
+    void deveIncrementarAVersaoAoRevogarEInvalidarNaHora() {
+        when(versaoTokenRepository.findWithLockByUserId("user-a")).thenReturn(Optional.empty());
+        when(versaoTokenRepository.save(any(VersaoTokenEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(1, versoesToken.revogar("user-a"));
+
+        assertFalse(versoesToken.estaValida("user-a", 0));
+        assertTrue(versoesToken.estaValida("user-a", 1));
+        // Os outros usuários não são afetados
+        assertTrue(versoesToken.estaValida("user-b", 0));
+    }
+
+    @Test
+    void deveLerSoAsLinhasAlteradasENuncaVoltarAVersao() {
+        when(versaoTokenRepository.findAll()).thenReturn(List.of(new VersaoTokenEntity("user-a", 5, Instant.now())));
+        versoesToken.carregar();
+
+        // Outra instância revogou user-b; a linha antiga de user-a não pode baixar a versão em memória
+        when(versaoTokenRepository.findAllByAtualizadoEmAfter(any(Instant.class))).thenReturn(List.of(
+                new VersaoTokenEntity("user-a", 4, Instant.now()),
+                new VersaoTokenEntity("user-b", 2, Instant.now())));
+        versoesToken.atualizar();
+
+        assertTrue(versoesToken.estaValida("user-a", 5));
+        assertTrue(versoesToken.estaValida("user-b", 2));
+        verify(versaoTokenRepository).findAllByAtualizadoEmAfter(any(Instant.class));
+    }
+}
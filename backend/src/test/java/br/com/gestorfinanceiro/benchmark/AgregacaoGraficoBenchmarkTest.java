@@ -0,0 +1,112 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.utils.DataUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Parte em memória do gráfico de barras de despesas para um ano com 10 mil despesas.
+ * {@code agruparDespesasPorMes} é o groupingBy que o DespesaServiceImpl fazia sobre as entidades antes de
+ * resumo_mensal e fica como referência; {@code montarAPartirDoResumo} é o caminho atual, que só formata os totais
+ * mensais prontos. {@code agruparImportacaoPorCategoriaEMes} é o groupingBy que a importação em lote ainda faz.
+ * Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgregacaoGraficoBenchmarkTest {
+
+    private static final int TOTAL_DESPESAS = 10_000;
+    private static final YearMonth INICIO = YearMonth.of(2024, 1);
+    private static final YearMonth FIM = YearMonth.of(2024, 12);
+
+    private List<DespesaEntity> despesas;
+    private Map<YearMonth, BigDecimal> totaisMensais;
+
+    @Setup
+    public void setUp() {
+        UserEntity user = new UserEntity();
+        user.setUuid("user-benchmark");
+        List<CategoriaEntity> categorias = List.of(
+                new CategoriaEntity("uuid-alimentacao", "Alimentacao", CategoriaType.DESPESAS, user, false),
+                new CategoriaEntity("uuid-transporte", "Transporte", CategoriaType.DESPESAS, user, false),
+                new CategoriaEntity("uuid-lazer", "Lazer", CategoriaType.DESPESAS, user, false));
+
+        despesas = new ArrayList<>(TOTAL_DESPESAS);
+        LocalDate primeiroDia = INICIO.atDay(1);
+        for (int i = 0; i < TOTAL_DESPESAS; i++) {
+            despesas.add(new DespesaEntity("uuid-" + i, primeiroDia.plusDays(i % 366), categorias.get(i % categorias.size()),
+                    BigDecimal.valueOf(i % 1000 + 1), "Mercado", "benchmark", user));
+        }
+
+        // O que resumoMensalService.somarPorMes devolve para o mesmo ano, com dois meses sem despesas
+        totaisMensais = new TreeMap<>(despesas.stream()
+                .collect(Collectors.groupingBy(despesa -> YearMonth.from(despesa.getData()),
+                        Collectors.reducing(BigDecimal.ZERO, DespesaEntity::getValor, BigDecimal::add))));
+        totaisMensais.remove(YearMonth.of(2024, 2));
+        totaisMensais.remove(YearMonth.of(2024, 8));
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> agruparDespesasPorMes() {
+        Map<String, BigDecimal> dadosMensais = despesas.stream()
+                .collect(Collectors.groupingBy(
+                        despesa -> DataUtils.formatarMesAno(despesa.getData()),
+                        Collectors.reducing(BigDecimal.ZERO, DespesaEntity::getValor, BigDecimal::add)));
+
+        DataUtils.preencherMesesVazios(dadosMensais, INICIO, FIM);
+        return dadosMensais;
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> montarAPartirDoResumo() {
+        Map<String, BigDecimal> dadosMensais = new HashMap<>();
+        totaisMensais.forEach((mes, total) -> dadosMensais.put(DataUtils.formatarMesAno(mes), total));
+
+        DataUtils.preencherMesesVazios(dadosMensais, INICIO, FIM);
+        return dadosMensais;
+    }
+
+    @Benchmark
+    public Map<CategoriaEntity, Map<YearMonth, List<BigDecimal>>> agruparImportacaoPorCategoriaEMes() {
+        return despesas.stream()
+                .collect(Collectors.groupingBy(DespesaEntity::getCategoria,
+                        Collectors.groupingBy(despesa -> YearMonth.from(despesa.getData()),
+                                Collectors.mapping(DespesaEntity::getValor, Collectors.toList()))));
+    }
+
+    @Test
+    void executarBenchmark() throws RunnerException {
+        JmhRunner.executar(AgregacaoGraficoBenchmarkTest.class);
+    }
+}
@@ -0,0 +1,432 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.OrcamentoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação numa porta real sobre o H2 do perfil de teste, semeia N usuários
+ * com M anos de despesas, receitas, categorias e orçamentos e dispara a mistura de requisições abaixo com vários
+ * clientes concorrentes. Ao final imprime req/s e p50/p95/p99 por endpoint e grava o mesmo relatório em
+ * {@code target/carga/CargaEndToEndBenchmarkTest.json}.
+ * <p>
+ * Tudo é configurável por propriedade de sistema, por exemplo
+ * {@code mvn test -Pbenchmark -Dtest=CargaEndToEndBenchmarkTest -Dcarga.usuarios=50 -Dcarga.concorrencia=32
+ * -Dcarga.mix=login:1,despesas:2,dashboard-resumo:8}. A semente fixa deixa a sequência de requisições
+ * reproduzível entre execuções. Cadastros por segundo saem de {@code -Dcarga.mix=cadastro:1}, que não entra no mix
+ * padrão porque cada cadastro cria um usuário novo. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // O log de SQL do perfil de teste dominaria a latência medida
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.gestorfinanceiro=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+@ActiveProfiles("test")
+class CargaEndToEndBenchmarkTest {
+
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 10);
+    private static final int ANOS = Integer.getInteger("carga.anos", 2);
+    private static final int DESPESAS_POR_MES = Integer.getInteger("carga.despesasPorMes", 40);
+    private static final int RECEITAS_POR_MES = Integer.getInteger("carga.receitasPorMes", 4);
+    private static final int CONCORRENCIA = Integer.getInteger("carga.concorrencia", 16);
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(Integer.getInteger("carga.aquecimento", 5));
+    private static final Duration DURACAO = Duration.ofSeconds(Integer.getInteger("carga.duracao", 30));
+    private static final long SEMENTE = Long.getLong("carga.semente", 42L);
+    private static final String MIX = System.getProperty("carga.mix",
+            "login:1,despesas:2,criar-despesa:1,dashboard-resumo:4,dashboard-saldo:2,grafico-barras:2,orcamento:1,orcamento-consumo:2");
+
+    private static final String SENHA = "senha-carga";
+    private static final List<String> CATEGORIAS_DESPESA = List.of("Alimentacao", "Transporte", "Moradia", "Lazer");
+    private static final List<String> CATEGORIAS_RECEITA = List.of("Salario", "Freelance");
+    private static final YearMonth ULTIMO_MES = YearMonth.of(2024, 12);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private OrcamentoMensalRepository orcamentoMensalRepository;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final List<Usuario> usuarios = new ArrayList<>();
+    private final List<YearMonth> meses = new ArrayList<>();
+    private final AtomicLong cadastros = new AtomicLong();
+
+    private record Usuario(String email, String token) {
+    }
+
+    private record Operacao(String nome, int peso, BiFunction<Usuario, SplittableRandom, HttpRequest> requisicao) {
+    }
+
+    private record Amostras(String operacao, long[] latenciasNanos, int erros) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        YearMonth primeiroMes = ULTIMO_MES.minusYears(ANOS).plusMonths(1);
+        for (YearMonth mes = primeiroMes; !mes.isAfter(ULTIMO_MES); mes = mes.plusMonths(1)) {
+            meses.add(mes);
+        }
+
+        long inicio = System.nanoTime();
+        // Um único hash para todos: o BCrypt de cada cadastro tornaria a semeadura mais lenta que a própria carga
+        String hash = passwordEncoder.encode(SENHA);
+        for (int i = 0; i < USUARIOS; i++) {
+            semearUsuario(i, hash);
+        }
+        resumoMensalService.reconstruir();
+        System.out.printf("[benchmark] semeadura: %d usuários x %d meses em %.1f s%n",
+                USUARIOS, meses.size(), (System.nanoTime() - inicio) / 1e9);
+
+        for (int i = 0; i < USUARIOS; i++) {
+            String email = "carga-" + i + "@gmail.com";
+            HttpResponse<String> resposta = httpClient.send(login(email), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, resposta.statusCode(), resposta.body());
+            usuarios.add(new Usuario(email, objectMapper.readTree(resposta.body()).get("token").asText()));
+        }
+    }
+
+    @Test
+    void executarCarga() throws Exception {
+        List<Operacao> operacoes = operacoesDoMix();
+        int pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+
+        long fimAquecimento = System.nanoTime() + AQUECIMENTO.toNanos();
+        long fimMedicao = fimAquecimento + DURACAO.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCORRENCIA);
+        List<Future<List<Amostras>>> clientes = new ArrayList<>();
+        for (int cliente = 0; cliente < CONCORRENCIA; cliente++) {
+            SplittableRandom random = new SplittableRandom(SEMENTE + cliente);
+            clientes.add(executor.submit(() -> executarCliente(operacoes, pesoTotal, random, fimAquecimento, fimMedicao)));
+        }
+
+        Map<String, List<Amostras>> porOperacao = new LinkedHashMap<>();
+        for (Future<List<Amostras>> cliente : clientes) {
+            for (Amostras amostras : cliente.get()) {
+                porOperacao.computeIfAbsent(amostras.operacao(), nome -> new ArrayList<>()).add(amostras);
+            }
+        }
+        executor.shutdown();
+
+        List<Map<String, Object>> relatorio = relatorio(operacoes, porOperacao);
+        gravarRelatorio(relatorio);
+
+        long totalRequisicoes = relatorio.stream().mapToLong(linha -> (long) linha.get("requisicoes")).sum();
+        long totalErros = relatorio.stream().mapToLong(linha -> (long) linha.get("erros")).sum();
+        assertTrue(totalRequisicoes > 0);
+        assertEquals(0, totalErros);
+    }
+
+    private List<Amostras> executarCliente(List<Operacao> operacoes, int pesoTotal, SplittableRandom random,
+                                           long fimAquecimento, long fimMedicao) {
+        Map<String, long[]> latencias = new LinkedHashMap<>();
+        Map<String, Integer> quantidades = new LinkedHashMap<>();
+        Map<String, Integer> erros = new LinkedHashMap<>();
+
+        long agora = System.nanoTime();
+        while (agora < fimMedicao) {
+            Operacao operacao = sortear(operacoes, pesoTotal, random);
+            Usuario usuario = usuarios.get(random.nextInt(usuarios.size()));
+            HttpRequest requisicao = operacao.requisicao().apply(usuario, random);
+
+            long inicio = System.nanoTime();
+            int status;
+            try {
+                status = httpClient.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            agora = System.nanoTime();
+
+            // Requisições do aquecimento não entram no relatório
+            if (inicio >= fimAquecimento) {
+                int indice = quantidades.merge(operacao.nome(), 1, Integer::sum) - 1;
+                long[] amostras = latencias.computeIfAbsent(operacao.nome(), nome -> new long[1024]);
+                if (indice == amostras.length) {
+                    amostras = Arrays.copyOf(amostras, amostras.length * 2);
+                    latencias.put(operacao.nome(), amostras);
+                }
+                amostras[indice] = agora - inicio;
+                if (status < 200 || status >= 300) {
+                    erros.merge(operacao.nome(), 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Amostras> resultado = new ArrayList<>();
+        quantidades.forEach((nome, quantidade) -> resultado.add(
+                new Amostras(nome, Arrays.copyOf(latencias.get(nome), quantidade), erros.getOrDefault(nome, 0))));
+        return resultado;
+    }
+
+    private List<Map<String, Object>> relatorio(List<Operacao> operacoes, Map<String, List<Amostras>> porOperacao) {
+        double segundos = DURACAO.toNanos() / 1e9;
+        List<Map<String, Object>> relatorio = new ArrayList<>();
+
+        System.out.printf("[benchmark] %d clientes, %d usuários, %d s de medição%n", CONCORRENCIA, USUARIOS, DURACAO.toSeconds());
+        System.out.printf("[benchmark] %-20s %10s %10s %10s %10s %10s %8s%n", "endpoint", "req", "req/s", "p50 ms", "p95 ms", "p99 ms", "erros");
+        for (Operacao operacao : operacoes) {
+            List<Amostras> amostras = porOperacao.getOrDefault(operacao.nome(), List.of());
+            long[] latencias = amostras.stream()
+                    .flatMapToLong(amostra -> Arrays.stream(amostra.latenciasNanos()))
+                    .sorted()
+                    .toArray();
+            long erros = amostras.stream().mapToLong(Amostras::erros).sum();
+
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("endpoint", operacao.nome());
+            linha.put("requisicoes", (long) latencias.length);
+            linha.put("reqPorSegundo", latencias.length / segundos);
+            linha.put("p50Ms", percentil(latencias, 0.50));
+            linha.put("p95Ms", percentil(latencias, 0.95));
+            linha.put("p99Ms", percentil(latencias, 0.99));
+            linha.put("erros", erros);
+            relatorio.add(linha);
+
+            System.out.printf("[benchmark] %-20s %10d %10.1f %10.2f %10.2f %10.2f %8d%n", operacao.nome(), latencias.length,
+                    latencias.length / segundos, percentil(latencias, 0.50), percentil(latencias, 0.95),
+                    percentil(latencias, 0.99), erros);
+        }
+        return relatorio;
+    }
+
+    private void gravarRelatorio(List<Map<String, Object>> relatorio) throws IOException {
+        File diretorio = new File("target/carga");
+        if (!diretorio.isDirectory() && !diretorio.mkdirs()) {
+            throw new IllegalStateException("Não foi possível criar o diretório " + diretorio);
+        }
+
+        Map<String, Object> configuracao = new LinkedHashMap<>();
+        configuracao.put("usuarios", USUARIOS);
+        configuracao.put("anos", ANOS);
+        configuracao.put("despesasPorMes", DESPESAS_POR_MES);
+        configuracao.put("receitasPorMes", RECEITAS_POR_MES);
+        configuracao.put("concorrencia", CONCORRENCIA);
+        configuracao.put("duracaoSegundos", DURACAO.toSeconds());
+        configuracao.put("mix", MIX);
+
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(new File(diretorio, getClass().getSimpleName() + ".json"),
+                        Map.of("configuracao", configuracao, "endpoints", relatorio));
+    }
+
+    // Percentil pelo método nearest-rank, em milissegundos
+    private static double percentil(long[] ordenadas, double quantil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(quantil * ordenadas.length) - 1;
+        return ordenadas[Math.max(posicao, 0)] / 1e6;
+    }
+
+    private static Operacao sortear(List<Operacao> operacoes, int pesoTotal, SplittableRandom random) {
+        int sorteio = random.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Mix de operações vazio");
+    }
+
+    private List<Operacao> operacoesDoMix() {
+        Map<String, BiFunction<Usuario, SplittableRandom, HttpRequest>> disponiveis = new LinkedHashMap<>();
+        disponiveis.put("login", (usuario, random) -> login(usuario.email()));
+        disponiveis.put("cadastro", (usuario, random) -> cadastro());
+        disponiveis.put("despesas", (usuario, random) -> get(usuario, "/despesas?limit=50"));
+        disponiveis.put("criar-despesa", this::criarDespesa);
+        disponiveis.put("dashboard-resumo", (usuario, random) -> get(usuario, "/dashboard/resumo?periodo=" + mesAleatorio(random)));
+        disponiveis.put("dashboard-saldo", (usuario, random) -> get(usuario, "/dashboard/saldo-total?periodo=" + mesAleatorio(random)));
+        disponiveis.put("grafico-barras", (usuario, random) -> get(usuario,
+                "/despesas/grafico-barras?inicio=" + ULTIMO_MES.minusMonths(11) + "&fim=" + ULTIMO_MES));
+        disponiveis.put("orcamento", (usuario, random) -> get(usuario, "/orcamento-mensal/periodo/" + mesAleatorio(random)));
+        disponiveis.put("orcamento-consumo", (usuario, random) -> get(usuario, "/orcamento-mensal/consumo/" + mesAleatorio(random)));
+
+        List<Operacao> operacoes = new ArrayList<>();
+        for (String item : MIX.split(",")) {
+            String[] partes = item.trim().split(":");
+            BiFunction<Usuario, SplittableRandom, HttpRequest> requisicao = disponiveis.get(partes[0]);
+            if (requisicao == null) {
+                throw new IllegalArgumentException("Operação desconhecida em carga.mix: " + partes[0]
+                        + ". Disponíveis: " + disponiveis.keySet());
+            }
+            operacoes.add(new Operacao(partes[0], Integer.parseInt(partes[1]), requisicao));
+        }
+        return operacoes;
+    }
+
+    private HttpRequest login(String email) {
+        return post(null, "/auth/login", Map.of("email", email, "password", SENHA));
+    }
+
+    // Passa pelo BCrypt e pela criação das categorias padrão; o e-mail muda a cada chamada
+    private HttpRequest cadastro() {
+        long numero = cadastros.incrementAndGet();
+        return post(null, "/auth/register", Map.of(
+                "username", "cadastro-" + numero,
+                "email", "cadastro-" + numero + "@gmail.com",
+                "password", SENHA,
+                "role", "USER"));
+    }
+
+    private HttpRequest criarDespesa(Usuario usuario, SplittableRandom random) {
+        YearMonth mes = mesAleatorio(random);
+        return post(usuario, "/despesas", Map.of(
+                "data", mes.atDay(1 + random.nextInt(mes.lengthOfMonth())).toString(),
+                "categoria", CATEGORIAS_DESPESA.get(random.nextInt(CATEGORIAS_DESPESA.size())),
+                "valor", BigDecimal.valueOf(1 + random.nextInt(500)),
+                "destinoPagamento", "Mercado",
+                "observacoes", "carga"));
+    }
+
+    private HttpRequest get(Usuario usuario, String caminho) {
+        return HttpRequest.newBuilder(uri(caminho))
+                .header("Authorization", "Bearer " + usuario.token())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(Usuario usuario, String caminho, Map<String, Object> corpo) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(caminho))
+                .header("Content-Type", "application/json");
+        if (usuario != null) {
+            builder.header("Authorization", "Bearer " + usuario.token());
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo))).build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    private YearMonth mesAleatorio(SplittableRandom random) {
+        return meses.get(random.nextInt(meses.size()));
+    }
+
+    private void semearUsuario(int indice, String hash) {
+        UserEntity user = TestDataUtil.criarUsuarioEntityUtil("carga-" + indice);
+        user.setPassword(hash);
+        user = userRepository.save(user);
+
+        List<CategoriaEntity> despesas = new ArrayList<>();
+        List<CategoriaEntity> receitas = new ArrayList<>();
+        categoriaRepository.save(new CategoriaEntity(null, "Sem Categoria", CategoriaType.DESPESAS, user, true));
+        categoriaRepository.save(new CategoriaEntity(null, "Sem Categoria", CategoriaType.RECEITAS, user, true));
+        for (String nome : CATEGORIAS_DESPESA) {
+            despesas.add(categoriaRepository.save(new CategoriaEntity(nome, CategoriaType.DESPESAS, user)));
+        }
+        for (String nome : CATEGORIAS_RECEITA) {
+            receitas.add(categoriaRepository.save(new CategoriaEntity(nome, CategoriaType.RECEITAS, user)));
+        }
+
+        // Transações vão direto por JDBC em lote; o resumo_mensal é reconstruído uma vez ao final
+        List<Object[]> linhasDespesa = new ArrayList<>();
+        List<Object[]> linhasReceita = new ArrayList<>();
+        List<OrcamentoMensalEntity> orcamentos = new ArrayList<>();
+        for (YearMonth mes : meses) {
+            for (int i = 0; i < DESPESAS_POR_MES; i++) {
+                LocalDate data = mes.atDay(1 + i % mes.lengthOfMonth());
+                linhasDespesa.add(new Object[]{UUID.randomUUID().toString(), Date.valueOf(data),
+                        BigDecimal.valueOf(i % 300 + 10), "Mercado", "carga", user.getUuid(),
+                        despesas.get(i % despesas.size()).getUuid()});
+            }
+            for (int i = 0; i < RECEITAS_POR_MES; i++) {
+                LocalDate data = mes.atDay(1 + (i * 7) % mes.lengthOfMonth());
+                linhasReceita.add(new Object[]{UUID.randomUUID().toString(), Date.valueOf(data),
+                        BigDecimal.valueOf(2000 + i * 250L), "Empresa", "carga", user.getUuid(),
+                        receitas.get(i % receitas.size()).getUuid()});
+            }
+            for (CategoriaEntity categoria : despesas) {
+                OrcamentoMensalEntity orcamento = new OrcamentoMensalEntity();
+                orcamento.setUser(user);
+                orcamento.setCategoria(categoria);
+                orcamento.setValorLimite(BigDecimal.valueOf(1500));
+                orcamento.setPeriodo(mes);
+                orcamentos.add(orcamento);
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO despesas (uuid, data, valor, destino_pagamento, observacoes, user_id, categoria_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", linhasDespesa);
+        jdbcTemplate.batchUpdate("INSERT INTO receitas (uuid, data, valor, origem_do_pagamento, observacoes, user_id, categoria_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", linhasReceita);
+        orcamentoMensalRepository.saveAll(orcamentos);
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara o filtro antigo por YEAR()/MONTH() com o intervalo semiaberto sobre data e com a leitura de resumo_mensal
+ * para um usuário com 100 mil despesas. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+class ConsultasMensaisBenchmarkTest {
+
+    private static final int TOTAL_DESPESAS = 100_000;
+    private static final int AQUECIMENTO = 5;
+    private static final int ITERACOES = 30;
+    private static final YearMonth PERIODO = YearMonth.of(2024, 6);
+
+    private static final String SOMA_YEAR_MONTH = "SELECT SUM(d.valor) FROM DespesaEntity d " +
+            "WHERE d.user.uuid = :userId AND YEAR(d.data) = :year AND MONTH(d.data) = :month";
+
+    private static final String SOMA_INTERVALO = "SELECT SUM(d.valor) FROM DespesaEntity d " +
+            "WHERE d.user.uuid = :userId AND d.data >= :inicio AND d.data < :fim";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(TestDataUtil.criarUsuarioEntityUtil("benchmark"));
+
+        // Espalha as despesas por ~8 anos para que cada mês tenha pouco mais de mil linhas
+        LocalDate primeiroDia = LocalDate.of(2020, 1, 1);
+        List<Object[]> linhas = new ArrayList<>(TOTAL_DESPESAS);
+        for (int i = 0; i < TOTAL_DESPESAS; i++) {
+            linhas.add(new Object[]{UUID.randomUUID().toString(), Date.valueOf(primeiroDia.plusDays(i % 2920)),
+                    BigDecimal.valueOf(i % 1000 + 1), "Mercado", "benchmark", user.getUuid()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO despesas (uuid, data, valor, destino_pagamento, observacoes, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", linhas);
+    }
+
+    @Test
+    void compararSomaMensalYearMonthComIntervaloEResumo() {
+        BigDecimal antigo = medir("YEAR()/MONTH()", () -> entityManager.createQuery(SOMA_YEAR_MONTH, BigDecimal.class)
+                .setParameter("userId", user.getUuid())
+                .setParameter("year", PERIODO.getYear())
+                .setParameter("month", PERIODO.getMonthValue())
+                .getSingleResult());
+
+        BigDecimal intervalo = medir("data >= :inicio AND data < :fim", () -> entityManager.createQuery(SOMA_INTERVALO, BigDecimal.class)
+                .setParameter("userId", user.getUuid())
+                .setParameter("inicio", PERIODO.atDay(1))
+                .setParameter("fim", PERIODO.plusMonths(1).atDay(1))
+                .getSingleResult());
+
+        resumoMensalService.reconstruir();
+        BigDecimal resumo = medir("resumo_mensal",
+                () -> resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(user.getUuid(), CategoriaType.DESPESAS, PERIODO));
+
+        assertEquals(0, antigo.compareTo(intervalo));
+        assertEquals(0, antigo.compareTo(resumo));
+    }
+
+    private <T> T medir(String nome, Supplier<T> consulta) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            consulta.get();
+        }
+
+        T resultado = null;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            resultado = consulta.get();
+        }
+        double mediaMs = (System.nanoTime() - inicio) / 1_000_000.0 / ITERACOES;
+
+        System.out.printf("[benchmark] %-32s média de %.3f ms por consulta (%d despesas)%n", nome, mediaMs, TOTAL_DESPESAS);
+        return resultado;
+    }
+}
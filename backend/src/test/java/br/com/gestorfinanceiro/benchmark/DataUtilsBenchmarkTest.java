@@ -0,0 +1,75 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.utils.DataUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatação de mês/ano e preenchimento dos meses vazios, usados em todo gráfico de barras. {@code meses} é o
+ * tamanho do intervalo pedido ao gráfico. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataUtilsBenchmarkTest {
+
+    @Param({"12", "60"})
+    private int meses;
+
+    private final LocalDate data = LocalDate.of(2024, 6, 15);
+    private final YearMonth mes = YearMonth.of(2024, 6);
+
+    private YearMonth inicio;
+    private YearMonth fim;
+
+    @Setup
+    public void setUp() {
+        inicio = YearMonth.of(2020, 1);
+        fim = inicio.plusMonths(meses - 1L);
+    }
+
+    @Benchmark
+    public String formatarMesAnoDeLocalDate() {
+        return DataUtils.formatarMesAno(data);
+    }
+
+    @Benchmark
+    public String formatarMesAnoDeYearMonth() {
+        return DataUtils.formatarMesAno(mes);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> preencherMesesVazios() {
+        Map<String, BigDecimal> dadosMensais = new HashMap<>();
+        DataUtils.preencherMesesVazios(dadosMensais, inicio, fim);
+        return dadosMensais;
+    }
+
+    @Test
+    void executarBenchmark() throws RunnerException {
+        JmhRunner.executar(DataUtilsBenchmarkTest.class);
+    }
+}
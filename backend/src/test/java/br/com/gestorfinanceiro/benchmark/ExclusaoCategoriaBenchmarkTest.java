@@ -0,0 +1,156 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.CategoriaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a exclusão de uma categoria com 50 mil despesas: o caminho antigo (carregar cada despesa e salvá-la com a
+ * "sem categoria") contra o UPDATE único de excluirCategoria. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql=INFO",
+        "logging.level.org.springframework=INFO",
+        "logging.level.br.com.gestorfinanceiro=INFO"
+})
+@ActiveProfiles("test")
+class ExclusaoCategoriaBenchmarkTest {
+
+    private static final int TOTAL_DESPESAS = 50_000;
+    private static final int LOTE = 5_000;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        limparBaseDeDados();
+        user = userRepository.saveAndFlush(TestDataUtil.criarUsuarioEntityUtil("benchmark"));
+        categoriaService.criarSemCategoria(user.getUuid(), CategoriaType.DESPESAS.name());
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparBaseDeDados();
+    }
+
+    @Test
+    void compararReatribuicaoLinhaALinhaComUpdateUnico() {
+        CategoriaEntity categoria = criarCategoriaComDespesas("Linha a linha");
+        long inicio = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            CategoriaEntity antiga = categoriaRepository.findById(categoria.getUuid())
+                    .orElseThrow();
+            CategoriaEntity semCategoria = categoriaRepository
+                    .findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.DESPESAS, user.getUuid())
+                    .orElseThrow();
+            List<DespesaEntity> despesas = despesaRepository.findAllByUserUuid(user.getUuid());
+            despesas.stream()
+                    .filter(despesa -> despesa.getCategoria()
+                            .getUuid()
+                            .equals(antiga.getUuid()))
+                    .forEach(despesa -> {
+                        despesa.setCategoria(semCategoria);
+                        despesaRepository.save(despesa);
+                    });
+            categoriaRepository.delete(antiga);
+        });
+        imprimir("carregar e salvar cada despesa", System.nanoTime() - inicio);
+        assertEquals(TOTAL_DESPESAS, contarDespesasSemCategoria());
+
+        despesaRepository.deleteAllInBatch();
+
+        CategoriaEntity outra = criarCategoriaComDespesas("Update unico");
+        inicio = System.nanoTime();
+        categoriaService.excluirCategoria(outra.getUuid(), user.getUuid());
+        imprimir("excluirCategoria (UPDATE único)", System.nanoTime() - inicio);
+        assertEquals(TOTAL_DESPESAS, contarDespesasSemCategoria());
+    }
+
+    private CategoriaEntity criarCategoriaComDespesas(String nome) {
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setNome(nome);
+        categoria.setTipo(CategoriaType.DESPESAS);
+        categoria.setUser(user);
+        categoria = categoriaRepository.saveAndFlush(categoria);
+
+        LocalDate primeiroDia = LocalDate.of(2024, 1, 1);
+        List<Object[]> linhas = new ArrayList<>(LOTE);
+        for (int i = 0; i < TOTAL_DESPESAS; i++) {
+            linhas.add(new Object[]{UUID.randomUUID()
+                    .toString(), Date.valueOf(primeiroDia.plusDays(i % 365)), BigDecimal.valueOf(i % 1000 + 1),
+                    "Mercado", "benchmark", user.getUuid(), categoria.getUuid()});
+            if (linhas.size() == LOTE) {
+                inserir(linhas);
+                linhas.clear();
+            }
+        }
+        inserir(linhas);
+        return categoria;
+    }
+
+    private void inserir(List<Object[]> linhas) {
+        jdbcTemplate.batchUpdate("INSERT INTO despesas (uuid, data, valor, destino_pagamento, observacoes, user_id, " +
+                "categoria_id) VALUES (?, ?, ?, ?, ?, ?, ?)", linhas);
+    }
+
+    private long contarDespesasSemCategoria() {
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM despesas d JOIN categorias c " +
+                "ON c.uuid = d.categoria_id WHERE c.is_sem_categoria = TRUE", Long.class);
+        return total != null ? total : 0;
+    }
+
+    private void limparBaseDeDados() {
+        despesaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private static void imprimir(String nome, long nanos) {
+        System.out.printf("[benchmark] %-32s %d despesas em %.1f ms%n", nome, TOTAL_DESPESAS, nanos / 1_000_000.0);
+    }
+}
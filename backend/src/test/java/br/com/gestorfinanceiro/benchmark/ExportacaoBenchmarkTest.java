@@ -0,0 +1,132 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.dto.transacao.FormatoExportacao;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.TransacaoService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exporta 300 mil despesas para uma saída que só conta bytes e linhas, medindo o tempo até o primeiro byte,
+ * o tempo total e o pico de heap observado durante a escrita. Não roda no build padrão: use
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportacaoBenchmarkTest {
+
+    private static final int TOTAL_DESPESAS = 300_000;
+    private static final int LOTE_INSERCAO = 10_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(TestDataUtil.criarUsuarioEntityUtil("benchmark"));
+
+        LocalDate primeiroDia = LocalDate.of(2015, 1, 1);
+        List<Object[]> linhas = new ArrayList<>(LOTE_INSERCAO);
+        for (int i = 0; i < TOTAL_DESPESAS; i++) {
+            linhas.add(new Object[]{UUID.randomUUID().toString(), Date.valueOf(primeiroDia.plusDays(i % 3650)),
+                    BigDecimal.valueOf(i % 1000 + 1), "Mercado", "benchmark", user.getUuid()});
+            if (linhas.size() == LOTE_INSERCAO) {
+                inserir(linhas);
+                linhas.clear();
+            }
+        }
+        inserir(linhas);
+    }
+
+    @Test
+    void exportarHistoricoCompletoEmNdjson() throws IOException {
+        System.gc();
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        long heapAntes = memoria.getHeapMemoryUsage().getUsed();
+
+        SaidaContadora saida = new SaidaContadora(memoria);
+        long inicio = System.nanoTime();
+        transacaoService.exportarTransacoes(user.getUuid(), FormatoExportacao.NDJSON, null, null, saida);
+        double totalMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        double primeiroByteMs = (saida.primeiroByte - inicio) / 1_000_000.0;
+
+        System.out.printf("[benchmark] exportação ndjson: %d linhas, %.1f MB, primeiro byte em %.1f ms, total %.1f ms, "
+                        + "pico de heap +%.1f MB%n",
+                saida.linhas, saida.bytes / 1_048_576.0, primeiroByteMs, totalMs,
+                (saida.picoHeap - heapAntes) / 1_048_576.0);
+
+        assertEquals(TOTAL_DESPESAS, saida.linhas);
+    }
+
+    private void inserir(List<Object[]> linhas) {
+        jdbcTemplate.batchUpdate("INSERT INTO despesas (uuid, data, valor, destino_pagamento, observacoes, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", linhas);
+    }
+
+    // Descarta o conteúdo; a cada flush amostra o heap em uso
+    private static class SaidaContadora extends OutputStream {
+        private final MemoryMXBean memoria;
+        private long bytes;
+        private long linhas;
+        private long primeiroByte;
+        private long picoHeap;
+
+        SaidaContadora(MemoryMXBean memoria) {
+            this.memoria = memoria;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (bytes == 0) {
+                primeiroByte = System.nanoTime();
+            }
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    linhas++;
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+            picoHeap = Math.max(picoHeap, memoria.getHeapMemoryUsage().getUsed());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.DespesaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara linhas por segundo entre N chamadas a criarDespesa (uma transação por linha, como N requisições) e
+ * uma única importação em lote. Sem @Transactional no teste para que cada caminho faça seus próprios commits.
+ * O log de SQL é desligado para não dominar a medição. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql=INFO",
+        "logging.level.org.springframework=INFO",
+        "logging.level.br.com.gestorfinanceiro=INFO"
+})
+@ActiveProfiles("test")
+class ImportacaoLoteBenchmarkTest {
+
+    private static final int TOTAL_LINHAS = 2000;
+    private static final String CATEGORIA = "Alimentacao";
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    private UserEntity user;
+    private List<DespesaCreateDTO> linhas;
+
+    @BeforeEach
+    void setUp() {
+        limparBaseDeDados();
+        user = userRepository.saveAndFlush(TestDataUtil.criarUsuarioEntityUtil("benchmark"));
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setNome(CATEGORIA);
+        categoria.setTipo(CategoriaType.DESPESAS);
+        categoria.setUser(user);
+        categoriaRepository.saveAndFlush(categoria);
+
+        linhas = new ArrayList<>(TOTAL_LINHAS);
+        LocalDate primeiroDia = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < TOTAL_LINHAS; i++) {
+            DespesaCreateDTO dto = new DespesaCreateDTO();
+            dto.setData(primeiroDia.plusDays(i % 365));
+            dto.setCategoria(CATEGORIA);
+            dto.setValor(BigDecimal.valueOf(i % 1000 + 1));
+            dto.setDestinoPagamento("Mercado");
+            dto.setObservacoes("benchmark");
+            linhas.add(dto);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparBaseDeDados();
+    }
+
+    @Test
+    void compararCriacaoLinhaALinhaComImportacaoEmLote() {
+        long inicio = System.nanoTime();
+        for (DespesaCreateDTO linha : linhas) {
+            despesaService.criarDespesa(linha, user.getUuid());
+        }
+        imprimir("criarDespesa linha a linha", System.nanoTime() - inicio);
+        assertEquals(TOTAL_LINHAS, despesaRepository.count());
+
+        despesaRepository.deleteAllInBatch();
+
+        inicio = System.nanoTime();
+        ImportacaoLoteDTO resultado = despesaService.importarDespesas(linhas, user.getUuid());
+        imprimir("importarDespesas em lote", System.nanoTime() - inicio);
+        assertEquals(TOTAL_LINHAS, resultado.importadas());
+        assertEquals(TOTAL_LINHAS, despesaRepository.count());
+    }
+
+    private void limparBaseDeDados() {
+        despesaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private static void imprimir(String nome, long nanos) {
+        double segundos = nanos / 1_000_000_000.0;
+        System.out.printf("[benchmark] %-28s %d linhas em %.2f s (%.0f linhas/s)%n",
+                nome, TOTAL_LINHAS, segundos, TOTAL_LINHAS / segundos);
+    }
+}
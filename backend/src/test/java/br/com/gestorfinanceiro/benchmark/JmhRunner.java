@@ -0,0 +1,38 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Roda uma classe de benchmark JMH com o GCProfiler e grava o resultado em JSON, um arquivo por classe, em
+ * {@code target/jmh} (ou no diretório de {@code -Djmh.resultados=...}). Para comparar dois commits, rode
+ * {@code mvn test -Pbenchmark} em cada um apontando para diretórios diferentes e compare os JSON, por exemplo no
+ * JMH Visualizer.
+ */
+final class JmhRunner {
+
+    private static final String DIRETORIO_PADRAO = "target/jmh";
+
+    private JmhRunner() {
+        throw new UnsupportedOperationException("Classe utilitária - não deve ser instanciada");
+    }
+
+    static void executar(Class<?> benchmark) throws RunnerException {
+        File diretorio = new File(System.getProperty("jmh.resultados", DIRETORIO_PADRAO));
+        if (!diretorio.isDirectory() && !diretorio.mkdirs()) {
+            throw new IllegalStateException("Não foi possível criar o diretório " + diretorio);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(benchmark.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(diretorio, benchmark.getSimpleName() + ".json").getPath())
+                .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.config.security.TokenAcesso;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e leitura de tokens pelo JwtUtil, que acontecem a cada login e a cada requisição autenticada.
+ * {@code extrairTokenAcesso} é o que o JwtFilter faz a cada requisição. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmarkTest {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 900_000L);
+
+        token = gerarToken();
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.generateToken("uuid-benchmark", "benchmark", "benchmark@email.com", "USER", "true", 0);
+    }
+
+    @Benchmark
+    public TokenAcesso extrairTokenAcesso() {
+        return jwtUtil.extractTokenAcesso(token);
+    }
+
+    @Test
+    void executarBenchmark() throws RunnerException {
+        JmhRunner.executar(JwtUtilBenchmarkTest.class);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.config.security.HashSenhaExecutor;
+import br.com.gestorfinanceiro.config.security.VersoesToken;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.AuthService;
+import br.com.gestorfinanceiro.services.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo do BCrypt no login. {@code login} passa pelo AuthServiceImpl com o repositório mockado, então mede só o
+ * serviço, a passagem pelo HashSenhaExecutor e o {@code matches}; {@code forca} compara o custo padrão (10) com
+ * um mais alto. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBCryptBenchmarkTest {
+
+    private static final String EMAIL = "benchmark@email.com";
+    private static final String SENHA = "senha-do-benchmark";
+
+    @Param({"10", "12"})
+    private int forca;
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(forca);
+        hash = passwordEncoder.encode(SENHA);
+
+        UserEntity user = new UserEntity();
+        user.setUuid("user-benchmark");
+        user.setEmail(EMAIL);
+        user.setPassword(hash);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        authService = new AuthServiceImpl(userRepository, mock(CategoriaRepository.class),
+                new HashSenhaExecutor(passwordEncoder, new SimpleMeterRegistry(), 1, 16, Duration.ofSeconds(5)),
+                mock(VersoesToken.class));
+    }
+
+    @Benchmark
+    public boolean verificarSenha() {
+        return passwordEncoder.matches(SENHA, hash);
+    }
+
+    @Benchmark
+    public UserEntity login() {
+        return authService.login(EMAIL, SENHA);
+    }
+
+    @Test
+    void executarBenchmark() throws RunnerException {
+        JmhRunner.executar(LoginBCryptBenchmarkTest.class);
+    }
+}
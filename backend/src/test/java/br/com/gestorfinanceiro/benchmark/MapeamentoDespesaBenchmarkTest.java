@@ -0,0 +1,75 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
+import br.com.gestorfinanceiro.mappers.Mapper;
+import br.com.gestorfinanceiro.mappers.impl.DespesaMapperImpl;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeia 10 mil DespesaEntity para DespesaDTO, como faz a listagem completa de despesas. O GCProfiler reporta os
+ * bytes alocados por operação em gc.alloc.rate.norm. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoDespesaBenchmarkTest {
+
+    private static final int TOTAL_DESPESAS = 10_000;
+
+    private Mapper<DespesaEntity, DespesaDTO> despesaMapper;
+    private List<DespesaEntity> despesas;
+
+    @Setup
+    public void setUp() {
+        despesaMapper = new DespesaMapperImpl();
+
+        UserEntity user = new UserEntity();
+        user.setUuid("user-benchmark");
+        CategoriaEntity categoria = new CategoriaEntity("uuid-categoria", "Alimentacao", CategoriaType.DESPESAS, user, false);
+
+        despesas = new ArrayList<>(TOTAL_DESPESAS);
+        LocalDate primeiroDia = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < TOTAL_DESPESAS; i++) {
+            despesas.add(new DespesaEntity("uuid-" + i, primeiroDia.plusDays(i % 365), categoria,
+                    BigDecimal.valueOf(i % 1000 + 1), "Mercado", "benchmark", user));
+        }
+    }
+
+    @Benchmark
+    public List<DespesaDTO> mapearDezMilDespesas() {
+        return despesas.stream()
+                .map(despesaMapper::mapTo)
+                .toList();
+    }
+
+    @Test
+    void executarBenchmark() throws RunnerException {
+        JmhRunner.executar(MapeamentoDespesaBenchmarkTest.class);
+    }
+}
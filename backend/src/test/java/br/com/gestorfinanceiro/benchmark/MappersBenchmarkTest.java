@@ -0,0 +1,106 @@
+package br.com.gestorfinanceiro.benchmark;
+
+import br.com.gestorfinanceiro.dto.categoria.CategoriaDTO;
+import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
+import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
+import br.com.gestorfinanceiro.mappers.Mapper;
+import br.com.gestorfinanceiro.mappers.impl.CategoriaMapperImpl;
+import br.com.gestorfinanceiro.mappers.impl.DespesaMapperImpl;
+import br.com.gestorfinanceiro.mappers.impl.ReceitaMapperImpl;
+import br.com.gestorfinanceiro.mappers.impl.UserForAdminImpl;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.ReceitaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma única conversão em cada Mapper usado pelos controllers. A listagem em massa fica no
+ * MapeamentoDespesaBenchmarkTest. Não roda no build padrão: use {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappersBenchmarkTest {
+
+    private final Mapper<DespesaEntity, DespesaDTO> despesaMapper = new DespesaMapperImpl();
+    private final Mapper<ReceitaEntity, ReceitaDTO> receitaMapper = new ReceitaMapperImpl();
+    private final Mapper<CategoriaEntity, CategoriaDTO> categoriaMapper = new CategoriaMapperImpl();
+    private final Mapper<UserEntity, UserForAdminDTO> userForAdminMapper = new UserForAdminImpl();
+
+    private UserEntity user;
+    private CategoriaEntity categoria;
+    private DespesaEntity despesa;
+    private DespesaDTO despesaDTO;
+    private ReceitaEntity receita;
+
+    @Setup
+    public void setUp() {
+        user = new UserEntity();
+        user.setUuid("user-benchmark");
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@email.com");
+        user.setRole(Roles.USER);
+        user.setEstaAtivo(true);
+
+        categoria = new CategoriaEntity("uuid-categoria", "Alimentacao", CategoriaType.DESPESAS, user, false);
+        despesa = new DespesaEntity("uuid-despesa", LocalDate.of(2024, 6, 15), categoria,
+                BigDecimal.valueOf(150), "Mercado", "benchmark", user);
+        despesaDTO = despesaMapper.mapTo(despesa);
+        receita = new ReceitaEntity("uuid-receita", LocalDate.of(2024, 6, 5), categoria,
+                BigDecimal.valueOf(5000), "Salario", "benchmark", user);
+    }
+
+    @Benchmark
+    public DespesaDTO despesaParaDTO() {
+        return despesaMapper.mapTo(despesa);
+    }
+
+    @Benchmark
+    public DespesaEntity dtoParaDespesa() {
+        return despesaMapper.mapFrom(despesaDTO);
+    }
+
+    @Benchmark
+    public ReceitaDTO receitaParaDTO() {
+        return receitaMapper.mapTo(receita);
+    }
+
+    @Benchmark
+    public CategoriaDTO categoriaParaDTO() {
+        return categoriaMapper.mapTo(categoria);
+    }
+
+    @Benchmark
+    public UserForAdminDTO userParaDTODeAdmin() {
+        return userForAdminMapper.mapTo(user);
+    }
+
+    @Test
+    void executarBenchmark() throws RunnerException {
+        JmhRunner.executar(MappersBenchmarkTest.class);
+    }
+}
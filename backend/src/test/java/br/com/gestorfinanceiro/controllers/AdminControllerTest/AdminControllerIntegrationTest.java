@@ -1,9 +1,12 @@
 package br.com.gestorfinanceiro.controllers.AdminControllerTest;
 
 import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
 import br.com.gestorfinanceiro.controller.AdminController;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.AdminService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,15 +15,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,9 +51,14 @@ class AdminControllerIntegrationTest {
         assertNotNull(adminController, "O AdminController não deveria ser nulo!");
     }
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        // A contagem fica em cache por filtro; cada teste começa com a tabela vazia
+        cacheManager.getCache(CacheConfig.CONTAGEM_USUARIOS).clear();
     }
 
     //------------------TESTES DO FIND ALL USERS ----------------------//
@@ -73,6 +84,67 @@ class AdminControllerIntegrationTest {
     }
 
 
+    @Test
+    void devePaginarUsersPorCursorComTotalAproximado() throws Exception {
+        adicionarUsuario("Usuario C");
+        adicionarUsuario("Usuario A");
+        adicionarUsuario("Usuario B");
+
+        MvcResult primeira = mockMvc.perform(get("/admin/users").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Pagina.HEADER_TOTAL_APROXIMADO, "3"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].username").value("Usuario A"))
+                .andExpect(jsonPath("$[1].username").value("Usuario B"))
+                .andReturn();
+        String cursor = primeira.getResponse().getHeader(Pagina.HEADER_PROXIMO_CURSOR);
+        assertNotNull(cursor);
+
+        mockMvc.perform(get("/admin/users").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("Usuario C"));
+
+        // O cursor só vale para a ordenação em que foi gerado
+        mockMvc.perform(get("/admin/users").param("sort", "email").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveFiltrarUsersPorRoleStatusEPrefixo() throws Exception {
+        adicionarUsuario("ana");
+        UserEntity inativo = TestDataUtil.criarUsuarioEntityUtil("anabela");
+        inativo.setEstaAtivo(false);
+        userRepository.save(inativo);
+        UserEntity admin = TestDataUtil.criarUsuarioEntityUtil("bruno");
+        admin.setRole(Roles.ADMIN);
+        userRepository.save(admin);
+        adicionarUsuario("an_a");
+
+        mockMvc.perform(get("/admin/users").param("busca", "ana").param("sort", "-username"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].username").value("anabela"))
+                .andExpect(jsonPath("$[1].username").value("ana"))
+                // A projeção não traz a senha
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+
+        // "_" é literal na busca, não um curinga
+        mockMvc.perform(get("/admin/users").param("busca", "an_"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("an_a"));
+
+        mockMvc.perform(get("/admin/users").param("estaAtivo", "false"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("anabela"));
+
+        mockMvc.perform(get("/admin/users").param("role", "ADMIN").param("limit", "10"))
+                .andExpect(header().string(Pagina.HEADER_TOTAL_APROXIMADO, "1"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].username").value("bruno"));
+    }
+
     //------------------TESTES DO ATUALIZAR UPDATE ESTA ATIVO ----------------------//
     @Test
     void deveAtualizarUserEstaAtivo() throws Exception {
@@ -0,0 +1,100 @@
+package br.com.gestorfinanceiro.controllers.AdminControllerTest;
+
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.controller.AuthController;
+import br.com.gestorfinanceiro.dto.user.LoginDTO;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Com os filtros de segurança ligados, ao contrário do AdminControllerIntegrationTest
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminControllerSecurityIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthController authController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @BeforeEach
+    void setUp() {
+        categoriaRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    //------------------TESTES DO RECONSTRUIR RESUMO MENSAL ----------------------//
+    @Test
+    void deveRecusarReconstruirResumoMensalSemToken() throws Exception {
+        mockMvc.perform(post("/admin/resumo-mensal/reconstruir"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveRecusarReconstruirResumoMensalParaUsuarioComum() throws Exception {
+        mockMvc.perform(post("/admin/resumo-mensal/reconstruir")
+                        .header("Authorization", "Bearer " + logar("jorge", Roles.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void devePermitirReconstruirResumoMensalParaAdmin() throws Exception {
+        mockMvc.perform(post("/admin/resumo-mensal/reconstruir")
+                        .header("Authorization", "Bearer " + logar("admin", Roles.ADMIN)))
+                .andExpect(status().isOk());
+    }
+
+    //------------------TESTES DAS ESTATISTICAS ----------------------//
+    @Test
+    void deveRecusarEstatisticasSemTokenOuParaUsuarioComum() throws Exception {
+        mockMvc.perform(get("/admin/estatisticas"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/estatisticas")
+                        .header("Authorization", "Bearer " + logar("jorge", Roles.USER)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void devePermitirEstatisticasParaAdmin() throws Exception {
+        mockMvc.perform(get("/admin/estatisticas")
+                        .header("Authorization", "Bearer " + logar("admin", Roles.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsuarios").isNumber());
+    }
+
+    //-------------------------------MÉTODOS AUXILIARES-------------------------------//
+
+    // A role do token vem do banco no momento do login
+    private String logar(String nome, Roles role) {
+        authController.register(TestDataUtil.criarUsuarioDtoUtil(nome));
+        UserEntity user = userRepository.findByEmail(nome + "@gmail.com").orElseThrow();
+        user.setRole(role);
+        userRepository.save(user);
+
+        return authController.login(new LoginDTO(nome + "@gmail.com", "123456"), new MockHttpServletRequest())
+                .getBody()
+                .get("token");
+    }
+}
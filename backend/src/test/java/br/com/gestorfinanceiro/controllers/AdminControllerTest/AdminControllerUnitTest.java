@@ -3,12 +3,20 @@ package br.com.gestorfinanceiro.controllers.AdminControllerTest;
 import br.com.gestorfinanceiro.TestDataUtil;
 import br.com.gestorfinanceiro.config.security.JwtFilter;
 import br.com.gestorfinanceiro.controller.AdminController;
+import br.com.gestorfinanceiro.dto.common.Pagina;
+import br.com.gestorfinanceiro.dto.estatisticas.AtividadeDiariaDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.EstatisticasDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.VolumeUsuarioDTO;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
 import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
 import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.services.AdminService;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,13 +28,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,26 +55,32 @@ class AdminControllerUnitTest {
     @MockitoBean
     private AdminService adminService;
 
+    @MockitoBean
+    private ResumoMensalService resumoMensalService;
+
+    @MockitoBean
+    private EstatisticasService estatisticasService;
+
     @MockitoBean
     private Mapper<UserEntity, UserForAdminDTO> mapper;
 
     //------------------TESTES DO FIND ALL USERS ----------------------//
     @Test
     void deveListarUsers() throws Exception {
-        UserEntity userA = TestDataUtil.criarUsuarioEntityUtil("Usuario A");
-        UserEntity userB = TestDataUtil.criarUsuarioEntityUtil("Usuario B");
-        UserEntity userC = TestDataUtil.criarUsuarioEntityUtil("Usuario C");
-
-        List<UserEntity> users = List.of(userA, userB, userC);
-        when(adminService.listUsers()).thenReturn(users);
-
-        when(mapper.mapTo(userA)).thenReturn(TestDataUtil.criarUserForAdminDTOUtil("Usuario A"));
-        when(mapper.mapTo(userB)).thenReturn(TestDataUtil.criarUserForAdminDTOUtil("Usuario B"));
-        when(mapper.mapTo(userC)).thenReturn(TestDataUtil.criarUserForAdminDTOUtil("Usuario C"));
-
+        List<UserForAdminDTO> users = List.of(
+                TestDataUtil.criarUserForAdminDTOUtil("Usuario A"),
+                TestDataUtil.criarUserForAdminDTOUtil("Usuario B"),
+                TestDataUtil.criarUserForAdminDTOUtil("Usuario C"));
+        FiltroUsuarios filtro = new FiltroUsuarios(null, null, null);
+        // Sem limit, a primeira página tem o tamanho padrão
+        when(adminService.listarUsuarios(filtro, OrdenacaoUsuarios.USERNAME, null, Pagina.LIMITE_PADRAO))
+                .thenReturn(new Pagina<>(users, "proximo"));
+        when(adminService.contarUsuarios(filtro)).thenReturn(3L);
 
         mockMvc.perform(get("/admin/users").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"))
+                .andExpect(header().string(Pagina.HEADER_TOTAL_APROXIMADO, "3"))
                 .andExpect(jsonPath("$.length()").value(3))
                 .andExpect(jsonPath("$[0].username").value("Usuario A"))
                 .andExpect(jsonPath("$[1].username").value("Usuario B"))
@@ -69,13 +89,54 @@ class AdminControllerUnitTest {
 
     @Test
     void deveListarUsersVazioQuandoNaoTiverUsers() throws Exception {
-        when(adminService.listUsers()).thenReturn((List.of()));
+        when(adminService.listarUsuarios(any(), any(), eq(null), eq(Pagina.LIMITE_PADRAO)))
+                .thenReturn(new Pagina<>(List.of(), null));
 
         mockMvc.perform(get("/admin/users").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR))
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void deveRepassarFiltrosEDevolverPaginaComCursorETotal() throws Exception {
+        FiltroUsuarios filtro = new FiltroUsuarios(Roles.USER, true, null);
+        when(adminService.listarUsuarios(filtro, OrdenacaoUsuarios.EMAIL_DESC, null, 1))
+                .thenReturn(new Pagina<>(List.of(TestDataUtil.criarUserForAdminDTOUtil("Usuario A")), "proximo"));
+        when(adminService.contarUsuarios(filtro)).thenReturn(42L);
+
+        mockMvc.perform(get("/admin/users")
+                        .param("role", "user")
+                        .param("estaAtivo", "true")
+                        .param("sort", "-email")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"))
+                .andExpect(header().string(Pagina.HEADER_TOTAL_APROXIMADO, "42"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void naoDeveContarQuandoHaBusca() throws Exception {
+        FiltroUsuarios filtro = new FiltroUsuarios(null, null, "usu");
+        when(adminService.listarUsuarios(filtro, OrdenacaoUsuarios.USERNAME, null, 1))
+                .thenReturn(new Pagina<>(List.of(TestDataUtil.criarUserForAdminDTOUtil("Usuario A")), "proximo"));
+
+        mockMvc.perform(get("/admin/users").param("busca", " usu ").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"))
+                .andExpect(header().doesNotExist(Pagina.HEADER_TOTAL_APROXIMADO));
+        verify(adminService, never()).contarUsuarios(any());
+    }
+
+    @Test
+    void deveRecusarRoleOuOrdenacaoInvalida() throws Exception {
+        mockMvc.perform(get("/admin/users").param("role", "GERENTE"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/admin/users").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
 
     //------------------TESTES DO ATUALIZAR UPDATE ESTA ATIVO ----------------------//
     @Test
@@ -109,4 +170,34 @@ class AdminControllerUnitTest {
                 .andExpect(jsonPath("$.estaAtivo").value(true))
                 .andExpect(jsonPath("$.role").value("ADMIN"));
     }
+
+    //------------------TESTES DO RECONSTRUIR RESUMO MENSAL ----------------------//
+    @Test
+    void deveReconstruirResumoMensal() throws Exception {
+        when(resumoMensalService.reconstruir()).thenReturn(7);
+
+        mockMvc.perform(post("/admin/resumo-mensal/reconstruir"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhas").value(7));
+    }
+
+    //------------------TESTES DAS ESTATISTICAS ----------------------//
+    @Test
+    void deveDevolverEstatisticas() throws Exception {
+        EstatisticasDTO estatisticas = new EstatisticasDTO(5, 4,
+                List.of(new AtividadeDiariaDTO(LocalDate.of(2024, 1, 10), 3, 1)),
+                List.of(new VolumeUsuarioDTO("123", "Usuario A", 12, 4, null)),
+                Instant.parse("2024-01-10T12:00:00Z"));
+        when(estatisticasService.obterEstatisticas()).thenReturn(estatisticas);
+
+        mockMvc.perform(get("/admin/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsuarios").value(5))
+                .andExpect(jsonPath("$.usuariosAtivos").value(4))
+                .andExpect(jsonPath("$.transacoesPorDia[0].dia").value("2024-01-10"))
+                .andExpect(jsonPath("$.transacoesPorDia[0].despesas").value(3))
+                .andExpect(jsonPath("$.maioresUsuarios[0].username").value("Usuario A"))
+                .andExpect(jsonPath("$.maioresUsuarios[0].transacoes").value(12))
+                .andExpect(jsonPath("$.maioresUsuarios[0].transacoesRecentes").value(4));
+    }
 }
@@ -3,21 +3,37 @@ package br.com.gestorfinanceiro.controllers.AuthControllerTest;
 import br.com.gestorfinanceiro.TestDataUtil;
 import br.com.gestorfinanceiro.controller.AuthController;
 import br.com.gestorfinanceiro.dto.user.LoginDTO;
+import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
 import br.com.gestorfinanceiro.dto.user.UserDTO;
 import br.com.gestorfinanceiro.exceptions.user.InvalidPasswordException;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.AdminService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.YearMonth;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 @ActiveProfiles("test")
 class AuthControllerIntegrationTest {
 
@@ -30,6 +46,15 @@ class AuthControllerIntegrationTest {
     @Autowired
     private AuthController authController;
 
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
         //teste para ver sw o AuthController foi carregado
     void deveCarregarAuthController() {
@@ -75,12 +100,84 @@ class AuthControllerIntegrationTest {
 
         //Se for lançado uma exceção, significa que as credenciais estão erradas e o metodo está funcionando 
         InvalidPasswordException thrown = assertThrows(InvalidPasswordException.class,
-                () -> authController.login(loginDTO));
+                () -> authController.login(loginDTO, new MockHttpServletRequest()));
         assertNotNull(thrown); //Se a exceção for lançada, thrown não será nulo
     }
 
+    //-------------------TESTES DO METODO REFRESH-------------------//
+
+    @Test
+    void deveRenovarOsTokensComORefreshToken() throws Exception {
+        adicionarUsuario("jorge");
+        Map<String, String> tokens = logar("jorge@gmail.com");
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", tokens.get("refreshToken")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty());
+    }
+
+    @Test
+    void deveRecusarTokenDeAcessoNoLugarDoRefreshToken() throws Exception {
+        adicionarUsuario("jorge");
+        Map<String, String> tokens = logar("jorge@gmail.com");
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", tokens.get("token")))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveRevogarOsTokensQuandoOAdminDesativaOUsuario() throws Exception {
+        adicionarUsuario("jorge");
+        UserEntity user = userRepository.findByEmail("jorge@gmail.com").orElseThrow();
+        Map<String, String> tokens = logar("jorge@gmail.com");
+
+        consultarSaldo(tokens.get("token")).andExpect(status().isOk());
+
+        UserAdminUpdateDTO desativar = new UserAdminUpdateDTO();
+        desativar.setEstaAtivo(false);
+        desativar.setRole("USER");
+        adminService.atualizarUser(user.getUuid(), desativar);
+
+        // O token antigo ainda não expirou, mas foi revogado em memória
+        consultarSaldo(tokens.get("token")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", tokens.get("refreshToken")))))
+                .andExpect(status().isUnauthorized());
+
+        // Um novo login de usuário desativado gera token com estaAtivo=false, que não autentica nem renova
+        Map<String, String> tokensDesativado = logar("jorge@gmail.com");
+        consultarSaldo(tokensDesativado.get("token")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", tokensDesativado.get("refreshToken")))))
+                .andExpect(status().isUnauthorized());
+
+        UserAdminUpdateDTO reativar = new UserAdminUpdateDTO();
+        reativar.setEstaAtivo(true);
+        reativar.setRole("USER");
+        adminService.atualizarUser(user.getUuid(), reativar);
+
+        consultarSaldo(logar("jorge@gmail.com").get("token")).andExpect(status().isOk());
+    }
+
     //-------------------------------MÉTODOS AUXILIARES-------------------------------//
 
+    private Map<String, String> logar(String email) {
+        return authController.login(new LoginDTO(email, "123456"), new MockHttpServletRequest()).getBody();
+    }
+
+    private ResultActions consultarSaldo(String token) throws Exception {
+        return mockMvc.perform(get("/dashboard/saldo-total")
+                .param("periodo", YearMonth.now().toString())
+                .header("Authorization", "Bearer " + token));
+    }
+
     public UserDTO adicionarUsuario(String nome) {
         UserDTO userDTO = TestDataUtil.criarUsuarioDtoUtil(nome);
 
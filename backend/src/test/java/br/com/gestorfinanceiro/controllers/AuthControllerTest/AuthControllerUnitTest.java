@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Map;
@@ -86,7 +87,7 @@ class AuthControllerUnitTest {
 
         LoginDTO loginDTO = new LoginDTO("jorge@gmail.com", "123456");
 
-        ResponseEntity<Map<String, String>> response = authController.login(loginDTO);
+        ResponseEntity<Map<String, String>> response = authController.login(loginDTO, new MockHttpServletRequest());
         //Se o status da operação for 200 OK, o login foi bem-sucedido, portanto os parametros foram passados corretamente
         assertEquals("200 OK", response.getStatusCode()
                 .toString());
@@ -99,7 +100,7 @@ class AuthControllerUnitTest {
 
         LoginDTO loginDTO = new LoginDTO("jorge@gmail.com", "123456");
 
-        ResponseEntity<Map<String, String>> response = authController.login(loginDTO);
+        ResponseEntity<Map<String, String>> response = authController.login(loginDTO, new MockHttpServletRequest());
 
         Map<String, String> responseBody = response.getBody();
         assertNotNull(responseBody); //Verifica se teve resposta
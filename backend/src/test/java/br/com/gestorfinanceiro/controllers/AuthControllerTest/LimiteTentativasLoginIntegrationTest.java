@@ -0,0 +1,52 @@
+package br.com.gestorfinanceiro.controllers.AuthControllerTest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// Porta real: o X-Forwarded-For é resolvido pelo Tomcat, que o MockMvc não passa
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // O mesmo de application-prod.properties
+        "server.forward-headers-strategy=native",
+        "login.limite.ip.capacidade=1",
+        "login.limite.ip.intervalo=1h"
+})
+@ActiveProfiles("test")
+class LimiteTentativasLoginIntegrationTest {
+
+    @LocalServerPort
+    private int porta;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void deveLimitarCadaClienteAtrasDoProxyPeloProprioIp() throws Exception {
+        // As duas conexões vêm de 127.0.0.1, como as do proxy; só o X-Forwarded-For separa os clientes
+        assertNotEquals(429, login("203.0.113.10", "ana@gmail.com").statusCode());
+        assertEquals(429, login("203.0.113.10", "ana@gmail.com").statusCode());
+
+        assertNotEquals(429, login("203.0.113.20", "bruno@gmail.com").statusCode());
+    }
+
+    private HttpResponse<String> login(String ipCliente, String email) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", ipCliente)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"senhaErrada\"}"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
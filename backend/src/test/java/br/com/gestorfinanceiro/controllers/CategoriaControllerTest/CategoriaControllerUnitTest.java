@@ -2,7 +2,6 @@ package br.com.gestorfinanceiro.controllers.CategoriaControllerTest;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -17,8 +16,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
-import jakarta.servlet.http.HttpServletRequest;
-
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,12 +24,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.security.UserIdArgumentResolver;
 import br.com.gestorfinanceiro.controller.CategoriaController;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaCreateDTO;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaDTO;
@@ -54,12 +54,6 @@ class CategoriaControllerUnitTest {
     @Mock
     private Mapper<CategoriaEntity, CategoriaDTO> categoriaMapper;
 
-    @Mock
-    private JwtUtil jwtUtil;
-
-    @Mock
-    private HttpServletRequest request;
-
     @InjectMocks
     private CategoriaController categoriaController;
 
@@ -71,10 +65,15 @@ class CategoriaControllerUnitTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(categoriaController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(categoriaController)
+                .setCustomArgumentResolvers(new UserIdArgumentResolver()).build();
         // Configuração comum para os mocks
-        lenient().when(request.getHeader(authorizationHeader)).thenReturn(bearerToken);
-        lenient().when(jwtUtil.extractUserId(validToken)).thenReturn(userId);
+        TestDataUtil.autenticarUsuario(userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     private UserEntity createUserEntity(String userId) {
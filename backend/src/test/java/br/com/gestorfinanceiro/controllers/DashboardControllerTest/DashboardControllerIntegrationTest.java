@@ -28,6 +28,7 @@ import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import jakarta.transaction.Transactional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -70,6 +71,9 @@ class DashboardControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
     private UserEntity user;
     private String authHeader;
 
@@ -144,6 +148,9 @@ class DashboardControllerIntegrationTest {
         receita1.setObservacoes("Pagamento mensal");  // Campo obrigatório
         receita1.setUser(user);
         receitaRepository.save(receita1);
+
+        // Os dados entram direto pelos repositórios, então resumo_mensal é refeita a partir deles
+        resumoMensalService.reconstruir();
     }
 
     @Test
@@ -272,6 +279,32 @@ class DashboardControllerIntegrationTest {
         }
     }
 
+    @Nested
+    class ResumoTest {
+        @Test
+        void deveRetornarResumoCompletoDoMes() throws Exception {
+            mockMvc.perform(get("/dashboard/resumo")
+                    .param("periodo", PERIODO_TESTE.toString())
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.periodo").value(PERIODO_TESTE.toString()))
+                    .andExpect(jsonPath("$.saldoTotal").value(VALOR_RECEITA.subtract(VALOR_DESPESA).doubleValue()))
+                    .andExpect(jsonPath("$.despesaTotal").value(VALOR_DESPESA.doubleValue()))
+                    .andExpect(jsonPath("$.receitaTotal").value(VALOR_RECEITA.doubleValue()))
+                    .andExpect(jsonPath("$.maiorDespesa.categoria").value(CATEGORIA_DESPESA))
+                    .andExpect(jsonPath("$.maiorReceita.categoria").value(CATEGORIA_RECEITA))
+                    .andExpect(jsonPath("$.categoriaMaiorDespesa." + CATEGORIA_DESPESA).value(VALOR_DESPESA.doubleValue()))
+                    .andExpect(jsonPath("$.categoriaMaiorReceita." + CATEGORIA_RECEITA).value(VALOR_RECEITA.doubleValue()));
+        }
+
+        @Test
+        void deveRetornarUnauthorizedSemToken() throws Exception {
+            mockMvc.perform(get("/dashboard/resumo")
+                    .param("periodo", PERIODO_TESTE.toString()))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
     @Nested
     class AutorizacaoTest {
         private UserEntity outroUsuario;
@@ -6,10 +6,13 @@ import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.services.DashboardService;
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.security.UserIdArgumentResolver;
+import br.com.gestorfinanceiro.dto.dashboard.DashboardResumoDTO;
 import br.com.gestorfinanceiro.mappers.Mapper;
 
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -29,9 +32,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.UUID;
-
 import java.util.Map;
+import java.util.UUID;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,9 +57,6 @@ class DashboardControllerUnitTest {
     @Mock
     private Mapper<ReceitaEntity, ReceitaDTO> receitaMapper;
 
-    @Mock
-    private JwtUtil jwtUtil;
-
     @InjectMocks
     private DashboardController dashboardController;
 
@@ -77,6 +76,7 @@ class DashboardControllerUnitTest {
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
         mockMvc = MockMvcBuilders.standaloneSetup(dashboardController)
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .build();
 
@@ -117,7 +117,8 @@ class DashboardControllerUnitTest {
 
     @AfterEach
     void tearDown() {
-        Mockito.reset(jwtUtil, dashboardService, despesaMapper, receitaMapper);
+        Mockito.reset(dashboardService, despesaMapper, receitaMapper);
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -130,7 +131,7 @@ class DashboardControllerUnitTest {
         @Test
         void deveRetornarSaldoTotal() throws Exception {
             BigDecimal saldo = BigDecimal.valueOf(2500);
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(dashboardService.getSaldoTotal(user.getUuid(), periodo)).thenReturn(saldo);
 
             mockMvc.perform(get("/dashboard/saldo-total")
@@ -151,7 +152,7 @@ class DashboardControllerUnitTest {
 
     @Test
     void deveRetornarNotFoundQuandoNaoExistirDespesa() throws Exception {
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
         when(dashboardService.getMaiorDespesa(user.getUuid(), periodo)).thenReturn(null);
 
         mockMvc.perform(get("/dashboard/maior-despesa")
@@ -162,7 +163,7 @@ class DashboardControllerUnitTest {
 
     @Test
     void deveRetornarNotFoundQuandoNaoExistirReceita() throws Exception {
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
         when(dashboardService.getMaiorReceita(user.getUuid(), periodo)).thenReturn(null);
 
         mockMvc.perform(get("/dashboard/maior-receita")
@@ -171,13 +172,44 @@ class DashboardControllerUnitTest {
             .andExpect(status().isNotFound());
     }
 
+    @Nested
+    class ResumoTest {
+        @Test
+        void deveRetornarResumoDoMes() throws Exception {
+            DashboardResumoDTO resumo = new DashboardResumoDTO(periodo, BigDecimal.valueOf(2500),
+                    BigDecimal.valueOf(500), BigDecimal.valueOf(3000), despesaDTO, receitaDTO,
+                    Map.of("Alimentação", BigDecimal.valueOf(500)), Map.of("Salário", BigDecimal.valueOf(3000)));
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(dashboardService.getResumo(user.getUuid(), periodo)).thenReturn(resumo);
+
+            mockMvc.perform(get("/dashboard/resumo")
+                    .param("periodo", periodo.toString())
+                    .header("Authorization", "Bearer token_valido"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldoTotal").value(2500))
+                .andExpect(jsonPath("$.despesaTotal").value(500))
+                .andExpect(jsonPath("$.receitaTotal").value(3000))
+                .andExpect(jsonPath("$.maiorDespesa.valor").value(despesaDTO.getValor().doubleValue()))
+                .andExpect(jsonPath("$.categoriaMaiorReceita.Salário").value(3000));
+        }
+
+        @Test
+        void deveRetornarUnauthorizedSemUsuarioAutenticado() throws Exception {
+            mockMvc.perform(get("/dashboard/resumo")
+                    .param("periodo", periodo.toString()))
+                .andExpect(status().isUnauthorized());
+
+            verify(dashboardService, never()).getResumo(anyString(), any());
+        }
+    }
+
     @Nested
     class CategoriaMaiorDespesaTest {
         @Test
         void deveRetornarCategoriaComMaiorDespesa() throws Exception {
             Map<String, BigDecimal> categoria = Map.of("ALIMENTACAO", BigDecimal.valueOf(1000));
             
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(dashboardService.getCategoriaComMaiorDespesa(user.getUuid(), periodo)).thenReturn(categoria);
 
             mockMvc.perform(get("/dashboard/categoria-maior-despesa")
@@ -194,7 +226,7 @@ class DashboardControllerUnitTest {
         void deveRetornarTotalDespesas() throws Exception {
             BigDecimal totalDespesas = BigDecimal.valueOf(1500);
             
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(dashboardService.calcularTotalDespesasNoMes(user.getUuid(), periodo)).thenReturn(totalDespesas);
 
             mockMvc.perform(get("/dashboard/despesa-total")
@@ -212,7 +244,7 @@ class DashboardControllerUnitTest {
         void deveRetornarTotalReceitas() throws Exception {
             BigDecimal totalReceitas = BigDecimal.valueOf(4000);
             
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(dashboardService.calcularTotalReceitasNoMes(user.getUuid(), periodo)).thenReturn(totalReceitas);
 
             mockMvc.perform(get("/dashboard/receita-total")
@@ -225,16 +257,15 @@ class DashboardControllerUnitTest {
     }
 
     @Test
-    void deveExtrairTokenCorretamente() throws Exception {
+    void deveUsarUsuarioAutenticado() throws Exception {
         String expectedToken = "token_esperado";
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
         when(dashboardService.getSaldoTotal(any(), any())).thenReturn(BigDecimal.ZERO);
         
         mockMvc.perform(get("/dashboard/saldo-total")
                 .param("periodo", periodo.toString())
                 .header("Authorization", "Bearer " + expectedToken));
 
-        verify(jwtUtil).extractUserId(expectedToken);
         verify(dashboardService).getSaldoTotal(user.getUuid(), periodo);
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package br.com.gestorfinanceiro.controllers.DespesaControllerTest;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaUpdateDTO;
 import br.com.gestorfinanceiro.dto.user.LoginDTO;
@@ -33,6 +35,7 @@ import br.com.gestorfinanceiro.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -137,6 +140,59 @@ class DespesaControllerIntegrationTest {
         }
     }
 
+    @Nested
+    class ImportarLoteTest {
+        @Test
+        void deveImportarTodasAsLinhasDoLote() throws Exception {
+            List<DespesaCreateDTO> lote = List.of(
+                    criarDespesaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 1, 10), CATEGORIA_PADRAO),
+                    criarDespesaCreateDTO(VALOR_ATUALIZADO, LocalDate.of(2025, 2, 10), CATEGORIA_PADRAO),
+                    criarDespesaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 3, 10), CATEGORIA_PADRAO));
+
+            mockMvc.perform(post("/despesas/lote")
+                    .header("Authorization", authHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(lote)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.recebidas").value(3))
+                    .andExpect(jsonPath("$.importadas").value(3))
+                    .andExpect(jsonPath("$.erros", hasSize(0)));
+
+            assertEquals(3, despesaRepository.findAllByUserUuid(user.getUuid()).size());
+        }
+
+        @Test
+        void deveRejeitarLoteInteiroEListarErrosPorLinha() throws Exception {
+            List<DespesaCreateDTO> lote = List.of(
+                    criarDespesaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 1, 10), CATEGORIA_PADRAO),
+                    criarDespesaCreateDTO(VALOR_NEGATIVO, LocalDate.of(2025, 2, 10), CATEGORIA_PADRAO),
+                    criarDespesaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 3, 10), "CategoriaInexistente"));
+
+            mockMvc.perform(post("/despesas/lote")
+                    .header("Authorization", authHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(lote)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.importadas").value(0))
+                    .andExpect(jsonPath("$.erros", hasSize(2)))
+                    .andExpect(jsonPath("$.erros[0].linha").value(2))
+                    .andExpect(jsonPath("$.erros[0].mensagens[0]").value("O valor deve ser maior que zero."))
+                    .andExpect(jsonPath("$.erros[1].linha").value(3))
+                    .andExpect(jsonPath("$.erros[1].mensagens[0]").value("Categoria não encontrada: CategoriaInexistente"));
+
+            assertTrue(despesaRepository.findAllByUserUuid(user.getUuid()).isEmpty());
+        }
+
+        @Test
+        void erroQuandoLoteVazio() throws Exception {
+            mockMvc.perform(post("/despesas/lote")
+                    .header("Authorization", authHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     class ListarDespesasTest {
         @Test
@@ -148,6 +204,101 @@ class DespesaControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(1)));
         }
+
+        @Test
+        void deveLimitarListagemSemParametrosAPaginaPadrao() throws Exception {
+            for (int i = 0; i <= Pagina.LIMITE_PADRAO; i++) {
+                criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 1, 1).plusDays(i));
+            }
+
+            mockMvc.perform(get("/despesas")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(Pagina.LIMITE_PADRAO)))
+                    .andExpect(header().exists(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+    }
+
+    @Nested
+    class PaginacaoTest {
+        @Test
+        void devePercorrerPaginasPeloCursorDoMaisRecenteAoMaisAntigo() throws Exception {
+            DespesaEntity maisRecente = criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 3, 10));
+            DespesaEntity intermediaria = criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 2, 10));
+            DespesaEntity maisAntiga = criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 1, 10));
+
+            MvcResult primeiraPagina = mockMvc.perform(get("/despesas")
+                    .param("limit", "2")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].uuid").value(maisRecente.getUuid()))
+                    .andExpect(jsonPath("$[1].uuid").value(intermediaria.getUuid()))
+                    .andReturn();
+
+            String cursor = primeiraPagina.getResponse().getHeader(Pagina.HEADER_PROXIMO_CURSOR);
+            assertNotNull(cursor);
+
+            mockMvc.perform(get("/despesas")
+                    .param("limit", "2")
+                    .param("cursor", cursor)
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].uuid").value(maisAntiga.getUuid()))
+                    .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void devePaginarBuscaPorIntervaloDeDatas() throws Exception {
+            criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 3, 10));
+            criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 2, 10));
+            criarDespesaNoBanco(VALOR_PADRAO, LocalDate.of(2024, 12, 10));
+
+            mockMvc.perform(get("/despesas/por-intervalo-de-datas")
+                    .param("inicio", "2025-01-01")
+                    .param("fim", "2025-12-31")
+                    .param("limit", "1")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(header().exists(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void devePaginarBuscaPorIntervaloDeValores() throws Exception {
+            criarDespesaNoBanco(BigDecimal.valueOf(50), LocalDate.of(2025, 3, 10));
+            criarDespesaNoBanco(BigDecimal.valueOf(500), LocalDate.of(2025, 2, 10));
+
+            mockMvc.perform(get("/despesas/por-intervalo-de-valores")
+                    .param("min", "10")
+                    .param("max", "100")
+                    .param("limit", "10")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void deveRetornarBadRequestParaCursorInvalido() throws Exception {
+            criarDespesaNoBanco();
+
+            mockMvc.perform(get("/despesas")
+                    .param("cursor", "nao-e-um-cursor")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void deveRetornarBadRequestParaLimiteForaDoIntervalo() throws Exception {
+            criarDespesaNoBanco();
+
+            mockMvc.perform(get("/despesas")
+                    .param("limit", "0")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro.controllers.DespesaControllerTest;
 
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaDTO;
 import br.com.gestorfinanceiro.dto.despesa.DespesaUpdateDTO;
@@ -11,14 +12,22 @@ import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.CategoriaType;
 import br.com.gestorfinanceiro.models.enums.DespesasCategorias;
 import br.com.gestorfinanceiro.services.impl.DespesaServiceImpl;
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.idempotencia.RegistroIdempotencia;
+import br.com.gestorfinanceiro.config.security.UserIdArgumentResolver;
+import br.com.gestorfinanceiro.exceptions.GlobalExceptionHandler;
+import br.com.gestorfinanceiro.exceptions.despesa.DespesaAccessDeniedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import br.com.gestorfinanceiro.mappers.Mapper;
 
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -26,6 +35,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -36,6 +46,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.UUID;
@@ -64,8 +75,10 @@ class DespesaControllerUnitTest {
     @Mock
     private Mapper<DespesaEntity, DespesaDTO> despesaMapper;
 
-    @Mock
-    private JwtUtil jwtUtil;
+    // Registro real em memória: sem Idempotency-Key ele só executa a criação
+    @Spy
+    private RegistroIdempotencia registroIdempotencia =
+            new RegistroIdempotencia(new ObjectMapper().registerModule(new JavaTimeModule()), 100, Duration.ofMinutes(1));
 
     private MockMvc mockMvc;
 
@@ -83,6 +96,7 @@ class DespesaControllerUnitTest {
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     
         mockMvc = MockMvcBuilders.standaloneSetup(despesaController)
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .build();
     
@@ -117,11 +131,25 @@ class DespesaControllerUnitTest {
         despesaDTO.setUuid(UUID.randomUUID().toString());
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void deveCarregarDespesaController() {
         assertNotNull(despesaController, "O DespesaController não deveria ser nulo!");
     }
 
+    // A checagem de dono fica no service; com o GlobalExceptionHandler a exceção vira a resposta 403
+    private MockMvc mockMvcComTratamentoDeErros() {
+        return MockMvcBuilders.standaloneSetup(despesaController)
+                .setControllerAdvice(new GlobalExceptionHandler(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)))
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
     @Nested
     class CriarDespesaTest {
         @Test
@@ -133,7 +161,7 @@ class DespesaControllerUnitTest {
             requestDTO.setObservacoes("Transporte mensal");
             requestDTO.setDestinoPagamento("Uber");
         
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(despesaService.criarDespesa(any(DespesaCreateDTO.class), anyString())).thenReturn(despesa);
             when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
         
@@ -144,6 +172,30 @@ class DespesaControllerUnitTest {
                 .andExpect(status().isCreated());
         }
         
+        @Test
+        void deveRepetirRespostaSemCriarDeNovoComMesmaIdempotencyKey() throws Exception {
+            DespesaCreateDTO requestDTO = new DespesaCreateDTO();
+            requestDTO.setData(LocalDate.now());
+            requestDTO.setCategoria(DespesasCategorias.TRANSPORTE.name());
+            requestDTO.setValor(new BigDecimal("150.50"));
+            requestDTO.setObservacoes("Transporte mensal");
+            requestDTO.setDestinoPagamento("Uber");
+
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(despesaService.criarDespesa(any(DespesaCreateDTO.class), anyString())).thenReturn(despesa);
+            when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
+
+            for (int tentativa = 0; tentativa < 2; tentativa++) {
+                mockMvc.perform(post("/despesas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO))
+                        .header(RegistroIdempotencia.CABECALHO_CHAVE, "chave-1"))
+                    .andExpect(status().isCreated());
+            }
+
+            verify(despesaService, times(1)).criarDespesa(any(DespesaCreateDTO.class), anyString());
+        }
+
         @Test
         void deveRetornarBadRequestParaCriacaoInvalida() throws Exception {
             DespesaCreateDTO requestDTO = new DespesaCreateDTO();
@@ -156,7 +208,7 @@ class DespesaControllerUnitTest {
         }        
 
         @Test
-        void deveExtrairTokenCorretamente() throws Exception {
+        void deveUsarUsuarioAutenticado() throws Exception {
             DespesaCreateDTO requestDTO = new DespesaCreateDTO();
             requestDTO.setData(LocalDate.now());
             requestDTO.setCategoria(DespesasCategorias.LAZER.name());
@@ -165,7 +217,7 @@ class DespesaControllerUnitTest {
             requestDTO.setDestinoPagamento("Shopping");
 
             String expectedToken = "token_esperado";
-            when(jwtUtil.extractUserId(expectedToken)).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(despesaService.criarDespesa(any(DespesaCreateDTO.class), anyString())).thenReturn(despesa);
             when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
 
@@ -174,22 +226,57 @@ class DespesaControllerUnitTest {
                     .content(objectMapper.writeValueAsString(requestDTO))
                     .header("Authorization", "Bearer " + expectedToken));
 
-            verify(jwtUtil).extractUserId(expectedToken);
+            verify(despesaService).criarDespesa(any(DespesaCreateDTO.class), eq(user.getUuid()));
         }
     }
 
     @Nested
     class ListarDespesasTest {
         @Test
-        void deveListarDespesas() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(despesaService.listarDespesasUsuario(anyString())).thenReturn(List.of(despesa));
+        void deveListarDespesasNaPaginaPadraoSemParametros() throws Exception {
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(despesaService.listarDespesasUsuario(user.getUuid(), null, Pagina.LIMITE_PADRAO))
+                    .thenReturn(new Pagina<>(List.of(despesa), "proximo"));
             when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
 
             mockMvc.perform(MockMvcRequestBuilders.get("/despesas")
                     .header("Authorization", "Bearer token_exemplo"))
                 .andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor").value(100));
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor").value(100))
+                .andExpect(MockMvcResultMatchers.header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"));
+        }
+
+        @Test
+        void deveBuscarPorIntervaloDeDatasNaPaginaPadraoSemLimite() throws Exception {
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            LocalDate inicio = LocalDate.of(2025, 1, 1);
+            LocalDate fim = LocalDate.of(2025, 12, 31);
+            when(despesaService.buscarDespesasPorIntervaloDeDatas(user.getUuid(), inicio, fim, null, Pagina.LIMITE_PADRAO))
+                    .thenReturn(new Pagina<>(List.of(despesa), null));
+            when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/despesas/por-intervalo-de-datas")
+                    .param("inicio", "2025-01-01")
+                    .param("fim", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor").value(100))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void deveBuscarPorIntervaloDeValoresNaPaginaPadraoSemLimite() throws Exception {
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            BigDecimal min = BigDecimal.valueOf(10);
+            BigDecimal max = BigDecimal.valueOf(10000);
+            when(despesaService.buscarDespesasPorIntervaloDeValores(user.getUuid(), min, max, null, Pagina.LIMITE_PADRAO))
+                    .thenReturn(new Pagina<>(List.of(despesa), "proximo"));
+            when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/despesas/por-intervalo-de-valores")
+                    .param("min", "10")
+                    .param("max", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"));
         }
     }
 
@@ -197,7 +284,7 @@ class DespesaControllerUnitTest {
     class BuscarDespesaPorIdTest {
         @Test
         void deveBuscarDespesaPorId() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(despesaService.buscarDespesaPorId(anyString())).thenReturn(despesa);
             when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
 
@@ -219,7 +306,7 @@ class DespesaControllerUnitTest {
             outraDespesa.setUser(outroUser);
         
             when(despesaService.buscarDespesaPorId(anyString())).thenReturn(outraDespesa);
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
         
             mockMvc.perform(get("/despesas/" + outraDespesa.getUuid())
                     .header("Authorization", "Bearer token_exemplo"))
@@ -240,9 +327,8 @@ class DespesaControllerUnitTest {
             requestDTO.setDestinoPagamento("Imobiliária XYZ");
         
             // 2. Configura os mocks
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(despesaService.buscarDespesaPorId(despesa.getUuid())).thenReturn(despesa);
-            when(despesaService.atualizarDespesa(eq(despesa.getUuid()), any(DespesaUpdateDTO.class)))
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(despesaService.atualizarDespesa(eq(despesa.getUuid()), eq(user.getUuid()), any(DespesaUpdateDTO.class), any()))
                 .thenReturn(despesa);
             when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
         
@@ -254,8 +340,30 @@ class DespesaControllerUnitTest {
                 .andExpect(status().isOk());
             
             // 4. Verifica as interações
-            verify(despesaService).buscarDespesaPorId(despesa.getUuid());
-            verify(despesaService).atualizarDespesa(eq(despesa.getUuid()), any(DespesaUpdateDTO.class));
+            verify(despesaService).atualizarDespesa(eq(despesa.getUuid()), eq(user.getUuid()), any(DespesaUpdateDTO.class), any());
+        }
+
+        @Test
+        void devePassarVersaoDoIfMatchParaOService() throws Exception {
+            DespesaUpdateDTO requestDTO = new DespesaUpdateDTO();
+            requestDTO.setData(LocalDate.now());
+            requestDTO.setCategoria(DespesasCategorias.MORADIA.name());
+            requestDTO.setValor(new BigDecimal("1250.00"));
+            requestDTO.setObservacoes("Aluguel atualizado");
+            requestDTO.setDestinoPagamento("Imobiliária XYZ");
+
+            despesa.setVersao(4L);
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(despesaService.atualizarDespesa(eq(despesa.getUuid()), eq(user.getUuid()), any(DespesaUpdateDTO.class), eq(3L)))
+                .thenReturn(despesa);
+            when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
+
+            mockMvc.perform(put("/despesas/" + despesa.getUuid())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(requestDTO))
+                    .header("If-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"4\""));
         }
     
         @Test
@@ -274,10 +382,11 @@ class DespesaControllerUnitTest {
             dtoCompleto.setObservacoes("Observação obrigatória");
             dtoCompleto.setDestinoPagamento("Mercado");
         
-            when(despesaService.buscarDespesaPorId(anyString())).thenReturn(outraDespesa);
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            when(despesaService.atualizarDespesa(eq(outraDespesa.getUuid()), eq(user.getUuid()), any(DespesaUpdateDTO.class), any()))
+                .thenThrow(new DespesaAccessDeniedException(outraDespesa.getUuid()));
+            TestDataUtil.autenticarUsuario(user.getUuid());
         
-            mockMvc.perform(put("/despesas/" + outraDespesa.getUuid())
+            mockMvcComTratamentoDeErros().perform(put("/despesas/" + outraDespesa.getUuid())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(dtoCompleto))
                     .header("Authorization", "Bearer token_exemplo"))
@@ -289,15 +398,14 @@ class DespesaControllerUnitTest {
     class ExcluirDespesaTest {
         @Test
         void deveExcluirDespesa() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(despesaService.buscarDespesaPorId(anyString())).thenReturn(despesa);
-            doNothing().when(despesaService).excluirDespesa(anyString());
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            doNothing().when(despesaService).excluirDespesa(anyString(), anyString());
             
             mockMvc.perform(delete("/despesas/" + despesa.getUuid())
                     .header("Authorization", "Bearer token_valido"))
                 .andExpect(status().isNoContent());
 
-            verify(despesaService).excluirDespesa(despesa.getUuid());
+            verify(despesaService).excluirDespesa(despesa.getUuid(), user.getUuid());
         }
 
         @Test
@@ -309,10 +417,10 @@ class DespesaControllerUnitTest {
             outraDespesa.setUuid("outra-despesa-id");
             outraDespesa.setUser(outroUser);
     
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(despesaService.buscarDespesaPorId("outra-despesa-id")).thenReturn(outraDespesa);
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            doThrow(new DespesaAccessDeniedException("outra-despesa-id")).when(despesaService).excluirDespesa("outra-despesa-id", user.getUuid());
     
-            mockMvc.perform(delete("/despesas/outra-despesa-id")
+            mockMvcComTratamentoDeErros().perform(delete("/despesas/outra-despesa-id")
                     .header("Authorization", "Bearer token_valido"))
                 .andExpect(status().isForbidden());
         }
@@ -327,7 +435,7 @@ class DespesaControllerUnitTest {
         requestDTO.setObservacoes("Transporte mensal");
         requestDTO.setDestinoPagamento("Uber");
     
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
         when(despesaService.criarDespesa(any(DespesaCreateDTO.class), anyString())).thenReturn(despesa);
         when(despesaMapper.mapTo(any(DespesaEntity.class))).thenReturn(despesaDTO);
     
@@ -401,7 +509,7 @@ class DespesaControllerUnitTest {
         despesaOutroUsuario.setUuid("123");
         despesaOutroUsuario.setUser(outroUser);
 
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid()); // Usuário logado
+        TestDataUtil.autenticarUsuario(user.getUuid()); // Usuário logado
         when(despesaService.buscarDespesaPorId("123")).thenReturn(despesaOutroUsuario);
         
         mockMvc.perform(get("/despesas/123")
@@ -413,7 +521,7 @@ class DespesaControllerUnitTest {
     class RelatoriosTest {
         @Test
         void gerarGraficoBarras_DeveRetornarOk() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             
             when(despesaService.gerarGraficoBarras(anyString(), any(), any()))
                 .thenReturn(new GraficoBarraDTO(Map.of("Janeiro", BigDecimal.TEN)));
@@ -444,7 +552,7 @@ class DespesaControllerUnitTest {
             YearMonth fim = YearMonth.of(2023, 12);
             GraficoBarraDTO graficoMock = new GraficoBarraDTO(Map.of("Janeiro", BigDecimal.valueOf(1500)));
 
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(despesaService.gerarGraficoBarras(anyString(), any(YearMonth.class), any(YearMonth.class)))
                 .thenReturn(graficoMock);
 
@@ -493,7 +601,7 @@ class DespesaControllerUnitTest {
             YearMonth data = YearMonth.of(2023, 6);
             GraficoBarraDTO graficoMock = new GraficoBarraDTO(Map.of("Junho", BigDecimal.valueOf(1200)));
 
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(despesaService.gerarGraficoBarras(anyString(), any(YearMonth.class), any(YearMonth.class)))
                 .thenReturn(graficoMock);
 
@@ -511,7 +619,7 @@ class DespesaControllerUnitTest {
             YearMonth fim = YearMonth.of(2023, 3);
             GraficoBarraDTO graficoMock = new GraficoBarraDTO(new HashMap<>());
 
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(despesaService.gerarGraficoBarras(anyString(), any(YearMonth.class), any(YearMonth.class)))
                 .thenReturn(graficoMock);
 
@@ -535,9 +643,10 @@ class DespesaControllerUnitTest {
         YearMonth inicio = YearMonth.of(2023, 12);
         YearMonth fim = YearMonth.of(2023, 1);
         
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
     
         mockMvc = MockMvcBuilders.standaloneSetup(despesaController)
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .build();
     
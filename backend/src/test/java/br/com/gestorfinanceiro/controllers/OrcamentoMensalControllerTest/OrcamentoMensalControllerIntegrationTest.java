@@ -1,6 +1,7 @@
 package br.com.gestorfinanceiro.controllers.OrcamentoMensalControllerTest;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Map;
 import java.util.UUID;
@@ -26,11 +27,13 @@ import br.com.gestorfinanceiro.controller.OrcamentoMensalController.OrcamentoMen
 import br.com.gestorfinanceiro.dto.orcamentomensal.OrcamentoMensalDTO;
 import br.com.gestorfinanceiro.dto.user.LoginDTO;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.OrcamentoMensalEntity;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.CategoriaType;
 import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.OrcamentoMensalRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import jakarta.transaction.Transactional;
@@ -67,6 +70,9 @@ class OrcamentoMensalControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DespesaRepository despesaRepository;
+
     @Autowired
     private CategoriaRepository categoriaRepository;
 
@@ -98,6 +104,7 @@ class OrcamentoMensalControllerIntegrationTest {
     }
 
     private void limparBaseDeDados() {
+        despesaRepository.deleteAllInBatch();
         orcamentoMensalRepository.deleteAllInBatch();
         categoriaRepository.deleteAllInBatch();
         userRepository.deleteAllInBatch();
@@ -160,6 +167,57 @@ class OrcamentoMensalControllerIntegrationTest {
         }
     }
 
+    @Nested
+    class ConsumoOrcamentoTest {
+        @Test
+        void deveCalcularGastoRestanteEPercentualDeCadaOrcamento() throws Exception {
+            criarOrcamentoNoBanco();
+            criarOrcamentoNoBanco("Transporte", BigDecimal.valueOf(200), PERIODO_PADRAO);
+            criarDespesaNoBanco(CATEGORIA_PADRAO, BigDecimal.valueOf(150), PERIODO_PADRAO.atDay(1));
+            criarDespesaNoBanco(CATEGORIA_PADRAO, BigDecimal.valueOf(100), PERIODO_PADRAO.atEndOfMonth());
+            // Fora do período, não entra na soma
+            criarDespesaNoBanco(CATEGORIA_PADRAO, BigDecimal.valueOf(999), PERIODO_PADRAO.plusMonths(1).atDay(1));
+
+            mockMvc.perform(get("/orcamento-mensal/consumo/" + PERIODO_PADRAO)
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].categoria").value(CATEGORIA_PADRAO))
+                    .andExpect(jsonPath("$[0].gasto").value(250))
+                    .andExpect(jsonPath("$[0].restante").value(750))
+                    .andExpect(jsonPath("$[0].percentualUsado").value(25.0))
+                    .andExpect(jsonPath("$[1].categoria").value("Transporte"))
+                    .andExpect(jsonPath("$[1].gasto").value(0))
+                    .andExpect(jsonPath("$[1].restante").value(200))
+                    .andExpect(jsonPath("$[1].percentualUsado").value(0.0));
+        }
+
+        @Test
+        void deveRefletirNovaDespesaNoConsumo() throws Exception {
+            criarOrcamentoNoBanco();
+            criarDespesaNoBanco(CATEGORIA_PADRAO, BigDecimal.valueOf(400), PERIODO_PADRAO.atDay(1));
+
+            mockMvc.perform(get("/orcamento-mensal/consumo/" + PERIODO_PADRAO)
+                    .header("Authorization", authHeader))
+                    .andExpect(jsonPath("$[0].gasto").value(400));
+
+            criarDespesaNoBanco(CATEGORIA_PADRAO, BigDecimal.valueOf(700), PERIODO_PADRAO.atDay(2));
+
+            mockMvc.perform(get("/orcamento-mensal/consumo/" + PERIODO_PADRAO)
+                    .header("Authorization", authHeader))
+                    .andExpect(jsonPath("$[0].gasto").value(1100))
+                    .andExpect(jsonPath("$[0].restante").value(-100))
+                    .andExpect(jsonPath("$[0].percentualUsado").value(110.0));
+        }
+
+        @Test
+        void erroAoCalcularConsumoSemOrcamentos() throws Exception {
+            mockMvc.perform(get("/orcamento-mensal/consumo/" + PERIODO_PADRAO)
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
     @Nested
     class BuscarOrcamentoPorIdTest {
         @Test
@@ -444,7 +502,7 @@ class OrcamentoMensalControllerIntegrationTest {
         @Test
         void quandoTokenAusente_DeveRetornarErro() throws Exception {
             mockMvc.perform(get("/orcamento-mensal"))
-                .andExpect(status().isInternalServerError()) // Muda de isBadRequest()
+                .andExpect(status().isUnauthorized())
                 .andExpect(content().string(containsString("Token JWT inválido ou ausente")));
         }
 
@@ -452,7 +510,7 @@ class OrcamentoMensalControllerIntegrationTest {
         void quandoTokenInvalido_DeveRetornarErro() throws Exception {
             mockMvc.perform(get("/orcamento-mensal")
                     .header("Authorization", "TokenInvalido"))
-                .andExpect(status().isInternalServerError()) // Muda de isBadRequest()
+                .andExpect(status().isUnauthorized())
                 .andExpect(content().string(containsString("Token JWT inválido ou ausente")));
         }
     }
@@ -502,6 +560,20 @@ class OrcamentoMensalControllerIntegrationTest {
         return orcamentoMensalRepository.save(orcamento);
     }
 
+    private DespesaEntity criarDespesaNoBanco(String categoriaNome, BigDecimal valor, LocalDate data) {
+        CategoriaEntity categoria = criarCategoriaTest(categoriaNome, user);
+
+        DespesaEntity despesa = new DespesaEntity();
+        despesa.setData(data);
+        despesa.setValor(valor);
+        despesa.setDestinoPagamento("Mercado");
+        despesa.setObservacoes("Compras");
+        despesa.setCategoria(categoria);
+        despesa.setUser(user);
+
+        return despesaRepository.save(despesa);
+    }
+
     private OrcamentoMensalDTO criarOrcamentoMensalDTO() {
         OrcamentoMensalDTO dto = new OrcamentoMensalDTO();
         dto.setCategoria(CATEGORIA_PADRAO);
@@ -3,6 +3,7 @@ package br.com.gestorfinanceiro.controllers.ReceitaControllerTest;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.receita.ReceitaCreateDTO;
 import br.com.gestorfinanceiro.dto.receita.ReceitaUpdateDTO;
 import br.com.gestorfinanceiro.dto.user.LoginDTO;
@@ -33,6 +35,7 @@ import br.com.gestorfinanceiro.repositories.UserRepository;
 import jakarta.transaction.Transactional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -136,6 +139,59 @@ class ReceitaControllerIntegrationTest {
         }
     }
 
+    @Nested
+    class ImportarLoteTest {
+        @Test
+        void deveImportarTodasAsLinhasDoLote() throws Exception {
+            List<ReceitaCreateDTO> lote = List.of(
+                    criarReceitaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 1, 10), CATEGORIA_PADRAO),
+                    criarReceitaCreateDTO(VALOR_ATUALIZADO, LocalDate.of(2025, 2, 10), CATEGORIA_PADRAO),
+                    criarReceitaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 3, 10), CATEGORIA_PADRAO));
+
+            mockMvc.perform(post("/receitas/lote")
+                    .header("Authorization", authHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(lote)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.recebidas").value(3))
+                    .andExpect(jsonPath("$.importadas").value(3))
+                    .andExpect(jsonPath("$.erros", hasSize(0)));
+
+            assertEquals(3, receitaRepository.findAllByUserUuid(user.getUuid()).size());
+        }
+
+        @Test
+        void deveRejeitarLoteInteiroEListarErrosPorLinha() throws Exception {
+            List<ReceitaCreateDTO> lote = List.of(
+                    criarReceitaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 1, 10), CATEGORIA_PADRAO),
+                    criarReceitaCreateDTO(VALOR_NEGATIVO, LocalDate.of(2025, 2, 10), CATEGORIA_PADRAO),
+                    criarReceitaCreateDTO(VALOR_PADRAO, LocalDate.of(2025, 3, 10), "CategoriaInexistente"));
+
+            mockMvc.perform(post("/receitas/lote")
+                    .header("Authorization", authHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(lote)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.importadas").value(0))
+                    .andExpect(jsonPath("$.erros", hasSize(2)))
+                    .andExpect(jsonPath("$.erros[0].linha").value(2))
+                    .andExpect(jsonPath("$.erros[0].mensagens[0]").value("O valor deve ser maior que zero."))
+                    .andExpect(jsonPath("$.erros[1].linha").value(3))
+                    .andExpect(jsonPath("$.erros[1].mensagens[0]").value("Categoria não encontrada: CategoriaInexistente"));
+
+            assertTrue(receitaRepository.findAllByUserUuid(user.getUuid()).isEmpty());
+        }
+
+        @Test
+        void erroQuandoLoteVazio() throws Exception {
+            mockMvc.perform(post("/receitas/lote")
+                    .header("Authorization", authHeader)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     class ListarReceitasTest {
         @Test
@@ -147,6 +203,101 @@ class ReceitaControllerIntegrationTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(1)));
         }
+
+        @Test
+        void deveLimitarListagemSemParametrosAPaginaPadrao() throws Exception {
+            for (int i = 0; i <= Pagina.LIMITE_PADRAO; i++) {
+                criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 1, 1).plusDays(i));
+            }
+
+            mockMvc.perform(get("/receitas")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(Pagina.LIMITE_PADRAO)))
+                    .andExpect(header().exists(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+    }
+
+    @Nested
+    class PaginacaoTest {
+        @Test
+        void devePercorrerPaginasPeloCursorDoMaisRecenteAoMaisAntigo() throws Exception {
+            ReceitaEntity maisRecente = criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 3, 10));
+            ReceitaEntity intermediaria = criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 2, 10));
+            ReceitaEntity maisAntiga = criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 1, 10));
+
+            MvcResult primeiraPagina = mockMvc.perform(get("/receitas")
+                    .param("limit", "2")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].uuid").value(maisRecente.getUuid()))
+                    .andExpect(jsonPath("$[1].uuid").value(intermediaria.getUuid()))
+                    .andReturn();
+
+            String cursor = primeiraPagina.getResponse().getHeader(Pagina.HEADER_PROXIMO_CURSOR);
+            assertNotNull(cursor);
+
+            mockMvc.perform(get("/receitas")
+                    .param("limit", "2")
+                    .param("cursor", cursor)
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].uuid").value(maisAntiga.getUuid()))
+                    .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void devePaginarBuscaPorIntervaloDeDatas() throws Exception {
+            criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 3, 10));
+            criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2025, 2, 10));
+            criarReceitaNoBanco(VALOR_PADRAO, LocalDate.of(2024, 12, 10));
+
+            mockMvc.perform(get("/receitas/por-intervalo-de-datas")
+                    .param("inicio", "2025-01-01")
+                    .param("fim", "2025-12-31")
+                    .param("limit", "1")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(header().exists(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void devePaginarBuscaPorIntervaloDeValores() throws Exception {
+            criarReceitaNoBanco(BigDecimal.valueOf(50), LocalDate.of(2025, 3, 10));
+            criarReceitaNoBanco(BigDecimal.valueOf(500), LocalDate.of(2025, 2, 10));
+
+            mockMvc.perform(get("/receitas/por-intervalo-de-valores")
+                    .param("min", "10")
+                    .param("max", "100")
+                    .param("limit", "10")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void deveRetornarBadRequestParaCursorInvalido() throws Exception {
+            criarReceitaNoBanco();
+
+            mockMvc.perform(get("/receitas")
+                    .param("cursor", "nao-e-um-cursor")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void deveRetornarBadRequestParaLimiteForaDoIntervalo() throws Exception {
+            criarReceitaNoBanco();
+
+            mockMvc.perform(get("/receitas")
+                    .param("limit", "0")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
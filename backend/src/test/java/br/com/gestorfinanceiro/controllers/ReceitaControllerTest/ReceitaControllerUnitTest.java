@@ -1,12 +1,15 @@
 package br.com.gestorfinanceiro.controllers.ReceitaControllerTest;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -14,9 +17,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
-import br.com.gestorfinanceiro.config.security.JwtUtil;
+import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.idempotencia.RegistroIdempotencia;
+import br.com.gestorfinanceiro.config.security.UserIdArgumentResolver;
+import br.com.gestorfinanceiro.exceptions.GlobalExceptionHandler;
+import br.com.gestorfinanceiro.exceptions.receita.ReceitaAccessDeniedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import br.com.gestorfinanceiro.controller.ReceitaController;
 import br.com.gestorfinanceiro.dto.receita.ReceitaDTO;
+import br.com.gestorfinanceiro.dto.common.Pagina;
 import br.com.gestorfinanceiro.dto.receita.ReceitaCreateDTO;
 import br.com.gestorfinanceiro.dto.receita.ReceitaUpdateDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
@@ -37,6 +47,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.UUID;
@@ -63,8 +74,10 @@ class ReceitaControllerUnitTest {
     @Mock
     private Mapper<ReceitaEntity, ReceitaDTO> receitaMapper;
 
-    @Mock
-    private JwtUtil jwtUtil;
+    // Registro real em memória: sem Idempotency-Key ele só executa a criação
+    @Spy
+    private RegistroIdempotencia registroIdempotencia =
+            new RegistroIdempotencia(new ObjectMapper().registerModule(new JavaTimeModule()), 100, Duration.ofMinutes(1));
 
     private MockMvc mockMvc;
 
@@ -82,6 +95,7 @@ class ReceitaControllerUnitTest {
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     
         mockMvc = MockMvcBuilders.standaloneSetup(receitaController)
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .build();
     
@@ -116,11 +130,25 @@ class ReceitaControllerUnitTest {
         receitaDTO.setUuid(UUID.randomUUID().toString());
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void deveCarregarReceitaController() {
         assertNotNull(receitaController, "O ReceitaController não deveria ser nulo!");
     }
 
+    // A checagem de dono fica no service; com o GlobalExceptionHandler a exceção vira a resposta 403
+    private MockMvc mockMvcComTratamentoDeErros() {
+        return MockMvcBuilders.standaloneSetup(receitaController)
+                .setControllerAdvice(new GlobalExceptionHandler(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)))
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
     @Nested
     class CriarReceitaTest {
         @Test
@@ -132,7 +160,7 @@ class ReceitaControllerUnitTest {
             requestDTO.setObservacoes("Trabalho Extra");
             requestDTO.setOrigemDoPagamento("Empresa X");
         
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(receitaService.criarReceita(any(ReceitaCreateDTO.class), anyString())).thenReturn(receita);
             when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
         
@@ -155,7 +183,7 @@ class ReceitaControllerUnitTest {
         }        
 
         @Test
-        void deveExtrairTokenCorretamente() throws Exception {
+        void deveUsarUsuarioAutenticado() throws Exception {
             ReceitaCreateDTO requestDTO = new ReceitaCreateDTO();
             requestDTO.setData(LocalDate.now());
             requestDTO.setCategoria(ReceitasCategorias.RENDIMENTO_DE_INVESTIMENTO.name());
@@ -164,7 +192,7 @@ class ReceitaControllerUnitTest {
             requestDTO.setOrigemDoPagamento("Ações");
 
             String expectedToken = "token_esperado";
-            when(jwtUtil.extractUserId(expectedToken)).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(receitaService.criarReceita(any(ReceitaCreateDTO.class), anyString())).thenReturn(receita);
             when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
 
@@ -173,22 +201,57 @@ class ReceitaControllerUnitTest {
                     .content(objectMapper.writeValueAsString(requestDTO))
                     .header("Authorization", "Bearer " + expectedToken));
 
-            verify(jwtUtil).extractUserId(expectedToken);
+            verify(receitaService).criarReceita(any(ReceitaCreateDTO.class), eq(user.getUuid()));
         }
     }
 
     @Nested
     class ListarReceitasTest {
         @Test
-        void deveListarReceitas() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(receitaService.listarReceitasUsuario(anyString())).thenReturn(List.of(receita));
+        void deveListarReceitasNaPaginaPadraoSemParametros() throws Exception {
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(receitaService.listarReceitasUsuario(user.getUuid(), null, Pagina.LIMITE_PADRAO))
+                    .thenReturn(new Pagina<>(List.of(receita), "proximo"));
             when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
 
             mockMvc.perform(MockMvcRequestBuilders.get("/receitas")
                     .header("Authorization", "Bearer token_exemplo"))
                 .andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor").value(5000));
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor").value(5000))
+                .andExpect(MockMvcResultMatchers.header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"));
+        }
+
+        @Test
+        void deveBuscarPorIntervaloDeDatasNaPaginaPadraoSemLimite() throws Exception {
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            LocalDate inicio = LocalDate.of(2025, 1, 1);
+            LocalDate fim = LocalDate.of(2025, 12, 31);
+            when(receitaService.buscarReceitasPorIntervaloDeDatas(user.getUuid(), inicio, fim, null, Pagina.LIMITE_PADRAO))
+                    .thenReturn(new Pagina<>(List.of(receita), null));
+            when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/receitas/por-intervalo-de-datas")
+                    .param("inicio", "2025-01-01")
+                    .param("fim", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].valor").value(5000))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(Pagina.HEADER_PROXIMO_CURSOR));
+        }
+
+        @Test
+        void deveBuscarPorIntervaloDeValoresNaPaginaPadraoSemLimite() throws Exception {
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            BigDecimal min = BigDecimal.valueOf(10);
+            BigDecimal max = BigDecimal.valueOf(10000);
+            when(receitaService.buscarReceitasPorIntervaloDeValores(user.getUuid(), min, max, null, Pagina.LIMITE_PADRAO))
+                    .thenReturn(new Pagina<>(List.of(receita), "proximo"));
+            when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
+
+            mockMvc.perform(MockMvcRequestBuilders.get("/receitas/por-intervalo-de-valores")
+                    .param("min", "10")
+                    .param("max", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(Pagina.HEADER_PROXIMO_CURSOR, "proximo"));
         }
     }
 
@@ -196,7 +259,7 @@ class ReceitaControllerUnitTest {
     class BuscarReceitaPorIdTest {
         @Test
         void deveBuscarReceitaPorId() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(receitaService.buscarReceitaPorId(anyString())).thenReturn(receita);
             when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
 
@@ -218,7 +281,7 @@ class ReceitaControllerUnitTest {
             outraReceita.setUser(outroUser);
         
             when(receitaService.buscarReceitaPorId(anyString())).thenReturn(outraReceita);
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
         
             mockMvc.perform(get("/receitas/" + outraReceita.getUuid())
                     .header("Authorization", "Bearer token_exemplo"))
@@ -237,9 +300,8 @@ class ReceitaControllerUnitTest {
             requestDTO.setObservacoes("Guardar");
             requestDTO.setOrigemDoPagamento("Governo");
         
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(receitaService.buscarReceitaPorId(receita.getUuid())).thenReturn(receita);
-            when(receitaService.atualizarReceita(eq(receita.getUuid()), any(ReceitaUpdateDTO.class)))
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            when(receitaService.atualizarReceita(eq(receita.getUuid()), eq(user.getUuid()), any(ReceitaUpdateDTO.class), any()))
                 .thenReturn(receita);
             when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
         
@@ -249,8 +311,7 @@ class ReceitaControllerUnitTest {
                     .header("Authorization", "Bearer token_valido"))
                 .andExpect(status().isOk());
             
-            verify(receitaService).buscarReceitaPorId(receita.getUuid());
-            verify(receitaService).atualizarReceita(eq(receita.getUuid()), any(ReceitaUpdateDTO.class));
+            verify(receitaService).atualizarReceita(eq(receita.getUuid()), eq(user.getUuid()), any(ReceitaUpdateDTO.class), any());
         }
     
         @Test
@@ -269,10 +330,11 @@ class ReceitaControllerUnitTest {
             dtoCompleto.setObservacoes("Observação obrigatória");
             dtoCompleto.setOrigemDoPagamento("Empresa");
         
-            when(receitaService.buscarReceitaPorId(anyString())).thenReturn(outraReceita);
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            when(receitaService.atualizarReceita(eq(outraReceita.getUuid()), eq(user.getUuid()), any(ReceitaUpdateDTO.class), any()))
+                .thenThrow(new ReceitaAccessDeniedException(outraReceita.getUuid()));
+            TestDataUtil.autenticarUsuario(user.getUuid());
         
-            mockMvc.perform(put("/receitas/" + outraReceita.getUuid())
+            mockMvcComTratamentoDeErros().perform(put("/receitas/" + outraReceita.getUuid())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(dtoCompleto))
                     .header("Authorization", "Bearer token_exemplo"))
@@ -284,15 +346,14 @@ class ReceitaControllerUnitTest {
     class ExcluirReceitaTest {
         @Test
         void deveExcluirReceita() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(receitaService.buscarReceitaPorId(anyString())).thenReturn(receita);
-            doNothing().when(receitaService).excluirReceita(anyString());
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            doNothing().when(receitaService).excluirReceita(anyString(), anyString());
             
             mockMvc.perform(delete("/receitas/" + receita.getUuid())
                     .header("Authorization", "Bearer token_valido"))
                 .andExpect(status().isNoContent());
 
-            verify(receitaService).excluirReceita(receita.getUuid());
+            verify(receitaService).excluirReceita(receita.getUuid(), user.getUuid());
         }
 
         @Test
@@ -304,10 +365,10 @@ class ReceitaControllerUnitTest {
             outraReceita.setUuid("outra-receita-id");
             outraReceita.setUser(outroUser);
     
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
-            when(receitaService.buscarReceitaPorId("outra-receita-id")).thenReturn(outraReceita);
+            TestDataUtil.autenticarUsuario(user.getUuid());
+            doThrow(new ReceitaAccessDeniedException("outra-receita-id")).when(receitaService).excluirReceita("outra-receita-id", user.getUuid());
     
-            mockMvc.perform(delete("/receitas/outra-receita-id")
+            mockMvcComTratamentoDeErros().perform(delete("/receitas/outra-receita-id")
                     .header("Authorization", "Bearer token_valido"))
                 .andExpect(status().isForbidden());
         }
@@ -322,7 +383,7 @@ class ReceitaControllerUnitTest {
         requestDTO.setObservacoes("Bônus trimestral");
         requestDTO.setOrigemDoPagamento("Empresa");
     
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
         when(receitaService.criarReceita(any(ReceitaCreateDTO.class), anyString())).thenReturn(receita);
         when(receitaMapper.mapTo(any(ReceitaEntity.class))).thenReturn(receitaDTO);
     
@@ -395,7 +456,7 @@ class ReceitaControllerUnitTest {
         receitaOutroUsuario.setUuid("123");
         receitaOutroUsuario.setUser(outroUser);
 
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
         when(receitaService.buscarReceitaPorId("123")).thenReturn(receitaOutroUsuario);
         
         mockMvc.perform(get("/receitas/123")
@@ -407,7 +468,7 @@ class ReceitaControllerUnitTest {
     class RelatoriosTest {
         @Test
         void gerarGraficoBarras_DeveRetornarOk() throws Exception {
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             
             when(receitaService.gerarGraficoBarras(anyString(), any(), any()))
                 .thenReturn(new GraficoBarraDTO(Map.of("Janeiro", BigDecimal.valueOf(5000))));
@@ -438,7 +499,7 @@ class ReceitaControllerUnitTest {
             YearMonth fim = YearMonth.of(2023, 12);
             GraficoBarraDTO graficoMock = new GraficoBarraDTO(Map.of("Janeiro", BigDecimal.valueOf(5000)));
 
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(receitaService.gerarGraficoBarras(anyString(), any(YearMonth.class), any(YearMonth.class)))
                 .thenReturn(graficoMock);
 
@@ -487,7 +548,7 @@ class ReceitaControllerUnitTest {
             YearMonth data = YearMonth.of(2023, 6);
             GraficoBarraDTO graficoMock = new GraficoBarraDTO(Map.of("Junho", BigDecimal.valueOf(5000)));
 
-            when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+            TestDataUtil.autenticarUsuario(user.getUuid());
             when(receitaService.gerarGraficoBarras(anyString(), any(YearMonth.class), any(YearMonth.class)))
                 .thenReturn(graficoMock);
 
@@ -505,9 +566,10 @@ class ReceitaControllerUnitTest {
         YearMonth inicio = YearMonth.of(2023, 12);
         YearMonth fim = YearMonth.of(2023, 1);
         
-        when(jwtUtil.extractUserId(anyString())).thenReturn(user.getUuid());
+        TestDataUtil.autenticarUsuario(user.getUuid());
 
         mockMvc = MockMvcBuilders.standaloneSetup(receitaController)
+                .setCustomArgumentResolvers(new UserIdArgumentResolver())
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .build();
 
@@ -0,0 +1,254 @@
+package br.com.gestorfinanceiro.controllers.TransacaoControllerTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.gestorfinanceiro.dto.user.LoginDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.ReceitaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransacaoControllerIntegrationTest {
+
+    private static final String CATEGORIA_DESPESA = "Alimentacao";
+    private static final String CATEGORIA_RECEITA = "Salario";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private UserEntity user;
+    private String authHeader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        limparBaseDeDados();
+        user = criarUsuarioTest("TestUser", "test@email.com");
+        authHeader = "Bearer " + obterTokenJwt(user.getEmail(), "123456");
+
+        criarDespesaNoBanco(user, LocalDate.of(2025, 1, 10), BigDecimal.valueOf(100), "Mercado", "Compras, do mês");
+        criarDespesaNoBanco(user, LocalDate.of(2025, 3, 5), BigDecimal.valueOf(50), "Farmácia", "Remédio \"genérico\"");
+        criarReceitaNoBanco(user, LocalDate.of(2025, 2, 1), BigDecimal.valueOf(3000), "Empresa", "Salário");
+    }
+
+    private void limparBaseDeDados() {
+        despesaRepository.deleteAllInBatch();
+        receitaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private String obterTokenJwt(String email, String senha) throws Exception {
+        LoginDTO loginDTO = new LoginDTO(email, senha);
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginDTO)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+            new TypeReference<Map<String, String>>() {}).get("token");
+    }
+
+    @Nested
+    class ExportarCsvTest {
+        @Test
+        void deveExportarDespesasEReceitasEmCsv() throws Exception {
+            MvcResult result = mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "csv")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transacoes.csv\""))
+                    .andReturn();
+
+            String[] linhas = result.getResponse().getContentAsString().split("\n");
+
+            assertEquals(4, linhas.length);
+            assertEquals("tipo,uuid,data,valor,categoria,origem_ou_destino,observacoes", linhas[0]);
+            assertTrue(linhas[1].startsWith("DESPESA,"));
+            assertTrue(linhas[1].endsWith(",2025-01-10,100.0000,Alimentacao,Mercado,\"Compras, do mês\""));
+            assertTrue(linhas[2].endsWith(",Farmácia,\"Remédio \"\"genérico\"\"\""));
+            assertTrue(linhas[3].startsWith("RECEITA,"));
+        }
+
+        @Test
+        void deveFiltrarPorIntervaloDeDatas() throws Exception {
+            MvcResult result = mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "csv")
+                    .param("inicio", "2025-02-01")
+                    .param("fim", "2025-03-31")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            String[] linhas = result.getResponse().getContentAsString().split("\n");
+
+            assertEquals(3, linhas.length);
+            assertTrue(linhas[1].contains(",2025-03-05,"));
+            assertTrue(linhas[2].contains(",2025-02-01,"));
+        }
+    }
+
+    @Nested
+    class ExportarNdjsonTest {
+        @Test
+        void deveExportarUmObjetoJsonPorLinha() throws Exception {
+            MvcResult result = mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "ndjson")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn();
+
+            String[] linhas = result.getResponse().getContentAsString().split("\n");
+
+            assertEquals(3, linhas.length);
+            JsonNode receita = objectMapper.readTree(linhas[2]);
+            assertEquals("RECEITA", receita.get("tipo").asText());
+            assertEquals("2025-02-01", receita.get("data").asText());
+            assertEquals(CATEGORIA_RECEITA, receita.get("categoria").asText());
+            assertEquals("Empresa", receita.get("origemOuDestino").asText());
+        }
+
+        @Test
+        void naoDeveExportarTransacoesDeOutroUsuario() throws Exception {
+            UserEntity outroUsuario = criarUsuarioTest("OutroUser", "outro@email.com");
+            criarDespesaNoBanco(outroUsuario, LocalDate.of(2025, 1, 10), BigDecimal.TEN, "Outro", "Outro");
+            String authHeaderOutroUsuario = "Bearer " + obterTokenJwt(outroUsuario.getEmail(), "123456");
+
+            MvcResult result = mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "ndjson")
+                    .header("Authorization", authHeaderOutroUsuario))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertEquals(1, result.getResponse().getContentAsString().split("\n").length);
+        }
+    }
+
+    @Nested
+    class ValidacaoTest {
+        @Test
+        void erroQuandoFormatoInvalido() throws Exception {
+            mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "xml")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void erroQuandoInicioAposFim() throws Exception {
+            mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "csv")
+                    .param("inicio", "2025-03-01")
+                    .param("fim", "2025-01-01")
+                    .header("Authorization", authHeader))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void erroQuandoSemToken() throws Exception {
+            mockMvc.perform(get("/transacoes/export")
+                    .param("formato", "csv"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    private UserEntity criarUsuarioTest(String username, String email) {
+        UserEntity newUser = new UserEntity();
+        newUser.setUsername(username);
+        newUser.setEmail(email);
+        newUser.setPassword(passwordEncoder.encode("123456"));
+        newUser.setRole(Roles.USER);
+
+        return userRepository.saveAndFlush(newUser);
+    }
+
+    private CategoriaEntity buscarOuCriarCategoria(String nome, CategoriaType tipo, UserEntity dono) {
+        return categoriaRepository.findByNomeAndTipoAndUserUuid(nome, tipo, dono.getUuid())
+                .orElseGet(() -> {
+                    CategoriaEntity categoria = new CategoriaEntity();
+                    categoria.setNome(nome);
+                    categoria.setTipo(tipo);
+                    categoria.setUser(dono);
+                    return categoriaRepository.save(categoria);
+                });
+    }
+
+    private void criarDespesaNoBanco(UserEntity dono, LocalDate data, BigDecimal valor, String destino, String observacoes) {
+        DespesaEntity despesa = new DespesaEntity();
+        despesa.setData(data);
+        despesa.setValor(valor);
+        despesa.setCategoria(buscarOuCriarCategoria(CATEGORIA_DESPESA, CategoriaType.DESPESAS, dono));
+        despesa.setDestinoPagamento(destino);
+        despesa.setObservacoes(observacoes);
+        despesa.setUser(dono);
+        despesaRepository.save(despesa);
+    }
+
+    private void criarReceitaNoBanco(UserEntity dono, LocalDate data, BigDecimal valor, String origem, String observacoes) {
+        ReceitaEntity receita = new ReceitaEntity();
+        receita.setData(data);
+        receita.setValor(valor);
+        receita.setCategoria(buscarOuCriarCategoria(CATEGORIA_RECEITA, CategoriaType.RECEITAS, dono));
+        receita.setOrigemDoPagamento(origem);
+        receita.setObservacoes(observacoes);
+        receita.setUser(dono);
+        receitaRepository.save(receita);
+    }
+}
@@ -28,7 +28,7 @@ class UserControllerIntegrationTest {
 
  //usuário admin acessa o endpoint e retorna 200 OK
  @Test
- @WithMockUser(roles = "USER") //simula um admin autenticado
+ @WithMockUser(roles = "ADMIN") //simula um admin autenticado
 void findAllUsers_QuandoAdmin_DeveRetornarListaUsuarios() throws Exception {
      mockMvc.perform(get("/admin/users"))
              .andExpect(status().isOk())
@@ -1,9 +1,14 @@
 package br.com.gestorfinanceiro.services.AdminServiceTest;
 
 import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.dto.common.Pagina;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
 import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
 import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.AdminService;
 import br.com.gestorfinanceiro.services.AuthService;
@@ -29,8 +34,12 @@ class AdminServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
     @BeforeEach
     void setUp() {
+        categoriaRepository.deleteAll(); // O register cria as categorias padrão de cada usuário
         userRepository.deleteAll(); // Limpa o banco antes de cada teste para evitar inconsistências
     }
 
@@ -47,7 +56,7 @@ class AdminServiceIntegrationTest {
         adicionarUsuario("Usuario B");
         adicionarUsuario("Usuario C");
 
-        List<UserEntity> users = adminService.listUsers();
+        List<UserForAdminDTO> users = listarPrimeiraPagina();
 
         //verifica se a lista de usuários tem 3 usuários
         assertEquals(3, users.size());
@@ -58,7 +67,7 @@ class AdminServiceIntegrationTest {
 
     @Test
     void deveListarUsersVazioQuandoNaoTiverUsers() {
-        List<UserEntity> users = adminService.listUsers();
+        List<UserForAdminDTO> users = listarPrimeiraPagina();
 
         //verifica se a lista de usuários está vazia
         assertTrue(users.isEmpty());
@@ -113,4 +122,9 @@ class AdminServiceIntegrationTest {
 
         return userAdminUpdateDTO;
     }
+
+    public List<UserForAdminDTO> listarPrimeiraPagina() {
+        return adminService.listarUsuarios(new FiltroUsuarios(null, null, null), OrdenacaoUsuarios.USERNAME, null,
+                Pagina.LIMITE_PADRAO).itens();
+    }
 }
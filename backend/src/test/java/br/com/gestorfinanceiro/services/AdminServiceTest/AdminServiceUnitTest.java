@@ -1,9 +1,18 @@
 package br.com.gestorfinanceiro.services.AdminServiceTest;
 
 import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.BancoDeDados;
+import br.com.gestorfinanceiro.config.security.VersoesToken;
+import br.com.gestorfinanceiro.dto.common.Pagina;
+import br.com.gestorfinanceiro.dto.user.CursorUsuario;
+import br.com.gestorfinanceiro.dto.user.FiltroUsuarios;
+import br.com.gestorfinanceiro.dto.user.OrdenacaoUsuarios;
 import br.com.gestorfinanceiro.dto.user.UserAdminUpdateDTO;
+import br.com.gestorfinanceiro.dto.user.UserForAdminDTO;
+import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
 import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.impl.AdminServiceImpl;
 import org.junit.jupiter.api.Test;
@@ -16,6 +25,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,32 +38,73 @@ class AdminServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private VersoesToken versoesToken;
+
+    @Mock
+    private BancoDeDados bancoDeDados;
+
     //------------------TESTES DO LIST USERS ----------------------//
     @Test
     void deveListarUsers() {
-        UserEntity userA = TestDataUtil.criarUsuarioEntityUtil("Usuario A");
-        UserEntity userB = TestDataUtil.criarUsuarioEntityUtil("Usuario B");
-        UserEntity userC = TestDataUtil.criarUsuarioEntityUtil("Usuario C");
+        FiltroUsuarios filtro = new FiltroUsuarios(null, null, null);
+        UserForAdminDTO userA = TestDataUtil.criarUserForAdminDTOUtil("Usuario A");
+        UserForAdminDTO userB = TestDataUtil.criarUserForAdminDTOUtil("Usuario B");
+        UserForAdminDTO userC = TestDataUtil.criarUserForAdminDTOUtil("Usuario C");
 
-        when(userRepository.findAll()).thenReturn(List.of(userA, userB, userC));
+        when(userRepository.findForAdmin(filtro, OrdenacaoUsuarios.USERNAME, null, Pagina.LIMITE_PADRAO))
+                .thenReturn(List.of(userA, userB, userC));
 
-        List<UserEntity> users = adminService.listUsers();
+        Pagina<UserForAdminDTO> pagina = adminService.listarUsuarios(filtro, OrdenacaoUsuarios.USERNAME, null,
+                Pagina.LIMITE_PADRAO);
 
-        //verifica se a lista de usuários tem 3 usuários
+        //verifica se a página tem os 3 usuários e é a última
+        List<UserForAdminDTO> users = pagina.itens();
         assertEquals(3, users.size());
         assertEquals("Usuario A", users.get(0).getUsername());
         assertEquals("Usuario B", users.get(1).getUsername());
         assertEquals("Usuario C", users.get(2).getUsername());
+        assertNull(pagina.proximoCursor());
     }
 
     @Test
     void deveListarUsersVazioQuandoNaoTiverUsers() {
-        when(userRepository.findAll()).thenReturn(List.of());
+        FiltroUsuarios filtro = new FiltroUsuarios(null, null, null);
+        when(userRepository.findForAdmin(filtro, OrdenacaoUsuarios.USERNAME, null, Pagina.LIMITE_PADRAO))
+                .thenReturn(List.of());
 
-        List<UserEntity> users = adminService.listUsers();
+        Pagina<UserForAdminDTO> pagina = adminService.listarUsuarios(filtro, OrdenacaoUsuarios.USERNAME, null,
+                Pagina.LIMITE_PADRAO);
 
         //verifica se a lista de usuários está vazia
-        assertTrue(users.isEmpty());
+        assertTrue(pagina.itens().isEmpty());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void deveGerarCursorPeloCampoDaOrdenacao() {
+        FiltroUsuarios filtro = new FiltroUsuarios(null, null, null);
+        UserForAdminDTO userA = new UserForAdminDTO("1", "a", "a@email.com", Roles.USER, true);
+        UserForAdminDTO userB = new UserForAdminDTO("2", "b", "b@email.com", Roles.USER, true);
+        UserForAdminDTO userC = new UserForAdminDTO("3", "c", "c@email.com", Roles.USER, true);
+
+        // O repositório devolve limite + 1 linhas quando existe próxima página
+        when(userRepository.findForAdmin(filtro, OrdenacaoUsuarios.EMAIL, null, 2)).thenReturn(List.of(userA, userB, userC));
+
+        Pagina<UserForAdminDTO> pagina = adminService.listarUsuarios(filtro, OrdenacaoUsuarios.EMAIL, null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        CursorUsuario cursor = CursorUsuario.decodificar(pagina.proximoCursor(), OrdenacaoUsuarios.EMAIL);
+        assertEquals("b@email.com", cursor.valor());
+    }
+
+    @Test
+    void deveLancarInvalidDataExceptionQuandoLimiteForaDoIntervalo() {
+        FiltroUsuarios filtro = new FiltroUsuarios(null, null, null);
+
+        assertThrows(InvalidDataException.class, () -> adminService.listarUsuarios(filtro, OrdenacaoUsuarios.USERNAME, null, 0));
+        assertThrows(InvalidDataException.class,
+                () -> adminService.listarUsuarios(filtro, OrdenacaoUsuarios.USERNAME, null, Pagina.LIMITE_MAXIMO + 1));
     }
 
     //------------------TESTES DO ATUALIZAR USER STATUS ----------------------//
@@ -71,6 +124,9 @@ class AdminServiceUnitTest {
 
         // verifica se o usuário foi atualizado
         assertFalse(userUpdated.getEstaAtivo());
+
+        // verifica se os tokens já emitidos para o usuário foram revogados
+        verify(versoesToken).revogar(user.getUuid());
     }
 
     @Test
@@ -101,4 +157,27 @@ class AdminServiceUnitTest {
         // verifica se o metodo lança a exceção quando o usuário não é encontrado
         assertThrows(Exception.class, () -> adminService.atualizarUser("123-456", updateDTO));
     }
-}
\ No newline at end of file
+
+    //------------------TESTES DO CONTAR USUARIOS ----------------------//
+    @Test
+    void deveUsarEstimativaDoCatalogoSemFiltroNoPostgres() {
+        when(bancoDeDados.isPostgres()).thenReturn(true);
+        when(userRepository.estimateCountPostgres()).thenReturn(1234L);
+
+        assertEquals(1234L, adminService.contarUsuarios(new FiltroUsuarios(null, null, null)));
+        verify(userRepository, never()).countForAdmin(any());
+    }
+
+    @Test
+    void deveContarQuandoTabelaNuncaFoiAnalisadaOuHaFiltro() {
+        when(bancoDeDados.isPostgres()).thenReturn(true);
+        FiltroUsuarios semFiltro = new FiltroUsuarios(null, null, null);
+        FiltroUsuarios porRole = new FiltroUsuarios(Roles.ADMIN, null, null);
+        when(userRepository.estimateCountPostgres()).thenReturn(-1L);
+        when(userRepository.countForAdmin(semFiltro)).thenReturn(3L);
+        when(userRepository.countForAdmin(porRole)).thenReturn(1L);
+
+        assertEquals(3L, adminService.contarUsuarios(semFiltro));
+        assertEquals(1L, adminService.contarUsuarios(porRole));
+    }
+}
@@ -2,7 +2,11 @@ package br.com.gestorfinanceiro.services.AuthServiceTest;
 
 import br.com.gestorfinanceiro.TestDataUtil;
 import br.com.gestorfinanceiro.exceptions.user.EmailAlreadyExistsException;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
 import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.DespesasCategorias;
+import br.com.gestorfinanceiro.models.enums.ReceitasCategorias;
 import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
@@ -13,6 +17,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -61,6 +67,22 @@ class AuthServiceIntegrationTest {
         assertEquals(user.getEmail(), userSalvo.getEmail()); //compara se o usuario salvo é igual ao usuario cadastrado
     }
 
+    @Test
+    void deveCriarCategoriasPadraoJuntoComOUsuario() {
+        UserEntity user = adicionarUsuario("jorge");
+
+        List<CategoriaEntity> categorias = categoriaRepository.findAllByUserUuid(user.getUuid());
+
+        // Categorias dos dois enums mais uma "Sem Categoria" por tipo
+        assertEquals(DespesasCategorias.values().length + ReceitasCategorias.values().length + 2, categorias.size());
+        assertTrue(categoriaRepository.findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.DESPESAS, user.getUuid())
+                .isPresent());
+        assertTrue(categoriaRepository.findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.RECEITAS, user.getUuid())
+                .isPresent());
+        assertTrue(categoriaRepository.findByNomeAndTipoAndUserUuid(DespesasCategorias.ALIMENTACAO.toNormalCase(),
+                CategoriaType.DESPESAS, user.getUuid()).isPresent());
+    }
+
     @Test
     void ErroAoRegistrarUsuarioComEmailJaCadastradoVerificandoSeForamSalvos() {
         adicionarUsuario("jorge");
@@ -1,9 +1,11 @@
 package br.com.gestorfinanceiro.services.AuthServiceTest;
 
 import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.security.VersoesToken;
 import br.com.gestorfinanceiro.exceptions.user.*;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.AuthService;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +31,12 @@ class AuthServiceUnitTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private VersoesToken versoesToken;
+
     @Test
         //teste para ver sw o AuthService foi carregado
     void deveCarregarAuthService() {
@@ -38,6 +46,7 @@ class AuthServiceUnitTest {
     @BeforeEach
     @SuppressWarnings("unused")
     void setUp() {
+        categoriaRepository.deleteAll(); // O register cria as categorias padrão de cada usuário
         userRepository.deleteAll(); // Limpa o banco antes de cada teste para evitar inconsistências
     }
 
@@ -160,6 +169,27 @@ class AuthServiceUnitTest {
         assertNotNull(thrown);
     }
 
+    //---------------TESTES DO METODO RENOVAR SESSAO----------------//
+    @Test
+    void deveRenovarSessaoDeUsuarioAtivo() {
+        UserEntity user = adicionarUsuario(USER_NAME);
+
+        UserEntity userRenovado = authService.renovarSessao(user.getUuid(), versoesToken.versaoAtual(user.getUuid()));
+
+        assertEquals(user.getUuid(), userRenovado.getUuid());
+    }
+
+    @Test
+    void ErroAoRenovarSessaoDeUsuarioDesativado() {
+        UserEntity user = adicionarUsuario(USER_NAME);
+        user.setEstaAtivo(false);
+        userRepository.save(user);
+
+        // Refresh token ainda na versão atual, como o de um login feito depois da desativação
+        InvalidTokenException thrown = assertThrows(InvalidTokenException.class,
+                () -> authService.renovarSessao(user.getUuid(), versoesToken.versaoAtual(user.getUuid())));
+        assertNotNull(thrown);
+    }
 
     //-------------------------------MÉTODOS AUXILIARES-------------------------------//
 
@@ -8,10 +8,11 @@ import br.com.gestorfinanceiro.exceptions.categoria.CategoriaIdNotFoundException
 import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.user.UserNotFoundException;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.UserEntity;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
-import br.com.gestorfinanceiro.services.AuthService;
 import br.com.gestorfinanceiro.services.CategoriaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,17 +33,18 @@ class CategoriaServiceIntegrationTest {
     @Autowired
     private CategoriaService categoriaService;
 
-    @Autowired
-    private AuthService authService;
-
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private DespesaRepository despesaRepository;
+
     @BeforeEach
     void setUp() {
+        despesaRepository.deleteAll();
         categoriaRepository.deleteAll();
         userRepository.deleteAll();
     }
@@ -141,7 +145,7 @@ class CategoriaServiceIntegrationTest {
         assertEquals("Categoria A", categoriaRetornada.getNome());
         assertEquals("DESPESAS", categoriaRetornada.getTipo()
                 .name());
-        assertEquals(user, categoriaRetornada.getUser());
+        assertEquals(user.getUuid(), categoriaRetornada.getUser().getUuid());
     }
 
     @Test
@@ -168,7 +172,7 @@ class CategoriaServiceIntegrationTest {
         assertEquals("Categoria B", categoriaAtualizada.getNome());
         assertEquals("DESPESAS", categoriaAtualizada.getTipo()
                 .name());
-        assertEquals(user, categoriaAtualizada.getUser());
+        assertEquals(user.getUuid(), categoriaAtualizada.getUser().getUuid());
     }
 
     @Test
@@ -215,6 +219,25 @@ class CategoriaServiceIntegrationTest {
         assertFalse(categoriaExcluida.isPresent());
     }
 
+    @Test
+    void deveMoverDespesasParaSemCategoriaAoExcluir() {
+        UserEntity user = adicionarUsuario("Usuario Teste");
+        CategoriaEntity categoria = adicionarCategoria("Categoria Teste", "DESPESAS", user.getUuid());
+        for (int i = 1; i <= 3; i++) {
+            despesaRepository.save(criarDespesa(user, categoria, BigDecimal.valueOf(i)));
+        }
+
+        categoriaService.excluirCategoria(categoria.getUuid(), user.getUuid());
+
+        List<DespesaEntity> despesas = despesaRepository.findAllByUserUuid(user.getUuid());
+        assertEquals(3, despesas.size());
+        assertTrue(despesas.stream()
+                .allMatch(despesa -> despesa.getCategoria()
+                        .isSemCategoria()));
+
+        despesaRepository.deleteAll();
+    }
+
     @Test
     void deveLancarExcecaoQuandoCategoriaIdForNuloAoExcluir() {
         assertThrows(InvalidDataException.class,
@@ -246,16 +269,26 @@ class CategoriaServiceIntegrationTest {
     }
 
     //-------------------------------MÉTODOS AUXILIARES-------------------------------//
+    private DespesaEntity criarDespesa(UserEntity user, CategoriaEntity categoria, BigDecimal valor) {
+        DespesaEntity despesa = new DespesaEntity();
+        despesa.setData(LocalDate.of(2025, 1, 10));
+        despesa.setValor(valor);
+        despesa.setDestinoPagamento("Mercado");
+        despesa.setObservacoes("Compras");
+        despesa.setCategoria(categoria);
+        despesa.setUser(user);
+        return despesa;
+    }
+
     public CategoriaEntity adicionarCategoria(String nome, String tipo, String userId) {
         CategoriaCreateDTO categoriaDto = TestDataUtil.criarCategoriaCreateDTOUtil(nome, tipo);
         return categoriaService.criarCategoria(categoriaDto, userId);
     }
 
+    // Grava direto pelo repositório: o register criaria as categorias padrão e os testes contam categorias
     public UserEntity adicionarUsuario(String nome) {
         UserEntity user = TestDataUtil.criarUsuarioEntityUtil(nome);
 
-        authService.register(user);
-
-        return user;
+        return userRepository.save(user);
     }
 }
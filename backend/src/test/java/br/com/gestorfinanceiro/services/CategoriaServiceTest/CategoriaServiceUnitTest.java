@@ -1,6 +1,7 @@
 package br.com.gestorfinanceiro.services.CategoriaServiceTest;
 
 import br.com.gestorfinanceiro.TestDataUtil;
+import br.com.gestorfinanceiro.config.cache.DashboardCache;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaCreateDTO;
 import br.com.gestorfinanceiro.dto.categoria.CategoriaUpdateDTO;
 import br.com.gestorfinanceiro.exceptions.categoria.CategoriaAcessDeniedException;
@@ -18,6 +19,7 @@ import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import br.com.gestorfinanceiro.services.impl.CategoriaServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,7 +30,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -57,6 +58,12 @@ class CategoriaServiceUnitTest {
     @Mock
     private ReceitaRepository receitaRepository;
 
+    @Mock
+    private ResumoMensalService resumoMensalService;
+
+    @Mock
+    private DashboardCache dashboardCache;
+
     //------------------TESTES DO criarCategoria ----------------------//
     @Test
     void deveCriarCategoria() {
@@ -224,7 +231,6 @@ class CategoriaServiceUnitTest {
 
         when(userRepository.findById(user.getUuid())).thenReturn(Optional.of(user));
         when(categoriaRepository.findById(categoria.getUuid())).thenReturn(Optional.of(categoria));
-        when(despesaRepository.findAllByCategoria(categoria)).thenReturn(Collections.emptyList());
         doNothing().when(categoriaRepository)
                 .delete(categoria);
 
@@ -232,7 +238,7 @@ class CategoriaServiceUnitTest {
 
         verify(userRepository).findById(user.getUuid());
         verify(categoriaRepository).findById(categoria.getUuid());
-        verify(despesaRepository).findAllByCategoria(categoria);
+        verify(despesaRepository).reassignCategoria(eq(categoria), any());
         verify(categoriaRepository).delete(categoria);
     }
 
@@ -323,18 +329,17 @@ class CategoriaServiceUnitTest {
     void excluirCategoria_DeveExcluirERedirecionarDespesas_QuandoCategoriaValida() {
         CategoriaEntity categoriaParaExcluir = createCategoria("Alimentação", CategoriaType.DESPESAS, false);
         CategoriaEntity semCategoria = createCategoria("Sem Categoria", CategoriaType.DESPESAS, true);
-        DespesaEntity despesa = new DespesaEntity();
-        despesa.setCategoria(categoriaParaExcluir);
         
         when(categoriaRepository.findById(categoriaUuid)).thenReturn(Optional.of(categoriaParaExcluir));
         when(categoriaRepository.findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.DESPESAS, usuarioId))
             .thenReturn(Optional.of(semCategoria));
-        when(despesaRepository.findAllByCategoria(categoriaParaExcluir)).thenReturn(List.of(despesa));
+        when(despesaRepository.reassignCategoria(categoriaParaExcluir, semCategoria)).thenReturn(1);
         
         categoriaService.excluirCategoria(categoriaUuid, usuarioId);
         
-        verify(despesaRepository).save(despesa);
-        assertEquals(semCategoria, despesa.getCategoria());
+        verify(despesaRepository).reassignCategoria(categoriaParaExcluir, semCategoria);
+        verify(despesaRepository, never()).save(any(DespesaEntity.class));
+        verify(resumoMensalService).reatribuirCategoria(categoriaParaExcluir, semCategoria);
         verify(categoriaRepository).delete(categoriaParaExcluir);
     }
 
@@ -493,21 +498,16 @@ class CategoriaServiceUnitTest {
     void excluirCategoria_DeveRedirecionarReceitasParaSemCategoria_QuandoTipoReceitas() {
         CategoriaEntity categoriaParaExcluir = createCategoria("Investimentos", CategoriaType.RECEITAS, false);
         CategoriaEntity semCategoria = createCategoria("Sem Categoria", CategoriaType.RECEITAS, true);
-        ReceitaEntity receita1 = new ReceitaEntity();
-        receita1.setCategoria(categoriaParaExcluir);
-        ReceitaEntity receita2 = new ReceitaEntity();
-        receita2.setCategoria(categoriaParaExcluir);
         
         when(categoriaRepository.findById(categoriaUuid)).thenReturn(Optional.of(categoriaParaExcluir));
         when(categoriaRepository.findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.RECEITAS, usuarioId))
             .thenReturn(Optional.of(semCategoria));
-        when(receitaRepository.findAllByCategoria(categoriaParaExcluir)).thenReturn(List.of(receita1, receita2));
+        when(receitaRepository.reassignCategoria(categoriaParaExcluir, semCategoria)).thenReturn(2);
         
         categoriaService.excluirCategoria(categoriaUuid, usuarioId);
         
-        assertEquals(semCategoria, receita1.getCategoria());
-        assertEquals(semCategoria, receita2.getCategoria());
-        verify(receitaRepository, times(2)).save(any(ReceitaEntity.class));
+        verify(receitaRepository).reassignCategoria(categoriaParaExcluir, semCategoria);
+        verify(receitaRepository, never()).save(any(ReceitaEntity.class));
         verify(categoriaRepository).delete(categoriaParaExcluir);
     }
 
@@ -519,7 +519,7 @@ class CategoriaServiceUnitTest {
         when(categoriaRepository.findById(categoriaUuid)).thenReturn(Optional.of(categoriaParaExcluir));
         when(categoriaRepository.findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.RECEITAS, usuarioId))
             .thenReturn(Optional.of(semCategoria));
-        when(receitaRepository.findAllByCategoria(categoriaParaExcluir)).thenReturn(List.of());
+        when(receitaRepository.reassignCategoria(categoriaParaExcluir, semCategoria)).thenReturn(0);
         
         assertDoesNotThrow(() -> categoriaService.excluirCategoria(categoriaUuid, usuarioId));
         verify(categoriaRepository).delete(categoriaParaExcluir);
@@ -529,14 +529,12 @@ class CategoriaServiceUnitTest {
     void excluirCategoria_DeveLancarExcecao_QuandoErroAoAtualizarReceitas() {
         CategoriaEntity categoriaParaExcluir = createCategoria("Investimentos", CategoriaType.RECEITAS, false);
         CategoriaEntity semCategoria = createCategoria("Sem Categoria", CategoriaType.RECEITAS, true);
-        ReceitaEntity receita = new ReceitaEntity();
-        receita.setCategoria(categoriaParaExcluir);
         
         when(categoriaRepository.findById(categoriaUuid)).thenReturn(Optional.of(categoriaParaExcluir));
         when(categoriaRepository.findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.RECEITAS, usuarioId))
             .thenReturn(Optional.of(semCategoria));
-        when(receitaRepository.findAllByCategoria(categoriaParaExcluir)).thenReturn(List.of(receita));
-        doThrow(new RuntimeException("Erro ao salvar receita")).when(receitaRepository).save(receita);
+        when(receitaRepository.reassignCategoria(categoriaParaExcluir, semCategoria))
+            .thenThrow(new RuntimeException("Erro ao atualizar receitas"));
         
         CategoriaOperationException exception = assertThrows(CategoriaOperationException.class,
             () -> categoriaService.excluirCategoria(categoriaUuid, usuarioId));
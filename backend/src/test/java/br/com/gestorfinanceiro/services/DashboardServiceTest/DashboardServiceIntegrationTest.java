@@ -1,5 +1,9 @@
 package br.com.gestorfinanceiro.services.DashboardServiceTest;
 
+import br.com.gestorfinanceiro.config.cache.CacheConfig;
+import br.com.gestorfinanceiro.dto.categoria.CategoriaUpdateDTO;
+import br.com.gestorfinanceiro.dto.dashboard.DashboardResumoDTO;
+import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
 import br.com.gestorfinanceiro.exceptions.user.UserNotFoundException;
 import br.com.gestorfinanceiro.models.*;
@@ -9,7 +13,12 @@ import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.CategoriaService;
 import br.com.gestorfinanceiro.services.DashboardService;
+import br.com.gestorfinanceiro.services.DespesaService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -19,6 +28,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Map;
 
@@ -54,6 +64,18 @@ class DashboardServiceIntegrationTest {
     @Autowired
     CategoriaRepository categoriaRepository;
 
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private String userId;
 
     @BeforeEach
@@ -129,6 +151,7 @@ class DashboardServiceIntegrationTest {
             receitaExtra.setObservacoes("Bônus do mês");
             receitaExtra.setCategoria(categoriaRepository.findByNome(CATEGORIA_RECEITA_PADRAO).get());
             receitaRepository.save(receitaExtra);
+            resumoMensalService.reconstruir();
 
             // Act
             BigDecimal saldo = dashboardService.getSaldoTotal(userId, PERIODO_PADRAO);
@@ -154,6 +177,7 @@ class DashboardServiceIntegrationTest {
         void deveRetornarNuloQuandoNaoHaDespesas() {
             // Arrange
             despesaRepository.deleteAll();
+            resumoMensalService.reconstruir();
 
             // Act
             DespesaEntity maiorDespesa = dashboardService.getMaiorDespesa(userId, PERIODO_PADRAO);
@@ -179,6 +203,7 @@ class DashboardServiceIntegrationTest {
         void deveRetornarNuloQuandoNaoHaReceitas() {
             // Arrange
             receitaRepository.deleteAll();
+            resumoMensalService.reconstruir();
 
             // Act
             ReceitaEntity maiorReceita = dashboardService.getMaiorReceita(userId, PERIODO_PADRAO);
@@ -234,6 +259,7 @@ class DashboardServiceIntegrationTest {
         void deveRetornarZeroQuandoNaoHaDespesas() {
             // Arrange
             despesaRepository.deleteAll();
+            resumoMensalService.reconstruir();
 
             // Act
             BigDecimal total = dashboardService.calcularTotalDespesasNoMes(userId, PERIODO_PADRAO);
@@ -259,6 +285,7 @@ class DashboardServiceIntegrationTest {
         void deveRetornarZeroQuandoNaoHaReceitas() {
             // Arrange
             receitaRepository.deleteAll();
+            resumoMensalService.reconstruir();
 
             // Act
             BigDecimal total = dashboardService.calcularTotalReceitasNoMes(userId, PERIODO_PADRAO);
@@ -268,6 +295,138 @@ class DashboardServiceIntegrationTest {
         }
     }
 
+    @Nested
+    class Resumo {
+        @Test
+        void deveCalcularTodosOsNumerosDoMes() {
+            // Act
+            DashboardResumoDTO resumo = dashboardService.getResumo(userId, PERIODO_PADRAO);
+
+            // Assert
+            BigDecimal totalEsperado = VALOR_PADRAO.add(VALOR_ALTO);
+            assertEquals(PERIODO_PADRAO, resumo.periodo());
+            assertEquals(0, BigDecimal.ZERO.compareTo(resumo.saldoTotal()));
+            assertEquals(0, totalEsperado.compareTo(resumo.despesaTotal()));
+            assertEquals(0, totalEsperado.compareTo(resumo.receitaTotal()));
+            assertEquals(0, VALOR_ALTO.compareTo(resumo.maiorDespesa().getValor()));
+            assertEquals(CATEGORIA_DESPESA_PADRAO, resumo.maiorDespesa().getCategoria());
+            assertEquals(PERIODO_PADRAO.atDay(15), resumo.maiorDespesa().getData());
+            assertEquals(0, VALOR_ALTO.compareTo(resumo.maiorReceita().getValor()));
+            assertEquals(ORIGEM_RECEITA_PADRAO, resumo.maiorReceita().getOrigemDoPagamento());
+            assertEquals(0, totalEsperado.compareTo(resumo.categoriaMaiorDespesa().get(CATEGORIA_DESPESA_PADRAO)));
+            assertEquals(0, totalEsperado.compareTo(resumo.categoriaMaiorReceita().get(CATEGORIA_RECEITA_PADRAO)));
+        }
+
+        @Test
+        void deveEscolherCategoriaComMaiorSomaENaoComMaiorTransacao() {
+            // Arrange - Uma despesa isolada maior que qualquer outra, mas em categoria com soma menor
+            UserEntity user = userRepository.findById(userId).get();
+            CategoriaEntity lazer = new CategoriaEntity();
+            lazer.setNome("Lazer");
+            lazer.setTipo(CategoriaType.DESPESAS);
+            lazer.setUser(user);
+            categoriaRepository.save(lazer);
+
+            DespesaEntity despesaLazer = new DespesaEntity();
+            despesaLazer.setUser(user);
+            despesaLazer.setValor(BigDecimal.valueOf(2500));
+            despesaLazer.setData(PERIODO_PADRAO.atDay(20));
+            despesaLazer.setDestinoPagamento(DESTINO_DESPESA_PADRAO);
+            despesaLazer.setObservacoes("Viagem");
+            despesaLazer.setCategoria(lazer);
+            despesaRepository.save(despesaLazer);
+            resumoMensalService.reconstruir();
+
+            // Act
+            DashboardResumoDTO resumo = dashboardService.getResumo(userId, PERIODO_PADRAO);
+
+            // Assert
+            assertEquals("Lazer", resumo.maiorDespesa().getCategoria());
+            assertEquals(Map.of(CATEGORIA_DESPESA_PADRAO, resumo.categoriaMaiorDespesa().get(CATEGORIA_DESPESA_PADRAO)),
+                    resumo.categoriaMaiorDespesa());
+        }
+
+        @Test
+        void deveRetornarValoresVaziosQuandoNaoHaTransacoesNoMes() {
+            // Act
+            DashboardResumoDTO resumo = dashboardService.getResumo(userId, PERIODO_PADRAO.plusMonths(1));
+
+            // Assert
+            assertEquals(0, BigDecimal.ZERO.compareTo(resumo.saldoTotal()));
+            assertEquals(0, BigDecimal.ZERO.compareTo(resumo.despesaTotal()));
+            assertEquals(0, BigDecimal.ZERO.compareTo(resumo.receitaTotal()));
+            assertNull(resumo.maiorDespesa());
+            assertNull(resumo.maiorReceita());
+            assertTrue(resumo.categoriaMaiorDespesa().isEmpty());
+            assertTrue(resumo.categoriaMaiorReceita().isEmpty());
+        }
+
+        @Test
+        void deveLancarExcecaoQuandoUsuarioNaoExiste() {
+            assertThrows(UserNotFoundException.class, () -> {
+                dashboardService.getResumo("uuid-inexistente", PERIODO_PADRAO);
+            });
+        }
+    }
+
+    @Nested
+    class Cache {
+        @Test
+        void deveServirDoCacheAteUmaEscritaNoMes() {
+            BigDecimal despesasAntes = dashboardService.calcularTotalDespesasNoMes(userId, PERIODO_PADRAO);
+            double acertosAntes = acertos();
+
+            assertEquals(0, despesasAntes.compareTo(dashboardService.calcularTotalDespesasNoMes(userId, PERIODO_PADRAO)));
+            assertEquals(acertosAntes + 1, acertos());
+
+            despesaService.criarDespesa(criarDespesaCreateDTO(PERIODO_PADRAO.atDay(28)), userId);
+
+            BigDecimal despesasDepois = dashboardService.calcularTotalDespesasNoMes(userId, PERIODO_PADRAO);
+            assertEquals(0, despesasAntes.add(VALOR_PADRAO).compareTo(despesasDepois));
+        }
+
+        @Test
+        void deveManterEntradasDeOutrosMesesAoEscrever() {
+            dashboardService.getSaldoTotal(userId, PERIODO_PADRAO);
+
+            despesaService.criarDespesa(criarDespesaCreateDTO(PERIODO_PADRAO.plusMonths(1).atDay(1)), userId);
+            double acertosAntes = acertos();
+
+            dashboardService.getSaldoTotal(userId, PERIODO_PADRAO);
+            assertEquals(acertosAntes + 1, acertos());
+        }
+
+        @Test
+        void deveInvalidarUsuarioAoRenomearCategoria() {
+            Map<String, BigDecimal> antes = dashboardService.getCategoriaComMaiorDespesa(userId, PERIODO_PADRAO);
+            assertTrue(antes.containsKey(CATEGORIA_DESPESA_PADRAO));
+
+            CategoriaEntity categoria = categoriaRepository.findByNome(CATEGORIA_DESPESA_PADRAO).get();
+            categoriaService.atualizarCategoria(categoria.getUuid(), new CategoriaUpdateDTO("Mercado"), userId);
+
+            assertTrue(dashboardService.getCategoriaComMaiorDespesa(userId, PERIODO_PADRAO).containsKey("Mercado"));
+        }
+
+        private double acertos() {
+            FunctionCounter contador = meterRegistry.find("cache.gets")
+                    .tag("cache", CacheConfig.DASHBOARD)
+                    .tag("result", "hit")
+                    .functionCounter();
+            assertNotNull(contador, "As estatísticas do cache deveriam estar registradas como métricas");
+            return contador.count();
+        }
+
+        private DespesaCreateDTO criarDespesaCreateDTO(LocalDate data) {
+            DespesaCreateDTO dto = new DespesaCreateDTO();
+            dto.setValor(VALOR_PADRAO);
+            dto.setData(data);
+            dto.setCategoria(CATEGORIA_DESPESA_PADRAO);
+            dto.setDestinoPagamento(DESTINO_DESPESA_PADRAO);
+            dto.setObservacoes(OBSERVACAO_DESPESA_PADRAO);
+            return dto;
+        }
+    }
+
     // Métodos auxiliares
 
     private UserEntity criarUsuarioTest() {
@@ -331,5 +490,8 @@ class DashboardServiceIntegrationTest {
 
         receitaRepository.save(receita1);
         receitaRepository.save(receita2);
+
+        // Os dados entram direto pelos repositórios, então resumo_mensal é refeita a partir deles
+        resumoMensalService.reconstruir();
     }
 }
\ No newline at end of file
@@ -6,7 +6,9 @@ import br.com.gestorfinanceiro.exceptions.user.UserNotFoundException;
 import br.com.gestorfinanceiro.models.DespesaEntity;
 import br.com.gestorfinanceiro.models.ReceitaEntity;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.impl.DashboardServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +47,9 @@ class DashboardServiceUnitTest {
     @Mock
     private ReceitaRepository receitaRepository;
 
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
     @Nested
     class ValidacoesBasicas {
         @Test
@@ -85,7 +90,7 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveLancarDashboardOperationExceptionQuandoFalhaAoCalcularSaldoTotal() {
-            when(receitaRepository.sumReceitasByUserIdAndYearMonth(anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.RECEITAS), any(YearMonth.class)))
                     .thenThrow(new RuntimeException("Erro de conexão com o banco"));
 
             Exception exception = assertThrows(DashboardOperationException.class, () ->
@@ -119,7 +124,8 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveLancarDashboardOperationExceptionQuandoFalhaAoBuscarCategoriaMaiorDespesa() {
-            when(despesaRepository.findCategoriaWithHighestDespesaByUserIdAndYearMonth(anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(
+                    anyString(), eq(CategoriaType.DESPESAS), any(YearMonth.class)))
                     .thenThrow(new RuntimeException("Falha na consulta"));
 
             Exception exception = assertThrows(DashboardOperationException.class, () ->
@@ -130,7 +136,7 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveLancarDashboardOperationExceptionQuandoFalhaAoCalcularTotalDespesas() {
-            when(despesaRepository.sumDespesasByUserIdAndYearMonth(anyString(), any(YearMonth.class)))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.DESPESAS), any(YearMonth.class)))
                     .thenThrow(new RuntimeException("Erro no repositório"));
 
             Exception exception = assertThrows(DashboardOperationException.class, () ->
@@ -141,7 +147,7 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveLancarDashboardOperationExceptionQuandoFalhaAoCalcularTotalReceitas() {
-            when(receitaRepository.sumReceitasByUserIdAndYearMonth(anyString(), any(YearMonth.class)))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.RECEITAS), any(YearMonth.class)))
                     .thenThrow(new RuntimeException("Erro de persistência"));
 
             Exception exception = assertThrows(DashboardOperationException.class, () ->
@@ -169,9 +175,9 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveRetornarSaldoTotalCorretamente() {
-            when(receitaRepository.sumReceitasByUserIdAndYearMonth(anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.RECEITAS), any(YearMonth.class)))
                     .thenReturn(VALOR);
-            when(despesaRepository.sumDespesasByUserIdAndYearMonth(anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.DESPESAS), any(YearMonth.class)))
                     .thenReturn(VALOR);
 
             BigDecimal resultado = dashboardService.getSaldoTotal(USER_ID, PERIODO);
@@ -201,7 +207,8 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveRetornarCategoriaComMaiorDespesaCorretamente() {
-            when(despesaRepository.findCategoriaWithHighestDespesaByUserIdAndYearMonth(anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(
+                    anyString(), eq(CategoriaType.DESPESAS), any(YearMonth.class)))
                     .thenReturn(Map.of("Alimentação", VALOR));
 
             Map<String, BigDecimal> resultado = dashboardService.getCategoriaComMaiorDespesa(USER_ID, PERIODO);
@@ -213,7 +220,7 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveRetornarTotalDespesasCorretamente() {
-            when(despesaRepository.sumDespesasByUserIdAndYearMonth(anyString(), any(YearMonth.class)))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.DESPESAS), any(YearMonth.class)))
                     .thenReturn(VALOR);
 
             BigDecimal resultado = dashboardService.calcularTotalDespesasNoMes(USER_ID, PERIODO);
@@ -223,7 +230,7 @@ class DashboardServiceUnitTest {
 
         @Test
         void deveRetornarTotalReceitasCorretamente() {
-            when(receitaRepository.sumReceitasByUserIdAndYearMonth(anyString(), any(YearMonth.class)))
+            when(resumoMensalRepository.sumByUserIdAndTipoAndAnoMes(anyString(), eq(CategoriaType.RECEITAS), any(YearMonth.class)))
                     .thenReturn(VALOR);
 
             BigDecimal resultado = dashboardService.calcularTotalReceitasNoMes(USER_ID, PERIODO);
@@ -242,8 +249,8 @@ class DashboardServiceUnitTest {
         @Test
         void deveLancarDashboardOperationExceptionQuandoFalhaAoBuscarCategoriaMaiorReceita() {
             // Arrange
-            when(receitaRepository.findCategoriaWithHighestReceitaByUserIdAndYearMonth(
-                    anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(
+                    anyString(), eq(CategoriaType.RECEITAS), any(YearMonth.class)))
                     .thenThrow(new RuntimeException("Erro na consulta SQL"));
 
             // Act & Assert
@@ -263,8 +270,8 @@ class DashboardServiceUnitTest {
         void deveRetornarMapaComCategoriaMaiorReceita() {
             // Arrange
             Map<String, BigDecimal> resultadoEsperado = Map.of("Salário", BigDecimal.valueOf(5000));
-            when(receitaRepository.findCategoriaWithHighestReceitaByUserIdAndYearMonth(
-                    anyString(), anyInt(), anyInt()))
+            when(resumoMensalRepository.findCategoriaWithHighestTotalByUserIdAndTipoAndAnoMes(
+                    anyString(), eq(CategoriaType.RECEITAS), any(YearMonth.class)))
                     .thenReturn(resultadoEsperado);
 
             // Act
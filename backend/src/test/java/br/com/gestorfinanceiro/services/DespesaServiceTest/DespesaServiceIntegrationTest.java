@@ -6,6 +6,8 @@ import br.com.gestorfinanceiro.dto.grafico.GraficoBarraDTO;
 import br.com.gestorfinanceiro.dto.grafico.GraficoPizzaDTO;
 import br.com.gestorfinanceiro.exceptions.common.InvalidDataException;
 import br.com.gestorfinanceiro.exceptions.common.InvalidUuidException;
+import br.com.gestorfinanceiro.exceptions.common.VersionMismatchException;
+import br.com.gestorfinanceiro.exceptions.despesa.DespesaAccessDeniedException;
 import br.com.gestorfinanceiro.exceptions.despesa.DespesaNotFoundException;
 import br.com.gestorfinanceiro.exceptions.user.InvalidUserIdException;
 import br.com.gestorfinanceiro.models.CategoriaEntity;
@@ -230,11 +232,28 @@ class DespesaServiceIntegrationTest {
             DespesaUpdateDTO despesaUpdateDTO = criarDespesaUpdateDTO(despesa);
 
             DespesaEntity despesaAtualizada = despesaService.atualizarDespesa(
-                    despesa.getUuid(), despesaUpdateDTO);
+                    despesa.getUuid(), userId, despesaUpdateDTO, null);
 
             assertEquals(VALOR_ATUALIZADO, despesaAtualizada.getValor());
         }
 
+        @Test
+        void erroAoAtualizarComVersaoDesatualizada() {
+            DespesaEntity despesa = despesaService.criarDespesa(
+                    criarDespesaCreateDTO(), userId);
+            Long versaoLida = despesa.getVersao();
+            DespesaUpdateDTO despesaUpdateDTO = criarDespesaUpdateDTO(despesa);
+
+            DespesaEntity despesaAtualizada = despesaService.atualizarDespesa(
+                    despesa.getUuid(), userId, despesaUpdateDTO, versaoLida);
+            assertEquals(versaoLida + 1, despesaAtualizada.getVersao());
+
+            // Segunda escrita baseada na mesma leitura: a versão já mudou
+            String uuid = despesa.getUuid();
+            assertThrows(VersionMismatchException.class,
+                    () -> despesaService.atualizarDespesa(uuid, userId, despesaUpdateDTO, versaoLida));
+        }
+
         @Test
         void erroAoAtualizarDespesaInexistente() {
             DespesaUpdateDTO despesa = criarDespesaUpdateDTO();
@@ -242,7 +261,7 @@ class DespesaServiceIntegrationTest {
                     .toString();
 
             assertThrows(DespesaNotFoundException.class,
-                    () -> despesaService.atualizarDespesa(uuidInexistente, despesa));
+                    () -> despesaService.atualizarDespesa(uuidInexistente, userId, despesa, null));
         }
 
         @Test
@@ -251,7 +270,7 @@ class DespesaServiceIntegrationTest {
                     .toString();
 
             assertThrows(InvalidDataException.class,
-                    () -> despesaService.atualizarDespesa(uuid, null));
+                    () -> despesaService.atualizarDespesa(uuid, userId, null, null));
         }
 
         @Test
@@ -259,9 +278,9 @@ class DespesaServiceIntegrationTest {
             DespesaUpdateDTO despesa = criarDespesaUpdateDTO();
 
             assertThrows(InvalidUuidException.class,
-                    () -> despesaService.atualizarDespesa(null, despesa));
+                    () -> despesaService.atualizarDespesa(null, userId, despesa, null));
             assertThrows(InvalidUuidException.class,
-                    () -> despesaService.atualizarDespesa("", despesa));
+                    () -> despesaService.atualizarDespesa("", userId, despesa, null));
         }
     }
 
@@ -319,7 +338,7 @@ class DespesaServiceIntegrationTest {
             DespesaEntity despesa = despesaService.criarDespesa(
                     criarDespesaCreateDTO(), userId);
 
-            despesaService.excluirDespesa(despesa.getUuid());
+            despesaService.excluirDespesa(despesa.getUuid(), userId);
 
             assertFalse(despesaRepository.findById(despesa.getUuid())
                     .isPresent());
@@ -331,15 +350,29 @@ class DespesaServiceIntegrationTest {
                     .toString();
 
             assertThrows(DespesaNotFoundException.class,
-                    () -> despesaService.excluirDespesa(uuidInexistente));
+                    () -> despesaService.excluirDespesa(uuidInexistente, userId));
+        }
+
+        @Test
+        void erroAoExcluirDespesaDeOutroUsuario() {
+            DespesaEntity despesa = despesaService.criarDespesa(
+                    criarDespesaCreateDTO(), userId);
+            String uuid = despesa.getUuid();
+            String outroUserId = UUID.randomUUID()
+                    .toString();
+
+            assertThrows(DespesaAccessDeniedException.class,
+                    () -> despesaService.excluirDespesa(uuid, outroUserId));
+            assertTrue(despesaRepository.findById(uuid)
+                    .isPresent());
         }
 
         @Test
         void erroAoExcluirDespesaComUuidNuloOuVazio() {
             assertThrows(InvalidUuidException.class,
-                    () -> despesaService.excluirDespesa(null));
+                    () -> despesaService.excluirDespesa(null, userId));
             assertThrows(InvalidUuidException.class,
-                    () -> despesaService.excluirDespesa(""));
+                    () -> despesaService.excluirDespesa("", userId));
         }
     }
 
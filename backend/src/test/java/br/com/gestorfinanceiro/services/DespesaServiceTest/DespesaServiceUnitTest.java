@@ -17,6 +17,8 @@ import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.DespesaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import br.com.gestorfinanceiro.services.impl.DespesaServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -30,12 +32,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +61,12 @@ class DespesaServiceUnitTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ResumoMensalService resumoMensalService;
+
+    @Mock
+    private EstatisticasService estatisticasService;
+
     @InjectMocks
     private DespesaServiceImpl despesaService;
 
@@ -202,12 +212,12 @@ class DespesaServiceUnitTest {
 
         @Test
         void deveAtualizarDespesa() {
-            when(despesaRepository.findById(despesa.getUuid())).thenReturn(Optional.of(despesa));
+            when(despesaRepository.findByUuidAndUserUuid(despesa.getUuid(), user.getUuid())).thenReturn(Optional.of(despesa));
             when(categoriaRepository.findByNomeAndTipoAndUserUuid(CATEGORIA_PADRAO, CategoriaType.DESPESAS, user.getUuid())).thenReturn(Optional.of(categoria));
             when(despesaRepository.save(any(DespesaEntity.class))).thenReturn(despesa);
 
             despesa.setValor(BigDecimal.valueOf(200));
-            DespesaEntity despesaAtualizada = despesaService.atualizarDespesa(despesa.getUuid(), despesaUpdateDTO);
+            DespesaEntity despesaAtualizada = despesaService.atualizarDespesa(despesa.getUuid(), user.getUuid(), despesaUpdateDTO, null);
 
             assertEquals(BigDecimal.valueOf(200), despesaAtualizada.getValor());
         }
@@ -215,22 +225,22 @@ class DespesaServiceUnitTest {
         @Test
         void erroAoAtualizarDespesaInexistente() {
             String userId = UUID.randomUUID().toString();
-            when(despesaRepository.findById(anyString())).thenReturn(Optional.empty());
+            when(despesaRepository.findByUuidAndUserUuid(anyString(), anyString())).thenReturn(Optional.empty());
 
-            assertThrows(DespesaNotFoundException.class, () -> despesaService.atualizarDespesa(userId, despesaUpdateDTO));
+            assertThrows(DespesaNotFoundException.class, () -> despesaService.atualizarDespesa(userId, user.getUuid(), despesaUpdateDTO, null));
         }
 
         @Test
         void erroAoAtualizarUuidNuloOuVazio() {
-            assertThrows(InvalidUuidException.class, () -> despesaService.atualizarDespesa(null, despesaUpdateDTO));
-            assertThrows(InvalidUuidException.class, () -> despesaService.atualizarDespesa("", despesaUpdateDTO));
+            assertThrows(InvalidUuidException.class, () -> despesaService.atualizarDespesa(null, user.getUuid(), despesaUpdateDTO, null));
+            assertThrows(InvalidUuidException.class, () -> despesaService.atualizarDespesa("", user.getUuid(), despesaUpdateDTO, null));
         }
 
         @Test
         void erroAoAtualizarDespesaNula() {
             String despesaId = UUID.randomUUID().toString();
 
-            assertThrows(InvalidDataException.class, () -> despesaService.atualizarDespesa(despesaId, null));
+            assertThrows(InvalidDataException.class, () -> despesaService.atualizarDespesa(despesaId, user.getUuid(), null, null));
         }
 
 
@@ -245,11 +255,11 @@ class DespesaServiceUnitTest {
 
             String despesaId = despesa.getUuid();
 
-            when(despesaRepository.findById(despesaId)).thenReturn(Optional.of(despesa));
+            when(despesaRepository.findByUuidAndUserUuid(despesaId, user.getUuid())).thenReturn(Optional.of(despesa));
             when(despesaRepository.save(any(DespesaEntity.class))).thenThrow(new RuntimeException("Erro no repositório"));
 
             // Act & Assert
-            assertThrows(DespesaOperationException.class, () -> despesaService.atualizarDespesa(despesaId, despesaTest));
+            assertThrows(DespesaOperationException.class, () -> despesaService.atualizarDespesa(despesaId, user.getUuid(), despesaTest, null));
         }
     }
 
@@ -259,25 +269,25 @@ class DespesaServiceUnitTest {
         @Test
         void deveExcluirDespesa() {
             String despesaId = despesa.getUuid();
-            when(despesaRepository.findById(despesaId)).thenReturn(Optional.of(despesa));
-            doNothing().when(despesaRepository).delete(despesa); // Verifica o método delete
+            when(despesaRepository.findByUuidAndUserUuid(despesaId, user.getUuid())).thenReturn(Optional.of(despesa));
+            when(despesaRepository.deleteByUuidAndUserUuid(despesaId, user.getUuid())).thenReturn(1);
 
-            despesaService.excluirDespesa(despesaId);
-            verify(despesaRepository, times(1)).delete(despesa); // Verifica o método delete
+            despesaService.excluirDespesa(despesaId, user.getUuid());
+            verify(despesaRepository, times(1)).deleteByUuidAndUserUuid(despesaId, user.getUuid());
         }
 
         @Test
         void erroAoExcluirDespesaInexistente() {
             String despesaId = UUID.randomUUID().toString();
-            when(despesaRepository.findById(anyString())).thenReturn(Optional.empty());
+            when(despesaRepository.findByUuidAndUserUuid(anyString(), anyString())).thenReturn(Optional.empty());
 
-            assertThrows(DespesaNotFoundException.class, () -> despesaService.excluirDespesa(despesaId));
+            assertThrows(DespesaNotFoundException.class, () -> despesaService.excluirDespesa(despesaId, user.getUuid()));
         }
 
         @Test
         void erroAoExcluirDespesaComUuidNuloOuVazio() {
-            assertThrows(InvalidUuidException.class, () -> despesaService.excluirDespesa(null));
-            assertThrows(InvalidUuidException.class, () -> despesaService.excluirDespesa(""));
+            assertThrows(InvalidUuidException.class, () -> despesaService.excluirDespesa(null, user.getUuid()));
+            assertThrows(InvalidUuidException.class, () -> despesaService.excluirDespesa("", user.getUuid()));
         }
 
         @Test
@@ -288,11 +298,11 @@ class DespesaServiceUnitTest {
 
             String despesaId = despesaTest.getUuid();
 
-            when(despesaRepository.findById(despesaId)).thenReturn(Optional.of(despesaTest));
-            doThrow(new RuntimeException("Erro no repositório")).when(despesaRepository).delete(despesaTest);
+            when(despesaRepository.findByUuidAndUserUuid(despesaId, user.getUuid())).thenReturn(Optional.of(despesaTest));
+            when(despesaRepository.deleteByUuidAndUserUuid(despesaId, user.getUuid())).thenThrow(new RuntimeException("Erro no repositório"));
 
             // Act & Assert
-            assertThrows(DespesaOperationException.class, () -> despesaService.excluirDespesa(despesaId));
+            assertThrows(DespesaOperationException.class, () -> despesaService.excluirDespesa(despesaId, user.getUuid()));
         }
     }
 
@@ -301,12 +311,8 @@ class DespesaServiceUnitTest {
 
         @Test
         void deveGerarGraficoBarras() {
-            DespesaEntity despesaMock = mock(DespesaEntity.class);
-            when(despesaMock.getValor()).thenReturn(BigDecimal.valueOf(100));
-            when(despesaMock.getData()).thenReturn(LocalDate.of(2025, 3, 1));
-            
-            when(despesaRepository.findByUserAndYearMonthRange(anyString(), any(), any()))
-                .thenReturn(List.of(despesaMock));
+            when(resumoMensalService.somarPorMes(anyString(), eq(CategoriaType.DESPESAS), any(), any()))
+                .thenReturn(Map.of(YearMonth.of(2025, 3), BigDecimal.valueOf(100)));
             
             GraficoBarraDTO resultado = despesaService.gerarGraficoBarras("user123", 
                 YearMonth.of(2025, 1), 
@@ -321,8 +327,8 @@ class DespesaServiceUnitTest {
 
         @Test
         void deveGerarGraficoPizza() {
-            when(despesaRepository.findByUserAndDateRange(anyString(), any(LocalDate.class), any(LocalDate.class)))
-                    .thenReturn(List.of(despesa));
+            when(despesaRepository.sumDespesasByUserIdGroupedByCategoria(anyString(), any(LocalDate.class), any(LocalDate.class)))
+                    .thenReturn(Map.of("Alimentacao", BigDecimal.valueOf(100)));
 
             LocalDate inicio = LocalDate.of(2024, 1, 1);
             LocalDate fim = LocalDate.of(2024, 12, 31);
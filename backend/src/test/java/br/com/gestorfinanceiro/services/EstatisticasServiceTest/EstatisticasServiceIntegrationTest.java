@@ -0,0 +1,187 @@
+package br.com.gestorfinanceiro.services.EstatisticasServiceTest;
+
+import br.com.gestorfinanceiro.dto.common.ImportacaoLoteDTO;
+import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.AtividadeDiariaDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.EstatisticasDTO;
+import br.com.gestorfinanceiro.dto.estatisticas.VolumeUsuarioDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.DespesaService;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem @Transactional: as criações só entram na contagem depois do commit
+@SpringBootTest
+@ActiveProfiles("test")
+class EstatisticasServiceIntegrationTest {
+
+    private static final String ALIMENTACAO = "Alimentacao";
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity ana;
+    private UserEntity bruno;
+
+    @BeforeEach
+    void setUp() {
+        limparBaseDeDados();
+
+        ana = criarUsuarioTest("Ana", true);
+        bruno = criarUsuarioTest("Bruno", false);
+        criarCategoriaTest(ana);
+        criarCategoriaTest(bruno);
+    }
+
+    // As despesas criadas aqui foram confirmadas e atrapalhariam a limpeza das outras classes
+    @AfterEach
+    void tearDown() {
+        limparBaseDeDados();
+    }
+
+    @Test
+    void deveContarUsuariosCriacoesDoDiaEMaioresUsuarios() {
+        // Os contadores são da aplicação inteira, então compara com o que já havia hoje
+        estatisticasService.atualizar();
+        long despesasAntes = criacoesDeHoje(estatisticasService.obterEstatisticas()).despesas();
+
+        despesaService.criarDespesa(criarDespesaDTO(ALIMENTACAO), ana.getUuid());
+        despesaService.criarDespesa(criarDespesaDTO(ALIMENTACAO), bruno.getUuid());
+        ImportacaoLoteDTO lote = despesaService.importarDespesas(
+                List.of(criarDespesaDTO(ALIMENTACAO), criarDespesaDTO(ALIMENTACAO)), ana.getUuid());
+        assertEquals(2, lote.importadas());
+
+        estatisticasService.atualizar();
+        EstatisticasDTO estatisticas = estatisticasService.obterEstatisticas();
+
+        assertEquals(2, estatisticas.totalUsuarios());
+        assertEquals(1, estatisticas.usuariosAtivos());
+        assertEquals(30, estatisticas.transacoesPorDia().size());
+        assertEquals(despesasAntes + 4, criacoesDeHoje(estatisticas).despesas());
+
+        List<VolumeUsuarioDTO> maiores = estatisticas.maioresUsuarios();
+        assertEquals(2, maiores.size());
+        assertEquals("Ana", maiores.get(0).username());
+        assertEquals(3, maiores.get(0).transacoes());
+        assertEquals(3, maiores.get(0).transacoesRecentes());
+        assertEquals("Bruno", maiores.get(1).username());
+        assertEquals(1, maiores.get(1).transacoes());
+        // O tamanho em disco só é estimado no PostgreSQL
+        assertNull(maiores.get(0).armazenamentoEstimadoBytes());
+    }
+
+    @Test
+    void naoDeveContarLoteRejeitado() {
+        estatisticasService.atualizar();
+        long despesasAntes = criacoesDeHoje(estatisticasService.obterEstatisticas()).despesas();
+
+        ImportacaoLoteDTO lote = despesaService.importarDespesas(
+                List.of(criarDespesaDTO(ALIMENTACAO), criarDespesaDTO("Inexistente")), ana.getUuid());
+        assertEquals(0, lote.importadas());
+
+        estatisticasService.atualizar();
+        EstatisticasDTO estatisticas = estatisticasService.obterEstatisticas();
+        assertEquals(despesasAntes, criacoesDeHoje(estatisticas).despesas());
+        assertTrue(estatisticas.maioresUsuarios().isEmpty());
+    }
+
+    private void limparBaseDeDados() {
+        resumoMensalRepository.deleteAllInBatch();
+        despesaRepository.deleteAllInBatch();
+        receitaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void maioresUsuariosDevemSerOrdenadosPeloTotalComOsRecentesAParte() {
+        DespesaCreateDTO antiga = criarDespesaDTO(ALIMENTACAO);
+        antiga.setData(LocalDate.now().minusYears(2));
+        despesaService.importarDespesas(List.of(antiga, antiga), bruno.getUuid());
+        despesaService.criarDespesa(criarDespesaDTO(ALIMENTACAO), ana.getUuid());
+
+        estatisticasService.atualizar();
+
+        // Bruno guarda mais transações, ainda que nenhuma seja do período
+        List<VolumeUsuarioDTO> maiores = estatisticasService.obterEstatisticas().maioresUsuarios();
+        assertEquals(2, maiores.size());
+        assertEquals("Bruno", maiores.get(0).username());
+        assertEquals(2, maiores.get(0).transacoes());
+        assertEquals(0, maiores.get(0).transacoesRecentes());
+        assertEquals("Ana", maiores.get(1).username());
+        assertEquals(1, maiores.get(1).transacoes());
+        assertEquals(1, maiores.get(1).transacoesRecentes());
+    }
+
+    private AtividadeDiariaDTO criacoesDeHoje(EstatisticasDTO estatisticas) {
+        List<AtividadeDiariaDTO> porDia = estatisticas.transacoesPorDia();
+        AtividadeDiariaDTO hoje = porDia.get(porDia.size() - 1);
+        assertEquals(LocalDate.now(), hoje.dia());
+        return hoje;
+    }
+
+    private DespesaCreateDTO criarDespesaDTO(String categoria) {
+        DespesaCreateDTO dto = new DespesaCreateDTO();
+        dto.setValor(BigDecimal.valueOf(100));
+        dto.setData(LocalDate.now());
+        dto.setCategoria(categoria);
+        dto.setDestinoPagamento("Mercado");
+        dto.setObservacoes("Compras");
+        return dto;
+    }
+
+    private UserEntity criarUsuarioTest(String nome, boolean estaAtivo) {
+        UserEntity userTest = new UserEntity();
+        userTest.setUsername(nome);
+        userTest.setEmail(nome.toLowerCase() + "@gmail.com");
+        userTest.setPassword("123456");
+        userTest.setRole(Roles.USER);
+        userTest.setEstaAtivo(estaAtivo);
+        return userRepository.save(userTest);
+    }
+
+    private CategoriaEntity criarCategoriaTest(UserEntity user) {
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setNome(ALIMENTACAO);
+        categoria.setTipo(CategoriaType.DESPESAS);
+        categoria.setUser(user);
+        return categoriaRepository.save(categoria);
+    }
+}
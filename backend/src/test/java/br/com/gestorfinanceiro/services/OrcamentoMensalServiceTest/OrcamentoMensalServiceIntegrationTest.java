@@ -213,6 +213,28 @@ class OrcamentoMensalServiceIntegrationTest {
             assertEquals(PERIODO_PADRAO, orcamentos.get(0).getPeriodo());
         }
 
+        @Test
+        void naoDeveListarOrcamentosDeOutrosUsuarios() {
+            // Arrange
+            UserEntity outroUsuario = new UserEntity();
+            outroUsuario.setUsername("Maria");
+            outroUsuario.setEmail("maria@gmail.com");
+            outroUsuario.setPassword("123456");
+            outroUsuario.setRole(Roles.USER);
+            outroUsuario = userRepository.save(outroUsuario);
+            criarCategoriaTest(CATEGORIA_PADRAO, outroUsuario);
+
+            orcamentoMensalService.criarOrcamentoMensal(userId, CATEGORIA_PADRAO, VALOR_PADRAO, PERIODO_PADRAO);
+            orcamentoMensalService.criarOrcamentoMensal(outroUsuario.getUuid(), CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_PADRAO);
+
+            // Act
+            List<OrcamentoMensalEntity> orcamentos = orcamentoMensalService.listarPorPeriodo(userId, PERIODO_PADRAO);
+
+            // Assert
+            assertEquals(1, orcamentos.size());
+            assertEquals(userId, orcamentos.get(0).getUser().getUuid());
+        }
+
         @Test
         void deveLancarExcecaoQuandoPeriodoInvalido() {
             // Assert
@@ -306,7 +328,7 @@ class OrcamentoMensalServiceIntegrationTest {
         void deveAtualizarOrcamentoComSucesso() {
             // Act
             OrcamentoMensalEntity orcamentoAtualizado = orcamentoMensalService.atualizarOrcamentoMensal(
-                    userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                    userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
 
             // Assert
             assertEquals(orcamentoId, orcamentoAtualizado.getUuid());
@@ -320,7 +342,7 @@ class OrcamentoMensalServiceIntegrationTest {
             assertThrows(OrcamentoMensalNotFoundException.class, () -> {
                 // Act
                 orcamentoMensalService.atualizarOrcamentoMensal(
-                        userId, "uuid-inexistente", CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                        userId, "uuid-inexistente", CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
 
@@ -334,7 +356,7 @@ class OrcamentoMensalServiceIntegrationTest {
             assertThrows(OrcamentoMensalAlreadyExistsException.class, () -> {
                 // Act
                 orcamentoMensalService.atualizarOrcamentoMensal(
-                        userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                        userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
 
@@ -343,11 +365,11 @@ class OrcamentoMensalServiceIntegrationTest {
             // Assert
             assertThrows(InvalidUuidException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(null, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal(null, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
             assertThrows(InvalidUuidException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal("", orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal("", orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
 
@@ -356,27 +378,27 @@ class OrcamentoMensalServiceIntegrationTest {
             // Assert
             assertThrows(InvalidUuidException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(userId, null, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal(userId, null, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
             assertThrows(InvalidUuidException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(userId, "", CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal(userId, "", CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
             assertThrows(InvalidDataException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, CATEGORIA_PADRAO, null, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, CATEGORIA_PADRAO, null, PERIODO_DIFERENTE, null);
             });
             assertThrows(InvalidDataException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, null);
+                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, null, null);
             });
             assertThrows(InvalidDataException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, null, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, null, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
             assertThrows(InvalidDataException.class, () -> {
                 // Act
-                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, "", VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                orcamentoMensalService.atualizarOrcamentoMensal(userId, orcamentoId, "", VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
     }
@@ -465,7 +487,7 @@ class OrcamentoMensalServiceIntegrationTest {
         void devePermitirAtualizarOrcamentoSemDuplicacao() {
             // Act (deve passar pois está atualizando o mesmo orçamento)
             OrcamentoMensalEntity atualizado = orcamentoMensalService.atualizarOrcamentoMensal(
-                    userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_PADRAO);
+                    userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_PADRAO, null);
 
             // Assert
             assertEquals(VALOR_ATUALIZADO, atualizado.getValorLimite());
@@ -481,7 +503,7 @@ class OrcamentoMensalServiceIntegrationTest {
             assertThrows(OrcamentoMensalAlreadyExistsException.class, () -> {
                 // Tenta atualizar o segundo orçamento para mesma categoria/periodo do primeiro
                 orcamentoMensalService.atualizarOrcamentoMensal(
-                        userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                        userId, orcamentoId, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
     }
@@ -1,5 +1,6 @@
 package br.com.gestorfinanceiro.services.OrcamentoMensalServiceTest;
 
+import br.com.gestorfinanceiro.dto.orcamentomensal.ConsumoOrcamentoDTO;
 import br.com.gestorfinanceiro.exceptions.categoria.CategoriaNameNotFoundException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalAlreadyExistsException;
 import br.com.gestorfinanceiro.exceptions.orcamentomensal.OrcamentoMensalNotFoundException;
@@ -16,6 +17,7 @@ import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.OrcamentoMensalRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
 import br.com.gestorfinanceiro.services.impl.OrcamentoMensalServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -23,8 +25,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
@@ -90,9 +94,7 @@ class OrcamentoMensalServiceUnitTest {
             when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
             when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
                     .thenReturn(Optional.of(categoria));
-            when(orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, PERIODO_PADRAO, USER_ID))
-                    .thenReturn(Optional.empty());
-            when(orcamentoMensalRepository.save(any(OrcamentoMensalEntity.class)))
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
                     .thenReturn(orcamentoExistente);
 
             // Act
@@ -102,7 +104,7 @@ class OrcamentoMensalServiceUnitTest {
             // Assert
             assertNotNull(result);
             assertEquals(ORCAMENTO_ID, result.getUuid());
-            verify(orcamentoMensalRepository).save(any(OrcamentoMensalEntity.class));
+            verify(orcamentoMensalRepository).saveAndFlush(any(OrcamentoMensalEntity.class));
         }
 
         @Test
@@ -137,8 +139,8 @@ class OrcamentoMensalServiceUnitTest {
             when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
             when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
                     .thenReturn(Optional.of(categoria));
-            when(orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, PERIODO_PADRAO, USER_ID))
-                    .thenReturn(Optional.of(orcamentoExistente));
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
+                    .thenThrow(violacaoDaChaveUnica());
 
             // Act & Assert
             assertThrows(OrcamentoMensalAlreadyExistsException.class, () -> {
@@ -147,6 +149,23 @@ class OrcamentoMensalServiceUnitTest {
             });
         }
 
+        @Test
+        void deveLancarExcecaoDeOperacaoQuandoOutraRestricaoForViolada() {
+            // Arrange
+            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+            when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
+                    .thenReturn(Optional.of(categoria));
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
+                    .thenThrow(new DataIntegrityViolationException("fk",
+                            new ConstraintViolationException("fk", new SQLException(), "fk_orcamento_mensal_categoria")));
+
+            // Act & Assert
+            assertThrows(OrcamentoMensalOperationException.class, () -> {
+                orcamentoMensalService.criarOrcamentoMensal(
+                        USER_ID, CATEGORIA_PADRAO, VALOR_PADRAO, PERIODO_PADRAO);
+            });
+        }
+
         @Test
         void deveLancarExcecaoQuandoValorNegativo() {
             // Act & Assert
@@ -171,9 +190,7 @@ class OrcamentoMensalServiceUnitTest {
             when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
             when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
                     .thenReturn(Optional.of(categoria));
-            when(orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, PERIODO_PADRAO, USER_ID))
-                    .thenReturn(Optional.empty());
-            when(orcamentoMensalRepository.save(any(OrcamentoMensalEntity.class)))
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
                     .thenThrow(new RuntimeException("Erro no banco de dados"));
 
             // Act & Assert
@@ -214,7 +231,7 @@ class OrcamentoMensalServiceUnitTest {
         @Test
         void deveListarPorPeriodoComSucesso() {
             // Arrange
-            when(orcamentoMensalRepository.findByPeriodo(PERIODO_PADRAO))
+            when(orcamentoMensalRepository.findByUserIdAndPeriodo(USER_ID, PERIODO_PADRAO))
                     .thenReturn(List.of(orcamentoExistente));
 
             // Act
@@ -233,6 +250,42 @@ class OrcamentoMensalServiceUnitTest {
             });
         }
 
+        @Test
+        void deveCalcularConsumoPorPeriodoComSucesso() {
+            // Arrange
+            when(orcamentoMensalRepository.findConsumoByUserIdAndPeriodo(USER_ID, PERIODO_PADRAO))
+                    .thenReturn(List.of(new ConsumoOrcamentoDTO(ORCAMENTO_ID, CATEGORIA_PADRAO, PERIODO_PADRAO,
+                            VALOR_PADRAO, BigDecimal.valueOf(25))));
+
+            // Act
+            List<ConsumoOrcamentoDTO> result = orcamentoMensalService.calcularConsumoPorPeriodo(USER_ID, PERIODO_PADRAO);
+
+            // Assert
+            assertEquals(1, result.size());
+            assertEquals(0, BigDecimal.valueOf(75).compareTo(result.get(0).restante()));
+            assertEquals(0, BigDecimal.valueOf(25).compareTo(result.get(0).percentualUsado()));
+        }
+
+        @Test
+        void deveLancarExcecaoQuandoNenhumConsumoEncontrado() {
+            // Arrange
+            when(orcamentoMensalRepository.findConsumoByUserIdAndPeriodo(USER_ID, PERIODO_PADRAO))
+                    .thenReturn(List.of());
+
+            // Act & Assert
+            assertThrows(OrcamentoMensalNotFoundException.class, () -> {
+                orcamentoMensalService.calcularConsumoPorPeriodo(USER_ID, PERIODO_PADRAO);
+            });
+        }
+
+        @Test
+        void deveLancarExcecaoQuandoPeriodoDoConsumoInvalido() {
+            // Act & Assert
+            assertThrows(InvalidDataException.class, () -> {
+                orcamentoMensalService.calcularConsumoPorPeriodo(USER_ID, null);
+            });
+        }
+
         @Test
         void deveBuscarPorIdComSucesso() {
             // Arrange
@@ -269,18 +322,16 @@ class OrcamentoMensalServiceUnitTest {
                     .thenReturn(Optional.of(orcamentoExistente));
             when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
                     .thenReturn(Optional.of(categoria));
-            when(orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, PERIODO_DIFERENTE, USER_ID))
-                    .thenReturn(Optional.empty());
-            when(orcamentoMensalRepository.save(any(OrcamentoMensalEntity.class)))
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
                     .thenReturn(orcamentoExistente);
 
             // Act
             OrcamentoMensalEntity result = orcamentoMensalService.atualizarOrcamentoMensal(
-                    USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                    USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
 
             // Assert
             assertNotNull(result);
-            verify(orcamentoMensalRepository).save(any(OrcamentoMensalEntity.class));
+            verify(orcamentoMensalRepository).saveAndFlush(any(OrcamentoMensalEntity.class));
         }
 
         @Test
@@ -292,7 +343,7 @@ class OrcamentoMensalServiceUnitTest {
             // Act & Assert
             assertThrows(OrcamentoMensalNotFoundException.class, () -> {
                 orcamentoMensalService.atualizarOrcamentoMensal(
-                        USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                        USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
 
@@ -307,27 +358,24 @@ class OrcamentoMensalServiceUnitTest {
             // Act & Assert
             assertThrows(CategoriaNameNotFoundException.class, () -> {
                 orcamentoMensalService.atualizarOrcamentoMensal(
-                        USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                        USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
 
         @Test
         void deveLancarExcecaoQuandoOrcamentoDuplicado() {
             // Arrange
-            OrcamentoMensalEntity outroOrcamento = new OrcamentoMensalEntity();
-            outroOrcamento.setUuid(UUID.randomUUID().toString());
-
             when(orcamentoMensalRepository.findByUuidAndUserUuid(ORCAMENTO_ID, USER_ID))
                     .thenReturn(Optional.of(orcamentoExistente));
             when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
                     .thenReturn(Optional.of(categoria));
-            when(orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, PERIODO_DIFERENTE, USER_ID))
-                    .thenReturn(Optional.of(outroOrcamento));
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
+                    .thenThrow(violacaoDaChaveUnica());
 
             // Act & Assert
             assertThrows(OrcamentoMensalAlreadyExistsException.class, () -> {
                 orcamentoMensalService.atualizarOrcamentoMensal(
-                        USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE);
+                        USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_ATUALIZADO, PERIODO_DIFERENTE, null);
             });
         }
 
@@ -338,14 +386,12 @@ class OrcamentoMensalServiceUnitTest {
                     .thenReturn(Optional.of(orcamentoExistente));
             when(categoriaRepository.findByNomeAndUserUuid(CATEGORIA_PADRAO, USER_ID))
                     .thenReturn(Optional.of(categoria));
-            when(orcamentoMensalRepository.findByCategoriaAndPeriodoAndUserUuid(categoria, PERIODO_PADRAO, USER_ID))
-                    .thenReturn(Optional.empty());
-            when(orcamentoMensalRepository.save(any(OrcamentoMensalEntity.class)))
+            when(orcamentoMensalRepository.saveAndFlush(any(OrcamentoMensalEntity.class)))
                     .thenThrow(new RuntimeException("Erro no banco de dados"));
 
             // Act & Assert
             assertThrows(OrcamentoMensalOperationException.class, () -> {
-                orcamentoMensalService.atualizarOrcamentoMensal(USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_PADRAO, PERIODO_PADRAO);
+                orcamentoMensalService.atualizarOrcamentoMensal(USER_ID, ORCAMENTO_ID, CATEGORIA_PADRAO, VALOR_PADRAO, PERIODO_PADRAO, null);
             });
         }
     }
@@ -391,4 +437,9 @@ class OrcamentoMensalServiceUnitTest {
             });
         }
     }
-}
\ No newline at end of file
+
+    private static DataIntegrityViolationException violacaoDaChaveUnica() {
+        return new DataIntegrityViolationException("duplicado", new ConstraintViolationException(
+                "duplicado", new SQLException(), OrcamentoMensalEntity.CHAVE_UNICA));
+    }
+}
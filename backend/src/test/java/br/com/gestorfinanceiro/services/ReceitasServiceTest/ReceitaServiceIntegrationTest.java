@@ -195,7 +195,7 @@ class ReceitaServiceIntegrationTest {
             receita.setValor(VALOR_ATUALIZADO);
 
             ReceitaUpdateDTO receitaAtualizada = criarReceitaUpdateDTO(receita);
-            receita = receitaService.atualizarReceita(receita.getUuid(), receitaAtualizada);
+            receita = receitaService.atualizarReceita(receita.getUuid(), user.getUuid(), receitaAtualizada, null);
 
             assertEquals(BigDecimal.valueOf(20000), receita.getValor());
         }
@@ -205,7 +205,7 @@ class ReceitaServiceIntegrationTest {
             ReceitaUpdateDTO receita = criarReceitaUpdateDTO();
             String uuidInexistente = UUID.randomUUID().toString();
 
-            assertThrows(ReceitaNotFoundException.class, () -> receitaService.atualizarReceita(uuidInexistente, receita));
+            assertThrows(ReceitaNotFoundException.class, () -> receitaService.atualizarReceita(uuidInexistente, user.getUuid(), receita, null));
         }
 
         @Test
@@ -213,7 +213,7 @@ class ReceitaServiceIntegrationTest {
             ReceitaUpdateDTO receita = null;
             String uuid = UUID.randomUUID().toString();
 
-            assertThrows(InvalidDataException.class, () -> receitaService.atualizarReceita(uuid, receita));
+            assertThrows(InvalidDataException.class, () -> receitaService.atualizarReceita(uuid, user.getUuid(), receita, null));
         }
 
         @Test
@@ -221,8 +221,8 @@ class ReceitaServiceIntegrationTest {
             ReceitaUpdateDTO receita = criarReceitaUpdateDTO();
             String uuid = null;
 
-            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita(uuid, receita));
-            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita("", receita));
+            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita(uuid, user.getUuid(), receita, null));
+            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita("", user.getUuid(), receita, null));
         }
     }
 
@@ -233,7 +233,7 @@ class ReceitaServiceIntegrationTest {
         void deveExcluirReceita() {
             ReceitaEntity receita = receitaService.criarReceita(criarReceitaCreateDTO(), user.getUuid());
 
-            receitaService.excluirReceita(receita.getUuid());
+            receitaService.excluirReceita(receita.getUuid(), user.getUuid());
             assertFalse(receitaRepository.findById(receita.getUuid()).isPresent());
         }
 
@@ -241,15 +241,15 @@ class ReceitaServiceIntegrationTest {
         void erroAoExcluirReceitaInexistente() {
             String uuidInexistente = UUID.randomUUID().toString();
 
-            assertThrows(ReceitaNotFoundException.class, () -> receitaService.excluirReceita(uuidInexistente));
+            assertThrows(ReceitaNotFoundException.class, () -> receitaService.excluirReceita(uuidInexistente, user.getUuid()));
         }
 
         @Test
         void erroAoExcluirReceitaComUuidNuloOuVazio() {
             String uuidNull = null;
 
-            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita(uuidNull));
-            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita(""));
+            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita(uuidNull, user.getUuid()));
+            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita("", user.getUuid()));
         }
     }
 
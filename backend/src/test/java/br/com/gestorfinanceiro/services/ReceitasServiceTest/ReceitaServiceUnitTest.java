@@ -17,6 +17,8 @@ import br.com.gestorfinanceiro.models.enums.Roles;
 import br.com.gestorfinanceiro.repositories.CategoriaRepository;
 import br.com.gestorfinanceiro.repositories.ReceitaRepository;
 import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.EstatisticasService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
 import br.com.gestorfinanceiro.services.impl.ReceitaServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -30,12 +32,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +61,12 @@ class ReceitaServiceUnitTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ResumoMensalService resumoMensalService;
+
+    @Mock
+    private EstatisticasService estatisticasService;
+
     @InjectMocks
     private ReceitaServiceImpl receitaService;
 
@@ -203,12 +213,12 @@ class ReceitaServiceUnitTest {
 
         @Test
         void deveAtualizarReceita() {
-            when(receitaRepository.findById(receita.getUuid())).thenReturn(Optional.of(receita));
+            when(receitaRepository.findByUuidAndUserUuid(receita.getUuid(), user.getUuid())).thenReturn(Optional.of(receita));
             when(categoriaRepository.findByNomeAndTipoAndUserUuid(CATEGORIA_PADRAO, CategoriaType.RECEITAS, user.getUuid())).thenReturn(Optional.of(categoria));
             when(receitaRepository.save(any(ReceitaEntity.class))).thenReturn(receita);
 
             receita.setValor(BigDecimal.valueOf(20000));
-            ReceitaEntity receitaAtualizada = receitaService.atualizarReceita(receita.getUuid(), receitaUpdateDTO);
+            ReceitaEntity receitaAtualizada = receitaService.atualizarReceita(receita.getUuid(), user.getUuid(), receitaUpdateDTO, null);
 
             assertEquals(BigDecimal.valueOf(20000), receitaAtualizada.getValor());
         }
@@ -216,22 +226,22 @@ class ReceitaServiceUnitTest {
         @Test
         void erroAoAtualizarReceitaInexistente() {
             String receitaId = UUID.randomUUID().toString();
-            when(receitaRepository.findById(receitaId)).thenReturn(Optional.empty());
+            when(receitaRepository.findByUuidAndUserUuid(receitaId, user.getUuid())).thenReturn(Optional.empty());
 
-            assertThrows(ReceitaNotFoundException.class, () -> receitaService.atualizarReceita(receitaId, receitaUpdateDTO));
+            assertThrows(ReceitaNotFoundException.class, () -> receitaService.atualizarReceita(receitaId, user.getUuid(), receitaUpdateDTO, null));
         }
 
         @Test
         void erroAoAtualizarUuidNullOuVazio() {
-            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita(null, receitaUpdateDTO));
-            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita("", receitaUpdateDTO));
+            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita(null, user.getUuid(), receitaUpdateDTO, null));
+            assertThrows(InvalidUuidException.class, () -> receitaService.atualizarReceita("", user.getUuid(), receitaUpdateDTO, null));
         }
 
         @Test
         void erroAoAtualizarReceitaNula() {
             String receitaId = UUID.randomUUID().toString();
 
-            assertThrows(InvalidDataException.class, () -> receitaService.atualizarReceita(receitaId, null));
+            assertThrows(InvalidDataException.class, () -> receitaService.atualizarReceita(receitaId, user.getUuid(), null, null));
         }
 
         @Test
@@ -246,12 +256,12 @@ class ReceitaServiceUnitTest {
 
             String receitaId = receita.getUuid();
 
-            when(receitaRepository.findById(receitaId)).thenReturn(Optional.of(receita));
+            when(receitaRepository.findByUuidAndUserUuid(receitaId, user.getUuid())).thenReturn(Optional.of(receita));
             when(receitaRepository.save(any(ReceitaEntity.class))).thenThrow(new RuntimeException("Erro no repositório"));
 
             // Act & Assert
             assertThrows(ReceitaOperationException.class,
-                    () -> receitaService.atualizarReceita(receitaId, receitaUpdateDto));
+                    () -> receitaService.atualizarReceita(receitaId, user.getUuid(), receitaUpdateDto, null));
         }
     }
 
@@ -261,25 +271,25 @@ class ReceitaServiceUnitTest {
         @Test
         void deveExcluirReceita() {
             String receitaId = receita.getUuid();
-            when(receitaRepository.findById(receitaId)).thenReturn(Optional.of(receita));
-            doNothing().when(receitaRepository).delete(receita);
+            when(receitaRepository.findByUuidAndUserUuid(receitaId, user.getUuid())).thenReturn(Optional.of(receita));
+            when(receitaRepository.deleteByUuidAndUserUuid(receitaId, user.getUuid())).thenReturn(1);
 
-            receitaService.excluirReceita(receitaId);
-            verify(receitaRepository, times(1)).delete(receita);
+            receitaService.excluirReceita(receitaId, user.getUuid());
+            verify(receitaRepository, times(1)).deleteByUuidAndUserUuid(receitaId, user.getUuid());
         }
 
         @Test
         void erroAoExcluirReceitaInexistente() {
             String receitaId = UUID.randomUUID().toString();
-            when(receitaRepository.findById(receitaId)).thenReturn(Optional.empty());
+            when(receitaRepository.findByUuidAndUserUuid(receitaId, user.getUuid())).thenReturn(Optional.empty());
 
-            assertThrows(ReceitaNotFoundException.class, () -> receitaService.excluirReceita(receitaId));
+            assertThrows(ReceitaNotFoundException.class, () -> receitaService.excluirReceita(receitaId, user.getUuid()));
         }
 
         @Test
         void erroAoExcluirReceitaComIdNuloOuVazio() {
-            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita(null));
-            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita(""));
+            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita(null, user.getUuid()));
+            assertThrows(InvalidUuidException.class, () -> receitaService.excluirReceita("", user.getUuid()));
         }
 
         @Test
@@ -293,11 +303,11 @@ class ReceitaServiceUnitTest {
 
             String receitaId = receitaTest.getUuid();
 
-            when(receitaRepository.findById(receitaId)).thenReturn(Optional.of(receitaTest));
-            doThrow(new RuntimeException("Erro no repositório")).when(receitaRepository).delete(receitaTest);
+            when(receitaRepository.findByUuidAndUserUuid(receitaId, user.getUuid())).thenReturn(Optional.of(receitaTest));
+            when(receitaRepository.deleteByUuidAndUserUuid(receitaId, user.getUuid())).thenThrow(new RuntimeException("Erro no repositório"));
 
             // Act & Assert
-            assertThrows(ReceitaOperationException.class, () -> receitaService.excluirReceita(receitaId));
+            assertThrows(ReceitaOperationException.class, () -> receitaService.excluirReceita(receitaId, user.getUuid()));
         }
     }
 
@@ -306,12 +316,8 @@ class ReceitaServiceUnitTest {
 
         @Test
         void deveGerarGraficoBarras() {
-            ReceitaEntity receitaMock = mock(ReceitaEntity.class);
-            when(receitaMock.getValor()).thenReturn(BigDecimal.valueOf(10000));
-            when(receitaMock.getData()).thenReturn(LocalDate.of(2025, 3, 1));
-            
-            when(receitaRepository.findByUserAndYearMonthRange(anyString(), any(), any()))
-                .thenReturn(List.of(receitaMock));
+            when(resumoMensalService.somarPorMes(anyString(), eq(CategoriaType.RECEITAS), any(), any()))
+                .thenReturn(Map.of(YearMonth.of(2025, 3), BigDecimal.valueOf(10000)));
             
             GraficoBarraDTO resultado = receitaService.gerarGraficoBarras("user123", 
                 YearMonth.of(2025, 1), 
@@ -326,8 +332,8 @@ class ReceitaServiceUnitTest {
 
         @Test
         void deveGerarGraficoPizza() {
-            when(receitaRepository.findByUserAndDateRange(anyString(), any(LocalDate.class), any(LocalDate.class)))
-                    .thenReturn(List.of(receita));
+            when(receitaRepository.sumReceitasByUserIdGroupedByCategoria(anyString(), any(LocalDate.class), any(LocalDate.class)))
+                    .thenReturn(Map.of(CATEGORIA_PADRAO, BigDecimal.valueOf(10000)));
 
             LocalDate inicio = LocalDate.of(2024, 1, 1);
             LocalDate fim = LocalDate.of(2024, 12, 31);
@@ -0,0 +1,130 @@
+package br.com.gestorfinanceiro.services.ResumoMensalServiceTest;
+
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.ResumoMensalEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem @Transactional: cada thread precisa da sua própria transação, e o usuário e a categoria já confirmados
+@SpringBootTest
+@ActiveProfiles("test")
+class ResumoMensalConcorrenciaIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int MESES = 12;
+    private static final YearMonth JANEIRO = YearMonth.of(2024, 1);
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity user;
+    private CategoriaEntity categoria;
+
+    @BeforeEach
+    void setUp() {
+        limparBaseDeDados();
+
+        user = criarUsuarioTest();
+        categoria = criarCategoriaTest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparBaseDeDados();
+    }
+
+    @Test
+    void primeirasEscritasConcorrentesNaMesmaChaveNaoDevemPerderIncrementos() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        // A cada mês as threads se esperam para gravar juntas a primeira linha da chave
+        CyclicBarrier barreira = new CyclicBarrier(THREADS);
+        List<Future<?>> escritas = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                escritas.add(executor.submit(() -> {
+                    for (int mes = 0; mes < MESES; mes++) {
+                        barreira.await(10, TimeUnit.SECONDS);
+                        resumoMensalService.registrar(CategoriaType.DESPESAS, categoria,
+                                JANEIRO.plusMonths(mes)
+                                        .atDay(1), BigDecimal.TEN);
+                    }
+                    return null;
+                }));
+            }
+
+            // get() relança a exceção da thread, como a violação de uk_resumo_mensal_chave
+            for (Future<?> escrita : escritas) {
+                escrita.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Uma linha por mês, com todas as escritas somadas
+        List<ResumoMensalEntity> resumos = resumoMensalRepository.findAll();
+        assertEquals(MESES, resumos.size());
+        for (ResumoMensalEntity resumo : resumos) {
+            assertEquals(THREADS, resumo.getQuantidade());
+            assertEquals(0, BigDecimal.TEN.multiply(BigDecimal.valueOf(THREADS))
+                    .compareTo(resumo.getSoma()));
+        }
+    }
+
+    // Métodos auxiliares
+
+    private void limparBaseDeDados() {
+        resumoMensalRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private UserEntity criarUsuarioTest() {
+        UserEntity userTest = new UserEntity();
+        userTest.setUsername("Concorrencia");
+        userTest.setEmail("concorrencia@gmail.com");
+        userTest.setPassword("123456");
+        userTest.setRole(Roles.USER);
+        return userRepository.save(userTest);
+    }
+
+    private CategoriaEntity criarCategoriaTest() {
+        CategoriaEntity categoriaTest = new CategoriaEntity();
+        categoriaTest.setNome("Alimentacao");
+        categoriaTest.setTipo(CategoriaType.DESPESAS);
+        categoriaTest.setUser(user);
+        return categoriaRepository.save(categoriaTest);
+    }
+}
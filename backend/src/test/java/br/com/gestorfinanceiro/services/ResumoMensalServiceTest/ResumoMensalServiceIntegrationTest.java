@@ -0,0 +1,298 @@
+package br.com.gestorfinanceiro.services.ResumoMensalServiceTest;
+
+import br.com.gestorfinanceiro.dto.despesa.DespesaCreateDTO;
+import br.com.gestorfinanceiro.dto.despesa.DespesaUpdateDTO;
+import br.com.gestorfinanceiro.models.CategoriaEntity;
+import br.com.gestorfinanceiro.models.DespesaEntity;
+import br.com.gestorfinanceiro.models.ResumoMensalEntity;
+import br.com.gestorfinanceiro.models.UserEntity;
+import br.com.gestorfinanceiro.models.enums.CategoriaType;
+import br.com.gestorfinanceiro.models.enums.Roles;
+import br.com.gestorfinanceiro.repositories.CategoriaRepository;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.ResumoMensalRepository;
+import br.com.gestorfinanceiro.repositories.UserRepository;
+import br.com.gestorfinanceiro.services.CategoriaService;
+import br.com.gestorfinanceiro.services.DespesaService;
+import br.com.gestorfinanceiro.services.ResumoMensalService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+class ResumoMensalServiceIntegrationTest {
+
+    private static final String ALIMENTACAO = "Alimentacao";
+    private static final String LAZER = "Lazer";
+    private static final YearMonth JANEIRO = YearMonth.of(2024, 1);
+    private static final YearMonth FEVEREIRO = YearMonth.of(2024, 2);
+
+    @Autowired
+    private ResumoMensalService resumoMensalService;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private UserEntity user;
+    private CategoriaEntity alimentacao;
+    private CategoriaEntity lazer;
+
+    @BeforeEach
+    void setUp() {
+        resumoMensalRepository.deleteAllInBatch();
+        despesaRepository.deleteAllInBatch();
+        categoriaRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        user = criarUsuarioTest();
+        alimentacao = criarCategoriaTest(ALIMENTACAO);
+        lazer = criarCategoriaTest(LAZER);
+    }
+
+    @Nested
+    class Escritas {
+        @Test
+        void deveSomarDespesasCriadasNoMesmoMesECategoria() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(250), JANEIRO.atDay(20), ALIMENTACAO);
+
+            ResumoMensalEntity resumo = buscarResumo(alimentacao, JANEIRO).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(350).compareTo(resumo.getSoma()));
+            assertEquals(2, resumo.getQuantidade());
+            assertEquals(0, BigDecimal.valueOf(250).compareTo(resumo.getMaiorValor()));
+            assertConsistenteComReconstrucao();
+        }
+
+        @Test
+        void deveMoverValorAoAtualizarMesECategoria() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            DespesaEntity despesa = criarDespesa(BigDecimal.valueOf(300), JANEIRO.atDay(10), ALIMENTACAO);
+
+            despesaService.atualizarDespesa(despesa.getUuid(), user.getUuid(), criarDespesaUpdateDTO(BigDecimal.valueOf(40), FEVEREIRO.atDay(3), LAZER), null);
+
+            ResumoMensalEntity janeiro = buscarResumo(alimentacao, JANEIRO).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(100).compareTo(janeiro.getSoma()));
+            assertEquals(1, janeiro.getQuantidade());
+            assertEquals(0, BigDecimal.valueOf(100).compareTo(janeiro.getMaiorValor()));
+
+            ResumoMensalEntity fevereiro = buscarResumo(lazer, FEVEREIRO).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(40).compareTo(fevereiro.getSoma()));
+            assertConsistenteComReconstrucao();
+        }
+
+        @Test
+        void deveRecalcularMaiorValorAoExcluirMaiorDespesa() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(80), JANEIRO.atDay(2), ALIMENTACAO);
+            DespesaEntity maior = criarDespesa(BigDecimal.valueOf(500), JANEIRO.atDay(3), ALIMENTACAO);
+
+            despesaService.excluirDespesa(maior.getUuid(), user.getUuid());
+
+            ResumoMensalEntity resumo = buscarResumo(alimentacao, JANEIRO).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(180).compareTo(resumo.getSoma()));
+            assertEquals(0, BigDecimal.valueOf(100).compareTo(resumo.getMaiorValor()));
+            assertConsistenteComReconstrucao();
+        }
+
+        @Test
+        void deveRemoverLinhaAoExcluirUltimaDespesaDoMes() {
+            DespesaEntity despesa = criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+
+            despesaService.excluirDespesa(despesa.getUuid(), user.getUuid());
+
+            assertTrue(buscarResumo(alimentacao, JANEIRO).isEmpty());
+            assertConsistenteComReconstrucao();
+        }
+
+        @Test
+        void deveDescontarDaLinhaSemCategoriaAoExcluirDespesaAntiga() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            DespesaEntity maior = criarDespesa(BigDecimal.valueOf(400), JANEIRO.atDay(2), ALIMENTACAO);
+            // Dados antigos: despesas sem categoria, que a reconstrução junta na linha de categoria_id nulo
+            entityManager.createQuery("UPDATE DespesaEntity d SET d.categoria = null")
+                    .executeUpdate();
+            entityManager.clear();
+            resumoMensalService.reconstruir();
+
+            despesaService.excluirDespesa(maior.getUuid(), user.getUuid());
+
+            ResumoMensalEntity resumo = resumoMensalRepository.findByUserIdAndTipoAndCategoriaIdAndAnoMes(
+                    user.getUuid(), CategoriaType.DESPESAS, null, JANEIRO).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(100).compareTo(resumo.getSoma()));
+            assertEquals(1, resumo.getQuantidade());
+            assertEquals(0, BigDecimal.valueOf(100).compareTo(resumo.getMaiorValor()));
+            assertConsistenteComReconstrucao();
+        }
+
+        @Test
+        void deveJuntarLinhasNaSemCategoriaAoExcluirCategoria() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(70), FEVEREIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(30), JANEIRO.atDay(5), LAZER);
+            // Como em uma requisição nova: as despesas criadas acima não ficam no contexto de persistência
+            entityManager.flush();
+            entityManager.clear();
+
+            categoriaService.excluirCategoria(lazer.getUuid(), user.getUuid());
+
+            CategoriaEntity semCategoria = categoriaRepository
+                    .findByIsSemCategoriaAndTipoAndUserUuid(true, CategoriaType.DESPESAS, user.getUuid())
+                    .orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(30).compareTo(buscarResumo(semCategoria, JANEIRO).orElseThrow()
+                    .getSoma()));
+            assertEquals(0, BigDecimal.valueOf(130).compareTo(
+                    resumoMensalService.somarPorMes(user.getUuid(), CategoriaType.DESPESAS, JANEIRO, JANEIRO)
+                            .get(JANEIRO)));
+            assertTrue(resumoMensalRepository.findAllByCategoriaId(lazer.getUuid())
+                    .isEmpty());
+            assertConsistenteComReconstrucao();
+        }
+    }
+
+    @Nested
+    class Reconstrucao {
+        @Test
+        void deveRefazerTabelaAPartirDasTransacoes() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(70), FEVEREIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(30), JANEIRO.atDay(5), LAZER);
+            resumoMensalRepository.deleteAllInBatch();
+
+            int linhas = resumoMensalService.reconstruir();
+
+            assertEquals(3, linhas);
+            assertEquals(0, BigDecimal.valueOf(130).compareTo(
+                    resumoMensalService.somarPorMes(user.getUuid(), CategoriaType.DESPESAS, JANEIRO, FEVEREIRO)
+                            .get(JANEIRO)));
+        }
+
+        @Test
+        void deveReconstruirNaSubidaQuandoTabelaEstiverVazia() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            criarDespesa(BigDecimal.valueOf(30), JANEIRO.atDay(5), LAZER);
+            resumoMensalRepository.deleteAllInBatch();
+
+            resumoMensalService.reconstruirSeVazia();
+
+            assertEquals(0, BigDecimal.valueOf(130).compareTo(
+                    resumoMensalService.somarPorMes(user.getUuid(), CategoriaType.DESPESAS, JANEIRO, JANEIRO)
+                            .get(JANEIRO)));
+        }
+
+        @Test
+        void naoDeveReconstruirNaSubidaQuandoTabelaTiverLinhas() {
+            criarDespesa(BigDecimal.valueOf(100), JANEIRO.atDay(1), ALIMENTACAO);
+            // Uma despesa fora da tabela: se a reconstrução rodasse, ela entraria na soma
+            despesaRepository.save(new DespesaEntity(null, JANEIRO.atDay(2), alimentacao, BigDecimal.valueOf(50),
+                    "Mercado", "Compras", user));
+
+            resumoMensalService.reconstruirSeVazia();
+
+            assertEquals(0, BigDecimal.valueOf(100).compareTo(
+                    resumoMensalService.somarPorMes(user.getUuid(), CategoriaType.DESPESAS, JANEIRO, JANEIRO)
+                            .get(JANEIRO)));
+        }
+    }
+
+    // Métodos auxiliares
+
+    // O estado mantido a cada escrita tem de ser igual ao que a reconstrução gera a partir das transações
+    private void assertConsistenteComReconstrucao() {
+        List<String> mantido = linhasDoUsuario();
+        resumoMensalService.reconstruir();
+        assertEquals(linhasDoUsuario(), mantido);
+    }
+
+    private List<String> linhasDoUsuario() {
+        return resumoMensalRepository.findAll()
+                .stream()
+                .filter(resumo -> resumo.getUserId()
+                        .equals(user.getUuid()))
+                .map(resumo -> resumo.getTipo() + "|" + resumo.getCategoriaId() + "|" + resumo.getAnoMes() + "|" +
+                        resumo.getSoma()
+                                .stripTrailingZeros()
+                                .toPlainString() + "|" + resumo.getQuantidade() + "|" +
+                        resumo.getMaiorValor()
+                                .stripTrailingZeros()
+                                .toPlainString())
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+
+    private Optional<ResumoMensalEntity> buscarResumo(CategoriaEntity categoria, YearMonth anoMes) {
+        return resumoMensalRepository.findByUserIdAndTipoAndCategoriaIdAndAnoMes(user.getUuid(), CategoriaType.DESPESAS,
+                categoria.getUuid(), anoMes);
+    }
+
+    private DespesaEntity criarDespesa(BigDecimal valor, LocalDate data, String categoria) {
+        DespesaCreateDTO dto = new DespesaCreateDTO();
+        dto.setValor(valor);
+        dto.setData(data);
+        dto.setCategoria(categoria);
+        dto.setDestinoPagamento("Mercado");
+        dto.setObservacoes("Compras");
+        return despesaService.criarDespesa(dto, user.getUuid());
+    }
+
+    private DespesaUpdateDTO criarDespesaUpdateDTO(BigDecimal valor, LocalDate data, String categoria) {
+        DespesaUpdateDTO dto = new DespesaUpdateDTO();
+        dto.setValor(valor);
+        dto.setData(data);
+        dto.setCategoria(categoria);
+        dto.setDestinoPagamento("Mercado");
+        dto.setObservacoes("Compras");
+        return dto;
+    }
+
+    private UserEntity criarUsuarioTest() {
+        UserEntity userTest = new UserEntity();
+        userTest.setUsername("Resumo");
+        userTest.setEmail("resumo@gmail.com");
+        userTest.setPassword("123456");
+        userTest.setRole(Roles.USER);
+        return userRepository.save(userTest);
+    }
+
+    private CategoriaEntity criarCategoriaTest(String nome) {
+        CategoriaEntity categoria = new CategoriaEntity();
+        categoria.setNome(nome);
+        categoria.setTipo(CategoriaType.DESPESAS);
+        categoria.setUser(user);
+        return categoriaRepository.save(categoria);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.gestorfinanceiro.services.TransacaoServiceTest;
+
+import br.com.gestorfinanceiro.dto.transacao.FormatoExportacao;
+import br.com.gestorfinanceiro.dto.transacao.TransacaoExportDTO;
+import br.com.gestorfinanceiro.repositories.DespesaRepository;
+import br.com.gestorfinanceiro.repositories.ReceitaRepository;
+import br.com.gestorfinanceiro.services.impl.TransacaoServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransacaoServiceUnitTest {
+
+    @Mock
+    private DespesaRepository despesaRepository;
+
+    @Mock
+    private ReceitaRepository receitaRepository;
+
+    private TransacaoServiceImpl transacaoService;
+
+    @BeforeEach
+    void setUp() {
+        transacaoService = new TransacaoServiceImpl(despesaRepository, receitaRepository, new ObjectMapper());
+    }
+
+    @Test
+    void deveFecharOCursorDasDespesasAntesDeAbrirODasReceitas() throws Exception {
+        List<String> eventos = new ArrayList<>();
+        when(despesaRepository.streamForExportByUser("user-1", null, null)).thenAnswer(invocacao -> {
+            eventos.add("abre despesas");
+            return Stream.of(linha("DESPESA", "d1")).onClose(() -> eventos.add("fecha despesas"));
+        });
+        when(receitaRepository.streamForExportByUser("user-1", null, null)).thenAnswer(invocacao -> {
+            eventos.add("abre receitas");
+            return Stream.of(linha("RECEITA", "r1")).onClose(() -> eventos.add("fecha receitas"));
+        });
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        transacaoService.exportarTransacoes("user-1", FormatoExportacao.CSV, null, null, saida);
+
+        assertEquals(List.of("abre despesas", "fecha despesas", "abre receitas", "fecha receitas"), eventos);
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals("DESPESA,d1,2025-03-01,10,Alimentacao,Mercado,", linhas[1]);
+        assertEquals("RECEITA,r1,2025-03-01,10,Alimentacao,Mercado,", linhas[2]);
+    }
+
+    private static TransacaoExportDTO linha(String tipo, String uuid) {
+        return new TransacaoExportDTO(tipo, uuid, LocalDate.of(2025, 3, 1), BigDecimal.TEN, "Alimentacao", "Mercado", null);
+    }
+}
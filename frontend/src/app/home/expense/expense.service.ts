@@ -104,18 +104,7 @@ export class ExpenseService {
   
     async getExpenses(): Promise<Expense[] | null> {
       try {
-        const response = await fetch(`${this.apiUrl}`, {
-          method: 'GET',
-          headers: { 
-            'Authorization': `Bearer ${this.authService.getToken()}`
-          }
-        });
-    
-        if (!response.ok) {
-          throw new Error('Falha ao buscar despesas');
-        }
-        
-        return await response.json();
+        return await this.fetchAllPages(`${this.apiUrl}`, 'Falha ao buscar despesas');
       } catch (error) {
         console.error('Erro ao buscar despesas:', error);
         return null;
@@ -164,21 +153,7 @@ export class ExpenseService {
   
     async getExpensesByDateInterval(inicio: string, fim: string): Promise<Expense[] | null> {
       try {
-        const response = await fetch(
-          `${this.apiUrl}/por-intervalo-de-datas?inicio=${inicio}&fim=${fim}`,
-          {
-            method: 'GET',
-            headers: {
-              Authorization: `Bearer ${this.authService.getToken()}`,
-            },
-          }
-        );
-        
-        if (!response.ok) {
-          throw new Error('Falha ao buscar receitas por intervalo de datas');
-        }
-        
-        return await response.json();
+        return await this.fetchAllPages(`${this.apiUrl}/por-intervalo-de-datas?inicio=${inicio}&fim=${fim}`, 'Falha ao buscar receitas por intervalo de datas');
       } catch (error) {
         console.error('Erro ao buscar receitas por intervalo de datas:', error);
         return null;
@@ -187,24 +162,36 @@ export class ExpenseService {
   
     async getExpensesByValueInterval(min: number, max: number): Promise<Expense[] | null> {
       try {
-        const response = await fetch(
-          `${this.apiUrl}/por-intervalo-de-valores?min=${min}&max=${max}`,
-          {
-            method: 'GET',
-            headers: {
-              Authorization: `Bearer ${this.authService.getToken()}`,
-            },
-          }
-        );
-        
-        if (!response.ok) {
-          throw new Error('Falha ao buscar receitas por intervalo de valores');
-        }
-        
-        return await response.json();
+        return await this.fetchAllPages(`${this.apiUrl}/por-intervalo-de-valores?min=${min}&max=${max}`, 'Falha ao buscar receitas por intervalo de valores');
       } catch (error) {
         console.error('Erro ao buscar receitas por intervalo de valores:', error);
         return null;
       }
     }
+
+    // A API devolve as listagens em páginas; segue o header X-Next-Cursor até a última
+    private async fetchAllPages(url: string, errorMessage: string): Promise<Expense[]> {
+      const separator = url.includes('?') ? '&' : '?';
+      const items: Expense[] = [];
+      let cursor: string | null = null;
+
+      do {
+        const cursorParam: string = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+        const response = await fetch(`${url}${separator}limit=500${cursorParam}`, {
+          method: 'GET',
+          headers: {
+            Authorization: `Bearer ${this.authService.getToken()}`,
+          },
+        });
+
+        if (!response.ok) {
+          throw new Error(errorMessage);
+        }
+
+        items.push(...await response.json());
+        cursor = response.headers.get('X-Next-Cursor');
+      } while (cursor);
+
+      return items;
+    }
 }
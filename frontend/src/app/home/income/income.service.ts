@@ -80,15 +80,10 @@ export class IncomeService {
 
   async getIncomes(): Promise<Income[] | null> {
     try {
-      const response = await fetch(`${this.apiUrl}`, {
-        method: 'GET',
-        headers: {
-          Authorization: `Bearer ${this.authService.getToken()}`,
-        },
-      });
-
-      if (!response.ok) throw new Error('Falha ao buscar receitas');
-      return await response.json();
+      return await this.fetchAllPages(
+        `${this.apiUrl}`,
+        'Falha ao buscar receitas'
+      );
     } catch (error) {
       console.error('Erro ao buscar receitas:', error);
       return null;
@@ -152,21 +147,10 @@ export class IncomeService {
     fim: string
   ): Promise<Income[] | null> {
     try {
-      const response = await fetch(
+      return await this.fetchAllPages(
         `${this.apiUrl}/por-intervalo-de-datas?inicio=${inicio}&fim=${fim}`,
-        {
-          method: 'GET',
-          headers: {
-            Authorization: `Bearer ${this.authService.getToken()}`,
-          },
-        }
+        'Falha ao buscar receitas por intervalo de datas'
       );
-
-      if (!response.ok) {
-        throw new Error('Falha ao buscar receitas por intervalo de datas');
-      }
-
-      return await response.json();
     } catch (error) {
       console.error('Erro ao buscar receitas por intervalo de datas:', error);
       return null;
@@ -178,8 +162,31 @@ export class IncomeService {
     max: number
   ): Promise<Income[] | null> {
     try {
-      const response = await fetch(
+      return await this.fetchAllPages(
         `${this.apiUrl}/por-intervalo-de-valores?min=${min}&max=${max}`,
+        'Falha ao buscar receitas por intervalo de valores'
+      );
+    } catch (error) {
+      console.error('Erro ao buscar receitas por intervalo de valores:', error);
+      return null;
+    }
+  }
+
+  // A API devolve as listagens em páginas; segue o header X-Next-Cursor até a última
+  private async fetchAllPages(
+    url: string,
+    errorMessage: string
+  ): Promise<Income[]> {
+    const separator = url.includes('?') ? '&' : '?';
+    const items: Income[] = [];
+    let cursor: string | null = null;
+
+    do {
+      const cursorParam: string = cursor
+        ? `&cursor=${encodeURIComponent(cursor)}`
+        : '';
+      const response = await fetch(
+        `${url}${separator}limit=500${cursorParam}`,
         {
           method: 'GET',
           headers: {
@@ -189,13 +196,13 @@ export class IncomeService {
       );
 
       if (!response.ok) {
-        throw new Error('Falha ao buscar receitas por intervalo de valores');
+        throw new Error(errorMessage);
       }
 
-      return await response.json();
-    } catch (error) {
-      console.error('Erro ao buscar receitas por intervalo de valores:', error);
-      return null;
-    }
+      items.push(...(await response.json()));
+      cursor = response.headers.get('X-Next-Cursor');
+    } while (cursor);
+
+    return items;
   }
 }